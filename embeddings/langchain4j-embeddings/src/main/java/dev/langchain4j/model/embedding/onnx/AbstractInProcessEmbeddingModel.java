@@ -3,24 +3,32 @@ package dev.langchain4j.model.embedding.onnx;
 import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
 import static java.util.Collections.singletonList;
-import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtSession;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.DimensionAwareEmbeddingModel;
 import dev.langchain4j.model.embedding.onnx.OnnxBertBiEncoder.EmbeddingAndTokenCount;
+import dev.langchain4j.model.onnx.OnnxSessionConfig;
+import dev.langchain4j.model.onnx.internal.SharedOnnxSessions;
 import dev.langchain4j.model.output.Response;
 import dev.langchain4j.model.output.TokenUsage;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 
 public abstract class AbstractInProcessEmbeddingModel extends DimensionAwareEmbeddingModel {
 
+    private static final OnnxSessionConfig DEFAULT_SESSION_CONFIG =
+            OnnxSessionConfig.builder().build();
+
     private final Executor executor;
 
     protected AbstractInProcessEmbeddingModel(Executor executor) {
@@ -37,15 +45,44 @@ public abstract class AbstractInProcessEmbeddingModel extends DimensionAwareEmbe
 
     protected static OnnxBertBiEncoder loadFromJar(
             String modelFileName, String tokenizerFileName, PoolingMode poolingMode) {
-        InputStream model = Thread.currentThread().getContextClassLoader().getResourceAsStream(modelFileName);
+        return loadFromJar(modelFileName, tokenizerFileName, poolingMode, DEFAULT_SESSION_CONFIG);
+    }
+
+    /**
+     * Loads a model packaged in a jar. The model file is memory-mapped,
+     * and its session is shared with all other models loading it with the same session config.
+     */
+    protected static OnnxBertBiEncoder loadFromJar(
+            String modelFileName, String tokenizerFileName, PoolingMode poolingMode, OnnxSessionConfig sessionConfig) {
+        OrtSession session = SharedOnnxSessions.acquireFromClasspath(modelFileName, sessionConfig);
         InputStream tokenizer = Thread.currentThread().getContextClassLoader().getResourceAsStream(tokenizerFileName);
-        return new OnnxBertBiEncoder(model, tokenizer, poolingMode);
+        return new OnnxBertBiEncoder(OrtEnvironment.getEnvironment(), session, tokenizer, poolingMode);
     }
 
     static OnnxBertBiEncoder loadFromFileSystem(Path pathToModel, Path pathToTokenizer, PoolingMode poolingMode) {
         return new OnnxBertBiEncoder(pathToModel, pathToTokenizer, poolingMode);
     }
 
+    /**
+     * Loads a model file. The model file is memory-mapped,
+     * and its session is shared with all other models loading it with the same session config.
+     * The returned encoder releases the session when it is closed.
+     */
+    static OnnxBertBiEncoder loadFromFileSystem(
+            Path pathToModel, Path pathToTokenizer, PoolingMode poolingMode, OnnxSessionConfig sessionConfig) {
+        OrtSession session = SharedOnnxSessions.acquireFromFileSystem(pathToModel, sessionConfig);
+        try {
+            return new OnnxBertBiEncoder(session, pathToTokenizer, poolingMode);
+        } catch (RuntimeException e) {
+            try {
+                SharedOnnxSessions.release(session);
+            } catch (Exception releaseException) {
+                e.addSuppressed(releaseException);
+            }
+            throw e;
+        }
+    }
+
     protected abstract OnnxBertBiEncoder model();
 
     @Override
@@ -67,24 +104,15 @@ public abstract class AbstractInProcessEmbeddingModel extends DimensionAwareEmbe
     }
 
     private Response<List<Embedding>> parallelizeEmbedding(List<TextSegment> segments) {
-        List<CompletableFuture<EmbeddingAndTokenCount>> futures = segments.stream()
-                .map(segment -> supplyAsync(() -> model().embed(segment.text()), executor))
-                .collect(toList());
+        List<String> texts = segments.stream().map(TextSegment::text).collect(toList());
+        List<EmbeddingAndTokenCount> embeddingsAndTokenCounts = model().embedAll(texts, executor);
 
         int inputTokenCount = 0;
-        List<Embedding> embeddings = new ArrayList<>();
+        List<Embedding> embeddings = new ArrayList<>(embeddingsAndTokenCounts.size());
 
-        for (CompletableFuture<EmbeddingAndTokenCount> future : futures) {
-            try {
-                EmbeddingAndTokenCount embeddingAndTokenCount = future.get();
-                embeddings.add(Embedding.from(embeddingAndTokenCount.embedding));
-                inputTokenCount += embeddingAndTokenCount.tokenCount - 2; // do not count special tokens [CLS] and [SEP]
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt(); 
-                throw new RuntimeException(e);
-            } catch (ExecutionException e) {
-                throw new RuntimeException(e);
-            }
+        for (EmbeddingAndTokenCount embeddingAndTokenCount : embeddingsAndTokenCounts) {
+            embeddings.add(Embedding.from(embeddingAndTokenCount.embedding));
+            inputTokenCount += embeddingAndTokenCount.tokenCount - 2; // do not count special tokens [CLS] and [SEP]
         }
 
         return Response.from(embeddings, new TokenUsage(inputTokenCount));
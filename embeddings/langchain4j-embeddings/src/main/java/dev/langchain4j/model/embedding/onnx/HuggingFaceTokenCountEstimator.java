@@ -2,7 +2,6 @@ package dev.langchain4j.model.embedding.onnx;
 
 import static java.nio.file.Files.newInputStream;
 
-import ai.djl.huggingface.tokenizers.Encoding;
 import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
 import dev.langchain4j.data.message.*;
 import dev.langchain4j.model.TokenCountEstimator;
@@ -94,8 +93,7 @@ public class HuggingFaceTokenCountEstimator implements TokenCountEstimator {
 
     @Override
     public int estimateTokenCountInText(String text) {
-        Encoding encoding = tokenizer.encode(text, false, true);
-        return encoding.getTokens().length;
+        return OnnxBertBiEncoder.countTokens(tokenizer, text, false);
     }
 
     @Override
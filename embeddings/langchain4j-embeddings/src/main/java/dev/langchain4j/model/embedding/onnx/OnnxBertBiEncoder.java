@@ -3,8 +3,8 @@ package dev.langchain4j.model.embedding.onnx;
 import static ai.onnxruntime.OnnxTensor.createTensor;
 import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
-import static java.nio.LongBuffer.wrap;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.stream.Collectors.toList;
 
 import ai.djl.huggingface.tokenizers.Encoding;
@@ -14,26 +14,54 @@ import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
 import ai.onnxruntime.OrtSession.Result;
+import dev.langchain4j.model.onnx.internal.SharedOnnxSessions;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 
 public class OnnxBertBiEncoder {
 
     private static final int MAX_SEQUENCE_LENGTH = 510; // 512 - 2 (special tokens [CLS] and [SEP])
+    private static final int MAX_BATCH_SIZE = 32;
+    /**
+     * ONNX Runtime already spreads a single run over all cores (intra-op parallelism),
+     * so running more batches at once mostly oversubscribes the cores.
+     * Two concurrent runs still let one batch be prepared and pooled while another one is being inferred.
+     */
+    private static final int DEFAULT_MAX_CONCURRENT_INFERENCES = 2;
+
+    private static final ThreadLocal<InputBuffers> INPUT_BUFFERS = ThreadLocal.withInitial(InputBuffers::new);
 
     private final OrtEnvironment environment;
     private final OrtSession session;
     private final Set<String> expectedInputs;
     private final HuggingFaceTokenizer tokenizer;
     private final PoolingMode poolingMode;
+    private final Queue<TokenizedText> pendingTexts = new ConcurrentLinkedQueue<>();
+    private final Semaphore inferencePermits;
+    private AutoCloseable sessionCloser;
 
     public OnnxBertBiEncoder(Path pathToModel, Path pathToTokenizer, PoolingMode poolingMode) {
+        this(pathToModel, pathToTokenizer, poolingMode, DEFAULT_MAX_CONCURRENT_INFERENCES);
+    }
+
+    OnnxBertBiEncoder(Path pathToModel, Path pathToTokenizer, PoolingMode poolingMode, int maxConcurrentInferences) {
+        this.inferencePermits = new Semaphore(maxConcurrentInferences);
         try {
             this.environment = OrtEnvironment.getEnvironment();
             this.session = environment.createSession(pathToModel.toString());
+            this.sessionCloser = session;
             this.expectedInputs = session.getInputNames();
             this.tokenizer = HuggingFaceTokenizer.newInstance(pathToTokenizer, singletonMap("padding", "false"));
             this.poolingMode = ensureNotNull(poolingMode, "poolingMode");
@@ -43,9 +71,11 @@ public class OnnxBertBiEncoder {
     }
 
     public OnnxBertBiEncoder(InputStream model, InputStream tokenizer, PoolingMode poolingMode) {
+        this.inferencePermits = new Semaphore(DEFAULT_MAX_CONCURRENT_INFERENCES);
         try {
             this.environment = OrtEnvironment.getEnvironment();
             this.session = environment.createSession(loadModel(model));
+            this.sessionCloser = session;
             this.expectedInputs = session.getInputNames();
             this.tokenizer = HuggingFaceTokenizer.newInstance(tokenizer, singletonMap("padding", "false"));
             this.poolingMode = ensureNotNull(poolingMode, "poolingMode");
@@ -56,6 +86,7 @@ public class OnnxBertBiEncoder {
 
     public OnnxBertBiEncoder(
             OrtEnvironment environment, OrtSession session, InputStream tokenizer, PoolingMode poolingMode) {
+        this.inferencePermits = new Semaphore(DEFAULT_MAX_CONCURRENT_INFERENCES);
         try {
             this.environment = environment;
             this.session = session;
@@ -67,6 +98,23 @@ public class OnnxBertBiEncoder {
         }
     }
 
+    /**
+     * Uses a session acquired from {@link SharedOnnxSessions}, which is released when this encoder is closed.
+     */
+    OnnxBertBiEncoder(OrtSession session, Path pathToTokenizer, PoolingMode poolingMode) {
+        this.inferencePermits = new Semaphore(DEFAULT_MAX_CONCURRENT_INFERENCES);
+        try {
+            this.environment = OrtEnvironment.getEnvironment();
+            this.session = session;
+            this.sessionCloser = () -> SharedOnnxSessions.release(session);
+            this.expectedInputs = session.getInputNames();
+            this.tokenizer = HuggingFaceTokenizer.newInstance(pathToTokenizer, singletonMap("padding", "false"));
+            this.poolingMode = ensureNotNull(poolingMode, "poolingMode");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     static class EmbeddingAndTokenCount {
 
         float[] embedding;
@@ -78,69 +126,272 @@ public class OnnxBertBiEncoder {
         }
     }
 
+    /**
+     * A single input of the model: a window of at most {@link #MAX_SEQUENCE_LENGTH} tokens of a text,
+     * surrounded by the special tokens.
+     */
+    static class Sequence {
+
+        final long[] inputIds;
+        final long[] tokenTypeIds;
+        final int weight;
+        float[] embedding;
+
+        Sequence(long[] inputIds, long[] tokenTypeIds, int weight) {
+            this.inputIds = inputIds;
+            this.tokenTypeIds = tokenTypeIds;
+            this.weight = weight;
+        }
+
+        int length() {
+            return inputIds.length;
+        }
+    }
+
+    /**
+     * A tokenized text, split into one or more sequences.
+     */
+    static class TokenizedText {
+
+        final List<Sequence> sequences;
+        final int tokenCount;
+        final CompletableFuture<Void> embedded = new CompletableFuture<>();
+        RuntimeException failure;
+
+        TokenizedText(List<Sequence> sequences, int tokenCount) {
+            this.sequences = sequences;
+            this.tokenCount = tokenCount;
+        }
+    }
+
+    /**
+     * Embeds the given text.
+     * <p>
+     * Concurrent calls are coalesced: texts to embed are queued, and each caller getting one of the
+     * {@link #DEFAULT_MAX_CONCURRENT_INFERENCES} inference permits embeds all queued texts in batches,
+     * until its own text is embedded or the queue is empty (its text then being embedded by another caller).
+     * When the model is not busy, the text is embedded immediately.
+     */
     EmbeddingAndTokenCount embed(String text) {
 
-        List<String> tokens = tokenizer.tokenize(text);
-        List<List<String>> partitions = partition(tokens, MAX_SEQUENCE_LENGTH);
+        TokenizedText tokenizedText = tokenize(text);
 
-        if (partitions.isEmpty()) {
-            throw illegalArgument("Cannot embed empty or whitespace-only text");
+        pendingTexts.add(tokenizedText);
+        inferencePermits.acquireUninterruptibly();
+        try {
+            while (!tokenizedText.embedded.isDone() && !pendingTexts.isEmpty()) {
+                embedPendingTexts();
+            }
+        } finally {
+            inferencePermits.release();
+        }
+
+        tokenizedText.embedded.join();
+        if (tokenizedText.failure != null) {
+            throw tokenizedText.failure;
+        }
+        return aggregate(tokenizedText);
+    }
+
+    private void embedPendingTexts() {
+        List<TokenizedText> texts = new ArrayList<>();
+        int sequenceCount = 0;
+        TokenizedText text;
+        while (sequenceCount < MAX_BATCH_SIZE && (text = pendingTexts.poll()) != null) {
+            texts.add(text);
+            sequenceCount += text.sequences.size();
         }
 
-        List<float[]> embeddings = new ArrayList<>();
-        for (List<String> partition : partitions) {
-            try (Result result = encode(partition)) {
-                float[] embedding = toEmbedding(result);
-                embeddings.add(embedding);
-            } catch (OrtException e) {
+        try {
+            List<Sequence> sequences = new ArrayList<>(sequenceCount);
+            texts.forEach(t -> sequences.addAll(t.sequences));
+            for (List<Sequence> batch : batches(sequences, MAX_BATCH_SIZE)) {
+                embed(batch);
+            }
+        } catch (RuntimeException e) {
+            texts.forEach(t -> t.failure = e);
+        } finally {
+            texts.forEach(t -> t.embedded.complete(null));
+        }
+    }
+
+    /**
+     * Embeds the given texts.
+     * <p>
+     * The texts are tokenized, and their sequences are grouped by length into batches,
+     * so that each batch is padded as little as possible.
+     * The batches are embedded in parallel using the given executor.
+     */
+    List<EmbeddingAndTokenCount> embedAll(List<String> texts, Executor executor) {
+
+        List<TokenizedText> tokenizedTexts = texts.stream().map(this::tokenize).collect(toList());
+
+        List<Sequence> sequences = new ArrayList<>();
+        tokenizedTexts.forEach(tokenizedText -> sequences.addAll(tokenizedText.sequences));
+
+        List<CompletableFuture<Void>> futures = batches(sequences, MAX_BATCH_SIZE).stream()
+                .map(batch -> runAsync(() -> embed(batch), executor))
+                .collect(toList());
+
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new RuntimeException(e.getCause());
             }
         }
 
-        List<Integer> weights = partitions.stream().map(List::size).collect(toList());
+        return tokenizedTexts.stream().map(this::aggregate).collect(toList());
+    }
+
+    /**
+     * Tokenizes the given text once, and slices the token ids into windows
+     * that are each surrounded by the special tokens of the text.
+     */
+    private TokenizedText tokenize(String text) {
+
+        Encoding encoding = tokenizer.encode(text, true, false);
+        List<Sequence> sequences =
+                sequences(encoding.getTokens(), encoding.getIds(), encoding.getTypeIds(), MAX_SEQUENCE_LENGTH);
+
+        if (sequences.isEmpty()) {
+            throw illegalArgument("Cannot embed empty or whitespace-only text");
+        }
+
+        return new TokenizedText(sequences, encoding.getIds().length);
+    }
+
+    /**
+     * Splits the given tokens into windows of at most {@code windowSize} tokens (see {@link #windows(String[], int)})
+     * and returns, for each window, the sequence of its ids and type ids, surrounded by those of the special tokens.
+     */
+    static List<Sequence> sequences(String[] tokens, long[] ids, long[] typeIds, int windowSize) {
+        List<int[]> windows = windows(tokens, windowSize);
+        List<Sequence> sequences = new ArrayList<>(windows.size());
+        for (int[] window : windows) {
+            sequences.add(new Sequence(slice(ids, window), slice(typeIds, window), window[1] - window[0]));
+        }
+        return sequences;
+    }
+
+    /**
+     * Returns the values of the given window, preceded by the first value and followed by the last value
+     * (i.e., those of the special tokens [CLS] and [SEP]).
+     */
+    private static long[] slice(long[] values, int[] window) {
+        int length = window[1] - window[0];
+        long[] slice = new long[length + 2];
+        slice[0] = values[0];
+        System.arraycopy(values, window[0], slice, 1, length);
+        slice[length + 1] = values[values.length - 1];
+        return slice;
+    }
+
+    private EmbeddingAndTokenCount aggregate(TokenizedText tokenizedText) {
+
+        List<float[]> embeddings = new ArrayList<>(tokenizedText.sequences.size());
+        List<Integer> weights = new ArrayList<>(tokenizedText.sequences.size());
+        for (Sequence sequence : tokenizedText.sequences) {
+            embeddings.add(sequence.embedding);
+            weights.add(sequence.weight);
+        }
 
         float[] embedding = normalize(weightedAverage(embeddings, weights));
 
-        return new EmbeddingAndTokenCount(embedding, tokens.size());
+        return new EmbeddingAndTokenCount(embedding, tokenizedText.tokenCount);
+    }
+
+    /**
+     * Sorts the given sequences by length and groups them into batches of at most {@code maxBatchSize} sequences.
+     */
+    static List<List<Sequence>> batches(List<Sequence> sequences, int maxBatchSize) {
+        List<Sequence> sorted = new ArrayList<>(sequences);
+        sorted.sort(Comparator.comparingInt(Sequence::length));
+
+        List<List<Sequence>> batches = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += maxBatchSize) {
+            batches.add(sorted.subList(from, Math.min(from + maxBatchSize, sorted.size())));
+        }
+        return batches;
     }
 
     static List<List<String>> partition(List<String> tokens, int partitionSize) {
         List<List<String>> partitions = new ArrayList<>();
+        for (int[] window : windows(tokens.toArray(new String[0]), partitionSize)) {
+            partitions.add(tokens.subList(window[0], window[1]));
+        }
+        return partitions;
+    }
+
+    /**
+     * Splits the given tokens, excluding the first and last (special) ones,
+     * into windows of at most {@code windowSize} tokens, without splitting words across windows.
+     *
+     * @return the {@code [from, to)} token index ranges of the windows
+     */
+    static List<int[]> windows(String[] tokens, int windowSize) {
+        List<int[]> windows = new ArrayList<>();
         int from = 1; // Skip the first (CLS) token
 
-        while (from < tokens.size() - 1) { // Skip the last (SEP) token
-            int to = from + partitionSize;
+        while (from < tokens.length - 1) { // Skip the last (SEP) token
+            int to = from + windowSize;
 
-            if (to >= tokens.size() - 1) {
-                to = tokens.size() - 1;
+            if (to >= tokens.length - 1) {
+                to = tokens.length - 1;
             } else {
-                // ensure we don't split word across partitions
-                while (tokens.get(to).startsWith("##")) {
+                // ensure we don't split word across windows
+                while (tokens[to].startsWith("##")) {
                     to--;
                 }
             }
 
-            partitions.add(tokens.subList(from, to));
+            windows.add(new int[] {from, to});
 
             from = to;
         }
 
-        return partitions;
+        return windows;
     }
 
-    private Result encode(List<String> tokens) throws OrtException {
+    /**
+     * Runs the model on a batch of sequences, padded to the length of the longest one,
+     * and stores the pooled embedding of each sequence.
+     */
+    void embed(List<Sequence> batch) {
 
-        Encoding encoding = tokenizer.encode(toText(tokens), true, false);
+        int batchSize = batch.size();
+        int maxLength = 0;
+        for (Sequence sequence : batch) {
+            maxLength = Math.max(maxLength, sequence.length());
+        }
 
-        long[] inputIds = encoding.getIds();
-        long[] attentionMask = encoding.getAttentionMask();
-        long[] tokenTypeIds = encoding.getTypeIds();
+        InputBuffers buffers = INPUT_BUFFERS.get();
+        buffers.reset(batchSize * maxLength);
+        for (Sequence sequence : batch) {
+            buffers.inputIds.put(sequence.inputIds);
+            buffers.tokenTypeIds.put(sequence.tokenTypeIds);
+            for (int j = 0; j < sequence.length(); j++) {
+                buffers.attentionMask.put(1L);
+            }
+            for (int j = sequence.length(); j < maxLength; j++) {
+                buffers.inputIds.put(0L);
+                buffers.tokenTypeIds.put(0L);
+                buffers.attentionMask.put(0L);
+            }
+        }
+        buffers.flip();
 
-        long[] shape = {1, inputIds.length};
+        long[] shape = {batchSize, maxLength};
 
-        try (OnnxTensor inputIdsTensor = createTensor(environment, wrap(inputIds), shape);
-                OnnxTensor attentionMaskTensor = createTensor(environment, wrap(attentionMask), shape);
-                OnnxTensor tokenTypeIdsTensor = createTensor(environment, wrap(tokenTypeIds), shape)) {
+        try (OnnxTensor inputIdsTensor = createTensor(environment, buffers.inputIds, shape);
+                OnnxTensor attentionMaskTensor = createTensor(environment, buffers.attentionMask, shape);
+                OnnxTensor tokenTypeIdsTensor = createTensor(environment, buffers.tokenTypeIds, shape)) {
             Map<String, OnnxTensor> inputs = new HashMap<>();
             inputs.put("input_ids", inputIdsTensor);
             inputs.put("attention_mask", attentionMaskTensor);
@@ -149,61 +400,88 @@ public class OnnxBertBiEncoder {
                 inputs.put("token_type_ids", tokenTypeIdsTensor);
             }
 
-            return session.run(inputs);
+            try (Result result = session.run(inputs)) {
+                OnnxTensor output = (OnnxTensor) result.get(0);
+                int dimension = (int) output.getInfo().getShape()[2];
+                FloatBuffer vectors = output.getFloatBuffer();
+                for (int i = 0; i < batchSize; i++) {
+                    Sequence sequence = batch.get(i);
+                    sequence.embedding = pool(vectors, i * maxLength * dimension, sequence.length(), dimension);
+                }
+            }
+        } catch (OrtException e) {
+            throw new RuntimeException(e);
         }
     }
 
-    private String toText(List<String> tokens) {
-
-        String text = tokenizer.buildSentence(tokens);
-
-        List<String> tokenized = tokenizer.tokenize(text);
-        List<String> tokenizedWithoutSpecialTokens = new LinkedList<>(tokenized);
-        tokenizedWithoutSpecialTokens.remove(0);
-        tokenizedWithoutSpecialTokens.remove(tokenizedWithoutSpecialTokens.size() - 1);
+    /**
+     * Direct buffers holding the inputs of a batch, reused by each thread across batches.
+     * Tensors created from direct buffers in native byte order are not copied by ONNX Runtime.
+     */
+    private static class InputBuffers {
+
+        LongBuffer inputIds = allocate(0);
+        LongBuffer attentionMask = allocate(0);
+        LongBuffer tokenTypeIds = allocate(0);
+
+        void reset(int size) {
+            if (inputIds.capacity() < size) {
+                inputIds = allocate(size);
+                attentionMask = allocate(size);
+                tokenTypeIds = allocate(size);
+            }
+            inputIds.clear();
+            attentionMask.clear();
+            tokenTypeIds.clear();
+        }
 
-        if (tokenizedWithoutSpecialTokens.equals(tokens)) {
-            return text;
-        } else {
-            return String.join("", tokens);
+        void flip() {
+            inputIds.flip();
+            attentionMask.flip();
+            tokenTypeIds.flip();
         }
-    }
 
-    private float[] toEmbedding(Result result) throws OrtException {
-        float[][] vectors = ((float[][][]) result.get(0).getValue())[0];
-        return pool(vectors);
+        private static LongBuffer allocate(int size) {
+            return ByteBuffer.allocateDirect(size * Long.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asLongBuffer();
+        }
     }
 
-    private float[] pool(float[][] vectors) {
+    /**
+     * Pools the token vectors of a sequence, stored row by row from the given offset.
+     * Only the first {@code length} vectors belong to the sequence, the following ones are padding.
+     */
+    private float[] pool(FloatBuffer vectors, int offset, int length, int dimension) {
         switch (poolingMode) {
             case CLS:
-                return clsPool(vectors);
+                return clsPool(vectors, offset, dimension);
             case MEAN:
-                return meanPool(vectors);
+                return meanPool(vectors, offset, length, dimension);
             default:
                 throw illegalArgument("Unknown pooling mode: " + poolingMode);
         }
     }
 
-    private static float[] clsPool(float[][] vectors) {
-        return vectors[0];
+    private static float[] clsPool(FloatBuffer vectors, int offset, int dimension) {
+        float[] vector = new float[dimension];
+        vectors.get(offset, vector);
+        return vector;
     }
 
-    private static float[] meanPool(float[][] vectors) {
+    private static float[] meanPool(FloatBuffer vectors, int offset, int length, int dimension) {
 
-        int numVectors = vectors.length;
-        int vectorLength = vectors[0].length;
+        float[] averagedVector = new float[dimension];
 
-        float[] averagedVector = new float[vectorLength];
-
-        for (float[] vector : vectors) {
-            for (int j = 0; j < vectorLength; j++) {
-                averagedVector[j] += vector[j];
+        for (int i = 0; i < length; i++) {
+            int vectorOffset = offset + i * dimension;
+            for (int j = 0; j < dimension; j++) {
+                averagedVector[j] += vectors.get(vectorOffset + j);
             }
         }
 
-        for (int j = 0; j < vectorLength; j++) {
-            averagedVector[j] /= numVectors;
+        for (int j = 0; j < dimension; j++) {
+            averagedVector[j] /= length;
         }
 
         return averagedVector;
@@ -251,18 +529,38 @@ public class OnnxBertBiEncoder {
         return normalizedVector;
     }
 
+    /**
+     * Closes the session if this encoder created it, or releases it if it is shared.
+     * A session passed by the caller is left open.
+     */
+    void close() throws Exception {
+        AutoCloseable closer;
+        synchronized (this) {
+            closer = sessionCloser;
+            sessionCloser = null;
+        }
+        if (closer != null) {
+            closer.close();
+        }
+    }
+
     int countTokens(String text) {
-        return tokenizer.tokenize(text).size();
+        return countTokens(tokenizer, text, true);
+    }
+
+    /**
+     * Counts the tokens of the given text, without materializing them as a list of strings.
+     */
+    static int countTokens(HuggingFaceTokenizer tokenizer, String text, boolean addSpecialTokens) {
+        return tokenizer.encode(text, addSpecialTokens, false).getIds().length;
     }
 
     private byte[] loadModel(InputStream modelInputStream) {
         if (modelInputStream == null) {
-            throw new IllegalStateException(
-                    "Embedding model file is not available. " +
-                            "This usually happens when running LangChain4j tests from sources. " +
-                            "If you are developing LangChain4j locally, run 'mvn generate-resources' " +
-                            "from the project root to download the required model files."
-            );
+            throw new IllegalStateException("Embedding model file is not available. "
+                    + "This usually happens when running LangChain4j tests from sources. "
+                    + "If you are developing LangChain4j locally, run 'mvn generate-resources' "
+                    + "from the project root to download the required model files.");
         }
         try (InputStream inputStream = modelInputStream;
                 ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
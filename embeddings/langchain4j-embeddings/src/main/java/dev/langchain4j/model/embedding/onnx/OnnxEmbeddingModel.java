@@ -2,6 +2,7 @@ package dev.langchain4j.model.embedding.onnx;
 
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
+import dev.langchain4j.model.onnx.OnnxSessionConfig;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.concurrent.Executor;
@@ -17,8 +18,10 @@ import java.util.concurrent.Executor;
  * <a href="https://huggingface.co/docs/optimum/exporters/onnx/usage_guides/export_a_model">here</a>.
  * <br>
  * Many models already converted to ONNX format are available <a href="https://huggingface.co/Xenova">here</a>.
+ * <br>
+ * The model should be closed once it is not used anymore, to free the memory of its ONNX Runtime session.
  */
-public class OnnxEmbeddingModel extends AbstractInProcessEmbeddingModel {
+public class OnnxEmbeddingModel extends AbstractInProcessEmbeddingModel implements AutoCloseable {
 
     private final OnnxBertBiEncoder onnxBertBiEncoder;
 
@@ -47,6 +50,29 @@ public class OnnxEmbeddingModel extends AbstractInProcessEmbeddingModel {
         this.onnxBertBiEncoder = loadFromFileSystem(pathToModel, pathToTokenizer, poolingMode);
     }
 
+    /**
+     * @param pathToModel     The path to the modelPath file (e.g., "/path/to/model.onnx")
+     * @param pathToTokenizer The path to the tokenizer file (e.g., "/path/to/tokenizer.json")
+     * @param poolingMode     The pooling model to use. Can be found in the ".../1_Pooling/config.json" file on HuggingFace.
+     *                        Here is an <a href="https://huggingface.co/sentence-transformers/all-MiniLM-L6-v2/blob/main/1_Pooling/config.json">example</a>.
+     *                        {@code "pooling_mode_mean_tokens": true} means that {@link PoolingMode#MEAN} should be used.
+     * @param sessionConfig   The options of the ONNX Runtime session.
+     *                        The model file is memory-mapped, and the session is shared with all models
+     *                        using the same model file and session config, until the last of them is closed.
+     * @param executor        The executor to use to parallelize the embedding process.
+     *                        If {@code null}, a default executor is used.
+     */
+    public OnnxEmbeddingModel(
+            Path pathToModel,
+            Path pathToTokenizer,
+            PoolingMode poolingMode,
+            OnnxSessionConfig sessionConfig,
+            Executor executor) {
+        super(executor);
+        this.onnxBertBiEncoder = loadFromFileSystem(
+                pathToModel, pathToTokenizer, poolingMode, ensureNotNull(sessionConfig, "sessionConfig"));
+    }
+
     /**
      * @param pathToModel     The path to the model file (e.g., "/home/me/model.onnx")
      * @param pathToTokenizer The path to the tokenizer file (e.g., "/path/to/tokenizer.json")
@@ -74,4 +100,12 @@ public class OnnxEmbeddingModel extends AbstractInProcessEmbeddingModel {
     protected OnnxBertBiEncoder model() {
         return onnxBertBiEncoder;
     }
+
+    /**
+     * Closes the ONNX Runtime session of this model, or releases it if it is shared with other models.
+     */
+    @Override
+    public void close() throws Exception {
+        onnxBertBiEncoder.close();
+    }
 }
@@ -1,16 +1,51 @@
 package dev.langchain4j.model.embedding.onnx;
 
+import static dev.langchain4j.model.embedding.onnx.OnnxBertBiEncoder.batches;
 import static dev.langchain4j.model.embedding.onnx.OnnxBertBiEncoder.partition;
+import static dev.langchain4j.model.embedding.onnx.OnnxBertBiEncoder.sequences;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
 
+import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
+import dev.langchain4j.model.embedding.onnx.OnnxBertBiEncoder.EmbeddingAndTokenCount;
+import dev.langchain4j.model.embedding.onnx.OnnxBertBiEncoder.Sequence;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 class OnnxBertBiEncoderTest {
 
+    /**
+     * A tiny model returning {@code [input id, attention mask]} as the vector of each token,
+     * so that any padding leaking into the pooled embeddings changes them.
+     */
+    private static final Path MODEL = resource("token-ids-model.onnx");
+
+    private static final Path TOKENIZER = Paths.get("src/main/resources/bert-tokenizer.json");
+
     @Test
     public void testBasicPartition() {
 
@@ -107,4 +142,170 @@ class OnnxBertBiEncoderTest {
         // then - should return empty list (no content tokens between CLS and SEP)
         assertThat(partitions).isEqualTo(emptyList());
     }
+
+    @Test
+    public void testBatchesGroupSequencesOfSimilarLength() {
+
+        // given
+        Sequence s1 = sequence(7);
+        Sequence s2 = sequence(3);
+        Sequence s3 = sequence(12);
+        Sequence s4 = sequence(4);
+        Sequence s5 = sequence(8);
+
+        // when
+        List<List<Sequence>> batches = batches(asList(s1, s2, s3, s4, s5), 2);
+
+        // then
+        assertThat(batches).containsExactly(asList(s2, s4), asList(s1, s5), singletonList(s3));
+    }
+
+    private static Sequence sequence(int length) {
+        return new Sequence(new long[length], new long[length], length - 2);
+    }
+
+    @Test
+    public void testSequencesSliceIdsOfEachWindowBetweenSpecialTokens() {
+
+        // given
+        String[] tokens = {"[CLS]", "I", "have", "a", "note", "##book", "that", "[SEP]"};
+        long[] ids = {101, 1, 2, 3, 4, 5, 6, 102};
+        long[] typeIds = {7, 8, 9, 10, 11, 12, 13, 14};
+        int windowSize = 4;
+
+        // when
+        List<Sequence> sequences = sequences(tokens, ids, typeIds, windowSize);
+
+        // then
+        assertThat(sequences).hasSize(2);
+        // "note" starts the second window to avoid splitting "notebook" across 2 windows
+        assertThat(sequences.get(0).inputIds).containsExactly(101, 1, 2, 3, 102);
+        assertThat(sequences.get(0).tokenTypeIds).containsExactly(7, 8, 9, 10, 14);
+        assertThat(sequences.get(0).weight).isEqualTo(3);
+        assertThat(sequences.get(1).inputIds).containsExactly(101, 4, 5, 6, 102);
+        assertThat(sequences.get(1).tokenTypeIds).containsExactly(7, 11, 12, 13, 14);
+        assertThat(sequences.get(1).weight).isEqualTo(3);
+    }
+
+    @Test
+    public void testSequencesWithOnlySpecialTokens() {
+
+        // given - simulates empty or whitespace-only input
+        String[] tokens = {"[CLS]", "[SEP]"};
+        long[] ids = {101, 102};
+
+        // when
+        List<Sequence> sequences = sequences(tokens, ids, new long[2], 10);
+
+        // then
+        assertThat(sequences).isEmpty();
+    }
+
+    @Test
+    void should_embed_text_with_special_tokens() throws Exception {
+
+        // given
+        OnnxBertBiEncoder encoder = new OnnxBertBiEncoder(MODEL, TOKENIZER, PoolingMode.MEAN);
+        String text = "word word word";
+        long[] ids = HuggingFaceTokenizer.newInstance(TOKENIZER, singletonMap("padding", "false"))
+                .encode(text, true, false)
+                .getIds();
+
+        // when
+        EmbeddingAndTokenCount embedding = encoder.embed(text);
+
+        // then
+        // the token vectors of the model are [input id, attention mask], mean pooled over [CLS] word word word [SEP]
+        assertThat(ids).hasSize(5);
+        float meanId = (float) Arrays.stream(ids).sum() / ids.length;
+        float norm = (float) Math.sqrt(meanId * meanId + 1);
+        assertThat(embedding.embedding).containsExactly(new float[] {meanId / norm, 1 / norm}, within(1e-6f));
+        assertThat(embedding.tokenCount).isEqualTo(5);
+        assertThat(encoder.countTokens(text)).isEqualTo(5);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PoolingMode.class)
+    void should_embed_padded_batches_like_single_texts(PoolingMode poolingMode) {
+
+        // given
+        OnnxBertBiEncoder encoder = new OnnxBertBiEncoder(MODEL, TOKENIZER, poolingMode);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            texts.add("word ".repeat(1 + i * 3));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<EmbeddingAndTokenCount> batchEmbeddings;
+        try {
+            batchEmbeddings = encoder.embedAll(texts, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        for (int i = 0; i < texts.size(); i++) {
+            EmbeddingAndTokenCount singleEmbedding = encoder.embed(texts.get(i));
+            assertThat(batchEmbeddings.get(i).embedding).containsExactly(singleEmbedding.embedding);
+            assertThat(batchEmbeddings.get(i).tokenCount).isEqualTo(singleEmbedding.tokenCount);
+        }
+    }
+
+    @Test
+    void should_coalesce_texts_queued_while_model_is_busy() throws Exception {
+
+        // given
+        OnnxBertBiEncoder encoder = spy(new OnnxBertBiEncoder(MODEL, TOKENIZER, PoolingMode.MEAN, 1));
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    List<?> batch = invocation.getArgument(0);
+                    batchSizes.add(batch.size());
+                    firstBatchStarted.countDown();
+                    releaseFirstBatch.await();
+                    return invocation.callRealMethod();
+                })
+                .when(encoder)
+                .embed(anyList());
+
+        CompletableFuture<EmbeddingAndTokenCount> first = CompletableFuture.supplyAsync(() -> encoder.embed("first"));
+        firstBatchStarted.await();
+
+        // when
+        List<Thread> threads = new ArrayList<>();
+        List<EmbeddingAndTokenCount> queued = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String text = "queued text " + i;
+            Thread thread = new Thread(() -> queued.add(encoder.embed(text)));
+            thread.start();
+            threads.add(thread);
+        }
+        await().until(() -> threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING));
+        releaseFirstBatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(first.get().embedding).isNotEmpty();
+        assertThat(queued).hasSize(3);
+        assertThat(batchSizes).containsExactly(1, 3);
+    }
+
+    /**
+     * Copies a resource of the test jar of langchain4j-onnx-common into a file.
+     */
+    private static Path resource(String name) {
+        try (InputStream inputStream =
+                OnnxBertBiEncoderTest.class.getClassLoader().getResourceAsStream(name)) {
+            Path file = Files.createTempFile(name, null);
+            file.toFile().deleteOnExit();
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package dev.langchain4j.model.anthropic.internal.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.langchain4j.model.anthropic.internal.api.AnthropicDelta;
+import dev.langchain4j.model.anthropic.internal.api.AnthropicStreamingData;
+import java.io.IOException;
+
+/**
+ * Decodes the data of streamed events with a streaming {@link JsonParser}, without going through data binding.
+ * <p>
+ * Most events are {@code content_block_delta} events carrying a piece of text, thinking or tool input.
+ * Only the {@code type}, {@code index} and {@code delta} fields of such events are decoded here,
+ * unknown fields are skipped.
+ * Events containing anything else (a message, a content block, usage or an error) are decoded with data binding
+ * instead, so that the result is always the same as {@link Json#fromJson}.
+ */
+class AnthropicStreamingDataDecoder {
+
+    private static final JsonFactory JSON_FACTORY = Json.OBJECT_MAPPER.getFactory();
+
+    private AnthropicStreamingDataDecoder() {}
+
+    static AnthropicStreamingData decode(String json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            AnthropicStreamingData data = readData(parser);
+            if (parser.nextToken() == null) {
+                return data;
+            }
+        } catch (UnsupportedDataException | IOException ignored) {
+            // falling back to data binding
+        }
+        return Json.fromJson(json, AnthropicStreamingData.class);
+    }
+
+    private static AnthropicStreamingData readData(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw UnsupportedDataException.INSTANCE;
+        }
+        AnthropicStreamingData data = new AnthropicStreamingData();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "type" -> data.type = readString(parser, value);
+                case "index" -> data.index = readInteger(parser, value);
+                case "delta" -> data.delta = value == JsonToken.VALUE_NULL ? null : readDelta(parser, value);
+                case "message", "content_block", "usage", "error" -> ensureNull(value);
+                default -> parser.skipChildren();
+            }
+        }
+        return data;
+    }
+
+    private static AnthropicDelta readDelta(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw UnsupportedDataException.INSTANCE;
+        }
+        AnthropicDelta delta = new AnthropicDelta();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "type" -> delta.type = readString(parser, value);
+                case "text" -> delta.text = readString(parser, value);
+                case "partial_json" -> delta.partialJson = readString(parser, value);
+                case "thinking" -> delta.thinking = readString(parser, value);
+                case "signature" -> delta.signature = readString(parser, value);
+                case "data" -> delta.data = readString(parser, value);
+                case "stop_reason" -> delta.stopReason = readString(parser, value);
+                case "stop_sequence" -> delta.stopSequence = readString(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return delta;
+    }
+
+    private static String readString(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NULL -> null;
+            default -> throw UnsupportedDataException.INSTANCE;
+        };
+    }
+
+    private static Integer readInteger(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_NULL -> null;
+            default -> throw UnsupportedDataException.INSTANCE;
+        };
+    }
+
+    private static void ensureNull(JsonToken token) {
+        if (token != JsonToken.VALUE_NULL) {
+            throw UnsupportedDataException.INSTANCE;
+        }
+    }
+
+    private static class UnsupportedDataException extends RuntimeException {
+
+        private static final UnsupportedDataException INSTANCE = new UnsupportedDataException();
+
+        private UnsupportedDataException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -315,7 +315,7 @@ public class DefaultAnthropicClient extends AnthropicClient {
                     streamingHandle = toStreamingHandle(context.parsingHandle());
                 }
 
-                AnthropicStreamingData data = fromJson(event.data(), AnthropicStreamingData.class);
+                AnthropicStreamingData data = AnthropicStreamingDataDecoder.decode(event.data());
 
                 if ("message_start".equals(event.event())) {
                     handleMessageStart(data);
@@ -0,0 +1,45 @@
+package dev.langchain4j.model.anthropic.internal.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.model.anthropic.internal.api.AnthropicStreamingData;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class AnthropicStreamingDataDecoderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"""
+                {"type":"content_block_delta","index":0,"delta":{"type":"text_delta","text":"Hello, \\"world\\" \\u00e9"}}
+                """, """
+                {"type":"content_block_delta","index":1,"delta":{"type":"input_json_delta","partial_json":"{\\"location\\": \\"San Fra"}}
+                """, """
+                {"type":"content_block_delta","index":0,"delta":{"type":"thinking_delta","thinking":"Let me think"}}
+                """, """
+                {"type":"content_block_delta","index":0,"delta":{"type":"signature_delta","signature":"EqQBCgIYAhIM"}}
+                """, """
+                {"type":"content_block_stop","index":0}
+                """, """
+                {"type":"ping"}
+                """, """
+                {"type":"message_stop","amazon-bedrock-invocationMetrics":{"inputTokenCount":10}}
+                """, """
+                {"type":"message_delta","delta":{"stop_reason":"end_turn","stop_sequence":null},"usage":{"output_tokens":15}}
+                """, """
+                {"type":"content_block_start","index":0,"content_block":{"type":"text","text":""}}
+                """, """
+                {"type":"message_start","message":{"id":"msg_1","type":"message","role":"assistant","model":"claude-sonnet-4-5","usage":{"input_tokens":25,"output_tokens":1}}}
+                """, """
+                {"type":"error","error":{"type":"overloaded_error","message":"Overloaded"}}
+                """, """
+                {"type":"content_block_delta","index":"0","delta":{"type":"text_delta","text":"Hi"}}
+                """})
+    void should_decode_data_same_as_data_binding(String json) {
+
+        // when
+        AnthropicStreamingData data = AnthropicStreamingDataDecoder.decode(json);
+
+        // then
+        assertThat(data).usingRecursiveComparison().isEqualTo(Json.fromJson(json, AnthropicStreamingData.class));
+    }
+}
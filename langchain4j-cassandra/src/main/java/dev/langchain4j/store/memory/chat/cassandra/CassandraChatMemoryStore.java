@@ -2,6 +2,7 @@ package dev.langchain4j.store.memory.chat.cassandra;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.CqlSessionBuilder;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.uuid.Uuids;
 import com.dtsx.astra.sdk.cassio.CassIO;
 import com.dtsx.astra.sdk.cassio.ClusteredRecord;
@@ -11,6 +12,7 @@ import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.ChatMessageDeserializer;
 import dev.langchain4j.data.message.ChatMessageSerializer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.IncrementalChatMemoryStore;
 import org.jspecify.annotations.NonNull;
 
 import java.net.InetSocketAddress;
@@ -25,10 +27,13 @@ import static java.util.stream.Collectors.toList;
  * Implementation of {@link ChatMemoryStore} using Astra DB Vector Search.
  * Table contains all chats. (default name is message_store). Each chat with multiple messages
  * is a partition.Message id is a time uuid.
+ * <p>
+ * As an {@link IncrementalChatMemoryStore}, it inserts and deletes only the rows of
+ * the appended and removed messages, instead of rewriting the whole partition when a message is added.
  *
  * @see <a href="https://docs.datastax.com/en/astra-serverless/docs/vector-search/overview.html">Astra Vector Store Documentation</a>
  */
-public class CassandraChatMemoryStore implements ChatMemoryStore {
+public class CassandraChatMemoryStore implements IncrementalChatMemoryStore {
 
     /**
      * Default message store.
@@ -40,6 +45,22 @@ public class CassandraChatMemoryStore implements ChatMemoryStore {
      */
     private final ClusteredTable messageTable;
 
+    /**
+     * Qualified name of the message table.
+     */
+    private final String qualifiedTableName;
+
+    /**
+     * Statement selecting the ids of the oldest messages of a chat, prepared on first use
+     * (the table may only be created by {@link #create()} after construction).
+     */
+    private volatile PreparedStatement selectOldestRowIds;
+
+    /**
+     * Statement deleting messages of a chat, prepared on first use.
+     */
+    private volatile PreparedStatement deleteRows;
+
     /**
      * Constructor for message store
      *
@@ -56,7 +77,9 @@ public class CassandraChatMemoryStore implements ChatMemoryStore {
      * @param tableName    table name
      */
     public CassandraChatMemoryStore(CqlSession session, String tableName) {
-        messageTable = new ClusteredTable(session, session.getKeyspace().get().asInternal(), tableName);
+        String keyspaceName = session.getKeyspace().get().asInternal();
+        messageTable = new ClusteredTable(session, keyspaceName, tableName);
+        qualifiedTableName = keyspaceName + "." + tableName;
     }
 
     /**
@@ -71,6 +94,8 @@ public class CassandraChatMemoryStore implements ChatMemoryStore {
      */
     public void delete() {
         messageTable.delete();
+        selectOldestRowIds = null;
+        deleteRows = null;
     }
 
     /**
@@ -125,6 +150,60 @@ public class CassandraChatMemoryStore implements ChatMemoryStore {
                 .collect(toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendMessages(@NonNull Object memoryId, @NonNull List<ChatMessage> messages) {
+        Objects.requireNonNull(memoryId, "'memoryId' must not be null");
+        Objects.requireNonNull(messages, "'messages' must not be null");
+        messageTable.upsertPartition(messages.stream()
+                .map(record -> fromChatMessage(getMemoryId(memoryId), record))
+                .collect(toList()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeMessages(@NonNull Object memoryId, int fromIndex, int toIndex) {
+        Objects.requireNonNull(memoryId, "'memoryId' must not be null");
+        if (toIndex <= fromIndex) {
+            return;
+        }
+        String partitionId = getMemoryId(memoryId);
+        List<UUID> oldestRowIds = getCassandraSession()
+                .execute(selectOldestRowIds().bind(partitionId, toIndex))
+                .all()
+                .stream()
+                .map(row -> row.getUuid("row_id"))
+                .collect(toList());
+        if (oldestRowIds.size() > fromIndex) {
+            getCassandraSession().execute(deleteRows().bind(
+                    partitionId, oldestRowIds.subList(fromIndex, oldestRowIds.size())));
+        }
+    }
+
+    private PreparedStatement selectOldestRowIds() {
+        PreparedStatement statement = selectOldestRowIds;
+        if (statement == null) {
+            statement = getCassandraSession().prepare("SELECT row_id FROM " + qualifiedTableName
+                    + " WHERE partition_id = ? ORDER BY row_id ASC LIMIT ?");
+            selectOldestRowIds = statement;
+        }
+        return statement;
+    }
+
+    private PreparedStatement deleteRows() {
+        PreparedStatement statement = deleteRows;
+        if (statement == null) {
+            statement = getCassandraSession().prepare("DELETE FROM " + qualifiedTableName
+                    + " WHERE partition_id = ? AND row_id IN ?");
+            deleteRows = statement;
+        }
+        return statement;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.UUID;
 
 import static dev.langchain4j.data.message.AiMessage.aiMessage;
@@ -83,6 +84,26 @@ abstract class CassandraChatMemoryStoreTestSupport {
         assertThat(chatMemory.messages()).containsExactly(userMessage, aiMessage);
     }
 
+    @Test
+    @Order(5)
+    @DisplayName("5. Append and remove messages")
+    void shouldAppendAndRemoveMessages() {
+        // Given
+        String chatSessionId = "chat-" + UUID.randomUUID();
+        UserMessage first = userMessage("first");
+        AiMessage second = aiMessage("second");
+        UserMessage third = userMessage("third");
+        AiMessage fourth = aiMessage("fourth");
+        chatMemoryStore.updateMessages(chatSessionId, List.of(first, second));
+
+        // When
+        chatMemoryStore.appendMessages(chatSessionId, List.of(third, fourth));
+        chatMemoryStore.removeMessages(chatSessionId, 1, 3);
+
+        // Then
+        assertThat(chatMemoryStore.getMessages(chatSessionId)).containsExactly(first, fourth);
+    }
+
     abstract void createDatabase();
 
     abstract CassandraChatMemoryStore createChatMemoryStore();
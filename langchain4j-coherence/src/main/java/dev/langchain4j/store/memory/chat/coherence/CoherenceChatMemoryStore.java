@@ -11,6 +11,7 @@ import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.ChatMessageDeserializer;
 import dev.langchain4j.data.message.ChatMessageSerializer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.IncrementalChatMemoryStore;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,8 +22,15 @@ import java.util.List;
  * that is a valid Coherence {@link NamedMap} key. The key type must properly
  * implement {@code equals()} and {@code hashCode()} and be serializable by
  * the configured Coherence serializer.
+ * <p>
+ * As an {@link IncrementalChatMemoryStore}, it appends messages using an entry processor
+ * executed where the chat memory is stored, so that only the appended messages are sent over the network
+ * when a message is added. The entry processor only concatenates JSON strings,
+ * so storage members do not need LangChain4j classes on their classpath.
+ * Messages are removed on the client, and the result is stored only if the chat memory
+ * was not changed concurrently, otherwise the removal is retried.
  */
-public class CoherenceChatMemoryStore implements ChatMemoryStore {
+public class CoherenceChatMemoryStore implements IncrementalChatMemoryStore {
 
     /**
      * The default {@link NamedMap} name.
@@ -60,6 +68,43 @@ public class CoherenceChatMemoryStore implements ChatMemoryStore {
         chatMemory.put(memoryId, json);
     }
 
+    @Override
+    public void appendMessages(Object memoryId, List<ChatMessage> messages) {
+        validateId(memoryId);
+        String appendedJson = ChatMessageSerializer.messagesToJson(ensureNotEmpty(messages, "messages"));
+        chatMemory.invoke(memoryId, entry -> {
+            // executed on the storage member, so it must not use any class that is not part of the JDK
+            if (entry.isPresent()) {
+                String json = entry.getValue();
+                int end = json.lastIndexOf(']');
+                boolean empty = json.substring(json.indexOf('[') + 1, end).isBlank();
+                entry.setValue(json.substring(0, end)
+                        + (empty ? "" : ",")
+                        + appendedJson.substring(appendedJson.indexOf('[') + 1));
+            } else {
+                entry.setValue(appendedJson);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void removeMessages(Object memoryId, int fromIndex, int toIndex) {
+        validateId(memoryId);
+        while (true) {
+            String json = chatMemory.get(memoryId);
+            if (json == null) {
+                return;
+            }
+            List<ChatMessage> messages = new ArrayList<>(ChatMessageDeserializer.messagesFromJson(json));
+            messages.subList(Math.min(fromIndex, messages.size()), Math.min(toIndex, messages.size()))
+                    .clear();
+            if (chatMemory.replace(memoryId, json, ChatMessageSerializer.messagesToJson(messages))) {
+                return;
+            }
+        }
+    }
+
     @Override
     public void deleteMessages(Object memoryId) {
         validateId(memoryId);
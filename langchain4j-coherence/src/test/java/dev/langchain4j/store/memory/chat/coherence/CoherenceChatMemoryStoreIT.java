@@ -115,6 +115,23 @@ class CoherenceChatMemoryStoreIT {
         assertThat(messages).isEmpty();
     }
 
+    @Test
+    void should_append_and_remove_messages_in_coherence() {
+        // given
+        List<ChatMessage> chatMessages = new ArrayList<>();
+        chatMessages.add(new SystemMessage("You are a large language model working with LangChain4j"));
+        chatMessages.add(UserMessage.from("first"));
+        memoryStore.updateMessages(userId, chatMessages);
+
+        // when
+        memoryStore.appendMessages(userId, List.of(UserMessage.from("second"), UserMessage.from("third")));
+        memoryStore.removeMessages(userId, 1, 3);
+
+        // then
+        assertThat(memoryStore.getMessages(userId))
+                .containsExactly(chatMessages.get(0), UserMessage.from("third"));
+    }
+
     @Test
     void getMessages_memoryId_null() {
         assertThatThrownBy(() -> memoryStore.getMessages(null))
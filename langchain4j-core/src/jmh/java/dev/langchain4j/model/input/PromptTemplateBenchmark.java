@@ -0,0 +1,75 @@
+package dev.langchain4j.model.input;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the rendering of a prompt template, with short values and with long ones
+ * (e.g., contents retrieved for RAG), both into a {@code String} and into a {@code Writer}.
+ * <p>
+ * Build with {@code mvn -Pjmh test-compile} and run {@link #main(String[])} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptTemplateBenchmark {
+
+    private static final String TEMPLATE = "You are a helpful assistant of {{company}}.\n"
+            + "Answer the question of {{user}} using only the following information:\n"
+            + "{{contents}}\n"
+            + "Question: {{question}}";
+
+    @Param({"16", "16384"})
+    int valueLength;
+
+    private PromptTemplate promptTemplate;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        promptTemplate = PromptTemplate.from(TEMPLATE);
+        variables = Map.of(
+                "company", "ACME",
+                "user", "Klaus",
+                "contents", "x".repeat(valueLength),
+                "question", "What is the return policy?");
+    }
+
+    @Benchmark
+    public String render() {
+        return promptTemplate.apply(variables).text();
+    }
+
+    @Benchmark
+    public StringWriter renderToWriter() throws IOException {
+        StringWriter writer = new StringWriter();
+        promptTemplate.apply(variables, writer);
+        return writer;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(PromptTemplateBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
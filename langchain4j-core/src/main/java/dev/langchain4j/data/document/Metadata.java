@@ -291,6 +291,18 @@ public class Metadata {
         return metadata.containsKey(key);
     }
 
+    /**
+     * Returns the value associated with the given key, whatever its type.
+     * Unlike {@code toMap().get(key)}, this does not copy the metadata.
+     *
+     * @param key the key
+     * @return the value associated with the given key, or {@code null} if the key is not present.
+     */
+    @Nullable
+    public Object getObject(String key) {
+        return metadata.get(key);
+    }
+
     /**
      * Adds a key-value pair to the metadata.
      *
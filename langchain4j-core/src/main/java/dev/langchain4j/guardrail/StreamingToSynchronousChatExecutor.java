@@ -4,6 +4,7 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
 import dev.langchain4j.Internal;
 import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.cache.CachingStreamingChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
@@ -40,7 +41,8 @@ final class StreamingToSynchronousChatExecutor extends AbstractChatExecutor {
     @Override
     protected ChatResponse execute(ChatRequest chatRequest) {
         var responseHandler = new StreamingToSyncResponseHandler(this.errorHandler);
-        this.streamingChatModel.chat(chatRequest, responseHandler);
+        CachingStreamingChatModel.chat(
+                this.streamingChatModel, chatRequest, this.invocationContext.chatMemoryId(), responseHandler);
 
         return Optional.ofNullable(responseHandler.getResponse()).orElseGet(ChatResponse.builder()::build);
     }
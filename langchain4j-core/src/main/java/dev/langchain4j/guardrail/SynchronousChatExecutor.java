@@ -4,6 +4,7 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
 import dev.langchain4j.Internal;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.cache.CachingChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.response.ChatResponse;
 
@@ -29,6 +30,6 @@ final class SynchronousChatExecutor extends AbstractChatExecutor {
 
     @Override
     protected ChatResponse execute(ChatRequest chatRequest) {
-        return this.chatModel.chat(chatRequest);
+        return CachingChatModel.chat(this.chatModel, chatRequest, this.invocationContext.chatMemoryId());
     }
 }
@@ -199,6 +199,22 @@ class JacksonJsonCodec implements Json.JsonCodec {
         }
     }
 
+    /**
+     * Converts the given object through a token buffer, without an intermediate JSON string.
+     * Failures are reported the same way as by {@link #fromJson(String, Type)}.
+     */
+    @Override
+    public <T> T convertValue(Object o, Type type) {
+        try {
+            return objectMapper.convertValue(o, objectMapper.constructType(type));
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof JsonProcessingException jsonProcessingException) {
+                throw new RuntimeException(jsonProcessingException);
+            }
+            throw e;
+        }
+    }
+
     /**
      * Returns the ObjectMapper instance used for JSON processing.
      *
@@ -49,6 +49,22 @@ public class Json {
          * @return the object.
          */
         <T> T fromJson(String json, Type type);
+
+        /**
+         * Convert the given object (e.g., a {@link java.util.Map} parsed from JSON) to an object of the given type.
+         * <p>
+         * By default, the object is converted to JSON and back.
+         * Implementations can override this to avoid the intermediate JSON string.
+         *
+         * @param o    the object to convert.
+         * @param type the type of the result.
+         * @param <T>  the type of the result.
+         * @return the converted object.
+         * @since 1.17.0
+         */
+        default <T> T convertValue(Object o, Type type) {
+            return fromJson(toJson(o), type);
+        }
     }
 
     private static final JsonCodec CODEC = loadCodec();
@@ -93,4 +109,17 @@ public class Json {
     public static <T> T fromJson(String json, Type type) {
         return CODEC.fromJson(json, type);
     }
+
+    /**
+     * Convert the given object (e.g., a {@link java.util.Map} parsed from JSON) to an object of the given type.
+     *
+     * @param o    the object to convert.
+     * @param type the type of the result.
+     * @param <T>  the type of the result.
+     * @return the converted object.
+     * @since 1.17.0
+     */
+    public static <T> T convertValue(Object o, Type type) {
+        return CODEC.convertValue(o, type);
+    }
 }
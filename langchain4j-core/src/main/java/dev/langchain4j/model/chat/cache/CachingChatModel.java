@@ -0,0 +1,75 @@
+package dev.langchain4j.model.chat.cache;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.Internal;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.ChatRequestOptions;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.Set;
+
+/**
+ * A {@link ChatModel} that serves responses from a {@link ChatResponseCache},
+ * and sends the request to another {@link ChatModel} only when no response is cached.
+ * <p>
+ * The listeners of the delegate model are only notified of the requests that are sent to it.
+ */
+@Experimental
+public class CachingChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final ChatResponseCache cache;
+
+    public CachingChatModel(ChatModel delegate, ChatResponseCache cache) {
+        this.delegate = ensureNotNull(delegate, "delegate");
+        this.cache = ensureNotNull(cache, "cache");
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest, ChatRequestOptions options) {
+        ChatResponseCache.Lookup lookup = cache.lookup(chatRequest, options);
+        if (lookup.isHit()) {
+            return lookup.response();
+        }
+        ChatResponse chatResponse = delegate.chat(chatRequest, options);
+        lookup.put(chatResponse);
+        return chatResponse;
+    }
+
+    /**
+     * Sends the request to the given model, scoping it (see {@link ChatResponseCache#scope(Object)})
+     * if the model is a {@link CachingChatModel}.
+     * Other models are called with {@link ChatModel#chat(ChatRequest)}, as it might be overridden.
+     */
+    @Internal
+    public static ChatResponse chat(ChatModel chatModel, ChatRequest chatRequest, Object scope) {
+        if (chatModel instanceof CachingChatModel) {
+            return chatModel.chat(chatRequest, ChatResponseCache.scope(scope));
+        }
+        return chatModel.chat(chatRequest);
+    }
+
+    public ChatResponseCache cache() {
+        return cache;
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+}
@@ -0,0 +1,200 @@
+package dev.langchain4j.model.chat.cache;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.Internal;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.internal.InternalStreamingChatResponseHandlerUtils;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatRequestOptions;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.PartialThinking;
+import dev.langchain4j.model.chat.response.PartialThinkingContext;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCallContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.chat.response.StreamingHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link StreamingChatModel} that serves responses from a {@link ChatResponseCache},
+ * and sends the request to another {@link StreamingChatModel} only when no response is cached.
+ * <p>
+ * A cached response is replayed to the {@link StreamingChatResponseHandler} in the calling thread:
+ * the partial responses received when it was streamed (or its whole text, when it was cached by a {@link CachingChatModel}),
+ * then its tool execution requests, if any, then the complete response.
+ * Partial thinking is not replayed.
+ * <p>
+ * The listeners of the delegate model are only notified of the requests that are sent to it.
+ */
+@Experimental
+public class CachingStreamingChatModel implements StreamingChatModel {
+
+    private final StreamingChatModel delegate;
+    private final ChatResponseCache cache;
+
+    public CachingStreamingChatModel(StreamingChatModel delegate, ChatResponseCache cache) {
+        this.delegate = ensureNotNull(delegate, "delegate");
+        this.cache = ensureNotNull(cache, "cache");
+    }
+
+    @Override
+    public void chat(ChatRequest request, ChatRequestOptions options, StreamingChatResponseHandler handler) {
+        ChatResponseCache.Lookup lookup = cache.lookup(request, options);
+        if (lookup.isHit()) {
+            replay(lookup, handler);
+        } else {
+            delegate.chat(request, options, new CachingHandler(lookup, handler));
+        }
+    }
+
+    /**
+     * Sends the request to the given model, scoping it (see {@link ChatResponseCache#scope(Object)})
+     * if the model is a {@link CachingStreamingChatModel}.
+     * Other models are called with {@link StreamingChatModel#chat(ChatRequest, StreamingChatResponseHandler)},
+     * as it might be overridden.
+     */
+    @Internal
+    public static void chat(
+            StreamingChatModel streamingChatModel,
+            ChatRequest request,
+            Object scope,
+            StreamingChatResponseHandler handler) {
+        if (streamingChatModel instanceof CachingStreamingChatModel) {
+            streamingChatModel.chat(request, ChatResponseCache.scope(scope), handler);
+        } else {
+            streamingChatModel.chat(request, handler);
+        }
+    }
+
+    public ChatResponseCache cache() {
+        return cache;
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    private static void replay(ChatResponseCache.Lookup lookup, StreamingChatResponseHandler handler) {
+        ChatResponse response = lookup.response();
+        List<String> partialResponses = lookup.partialResponses();
+        if (partialResponses == null) {
+            partialResponses = response.aiMessage().text() != null
+                    ? List.of(response.aiMessage().text())
+                    : List.of();
+        }
+
+        ReplayStreamingHandle streamingHandle = new ReplayStreamingHandle();
+        for (String partialResponse : partialResponses) {
+            InternalStreamingChatResponseHandlerUtils.onPartialResponse(handler, partialResponse, streamingHandle);
+            if (streamingHandle.isCancelled()) {
+                return;
+            }
+        }
+        List<ToolExecutionRequest> toolExecutionRequests = response.aiMessage().toolExecutionRequests();
+        for (int i = 0; i < toolExecutionRequests.size(); i++) {
+            InternalStreamingChatResponseHandlerUtils.onCompleteToolCall(
+                    handler, new CompleteToolCall(i, toolExecutionRequests.get(i)));
+        }
+        InternalStreamingChatResponseHandlerUtils.onCompleteResponse(handler, response);
+    }
+
+    /**
+     * Forwards all events to the handler, and caches the complete response with the partial responses.
+     */
+    private static class CachingHandler implements StreamingChatResponseHandler {
+
+        private final ChatResponseCache.Lookup lookup;
+        private final StreamingChatResponseHandler handler;
+        private final List<String> partialResponses = new ArrayList<>();
+
+        private CachingHandler(ChatResponseCache.Lookup lookup, StreamingChatResponseHandler handler) {
+            this.lookup = lookup;
+            this.handler = handler;
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            partialResponses.add(partialResponse);
+            handler.onPartialResponse(partialResponse);
+        }
+
+        @Override
+        public void onPartialResponse(PartialResponse partialResponse, PartialResponseContext context) {
+            partialResponses.add(partialResponse.text());
+            handler.onPartialResponse(partialResponse, context);
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking) {
+            handler.onPartialThinking(partialThinking);
+        }
+
+        @Override
+        public void onPartialThinking(PartialThinking partialThinking, PartialThinkingContext context) {
+            handler.onPartialThinking(partialThinking, context);
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall) {
+            handler.onPartialToolCall(partialToolCall);
+        }
+
+        @Override
+        public void onPartialToolCall(PartialToolCall partialToolCall, PartialToolCallContext context) {
+            handler.onPartialToolCall(partialToolCall, context);
+        }
+
+        @Override
+        public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+            handler.onCompleteToolCall(completeToolCall);
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {
+            lookup.put(completeResponse, List.copyOf(partialResponses));
+            handler.onCompleteResponse(completeResponse);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            handler.onError(error);
+        }
+    }
+
+    private static class ReplayStreamingHandle implements StreamingHandle {
+
+        private boolean cancelled;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package dev.langchain4j.model.chat.cache;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.ChatRequestOptions;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.store.embedding.CosineSimilarity;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A cache of {@link ChatResponse}s, used by {@link CachingChatModel} and {@link CachingStreamingChatModel}.
+ * The same cache can be shared by both.
+ * <p>
+ * Responses are cached by {@link ChatRequest}: a response is served again for an equal request,
+ * that is, the same messages and the same parameters, including tools.
+ * <p>
+ * When an {@link EmbeddingModel} is configured, the cache has an additional semantic tier:
+ * when no equal request is cached, the last {@link UserMessage} is embedded,
+ * and the response to a previous request is served when its last {@link UserMessage} is similar enough,
+ * and all its other messages (system messages and previous turns of the conversation) and parameters are equal.
+ * A response is thus never served to another conversation once it diverged,
+ * and the semantic tier mostly serves FAQ-like questions asked at the start of a conversation.
+ * Responses containing tool execution requests are not served by the semantic tier.
+ * <p>
+ * Entries can be scoped, for example to a chat memory, by passing the scope as the {@link #SCOPE_ATTRIBUTE}
+ * listener attribute of the {@link ChatRequestOptions} (see {@link #scope(Object)}): a cached response is then only served
+ * for requests with the same scope. AI services scope the requests sent to a {@link CachingChatModel}
+ * or a {@link CachingStreamingChatModel} by their chat memory id.
+ * <p>
+ * The cache keeps at most {@link Builder#maxSize(Integer)} responses, evicting the least recently used ones,
+ * and can expire responses after {@link Builder#timeToLive(Duration)}.
+ * Only responses that finished normally (or with tool execution requests) are cached.
+ *
+ * @see ChatModel
+ * @see StreamingChatModel
+ */
+@Experimental
+public class ChatResponseCache {
+
+    /**
+     * The key of the {@link ChatRequestOptions} listener attribute holding the scope of a request.
+     */
+    public static final String SCOPE_ATTRIBUTE = "langchain4j.chatResponseCache.scope";
+
+    private static final int DEFAULT_MAX_SIZE = 1_000;
+    private static final double DEFAULT_MIN_SIMILARITY = 0.95;
+
+    private final int maxSize;
+    private final Duration timeToLive;
+    private final EmbeddingModel embeddingModel;
+    private final double minSimilarity;
+    private final Clock clock;
+
+    private final LinkedHashMap<ExactKey, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<SemanticKey, List<CachedResponse>> semanticIndex = new HashMap<>();
+    private final Lock lock = new ReentrantLock();
+
+    private final LongAdder exactHitCount = new LongAdder();
+    private final LongAdder semanticHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private ChatResponseCache(Builder builder) {
+        this.maxSize = ensureGreaterThanZero(getOrDefault(builder.maxSize, DEFAULT_MAX_SIZE), "maxSize");
+        if (builder.timeToLive != null) {
+            ensureTrue(builder.timeToLive.compareTo(Duration.ZERO) > 0, "timeToLive must be greater than zero");
+        }
+        this.timeToLive = builder.timeToLive;
+        this.embeddingModel = builder.embeddingModel;
+        this.minSimilarity =
+                ensureBetween(getOrDefault(builder.minSimilarity, DEFAULT_MIN_SIMILARITY), 0, 1, "minSimilarity");
+        this.clock = getOrDefault(builder.clock, Clock.systemUTC());
+    }
+
+    /**
+     * @return the options scoping a request to the given scope (see {@link #SCOPE_ATTRIBUTE}),
+     * or {@link ChatRequestOptions#EMPTY} if the scope is {@code null}
+     */
+    public static ChatRequestOptions scope(Object scope) {
+        if (scope == null) {
+            return ChatRequestOptions.EMPTY;
+        }
+        return ChatRequestOptions.builder()
+                .addListenerAttribute(SCOPE_ATTRIBUTE, scope)
+                .build();
+    }
+
+    public ChatResponseCacheStats stats() {
+        return new ChatResponseCacheStats(
+                exactHitCount.sum(), semanticHitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    /**
+     * Removes all responses from the cache.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            responses.clear();
+            semanticIndex.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Looks up the response to a request. When there is none,
+     * the returned {@link Lookup} can be used to cache the response once it is received.
+     */
+    Lookup lookup(ChatRequest chatRequest, ChatRequestOptions options) {
+        Object scope = options != null ? options.listenerAttributes().get(SCOPE_ATTRIBUTE) : null;
+        ExactKey exactKey = new ExactKey(scope, chatRequest);
+        long now = clock.millis();
+
+        CachedResponse cached = get(exactKey, now);
+        if (cached != null) {
+            exactHitCount.increment();
+            return new Lookup(exactKey, null, null, cached);
+        }
+
+        List<ChatMessage> messages = chatRequest.messages();
+        int questionIndex = embeddingModel != null ? lastUserMessageIndex(messages) : -1;
+        if (questionIndex < 0) {
+            missCount.increment();
+            return new Lookup(exactKey, null, null, null);
+        }
+
+        SemanticKey semanticKey = new SemanticKey(
+                scope,
+                messages.subList(0, questionIndex),
+                messages.subList(questionIndex + 1, messages.size()),
+                chatRequest.parameters());
+        String question = ((UserMessage) messages.get(questionIndex)).singleText();
+        Embedding embedding = embeddingModel.embed(question).content();
+        cached = getSimilar(semanticKey, embedding, now);
+        if (cached != null) {
+            semanticHitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return new Lookup(exactKey, semanticKey, embedding, cached);
+    }
+
+    private CachedResponse get(ExactKey key, long now) {
+        lock.lock();
+        try {
+            CachedResponse cached = responses.get(key);
+            if (cached != null && isExpired(cached, now)) {
+                remove(key, cached);
+                return null;
+            }
+            return cached;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CachedResponse getSimilar(SemanticKey key, Embedding embedding, long now) {
+        lock.lock();
+        try {
+            List<CachedResponse> candidates = semanticIndex.get(key);
+            if (candidates == null) {
+                return null;
+            }
+            CachedResponse mostSimilar = null;
+            double maxSimilarity = minSimilarity;
+            for (CachedResponse candidate : candidates) {
+                if (isExpired(candidate, now)) {
+                    continue;
+                }
+                double similarity = CosineSimilarity.between(embedding, candidate.embedding);
+                if (similarity >= maxSimilarity) {
+                    mostSimilar = candidate;
+                    maxSimilarity = similarity;
+                }
+            }
+            if (mostSimilar != null) {
+                responses.get(mostSimilar.exactKey); // marks it as recently used
+            }
+            return mostSimilar;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(Lookup lookup, ChatResponse response, List<String> partialResponses) {
+        FinishReason finishReason = response.finishReason();
+        if (finishReason != null && finishReason != FinishReason.STOP && finishReason != FinishReason.TOOL_EXECUTION) {
+            return;
+        }
+        boolean semantic = lookup.semanticKey != null && !response.aiMessage().hasToolExecutionRequests();
+        CachedResponse cached = new CachedResponse(
+                lookup.exactKey,
+                semantic ? lookup.semanticKey : null,
+                semantic ? lookup.embedding : null,
+                response,
+                partialResponses,
+                clock.millis());
+
+        lock.lock();
+        try {
+            CachedResponse replaced = responses.put(cached.exactKey, cached);
+            if (replaced != null) {
+                removeFromSemanticIndex(replaced);
+            }
+            if (cached.semanticKey != null) {
+                semanticIndex
+                        .computeIfAbsent(cached.semanticKey, key -> new ArrayList<>())
+                        .add(cached);
+            }
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<ExactKey, CachedResponse>> leastRecentlyUsed =
+                responses.entrySet().iterator();
+        while (responses.size() > maxSize && leastRecentlyUsed.hasNext()) {
+            CachedResponse evicted = leastRecentlyUsed.next().getValue();
+            leastRecentlyUsed.remove();
+            removeFromSemanticIndex(evicted);
+            evictionCount.increment();
+        }
+    }
+
+    private void remove(ExactKey key, CachedResponse cached) {
+        responses.remove(key);
+        removeFromSemanticIndex(cached);
+    }
+
+    private void removeFromSemanticIndex(CachedResponse cached) {
+        if (cached.semanticKey == null) {
+            return;
+        }
+        List<CachedResponse> candidates = semanticIndex.get(cached.semanticKey);
+        if (candidates != null) {
+            candidates.remove(cached);
+            if (candidates.isEmpty()) {
+                semanticIndex.remove(cached.semanticKey);
+            }
+        }
+    }
+
+    private boolean isExpired(CachedResponse cached, long now) {
+        return timeToLive != null && now - cached.createdAtMillis >= timeToLive.toMillis();
+    }
+
+    /**
+     * Returns the index of the last {@link UserMessage}, or -1 if there is none, or if it is not a single text.
+     */
+    private static int lastUserMessageIndex(List<ChatMessage> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i) instanceof UserMessage userMessage) {
+                return userMessage.hasSingleText() ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Integer maxSize;
+        private Duration timeToLive;
+        private EmbeddingModel embeddingModel;
+        private Double minSimilarity;
+        private Clock clock;
+
+        /**
+         * @param maxSize The maximum number of cached responses. Default value: 1000.
+         * @return builder
+         */
+        public Builder maxSize(Integer maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param timeToLive How long a response is cached after it was received. By default, responses do not expire.
+         * @return builder
+         */
+        public Builder timeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * @param embeddingModel The {@link EmbeddingModel} used to embed the last user message,
+         *                       enabling the semantic tier. By default, only equal requests are served from the cache.
+         * @return builder
+         */
+        public Builder embeddingModel(EmbeddingModel embeddingModel) {
+            this.embeddingModel = embeddingModel;
+            return this;
+        }
+
+        /**
+         * @param minSimilarity The minimum cosine similarity between the last user messages
+         *                      for a response to be served by the semantic tier. Default value: 0.95.
+         * @return builder
+         */
+        public Builder minSimilarity(Double minSimilarity) {
+            this.minSimilarity = minSimilarity;
+            return this;
+        }
+
+        Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public ChatResponseCache build() {
+            return new ChatResponseCache(this);
+        }
+    }
+
+    /**
+     * The result of a lookup: either a cached response, or the keys to cache the response under.
+     */
+    class Lookup {
+
+        private final ExactKey exactKey;
+        private final SemanticKey semanticKey;
+        private final Embedding embedding;
+        private final CachedResponse cached;
+
+        private Lookup(ExactKey exactKey, SemanticKey semanticKey, Embedding embedding, CachedResponse cached) {
+            this.exactKey = exactKey;
+            this.semanticKey = semanticKey;
+            this.embedding = embedding;
+            this.cached = cached;
+        }
+
+        boolean isHit() {
+            return cached != null;
+        }
+
+        ChatResponse response() {
+            return cached.response;
+        }
+
+        /**
+         * The partial responses to replay when streaming, or {@code null} if the response was not streamed.
+         */
+        List<String> partialResponses() {
+            return cached.partialResponses;
+        }
+
+        void put(ChatResponse response) {
+            put(response, null);
+        }
+
+        void put(ChatResponse response, List<String> partialResponses) {
+            ChatResponseCache.this.put(this, response, partialResponses);
+        }
+    }
+
+    private record ExactKey(Object scope, ChatRequest chatRequest) {}
+
+    /**
+     * All of a request but its last {@link UserMessage}, which is compared by similarity.
+     */
+    private record SemanticKey(
+            Object scope,
+            List<ChatMessage> messagesBefore,
+            List<ChatMessage> messagesAfter,
+            ChatRequestParameters parameters) {}
+
+    private static class CachedResponse {
+
+        private final ExactKey exactKey;
+        private final SemanticKey semanticKey;
+        private final Embedding embedding;
+        private final ChatResponse response;
+        private final List<String> partialResponses;
+        private final long createdAtMillis;
+
+        private CachedResponse(
+                ExactKey exactKey,
+                SemanticKey semanticKey,
+                Embedding embedding,
+                ChatResponse response,
+                List<String> partialResponses,
+                long createdAtMillis) {
+            this.exactKey = exactKey;
+            this.semanticKey = semanticKey;
+            this.embedding = embedding;
+            this.response = response;
+            this.partialResponses = partialResponses;
+            this.createdAtMillis = createdAtMillis;
+        }
+    }
+}
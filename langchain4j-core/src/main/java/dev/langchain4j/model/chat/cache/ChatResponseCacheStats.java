@@ -0,0 +1,81 @@
+package dev.langchain4j.model.chat.cache;
+
+import dev.langchain4j.Experimental;
+import java.util.Objects;
+
+/**
+ * Statistics about the lookups in a {@link ChatResponseCache}.
+ */
+@Experimental
+public class ChatResponseCacheStats {
+
+    private final long exactHitCount;
+    private final long semanticHitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    public ChatResponseCacheStats(long exactHitCount, long semanticHitCount, long missCount, long evictionCount) {
+        this.exactHitCount = exactHitCount;
+        this.semanticHitCount = semanticHitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * @return the number of responses served for an equal request.
+     */
+    public long exactHitCount() {
+        return exactHitCount;
+    }
+
+    /**
+     * @return the number of responses served for a request with a similar last user message.
+     */
+    public long semanticHitCount() {
+        return semanticHitCount;
+    }
+
+    /**
+     * @return the number of requests sent to the model.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of responses evicted because the cache was full. Expired responses are not counted.
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the ratio of requests served from the cache, or {@code 0} if there was no request.
+     */
+    public double hitRate() {
+        long requestCount = exactHitCount + semanticHitCount + missCount;
+        return requestCount == 0 ? 0 : (double) (exactHitCount + semanticHitCount) / requestCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChatResponseCacheStats that = (ChatResponseCacheStats) o;
+        return exactHitCount == that.exactHitCount
+                && semanticHitCount == that.semanticHitCount
+                && missCount == that.missCount
+                && evictionCount == that.evictionCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(exactHitCount, semanticHitCount, missCount, evictionCount);
+    }
+
+    @Override
+    public String toString() {
+        return "ChatResponseCacheStats{" + "exactHitCount=" + exactHitCount + ", semanticHitCount=" + semanticHitCount
+                + ", missCount=" + missCount + ", evictionCount=" + evictionCount + '}';
+    }
+}
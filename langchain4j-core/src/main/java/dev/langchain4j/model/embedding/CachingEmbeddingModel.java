@@ -0,0 +1,370 @@
+package dev.langchain4j.model.embedding;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureEq;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An {@link EmbeddingModel} that caches the embeddings computed by another {@link EmbeddingModel},
+ * so that the same text is not embedded again, for example when documents are re-ingested
+ * or when the same queries are repeated.
+ * <p>
+ * Embeddings are keyed by the model name, the dimension and a SHA-256 hash of the text.
+ * Only the text of a {@link TextSegment} is embedded, so its metadata is not part of the key.
+ * <p>
+ * The cache keeps at most {@link Builder#maxSize(Integer)} embeddings in memory, evicting the least recently used ones,
+ * and can expire embeddings after {@link Builder#timeToLive(Duration)}.
+ * When a {@link Builder#cacheFile(Path)} is configured, embeddings are also written to that file,
+ * and embeddings evicted from memory, or computed before a restart, are read back from it.
+ * The locations of at most {@link Builder#maxCacheFileSize(Integer)} embeddings of the file are kept in memory.
+ * <p>
+ * Within a call to {@link #embedAll(List)}, each distinct text is sent to the delegate model only once.
+ * When several threads request the embedding of the same text concurrently, it is computed only once,
+ * and the other threads wait for it.
+ * <p>
+ * Each returned {@link Embedding} is a copy, so it can be modified (e.g., normalized) without affecting the cache.
+ * <p>
+ * When all embeddings are found in the cache, the returned token usage is zero.
+ */
+@Experimental
+public class CachingEmbeddingModel implements EmbeddingModel, AutoCloseable {
+
+    private static final TokenUsage ZERO_TOKEN_USAGE = new TokenUsage(0, 0, 0);
+    private static final int DEFAULT_MAX_SIZE = 10_000;
+    private static final int DEFAULT_MAX_CACHE_FILE_SIZE = 100_000;
+
+    private final EmbeddingModel delegate;
+    private final int maxSize;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final EmbeddingFileCache fileCache;
+
+    private final LinkedHashMap<String, CachedEmbedding> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Lock cacheLock = new ReentrantLock();
+    private final Map<String, CompletableFuture<Embedding>> inFlight = new ConcurrentHashMap<>();
+
+    private volatile String keyPrefix;
+
+    private CachingEmbeddingModel(Builder builder) {
+        this.delegate = ensureNotNull(builder.delegate, "delegate");
+        this.maxSize = ensureGreaterThanZero(getOrDefault(builder.maxSize, DEFAULT_MAX_SIZE), "maxSize");
+        if (builder.timeToLive != null) {
+            ensureTrue(builder.timeToLive.compareTo(Duration.ZERO) > 0, "timeToLive must be greater than zero");
+        }
+        this.timeToLive = builder.timeToLive;
+        this.clock = getOrDefault(builder.clock, Clock.systemUTC());
+        int maxCacheFileSize = ensureGreaterThanZero(
+                getOrDefault(builder.maxCacheFileSize, DEFAULT_MAX_CACHE_FILE_SIZE), "maxCacheFileSize");
+        this.fileCache =
+                builder.cacheFile != null ? new EmbeddingFileCache(builder.cacheFile, maxCacheFileSize) : null;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        ensureNotNull(textSegments, "textSegments");
+
+        Embedding[] embeddings = new Embedding[textSegments.size()];
+        Map<String, List<Integer>> indexesByKey = new LinkedHashMap<>();
+        for (int i = 0; i < textSegments.size(); i++) {
+            indexesByKey
+                    .computeIfAbsent(key(textSegments.get(i).text()), key -> new ArrayList<>(1))
+                    .add(i);
+        }
+
+        Map<String, CompletableFuture<Embedding>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Embedding>> awaited = new LinkedHashMap<>();
+        List<TextSegment> toEmbed = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : indexesByKey.entrySet()) {
+            String key = entry.getKey();
+            Embedding cached = getCached(key);
+            if (cached == null) {
+                CompletableFuture<Embedding> future = new CompletableFuture<>();
+                CompletableFuture<Embedding> computing = inFlight.putIfAbsent(key, future);
+                if (computing != null) {
+                    awaited.put(key, computing);
+                    continue;
+                }
+                cached = getCached(key); // might have been computed after the first lookup
+                if (cached == null) {
+                    owned.put(key, future);
+                    toEmbed.add(textSegments.get(entry.getValue().get(0)));
+                    continue;
+                }
+                inFlight.remove(key, future);
+                future.complete(cached);
+            }
+            set(embeddings, entry.getValue(), cached);
+        }
+
+        TokenUsage tokenUsage = ZERO_TOKEN_USAGE;
+        if (!toEmbed.isEmpty()) {
+            Throwable failure = null;
+            try {
+                Response<List<Embedding>> response = delegate.embedAll(toEmbed);
+                List<Embedding> computed = response.content();
+                ensureEq(
+                        computed.size(),
+                        toEmbed.size(),
+                        "Expected %d embeddings, but got %d",
+                        toEmbed.size(),
+                        computed.size());
+                tokenUsage = response.tokenUsage();
+
+                int i = 0;
+                for (CompletableFuture<Embedding> future : owned.values()) {
+                    future.complete(computed.get(i++));
+                }
+                i = 0;
+                for (String key : owned.keySet()) {
+                    Embedding embedding = computed.get(i++);
+                    put(key, embedding);
+                    set(embeddings, indexesByKey.get(key), embedding);
+                }
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                // whatever happened, the threads waiting for the embeddings of this call must not wait forever
+                for (Map.Entry<String, CompletableFuture<Embedding>> entry : owned.entrySet()) {
+                    inFlight.remove(entry.getKey(), entry.getValue());
+                    if (!entry.getValue().isDone()) {
+                        entry.getValue().completeExceptionally(failure);
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, CompletableFuture<Embedding>> entry : awaited.entrySet()) {
+            set(embeddings, indexesByKey.get(entry.getKey()), await(entry.getValue()));
+        }
+
+        return Response.from(Arrays.asList(embeddings), tokenUsage);
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+
+    @Override
+    public String modelName() {
+        return delegate.modelName();
+    }
+
+    /**
+     * Removes all embeddings from the cache, including the ones in the cache file.
+     */
+    public void clearCache() {
+        cacheLock.lock();
+        try {
+            cache.clear();
+            if (fileCache != null) {
+                fileCache.clear();
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the cache file, if any. The delegate model is not closed.
+     */
+    @Override
+    public void close() {
+        if (fileCache != null) {
+            fileCache.close();
+        }
+    }
+
+    private Embedding getCached(String key) {
+        long now = clock.millis();
+        cacheLock.lock();
+        try {
+            CachedEmbedding cached = cache.get(key);
+            if (cached != null) {
+                if (!isExpired(cached.createdAtMillis(), now)) {
+                    return cached.embedding();
+                }
+                cache.remove(key);
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+
+        if (fileCache == null) {
+            return null;
+        }
+        long createdAfterMillis = timeToLive != null ? now - timeToLive.toMillis() : Long.MIN_VALUE;
+        EmbeddingFileCache.Entry stored = fileCache.get(key, createdAfterMillis);
+        if (stored == null) {
+            return null;
+        }
+        cacheInMemory(key, new CachedEmbedding(stored.embedding(), stored.createdAtMillis()));
+        return stored.embedding();
+    }
+
+    private void put(String key, Embedding embedding) {
+        long now = clock.millis();
+        cacheInMemory(key, new CachedEmbedding(copy(embedding), now));
+        if (fileCache != null) {
+            fileCache.put(key, embedding, now);
+        }
+    }
+
+    private void cacheInMemory(String key, CachedEmbedding cached) {
+        cacheLock.lock();
+        try {
+            cache.put(key, cached);
+            var leastRecentlyUsed = cache.entrySet().iterator();
+            while (cache.size() > maxSize && leastRecentlyUsed.hasNext()) {
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private boolean isExpired(long createdAtMillis, long now) {
+        return timeToLive != null && now - createdAtMillis >= timeToLive.toMillis();
+    }
+
+    private String key(String text) {
+        String prefix = keyPrefix;
+        if (prefix == null) {
+            // the dimension is resolved lazily, as it might require a call to the delegate model
+            prefix = keyPrefix = delegate.modelName() + "/" + delegate.dimension() + "/";
+        }
+        return prefix + HexFormat.of().formatHex(sha256().digest(text.getBytes(UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sets a copy of the embedding at each of the indexes, since an {@link Embedding} is mutable
+     * (e.g., {@link Embedding#normalize()}) and must not be shared between callers, nor with the cache.
+     */
+    private static void set(Embedding[] embeddings, List<Integer> indexes, Embedding embedding) {
+        for (int index : indexes) {
+            embeddings[index] = copy(embedding);
+        }
+    }
+
+    private static Embedding copy(Embedding embedding) {
+        return Embedding.from(embedding.vector().clone());
+    }
+
+    private static Embedding await(CompletableFuture<Embedding> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private EmbeddingModel delegate;
+        private Integer maxSize;
+        private Duration timeToLive;
+        private Path cacheFile;
+        private Integer maxCacheFileSize;
+        private Clock clock;
+
+        /**
+         * @param delegate The {@link EmbeddingModel} computing the embeddings that are not cached.
+         * @return builder
+         */
+        public Builder delegate(EmbeddingModel delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * @param maxSize The maximum number of embeddings kept in memory. Default value: 10000.
+         * @return builder
+         */
+        public Builder maxSize(Integer maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param timeToLive How long an embedding is cached after it was computed. By default, embeddings do not expire.
+         * @return builder
+         */
+        public Builder timeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * @param cacheFile The file where embeddings are persisted, so that they survive restarts.
+         *                  It is created if it does not exist. By default, embeddings are only cached in memory.
+         * @return builder
+         */
+        public Builder cacheFile(Path cacheFile) {
+            this.cacheFile = cacheFile;
+            return this;
+        }
+
+        /**
+         * @param maxCacheFileSize The maximum number of embeddings of the {@link #cacheFile(Path)} whose location
+         *                         is kept in memory, the least recently used ones being forgotten. Default value: 100000.
+         * @return builder
+         */
+        public Builder maxCacheFileSize(Integer maxCacheFileSize) {
+            this.maxCacheFileSize = maxCacheFileSize;
+            return this;
+        }
+
+        Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public CachingEmbeddingModel build() {
+            return new CachingEmbeddingModel(this);
+        }
+    }
+
+    private record CachedEmbedding(Embedding embedding, long createdAtMillis) {}
+}
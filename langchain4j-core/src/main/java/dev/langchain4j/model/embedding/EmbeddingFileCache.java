@@ -0,0 +1,178 @@
+package dev.langchain4j.model.embedding;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import dev.langchain4j.data.embedding.Embedding;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * On-disk tier of {@link CachingEmbeddingModel}.
+ * <p>
+ * Embeddings are appended to a single file, one record per embedding:
+ * key length, key (UTF-8), creation time (epoch millis), dimension, and vector.
+ * The records are indexed in memory when the file is opened, by mapping the file into memory and scanning it.
+ * An incomplete record at the end of the file, left by an interrupted write, is discarded.
+ * <p>
+ * The file is append-only: the latest record of a key wins, and expired or replaced records are not reclaimed.
+ * The file can be deleted while no {@link CachingEmbeddingModel} uses it.
+ * <p>
+ * The in-memory index holds at most {@code maxEntries} keys, evicting the least recently used ones.
+ * The records of evicted keys stay in the file, but are not found anymore, until they are written again.
+ */
+class EmbeddingFileCache implements AutoCloseable {
+
+    private static final int MAX_KEY_LENGTH = 1024;
+
+    private final FileChannel channel;
+    private final Map<String, Location> index;
+    private long size;
+
+    EmbeddingFileCache(Path file, int maxEntries) {
+        this.index = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Location> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        try {
+            this.channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = load();
+            if (size < channel.size()) {
+                channel.truncate(size);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long load() throws IOException {
+        long fileSize = channel.size();
+        long position = 0;
+        // records are scanned in windows, since a single mapping is limited to 2 GB
+        while (position < fileSize) {
+            long windowSize = Math.min(fileSize - position, Integer.MAX_VALUE);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            int scanned = scan(window, position);
+            if (scanned == 0) {
+                break; // incomplete record
+            }
+            position += scanned;
+        }
+        return position;
+    }
+
+    private int scan(ByteBuffer window, long windowPosition) {
+        while (window.remaining() >= Integer.BYTES) {
+            int start = window.position();
+            int keyLength = window.getInt();
+            if (keyLength <= 0
+                    || keyLength > MAX_KEY_LENGTH
+                    || window.remaining() < keyLength + Long.BYTES + Integer.BYTES) {
+                window.position(start);
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            window.get(key);
+            long createdAtMillis = window.getLong();
+            int dimension = window.getInt();
+            if (dimension < 0 || (long) window.remaining() < (long) dimension * Float.BYTES) {
+                window.position(start);
+                break;
+            }
+            long vectorPosition = windowPosition + window.position();
+            window.position(window.position() + dimension * Float.BYTES);
+            index.put(new String(key, UTF_8), new Location(vectorPosition, dimension, createdAtMillis));
+        }
+        return window.position();
+    }
+
+    /**
+     * Returns the embedding stored for the key, if it was created after the given time.
+     * <p>
+     * The record is read under the same lock as {@link #clear()}, which truncates the file,
+     * so that it cannot be cut short or overwritten by records written after clearing.
+     */
+    synchronized Entry get(String key, long createdAfterMillis) {
+        Location location = index.get(key);
+        if (location == null || location.createdAtMillis() <= createdAfterMillis) {
+            return null;
+        }
+        ByteBuffer vector = ByteBuffer.allocate(location.dimension() * Float.BYTES);
+        try {
+            readFully(vector, location.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        vector.flip();
+        float[] floats = new float[location.dimension()];
+        vector.asFloatBuffer().get(floats);
+        return new Entry(Embedding.from(floats), location.createdAtMillis());
+    }
+
+    synchronized void put(String key, Embedding embedding, long createdAtMillis) {
+        byte[] keyBytes = key.getBytes(UTF_8);
+        float[] vector = embedding.vector();
+        ByteBuffer record = ByteBuffer.allocate(
+                Integer.BYTES + keyBytes.length + Long.BYTES + Integer.BYTES + vector.length * Float.BYTES);
+        record.putInt(keyBytes.length);
+        record.put(keyBytes);
+        record.putLong(createdAtMillis);
+        record.putInt(vector.length);
+        long vectorPosition = size + record.position();
+        record.asFloatBuffer().put(vector);
+        record.position(record.limit());
+        record.flip();
+        try {
+            long position = size;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            size = position;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        index.put(key, new Location(vectorPosition, vector.length, createdAtMillis));
+    }
+
+    synchronized void clear() {
+        try {
+            channel.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        size = 0;
+        index.clear();
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of embedding cache file");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record Entry(Embedding embedding, long createdAtMillis) {}
+
+    private record Location(long position, int dimension, long createdAtMillis) {}
+}
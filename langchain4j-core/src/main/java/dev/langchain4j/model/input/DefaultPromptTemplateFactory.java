@@ -6,7 +6,11 @@ import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
 import dev.langchain4j.Internal;
 import dev.langchain4j.spi.prompt.PromptTemplateFactory;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -20,6 +24,10 @@ class DefaultPromptTemplateFactory implements PromptTemplateFactory {
         return new DefaultTemplate(input.getTemplate());
     }
 
+    /**
+     * A template compiled once into a sequence of literal text and variables.
+     * Rendering appends the literals and the values of the variables in order, without matching the template again.
+     */
     static class DefaultTemplate implements Template {
 
         /**
@@ -27,27 +35,45 @@ class DefaultPromptTemplateFactory implements PromptTemplateFactory {
          * Variables are denoted as <code>{{variable_name}}</code> or <code>{{ variable_name }}</code>,
          * where spaces around the variable name are allowed.
          * <p>
-         * This pattern is used to match and extract variables from a template string for further processing,
-         * such as replacing these placeholders with their corresponding values.
+         * This pattern is used to match and extract variables from a template string when the template is compiled.
          */
         @SuppressWarnings({"RegExpRedundantEscape"})
         private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{\\s*(.+?)\\s*\\}\\}");
 
         private final String template;
         private final Set<String> allVariables;
+        /**
+         * Literal text and variables, alternating: even indices hold literal text (possibly empty),
+         * odd indices hold variable names.
+         */
+        private final String[] segments;
+
+        private final int literalsLength;
 
         public DefaultTemplate(String template) {
             this.template = ensureNotBlank(template, "template");
-            this.allVariables = extractVariables(template);
-        }
-
-        private static Set<String> extractVariables(String template) {
-            Set<String> variables = new HashSet<>();
+            this.allVariables = new HashSet<>();
+            List<String> segments = new ArrayList<>();
             Matcher matcher = VARIABLE_PATTERN.matcher(template);
+            int literalStart = 0;
             while (matcher.find()) {
-                variables.add(matcher.group(1).trim());
+                String variable = matcher.group(1).trim();
+                allVariables.add(variable);
+                segments.add(template.substring(literalStart, matcher.start()));
+                segments.add(variable);
+                literalStart = matcher.end();
             }
-            return variables;
+            segments.add(template.substring(literalStart));
+            this.segments = segments.toArray(new String[0]);
+            this.literalsLength = literalsLength(this.segments);
+        }
+
+        private static int literalsLength(String[] segments) {
+            int length = 0;
+            for (int i = 0; i < segments.length; i += 2) {
+                length += segments[i].length();
+            }
+            return length;
         }
 
         public String render(Map<String, Object> variables) {
@@ -59,21 +85,59 @@ class DefaultPromptTemplateFactory implements PromptTemplateFactory {
 
             ensureAllVariablesProvided(variables);
 
-            Matcher matcher = VARIABLE_PATTERN.matcher(template);
-            StringBuffer result = new StringBuffer(template.length());
-            while (matcher.find()) {
-                String variable = matcher.group(1).trim();
-                Object value = variables.get(variable);
-                if (value == null || value.toString() == null) {
-                    throw illegalArgument("Value for the variable '%s' is null", variable);
-                }
-                matcher.appendReplacement(result, Matcher.quoteReplacement(value.toString()));
+            // values are resolved first, so that the result is allocated once with its exact length
+            String[] values = values(variables);
+            int length = literalsLength;
+            for (String value : values) {
+                length += value.length();
+            }
+            StringBuilder result = new StringBuilder(length);
+            for (int i = 0; i < values.length; i++) {
+                result.append(segments[2 * i]).append(values[i]);
             }
-            matcher.appendTail(result);
+            result.append(segments[segments.length - 1]);
 
             return result.toString();
         }
 
+        @Override
+        public void render(Map<String, Object> variables, Writer writer) throws IOException {
+            ensureNotNull(variables, "variables");
+            ensureNotNull(writer, "writer");
+
+            if (allVariables.isEmpty()) {
+                writer.write(template);
+                return;
+            }
+
+            ensureAllVariablesProvided(variables);
+
+            // values are resolved before writing, so that nothing is written when a value is null
+            String[] values = values(variables);
+            for (int i = 0; i < values.length; i++) {
+                writer.write(segments[2 * i]);
+                writer.write(values[i]);
+            }
+            writer.write(segments[segments.length - 1]);
+        }
+
+        private String[] values(Map<String, Object> variables) {
+            String[] values = new String[segments.length / 2];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = value(segments[2 * i + 1], variables);
+            }
+            return values;
+        }
+
+        private static String value(String variable, Map<String, Object> variables) {
+            Object value = variables.get(variable);
+            String string = value == null ? null : value.toString();
+            if (string == null) {
+                throw illegalArgument("Value for the variable '%s' is null", variable);
+            }
+            return string;
+        }
+
         private void ensureAllVariablesProvided(Map<String, Object> providedVariables) {
             for (String variable : allVariables) {
                 if (!providedVariables.containsKey(variable)) {
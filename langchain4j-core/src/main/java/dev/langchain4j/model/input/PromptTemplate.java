@@ -6,6 +6,8 @@ import static dev.langchain4j.spi.ServiceHelper.loadFactories;
 import static java.util.Collections.singletonMap;
 
 import dev.langchain4j.spi.prompt.PromptTemplateFactory;
+import java.io.IOException;
+import java.io.Writer;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -128,6 +130,21 @@ public class PromptTemplate {
         return Prompt.from(template.render(injectDateTimeVariables(variables)));
     }
 
+    /**
+     * Applies multiple values to a template containing multiple variables, writing the result into the given writer
+     * instead of creating a {@link Prompt}. This avoids holding the whole text in memory more than once
+     * when the values are large (e.g., retrieved contents).
+     *
+     * @param variables A map of variable names to values that will be injected in place of the corresponding placeholders in the template.
+     * @param writer    The writer to write the result into. It is neither flushed nor closed.
+     * @throws IOException if writing fails.
+     * @since 1.17.0
+     */
+    public void apply(Map<String, Object> variables, Writer writer) throws IOException {
+        ensureNotNull(variables, "variables");
+        template.render(injectDateTimeVariables(variables), writer);
+    }
+
     /**
      * Injects the special variables {{current_date}}, {{current_time}}, and {{current_date_time}} into the given map.
      *
@@ -2,6 +2,8 @@ package dev.langchain4j.spi.prompt;
 
 import dev.langchain4j.Internal;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -40,6 +42,21 @@ public interface PromptTemplateFactory {
          * @return the rendered template.
          */
         String render(Map<String, Object> variables);
+
+        /**
+         * Render the template into the given writer.
+         * <p>
+         * The default implementation writes the result of {@link #render(Map)}.
+         * Implementations can override it to write the template piece by piece.
+         *
+         * @param variables the variables to use.
+         * @param writer the writer to write the rendered template into.
+         * @throws IOException if writing fails.
+         * @since 1.17.0
+         */
+        default void render(Map<String, Object> variables, Writer writer) throws IOException {
+            writer.write(render(variables));
+        }
     }
 
     /**
@@ -1,10 +1,10 @@
 package dev.langchain4j.store.embedding;
 
-import dev.langchain4j.data.embedding.Embedding;
-
 import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
+import dev.langchain4j.data.embedding.Embedding;
+
 /**
  * Utility class for calculating cosine similarity between two vectors.
  */
@@ -32,6 +32,9 @@ public class CosineSimilarity {
      * <p>
      * Embeddings of all-zeros vectors are considered orthogonal to all other vectors;
      * including other all-zeros vectors.
+     * <p>
+     * The calculation is done in double precision.
+     * {@link VectorSimilarity} provides faster single-precision kernels, e.g., to scan many vectors.
      *
      * @param embeddingA first embedding vector
      * @param embeddingB second embedding vector
@@ -45,7 +48,8 @@ public class CosineSimilarity {
         float[] vectorB = embeddingB.vector();
 
         if (vectorA.length != vectorB.length) {
-            throw illegalArgument("Length of vector a (%s) must be equal to the length of vector b (%s)",
+            throw illegalArgument(
+                    "Length of vector a (%s) must be equal to the length of vector b (%s)",
                     vectorA.length, vectorB.length);
         }
 
@@ -0,0 +1,14 @@
+package dev.langchain4j.store.embedding;
+
+/**
+ * Low-level similarity primitives over slices of {@code float} arrays.
+ * Callers are responsible for bounds and length checks.
+ *
+ * @see VectorSimilarity
+ */
+interface SimilarityKernel {
+
+    float dotProduct(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    float squaredEuclideanDistance(float[] a, int aOffset, float[] b, int bOffset, int length);
+}
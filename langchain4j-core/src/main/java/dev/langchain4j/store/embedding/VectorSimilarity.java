@@ -0,0 +1,206 @@
+package dev.langchain4j.store.embedding;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Similarity kernels over {@code float} vectors: dot product, cosine similarity (with precomputed norms)
+ * and Euclidean (L2) distance, both for a pair of vectors and for one query against many rows.
+ * <p>
+ * When this module is built with the {@code vector-api} profile ({@code -Pvector-api})
+ * and the JVM is started with {@code --add-modules jdk.incubator.vector},
+ * the kernels use the Vector API and run on the SIMD units of the CPU (e.g., AVX2, AVX-512, NEON).
+ * Otherwise, or if {@code -Dlangchain4j.vector-api.enabled=false} is set, a portable scalar implementation is used.
+ * <p>
+ * Computations are done in single precision, so results may differ from a double-precision computation
+ * in the last digits.
+ * <p>
+ * Batch methods expect the rows to be packed row by row into a single array:
+ * row {@code i} occupies the elements from {@code i * dimension} (inclusive) to {@code (i + 1) * dimension} (exclusive),
+ * where {@code dimension} is the length of the query vector.
+ */
+public class VectorSimilarity {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorSimilarity.class);
+
+    private static final String VECTOR_API_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_API_ENABLED_PROPERTY = "langchain4j.vector-api.enabled";
+
+    private static final String VECTOR_API_KERNEL_CLASS = "dev.langchain4j.store.embedding.VectorApiSimilarityKernel";
+
+    private static final SimilarityKernel KERNEL = loadKernel();
+
+    private VectorSimilarity() {}
+
+    /**
+     * @return {@code true} if the Vector API is used, {@code false} if the scalar implementation is used
+     */
+    public static boolean isVectorApiUsed() {
+        return !(KERNEL instanceof ScalarSimilarityKernel);
+    }
+
+    /**
+     * Calculates the dot product of two vectors of the same length.
+     */
+    public static float dotProduct(float[] a, float[] b) {
+        ensureSameLength(a, b);
+        return KERNEL.dotProduct(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Calculates the Euclidean (L2) norm of a vector.
+     * The result can be cached and passed to {@link #cosineSimilarity(float[], float, float[], float)}.
+     */
+    public static float norm(float[] vector) {
+        return (float) Math.sqrt(KERNEL.dotProduct(vector, 0, vector, 0, vector.length));
+    }
+
+    /**
+     * Calculates the cosine similarity of two vectors of the same length.
+     * Vectors of all zeros are considered orthogonal to all other vectors.
+     *
+     * @return cosine similarity in the range [-1..1]
+     * @see CosineSimilarity#between(dev.langchain4j.data.embedding.Embedding, dev.langchain4j.data.embedding.Embedding)
+     */
+    public static float cosineSimilarity(float[] a, float[] b) {
+        return cosineSimilarity(a, norm(a), b, norm(b));
+    }
+
+    /**
+     * Calculates the cosine similarity of two vectors of the same length, reusing their precomputed norms.
+     *
+     * @param normA the norm of {@code a}, as returned by {@link #norm(float[])}
+     * @param normB the norm of {@code b}, as returned by {@link #norm(float[])}
+     * @return cosine similarity in the range [-1..1]
+     */
+    public static float cosineSimilarity(float[] a, float normA, float[] b, float normB) {
+        ensureSameLength(a, b);
+        return cosine(KERNEL.dotProduct(a, 0, b, 0, a.length), normA, normB);
+    }
+
+    /**
+     * Calculates the squared Euclidean (L2) distance between two vectors of the same length.
+     */
+    public static float squaredEuclideanDistance(float[] a, float[] b) {
+        ensureSameLength(a, b);
+        return KERNEL.squaredEuclideanDistance(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Calculates the Euclidean (L2) distance between two vectors of the same length.
+     */
+    public static float euclideanDistance(float[] a, float[] b) {
+        return (float) Math.sqrt(squaredEuclideanDistance(a, b));
+    }
+
+    /**
+     * Calculates the dot products of the query with each of the first {@code rowCount} rows.
+     *
+     * @param results receives the dot product with row {@code i} at index {@code i}
+     */
+    public static void dotProducts(float[] query, float[] rows, int rowCount, float[] results) {
+        ensureBatch(query, rows, rowCount, results);
+        int dimension = query.length;
+        for (int row = 0; row < rowCount; row++) {
+            results[row] = KERNEL.dotProduct(query, 0, rows, row * dimension, dimension);
+        }
+    }
+
+    /**
+     * Calculates the cosine similarities of the query with each of the first {@code rowCount} rows,
+     * reusing the precomputed norms.
+     *
+     * @param queryNorm the norm of the query, as returned by {@link #norm(float[])}
+     * @param rowNorms  the norm of row {@code i} at index {@code i}
+     * @param results   receives the cosine similarity with row {@code i} at index {@code i}
+     */
+    public static void cosineSimilarities(
+            float[] query, float queryNorm, float[] rows, float[] rowNorms, int rowCount, float[] results) {
+        ensureBatch(query, rows, rowCount, results);
+        if (rowNorms.length < rowCount) {
+            throw illegalArgument("Expected at least %s row norms, but got %s", rowCount, rowNorms.length);
+        }
+        int dimension = query.length;
+        for (int row = 0; row < rowCount; row++) {
+            float dotProduct = KERNEL.dotProduct(query, 0, rows, row * dimension, dimension);
+            results[row] = cosine(dotProduct, queryNorm, rowNorms[row]);
+        }
+    }
+
+    /**
+     * Calculates the squared Euclidean (L2) distances between the query and each of the first {@code rowCount} rows.
+     *
+     * @param results receives the squared distance to row {@code i} at index {@code i}
+     */
+    public static void squaredEuclideanDistances(float[] query, float[] rows, int rowCount, float[] results) {
+        ensureBatch(query, rows, rowCount, results);
+        int dimension = query.length;
+        for (int row = 0; row < rowCount; row++) {
+            results[row] = KERNEL.squaredEuclideanDistance(query, 0, rows, row * dimension, dimension);
+        }
+    }
+
+    private static float cosine(float dotProduct, float normA, float normB) {
+        // Avoid division by zero.
+        return dotProduct / Math.max(normA * normB, CosineSimilarity.EPSILON);
+    }
+
+    private static void ensureSameLength(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw illegalArgument(
+                    "Length of vector a (%s) must be equal to the length of vector b (%s)", a.length, b.length);
+        }
+    }
+
+    private static void ensureBatch(float[] query, float[] rows, int rowCount, float[] results) {
+        if ((long) rowCount * query.length > rows.length) {
+            throw illegalArgument(
+                    "Expected at least %s rows of dimension %s, but got %s values",
+                    rowCount, query.length, rows.length);
+        }
+        if (results.length < rowCount) {
+            throw illegalArgument("Expected room for at least %s results, but got %s", rowCount, results.length);
+        }
+    }
+
+    private static SimilarityKernel loadKernel() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty(VECTOR_API_ENABLED_PROPERTY, "true"));
+        if (enabled) {
+            SimilarityKernel kernel = vectorApiKernel();
+            if (kernel != null) {
+                return kernel;
+            }
+        }
+        return new ScalarSimilarityKernel();
+    }
+
+    /**
+     * Loads the kernel based on the Vector API,
+     * which is compiled separately (see the opt-in {@code vector-api} build profile),
+     * so that the rest of this module is compiled and documented without the incubator module.
+     * <p>
+     * The incubator module is not resolved by default: the JVM running the application
+     * has to be started with {@code --add-modules jdk.incubator.vector}, otherwise the scalar kernel is used.
+     *
+     * @return the kernel, or {@code null} if the Vector API or the kernel class is not available
+     */
+    static SimilarityKernel vectorApiKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_API_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            SimilarityKernel kernel = (SimilarityKernel) Class.forName(VECTOR_API_KERNEL_CLASS)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            kernel.dotProduct(new float[] {1}, 0, new float[] {1}, 0, 1);
+            return kernel;
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Failed to initialize the Vector API, falling back to the scalar implementation", e);
+            return null;
+        }
+    }
+}
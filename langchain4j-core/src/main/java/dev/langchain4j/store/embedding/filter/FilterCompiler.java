@@ -0,0 +1,203 @@
+package dev.langchain4j.store.embedding.filter;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.store.embedding.filter.comparison.ContainsString;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsIn;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotIn;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Not;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles a {@link Filter} into a {@link Predicate} over {@link Metadata},
+ * for embedding stores that evaluate filters in-process against many entries.
+ * <p>
+ * The filter tree is walked once, and each comparison is turned into a specialized predicate
+ * that looks its key up directly and compares strings and numbers using primitive operations.
+ * When a value does not fit such a fast path (e.g., mixed numeric types, UUIDs, or a type mismatch),
+ * the original {@link Filter#test(Object)} is called, so the compiled predicate always gives the same result
+ * (or throws the same exception) as the filter it was compiled from.
+ * <p>
+ * Unknown {@link Filter} implementations are evaluated using their {@link Filter#test(Object)} method.
+ */
+public class FilterCompiler {
+
+    private FilterCompiler() {}
+
+    /**
+     * Compiles the given filter.
+     *
+     * @param filter the filter to compile
+     * @return a predicate equivalent to {@code filter::test} for {@link Metadata}
+     */
+    public static Predicate<Metadata> compile(Filter filter) {
+        ensureNotNull(filter, "filter");
+
+        if (filter instanceof And and) {
+            Predicate<Metadata> left = compile(and.left());
+            Predicate<Metadata> right = compile(and.right());
+            return metadata -> left.test(metadata) && right.test(metadata);
+        } else if (filter instanceof Or or) {
+            Predicate<Metadata> left = compile(or.left());
+            Predicate<Metadata> right = compile(or.right());
+            return metadata -> left.test(metadata) || right.test(metadata);
+        } else if (filter instanceof Not not) {
+            Predicate<Metadata> expression = compile(not.expression());
+            return metadata -> !expression.test(metadata);
+        } else if (filter instanceof IsEqualTo isEqualTo) {
+            return compare(filter, isEqualTo.key(), isEqualTo.comparisonValue(), false, result -> result == 0);
+        } else if (filter instanceof IsNotEqualTo isNotEqualTo) {
+            return compare(filter, isNotEqualTo.key(), isNotEqualTo.comparisonValue(), true, result -> result != 0);
+        } else if (filter instanceof IsGreaterThan isGreaterThan) {
+            return compare(filter, isGreaterThan.key(), isGreaterThan.comparisonValue(), false, result -> result > 0);
+        } else if (filter instanceof IsGreaterThanOrEqualTo isGreaterThanOrEqualTo) {
+            return compare(
+                    filter,
+                    isGreaterThanOrEqualTo.key(),
+                    isGreaterThanOrEqualTo.comparisonValue(),
+                    false,
+                    result -> result >= 0);
+        } else if (filter instanceof IsLessThan isLessThan) {
+            return compare(filter, isLessThan.key(), isLessThan.comparisonValue(), false, result -> result < 0);
+        } else if (filter instanceof IsLessThanOrEqualTo isLessThanOrEqualTo) {
+            return compare(
+                    filter,
+                    isLessThanOrEqualTo.key(),
+                    isLessThanOrEqualTo.comparisonValue(),
+                    false,
+                    result -> result <= 0);
+        } else if (filter instanceof IsIn isIn) {
+            return in(filter, isIn.key(), isIn.comparisonValues(), false);
+        } else if (filter instanceof IsNotIn isNotIn) {
+            return in(filter, isNotIn.key(), isNotIn.comparisonValues(), true);
+        } else if (filter instanceof ContainsString containsString) {
+            String key = containsString.key();
+            String comparisonValue = containsString.comparisonValue();
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return false;
+                }
+                return actualValue instanceof String string ? string.contains(comparisonValue) : filter.test(metadata);
+            };
+        }
+
+        return filter::test;
+    }
+
+    /**
+     * Compiles a comparison of the value of the given key with the given comparison value,
+     * where the sign of the comparison result is interpreted by {@code resultMatches}.
+     */
+    private static Predicate<Metadata> compare(
+            Filter filter, String key, Object comparisonValue, boolean matchesMissingKey, IntPredicate resultMatches) {
+
+        if (comparisonValue instanceof String comparisonString) {
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return matchesMissingKey;
+                }
+                if (actualValue instanceof String actualString) {
+                    return resultMatches.test(actualString.compareTo(comparisonString));
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        if (isIntegral(comparisonValue)) {
+            long comparisonLong = ((Number) comparisonValue).longValue();
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return matchesMissingKey;
+                }
+                if (isIntegral(actualValue)) {
+                    return resultMatches.test(Long.compare(((Number) actualValue).longValue(), comparisonLong));
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        if ((comparisonValue instanceof Double || comparisonValue instanceof Float)
+                && Double.isFinite(((Number) comparisonValue).doubleValue())) {
+            double comparisonDouble = ((Number) comparisonValue).doubleValue();
+            Class<?> comparisonClass = comparisonValue.getClass();
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return matchesMissingKey;
+                }
+                // The filter compares numbers by their decimal representations.
+                // Comparing primitives gives the same result only for values of the same type
+                // and for an int compared to a double, other combinations take the slow path.
+                if (actualValue.getClass() == comparisonClass
+                        || (actualValue instanceof Integer && comparisonValue instanceof Double)) {
+                    double actualDouble = ((Number) actualValue).doubleValue();
+                    if (Double.isFinite(actualDouble)) {
+                        return resultMatches.test(compare(actualDouble, comparisonDouble));
+                    }
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        return filter::test;
+    }
+
+    private static Predicate<Metadata> in(Filter filter, String key, Collection<?> comparisonValues, boolean negated) {
+
+        if (comparisonValues.stream().allMatch(value -> value instanceof String)) {
+            Set<?> strings = new HashSet<>(comparisonValues);
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return negated;
+                }
+                if (actualValue instanceof String) {
+                    return negated != strings.contains(actualValue);
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        if (comparisonValues.stream().allMatch(FilterCompiler::isIntegral)) {
+            Set<Long> longs = new HashSet<>();
+            comparisonValues.forEach(value -> longs.add(((Number) value).longValue()));
+            return metadata -> {
+                Object actualValue = metadata.getObject(key);
+                if (actualValue == null) {
+                    return negated;
+                }
+                if (isIntegral(actualValue)) {
+                    return negated != longs.contains(((Number) actualValue).longValue());
+                }
+                return filter.test(metadata);
+            };
+        }
+
+        return filter::test;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long;
+    }
+
+    private static int compare(double a, double b) {
+        // unlike Double.compare, treats 0.0 and -0.0 as equal, consistently with BigDecimal
+        return a < b ? -1 : (a > b ? 1 : 0);
+    }
+}
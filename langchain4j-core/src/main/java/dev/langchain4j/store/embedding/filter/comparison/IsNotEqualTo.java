@@ -39,7 +39,7 @@ public class IsNotEqualTo implements Filter {
             return true;
         }
 
-        Object actualValue = metadata.toMap().get(key);
+        Object actualValue = metadata.getObject(key);
         ensureTypesAreCompatible(actualValue, comparisonValue, key);
 
         if (actualValue instanceof Number) {
@@ -47,7 +47,7 @@ public class IsNotIn implements Filter {
             return true;
         }
 
-        Object actualValue = metadata.toMap().get(key);
+        Object actualValue = metadata.getObject(key);
         ensureTypesAreCompatible(actualValue, comparisonValues.iterator().next(), key);
 
         if (comparisonValues.iterator().next() instanceof Number) {
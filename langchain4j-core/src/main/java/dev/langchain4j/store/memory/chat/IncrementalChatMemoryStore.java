@@ -0,0 +1,38 @@
+package dev.langchain4j.store.memory.chat;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.memory.ChatMemory;
+import java.util.List;
+
+/**
+ * A {@link ChatMemoryStore} that can also update the messages of a chat memory incrementally,
+ * instead of replacing all of them with {@link #updateMessages(Object, List)}.
+ * <p>
+ * When a {@link ChatMemory} adds a message, usually only the new message is appended,
+ * and possibly the oldest messages are evicted.
+ * {@link ChatMemory} implementations supporting this interface use it to persist only these changes,
+ * so that the cost of persisting a turn does not grow with the length of the conversation.
+ * They fall back to {@link #updateMessages(Object, List)} for changes that cannot be expressed incrementally.
+ */
+public interface IncrementalChatMemoryStore extends ChatMemoryStore {
+
+    /**
+     * Appends messages to the end of the messages of a specified chat memory.
+     *
+     * @param memoryId The ID of the chat memory.
+     * @param messages The messages to append. Can be serialized to JSON using {@link ChatMessageSerializer}.
+     */
+    void appendMessages(Object memoryId, List<ChatMessage> messages);
+
+    /**
+     * Removes a range of messages of a specified chat memory,
+     * such as the oldest messages being evicted, or a system message being replaced.
+     *
+     * @param memoryId  The ID of the chat memory.
+     * @param fromIndex The index of the first message to remove (inclusive),
+     *                  in the list returned by {@link #getMessages(Object)}.
+     * @param toIndex   The index of the last message to remove (exclusive).
+     */
+    void removeMessages(Object memoryId, int fromIndex, int toIndex);
+}
@@ -0,0 +1,246 @@
+package dev.langchain4j.model.chat.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatRequestOptions;
+import dev.langchain4j.model.chat.TestStreamingChatResponseHandler;
+import dev.langchain4j.model.chat.mock.ChatModelMock;
+import dev.langchain4j.model.chat.mock.StreamingChatModelMock;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CachingChatModelTest {
+
+    @Test
+    void should_serve_equal_request_from_cache() {
+
+        // given
+        ChatModelMock delegate = ChatModelMock.thatAlwaysResponds("Paris");
+        CachingChatModel model =
+                new CachingChatModel(delegate, ChatResponseCache.builder().build());
+        model.chat(request("What is the capital of France?"));
+
+        // when
+        ChatResponse response = model.chat(request("What is the capital of France?"));
+        model.chat(request("What is the capital of Germany?"));
+
+        // then
+        assertThat(response.aiMessage().text()).isEqualTo("Paris");
+        assertThat(delegate.requests()).hasSize(2);
+        assertThat(model.cache().stats()).isEqualTo(new ChatResponseCacheStats(1, 0, 2, 0));
+    }
+
+    @Test
+    void should_not_serve_response_cached_in_another_scope() {
+
+        // given
+        ChatModelMock delegate = ChatModelMock.thatAlwaysResponds("Paris");
+        CachingChatModel model =
+                new CachingChatModel(delegate, ChatResponseCache.builder().build());
+        model.chat(request("What is the capital of France?"), scope("alice"));
+
+        // when
+        model.chat(request("What is the capital of France?"), scope("alice"));
+        model.chat(request("What is the capital of France?"), scope("bob"));
+
+        // then
+        assertThat(delegate.requests()).hasSize(2);
+    }
+
+    @Test
+    void should_serve_similar_question_from_semantic_tier() {
+
+        // given
+        ChatModelMock delegate = ChatModelMock.thatAlwaysResponds("Click on 'Forgot password'");
+        EmbeddingModel embeddingModel = embeddingModel(Map.of(
+                "How do I reset my password?", new float[] {1, 0.1f},
+                "how to reset password", new float[] {1, 0.11f},
+                "How do I delete my account?", new float[] {0.1f, 1}));
+        CachingChatModel model = new CachingChatModel(
+                delegate,
+                ChatResponseCache.builder()
+                        .embeddingModel(embeddingModel)
+                        .minSimilarity(0.99)
+                        .build());
+        model.chat(request("How do I reset my password?"));
+
+        // when
+        ChatResponse response = model.chat(request("how to reset password"));
+        model.chat(request("How do I delete my account?"));
+
+        // then
+        assertThat(response.aiMessage().text()).isEqualTo("Click on 'Forgot password'");
+        assertThat(delegate.requests()).hasSize(2);
+        assertThat(model.cache().stats()).isEqualTo(new ChatResponseCacheStats(0, 1, 2, 0));
+    }
+
+    @Test
+    void should_not_serve_similar_question_with_other_system_message() {
+
+        // given
+        ChatModelMock delegate = ChatModelMock.thatAlwaysResponds("answer");
+        EmbeddingModel embeddingModel = embeddingModel(Map.of("question", new float[] {1, 0}));
+        CachingChatModel model = new CachingChatModel(
+                delegate,
+                ChatResponseCache.builder().embeddingModel(embeddingModel).build());
+        model.chat(ChatRequest.builder()
+                .messages(SystemMessage.from("You are a pirate"), UserMessage.from("question"))
+                .build());
+
+        // when
+        model.chat(ChatRequest.builder()
+                .messages(SystemMessage.from("You are a poet"), UserMessage.from("question"))
+                .build());
+
+        // then
+        assertThat(delegate.requests()).hasSize(2);
+    }
+
+    @Test
+    void should_not_serve_similar_question_from_other_conversation() {
+
+        // given
+        ChatModelMock delegate = ChatModelMock.thatAlwaysResponds("answer");
+        EmbeddingModel embeddingModel = embeddingModel(Map.of("What is my name?", new float[] {1, 0}));
+        CachingChatModel model = new CachingChatModel(
+                delegate,
+                ChatResponseCache.builder().embeddingModel(embeddingModel).build());
+        model.chat(ChatRequest.builder()
+                .messages(
+                        UserMessage.from("My name is Klaus"),
+                        AiMessage.from("Hi Klaus"),
+                        UserMessage.from("What is my name?"))
+                .build());
+
+        // when
+        model.chat(ChatRequest.builder()
+                .messages(
+                        UserMessage.from("My name is Francine"),
+                        AiMessage.from("Hi Francine"),
+                        UserMessage.from("What is my name?"))
+                .build());
+
+        // then
+        assertThat(delegate.requests()).hasSize(2);
+        assertThat(model.cache().stats()).isEqualTo(new ChatResponseCacheStats(0, 0, 2, 0));
+    }
+
+    @Test
+    void should_expire_and_evict_responses() {
+
+        // given
+        MutableClock clock = new MutableClock();
+        ChatModelMock delegate = ChatModelMock.thatAlwaysResponds("answer");
+        CachingChatModel model = new CachingChatModel(
+                delegate,
+                ChatResponseCache.builder()
+                        .maxSize(2)
+                        .timeToLive(Duration.ofMinutes(1))
+                        .clock(clock)
+                        .build());
+        model.chat(request("first"));
+        model.chat(request("second"));
+        model.chat(request("third"));
+
+        // when
+        model.chat(request("third"));
+        clock.advance(Duration.ofMinutes(1));
+        model.chat(request("third"));
+        model.chat(request("first"));
+
+        // then
+        assertThat(delegate.requests()).hasSize(5);
+        assertThat(model.cache().stats()).isEqualTo(new ChatResponseCacheStats(1, 0, 5, 2));
+    }
+
+    @Test
+    void should_replay_cached_response_as_partial_responses() {
+
+        // given
+        StreamingChatModelMock delegate = StreamingChatModelMock.thatAlwaysStreams("Hel", "lo");
+        CachingStreamingChatModel model = new CachingStreamingChatModel(
+                delegate, ChatResponseCache.builder().build());
+        TestStreamingChatResponseHandler firstHandler = new TestStreamingChatResponseHandler();
+        model.chat(request("Hi"), firstHandler);
+        firstHandler.get();
+
+        // when
+        TestStreamingChatResponseHandler secondHandler = new TestStreamingChatResponseHandler();
+        model.chat(request("Hi"), secondHandler);
+
+        // then
+        assertThat(secondHandler.get().aiMessage().text()).isEqualTo("Hello");
+        assertThat(delegate.requests()).hasSize(1);
+    }
+
+    @Test
+    void should_replay_response_cached_by_chat_model() {
+
+        // given
+        ChatResponseCache cache = ChatResponseCache.builder().build();
+        new CachingChatModel(ChatModelMock.thatAlwaysResponds("Hello"), cache).chat(request("Hi"));
+        StreamingChatModelMock delegate = StreamingChatModelMock.thatAlwaysStreams("Bye");
+        CachingStreamingChatModel model = new CachingStreamingChatModel(delegate, cache);
+
+        // when
+        TestStreamingChatResponseHandler handler = new TestStreamingChatResponseHandler();
+        model.chat(request("Hi"), handler);
+
+        // then
+        assertThat(handler.get().aiMessage().text()).isEqualTo("Hello");
+        assertThat(delegate.requests()).isEmpty();
+    }
+
+    private static ChatRequest request(String userMessage) {
+        return ChatRequest.builder().messages(UserMessage.from(userMessage)).build();
+    }
+
+    private static ChatRequestOptions scope(Object scope) {
+        return ChatRequestOptions.builder()
+                .addListenerAttribute(ChatResponseCache.SCOPE_ATTRIBUTE, scope)
+                .build();
+    }
+
+    private static EmbeddingModel embeddingModel(Map<String, float[]> vectors) {
+        return textSegments -> Response.from(textSegments.stream()
+                .map(textSegment -> Embedding.from(vectors.get(textSegment.text())))
+                .toList());
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
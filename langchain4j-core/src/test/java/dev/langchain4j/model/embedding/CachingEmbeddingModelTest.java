@@ -0,0 +1,322 @@
+package dev.langchain4j.model.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CachingEmbeddingModelTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_embed_each_distinct_text_once() {
+
+        // given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        CachingEmbeddingModel model =
+                CachingEmbeddingModel.builder().delegate(delegate).build();
+        model.embedAll(segments("a", "b"));
+
+        // when
+        Response<List<Embedding>> response = model.embedAll(segments("b", "c", "c", "a"));
+
+        // then
+        assertThat(delegate.embeddedTexts).containsExactly("a", "b", "c");
+        assertThat(response.content()).containsExactly(embedding("b"), embedding("c"), embedding("c"), embedding("a"));
+        assertThat(response.tokenUsage()).isEqualTo(new TokenUsage(1));
+    }
+
+    @Test
+    void should_evict_least_recently_used_embedding() {
+
+        // given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        CachingEmbeddingModel model =
+                CachingEmbeddingModel.builder().delegate(delegate).maxSize(2).build();
+        model.embed("a");
+        model.embed("b");
+        model.embed("a");
+
+        // when
+        model.embed("c");
+        model.embed("a");
+        model.embed("b");
+
+        // then
+        assertThat(delegate.embeddedTexts).containsExactly("a", "b", "c", "b");
+    }
+
+    @Test
+    void should_expire_embeddings() {
+
+        // given
+        MutableClock clock = new MutableClock();
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .timeToLive(Duration.ofMinutes(1))
+                .clock(clock)
+                .build();
+        model.embed("a");
+
+        // when
+        clock.advance(Duration.ofSeconds(59));
+        model.embed("a");
+        clock.advance(Duration.ofSeconds(1));
+        model.embed("a");
+
+        // then
+        assertThat(delegate.embeddedTexts).containsExactly("a", "a");
+    }
+
+    @Test
+    void should_compute_concurrently_requested_embedding_once() throws Exception {
+
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel() {
+
+            @Override
+            public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return super.embedAll(textSegments);
+            }
+        };
+        CachingEmbeddingModel model =
+                CachingEmbeddingModel.builder().delegate(delegate).build();
+        CompletableFuture<Embedding> first =
+                CompletableFuture.supplyAsync(() -> model.embed("a").content());
+        started.await(10, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<Embedding> second =
+                CompletableFuture.supplyAsync(() -> model.embed("a").content());
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(embedding("a"));
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(embedding("a"));
+        assertThat(delegate.embeddedTexts).containsExactly("a");
+    }
+
+    @Test
+    void should_not_block_waiting_threads_when_caching_fails() throws Exception {
+
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel() {
+
+            @Override
+            public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return super.embedAll(textSegments);
+            }
+        };
+        CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .cacheFile(tempDir.resolve("embeddings.bin"))
+                .build();
+        model.close(); // writing to the cache file fails from now on
+        CompletableFuture<Embedding> first =
+                CompletableFuture.supplyAsync(() -> model.embedAll(segments("a", "b")).content().get(0));
+        started.await(10, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<Embedding> second =
+                CompletableFuture.supplyAsync(() -> model.embed("b").content());
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        assertThat(first).failsWithin(10, TimeUnit.SECONDS);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(embedding("b"));
+        assertThat(delegate.embeddedTexts).containsExactly("a", "b");
+    }
+
+    @Test
+    void should_not_share_returned_embeddings() {
+
+        // given
+        CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(new RecordingEmbeddingModel())
+                .build();
+        List<Embedding> embeddings = model.embedAll(segments("a", "a")).content();
+
+        // when
+        embeddings.get(0).normalize();
+
+        // then
+        assertThat(embeddings.get(1)).isEqualTo(embedding("a"));
+        assertThat(model.embed("a").content()).isEqualTo(embedding("a"));
+    }
+
+    @Test
+    void should_read_embeddings_back_from_cache_file() {
+
+        // given
+        Path cacheFile = tempDir.resolve("embeddings.bin");
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        try (CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .cacheFile(cacheFile)
+                .build()) {
+            model.embedAll(segments("a", "b"));
+        }
+
+        // when
+        Response<List<Embedding>> response;
+        try (CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .cacheFile(cacheFile)
+                .build()) {
+            response = model.embedAll(segments("b", "c", "a"));
+        }
+
+        // then
+        assertThat(delegate.embeddedTexts).containsExactly("a", "b", "c");
+        assertThat(response.content()).containsExactly(embedding("b"), embedding("c"), embedding("a"));
+    }
+
+    @Test
+    void should_bound_number_of_embeddings_indexed_from_cache_file() {
+
+        // given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        try (CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .maxSize(1)
+                .cacheFile(tempDir.resolve("embeddings.bin"))
+                .maxCacheFileSize(2)
+                .build()) {
+            model.embedAll(segments("a", "b", "c"));
+
+            // when
+            model.embed("c");
+            model.embed("b");
+            model.embed("a");
+        }
+
+        // then
+        assertThat(delegate.embeddedTexts).containsExactly("a", "b", "c", "a");
+    }
+
+    @Test
+    void should_not_share_embeddings_between_models() {
+
+        // given
+        Path cacheFile = tempDir.resolve("embeddings.bin");
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        try (CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .cacheFile(cacheFile)
+                .build()) {
+            model.embed("a");
+        }
+        RecordingEmbeddingModel otherDelegate = new RecordingEmbeddingModel() {
+
+            @Override
+            public String modelName() {
+                return "other-model";
+            }
+        };
+
+        // when
+        try (CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(otherDelegate)
+                .cacheFile(cacheFile)
+                .build()) {
+            model.embed("a");
+        }
+
+        // then
+        assertThat(otherDelegate.embeddedTexts).containsExactly("a");
+    }
+
+    private static List<TextSegment> segments(String... texts) {
+        return Arrays.stream(texts).map(TextSegment::from).toList();
+    }
+
+    private static Embedding embedding(String text) {
+        return Embedding.from(new float[] {text.hashCode(), text.length()});
+    }
+
+    static class RecordingEmbeddingModel implements EmbeddingModel {
+
+        final List<String> embeddedTexts = new ArrayList<>();
+
+        @Override
+        public synchronized Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            List<Embedding> embeddings = new ArrayList<>();
+            for (TextSegment segment : textSegments) {
+                embeddedTexts.add(segment.text());
+                embeddings.add(embedding(segment.text()));
+            }
+            return Response.from(embeddings, new TokenUsage(textSegments.size()));
+        }
+
+        @Override
+        public int dimension() {
+            return 2;
+        }
+
+        @Override
+        public String modelName() {
+            return "recording-model";
+        }
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.StringWriter;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -110,6 +111,63 @@ class PromptTemplateTest {
         assertThat(prompt.text()).isEqualTo("My name is Klaus, call me Klaus.");
     }
 
+    @Test
+    void should_render_variables_at_template_boundaries() {
+
+        // given
+        PromptTemplate promptTemplate = PromptTemplate.from("{{greeting}}{{ name }}, {{question}}");
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("greeting", "Hi ");
+        variables.put("name", "Klaus");
+        variables.put("question", 42);
+
+        // when
+        Prompt prompt = promptTemplate.apply(variables);
+
+        // then
+        assertThat(prompt.text()).isEqualTo("Hi Klaus, 42");
+    }
+
+    @Test
+    void should_apply_template_into_writer() throws Exception {
+
+        // given
+        PromptTemplate promptTemplate = PromptTemplate.from("Answer using {{contents}}.\nQuestion: {{it}}");
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("contents", "the contents");
+        variables.put("it", "What is {{it}}?");
+
+        StringWriter writer = new StringWriter();
+
+        // when
+        promptTemplate.apply(variables, writer);
+
+        // then
+        assertThat(writer).hasToString(promptTemplate.apply(variables).text());
+        assertThat(writer).hasToString("Answer using the contents.\nQuestion: What is {{it}}?");
+    }
+
+    @Test
+    void should_not_write_into_writer_when_value_is_null() {
+
+        // given
+        PromptTemplate promptTemplate = PromptTemplate.from("My name is {{name}}, I am {{age}}.");
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "Klaus");
+        variables.put("age", null);
+
+        StringWriter writer = new StringWriter();
+
+        // when-then
+        assertThatThrownBy(() -> promptTemplate.apply(variables, writer))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Value for the variable 'age' is null");
+        assertThat(writer.toString()).isEmpty();
+    }
+
     @Test
     void should_fail_when_value_is_missing() {
 
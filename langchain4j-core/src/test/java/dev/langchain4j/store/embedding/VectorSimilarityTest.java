@@ -0,0 +1,117 @@
+package dev.langchain4j.store.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class VectorSimilarityTest {
+
+    private final Random random = new Random(42);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 7, 8, 16, 33, 384, 1023})
+    void scalar_and_vector_api_kernels_should_agree_with_double_precision(int dimension) {
+
+        // given
+        float[] a = randomVector(dimension);
+        float[] b = randomVector(dimension);
+
+        double expectedDotProduct = 0;
+        double expectedSquaredDistance = 0;
+        for (int i = 0; i < dimension; i++) {
+            expectedDotProduct += (double) a[i] * b[i];
+            expectedSquaredDistance += (double) (a[i] - b[i]) * (a[i] - b[i]);
+        }
+        double tolerance = 1e-4 * dimension;
+
+        // then
+        for (SimilarityKernel kernel : kernels()) {
+            assertThat(kernel.dotProduct(a, 0, b, 0, dimension))
+                    .isCloseTo((float) expectedDotProduct, within((float) tolerance));
+            assertThat(kernel.squaredEuclideanDistance(a, 0, b, 0, dimension))
+                    .isCloseTo((float) expectedSquaredDistance, within((float) tolerance));
+        }
+    }
+
+    @Test
+    void should_calculate_similarity_and_distance() {
+
+        // given
+        float[] a = {1, -1, 1};
+        float[] b = {-1, 1, -1};
+        float[] zeros = {0, 0, 0};
+
+        // then
+        assertThat(VectorSimilarity.dotProduct(a, b)).isEqualTo(-3);
+        assertThat(VectorSimilarity.norm(a)).isCloseTo((float) Math.sqrt(3), within(1e-6f));
+        assertThat(VectorSimilarity.cosineSimilarity(a, a)).isCloseTo(1, within(1e-6f));
+        assertThat(VectorSimilarity.cosineSimilarity(a, b)).isCloseTo(-1, within(1e-6f));
+        assertThat(VectorSimilarity.cosineSimilarity(a, zeros)).isZero();
+        assertThat(VectorSimilarity.squaredEuclideanDistance(a, b)).isEqualTo(12);
+        assertThat(VectorSimilarity.euclideanDistance(a, zeros)).isCloseTo((float) Math.sqrt(3), within(1e-6f));
+    }
+
+    @Test
+    void batch_methods_should_match_pairwise_methods() {
+
+        // given
+        int dimension = 37;
+        int rowCount = 10;
+        float[] query = randomVector(dimension);
+        float[] rows = randomVector(dimension * rowCount);
+        float[] rowNorms = new float[rowCount];
+        float[][] row = new float[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            row[i] = new float[dimension];
+            System.arraycopy(rows, i * dimension, row[i], 0, dimension);
+            rowNorms[i] = VectorSimilarity.norm(row[i]);
+        }
+
+        // when
+        float[] dotProducts = new float[rowCount];
+        float[] cosineSimilarities = new float[rowCount];
+        float[] squaredDistances = new float[rowCount];
+        VectorSimilarity.dotProducts(query, rows, rowCount, dotProducts);
+        VectorSimilarity.cosineSimilarities(
+                query, VectorSimilarity.norm(query), rows, rowNorms, rowCount, cosineSimilarities);
+        VectorSimilarity.squaredEuclideanDistances(query, rows, rowCount, squaredDistances);
+
+        // then
+        for (int i = 0; i < rowCount; i++) {
+            assertThat(dotProducts[i]).isEqualTo(VectorSimilarity.dotProduct(query, row[i]));
+            assertThat(cosineSimilarities[i]).isEqualTo(VectorSimilarity.cosineSimilarity(query, row[i]));
+            assertThat(squaredDistances[i]).isEqualTo(VectorSimilarity.squaredEuclideanDistance(query, row[i]));
+        }
+    }
+
+    @Test
+    void should_fail_on_different_lengths() {
+        assertThatThrownBy(() -> VectorSimilarity.cosineSimilarity(new float[3], new float[4]))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Length of vector a (3) must be equal to the length of vector b (4)");
+        assertThatThrownBy(() -> VectorSimilarity.dotProducts(new float[3], new float[5], 2, new float[2]))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected at least 2 rows of dimension 3, but got 5 values");
+    }
+
+    private static SimilarityKernel[] kernels() {
+        SimilarityKernel vectorApiKernel = VectorSimilarity.vectorApiKernel();
+        if (vectorApiKernel != null) {
+            return new SimilarityKernel[] {new ScalarSimilarityKernel(), vectorApiKernel};
+        }
+        return new SimilarityKernel[] {new ScalarSimilarityKernel()};
+    }
+
+    private float[] randomVector(int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,100 @@
+package dev.langchain4j.store.embedding.filter;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsIn;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotIn;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class FilterCompilerTest {
+
+    private static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private static final List<Object> VALUES = List.of(
+            "a", "b", "", 0, 1, -1, 2, 0L, 1L, Long.MAX_VALUE, 0.0, -0.0, 0.1, 1.0, 0f, 0.1f, 1f, ID, ID.toString());
+
+    @Test
+    void compiled_filters_should_behave_like_original_filters() {
+
+        // given
+        List<Metadata> metadatas = new ArrayList<>();
+        metadatas.add(new Metadata());
+        for (Object value : VALUES) {
+            metadatas.add(Metadata.from(Map.of("key", value)));
+        }
+
+        List<Filter> filters = new ArrayList<>();
+        for (Object value : VALUES) {
+            filters.add(new IsEqualTo("key", value));
+            filters.add(new IsNotEqualTo("key", value));
+            filters.add(new IsIn("key", List.of(value)));
+            filters.add(new IsNotIn("key", List.of(value)));
+            if (!(value instanceof UUID)) {
+                filters.add(new IsGreaterThan("key", (Comparable<?>) value));
+                filters.add(new IsGreaterThanOrEqualTo("key", (Comparable<?>) value));
+                filters.add(new IsLessThan("key", (Comparable<?>) value));
+                filters.add(new IsLessThanOrEqualTo("key", (Comparable<?>) value));
+            }
+        }
+        filters.add(metadataKey("key").isIn("a", "b"));
+        filters.add(metadataKey("key").isNotIn(1, 2L));
+        filters.add(metadataKey("key").isIn(1, 0.1));
+        filters.add(metadataKey("key").containsString("a"));
+        filters.add(metadataKey("key").isEqualTo("a").or(metadataKey("key").isEqualTo(1)));
+        filters.add(metadataKey("key")
+                .isGreaterThan(0)
+                .and(Filter.not(metadataKey("key").isEqualTo(2))));
+
+        // then
+        for (Filter filter : filters) {
+            Predicate<Metadata> compiled = FilterCompiler.compile(filter);
+            for (Metadata metadata : metadatas) {
+                assertSameOutcome(filter, compiled, metadata);
+            }
+        }
+    }
+
+    @Test
+    void should_fall_back_to_unknown_filters() {
+
+        // given
+        Filter custom = object -> object instanceof Metadata metadata && metadata.containsKey("custom");
+
+        // when
+        Predicate<Metadata> compiled =
+                FilterCompiler.compile(custom.and(metadataKey("key").isEqualTo(1)));
+
+        // then
+        assertThat(compiled.test(Metadata.from(Map.of("custom", "x", "key", 1))))
+                .isTrue();
+        assertThat(compiled.test(Metadata.from(Map.of("key", 1)))).isFalse();
+    }
+
+    private static void assertSameOutcome(Filter filter, Predicate<Metadata> compiled, Metadata metadata) {
+        boolean expected;
+        try {
+            expected = filter.test(metadata);
+        } catch (RuntimeException e) {
+            assertThatThrownBy(() -> compiled.test(metadata))
+                    .as("%s on %s", filter, metadata)
+                    .isExactlyInstanceOf(e.getClass())
+                    .hasMessage(e.getMessage());
+            return;
+        }
+        assertThat(compiled.test(metadata)).as("%s on %s", filter, metadata).isEqualTo(expected);
+    }
+}
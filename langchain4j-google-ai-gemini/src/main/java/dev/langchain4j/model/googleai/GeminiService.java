@@ -187,7 +187,8 @@ public class GeminiService {
     }
 
     GoogleAiListCachedContentsResponse listCachedContents(GoogleAiListCachedContentsRequest request) {
-        String url = baseUrl + "/cachedContents?pageSize=" + request.getPageSize() + (request.getPageToken() != null ? "&pageToken=" + request.getPageToken() : "");
+        String url = baseUrl + "/cachedContents?pageSize=" + request.getPageSize()
+                + (request.getPageToken() != null ? "&pageToken=" + request.getPageToken() : "");
         return sendRequest(url, apiKey, null, GoogleAiListCachedContentsResponse.class, GET);
     }
 
@@ -250,7 +251,7 @@ public class GeminiService {
                     streamingHandle = toStreamingHandle(context.parsingHandle());
                 }
 
-                GeminiGenerateContentResponse response = fromJson(event.data(), GeminiGenerateContentResponse.class);
+                GeminiGenerateContentResponse response = GeminiStreamingResponseDecoder.decode(event.data());
                 GeminiStreamingResponseBuilder.TextAndTools textAndTools = responseBuilder.append(response);
                 textAndTools.maybeText().ifPresent(text -> {
                     onPartialResponse(handler, text, streamingHandle);
@@ -0,0 +1,211 @@
+package dev.langchain4j.model.googleai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.langchain4j.model.googleai.GeminiContent.GeminiPart;
+import dev.langchain4j.model.googleai.GeminiGenerateContentResponse.GeminiCandidate;
+import dev.langchain4j.model.googleai.GeminiGenerateContentResponse.GeminiCandidate.GeminiFinishReason;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the chunks of a streamed response with a streaming {@link JsonParser}, without going through data binding.
+ * <p>
+ * Most chunks carry a piece of text or thought, along with the usage so far.
+ * Only the fields of such chunks are decoded here, unknown fields are skipped.
+ * A chunk containing anything else (function calls, inline data, executed code, grounding or URL context metadata,
+ * or values of an unexpected type) is decoded with data binding instead,
+ * so that the result is always the same as {@link Json#fromJson}.
+ */
+class GeminiStreamingResponseDecoder {
+
+    private static final JsonFactory JSON_FACTORY = Json.OBJECT_MAPPER.getFactory();
+
+    private GeminiStreamingResponseDecoder() {}
+
+    static GeminiGenerateContentResponse decode(String json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            GeminiGenerateContentResponse response = readResponse(parser);
+            if (parser.nextToken() == null) {
+                return response;
+            }
+        } catch (UnsupportedChunkException | IOException | IllegalArgumentException ignored) {
+            // falling back to data binding
+        }
+        return Json.fromJson(json, GeminiGenerateContentResponse.class);
+    }
+
+    private static GeminiGenerateContentResponse readResponse(JsonParser parser) throws IOException {
+        ensureStartObject(parser.nextToken());
+        String responseId = null;
+        String modelVersion = null;
+        List<GeminiCandidate> candidates = null;
+        GeminiUsageMetadata usageMetadata = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "responseId" -> responseId = readString(parser, value);
+                case "modelVersion" -> modelVersion = readString(parser, value);
+                case "candidates" ->
+                    candidates = readArray(parser, value, GeminiStreamingResponseDecoder::readCandidate);
+                case "usageMetadata" -> usageMetadata = readUsageMetadata(parser, value);
+                case "groundingMetadata" -> ensureNull(value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new GeminiGenerateContentResponse(responseId, modelVersion, candidates, usageMetadata, null);
+    }
+
+    private static GeminiCandidate readCandidate(JsonParser parser, JsonToken token) throws IOException {
+        ensureStartObject(token);
+        GeminiContent content = null;
+        GeminiFinishReason finishReason = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "content" -> content = readContent(parser, value);
+                case "finishReason" -> {
+                    String name = readString(parser, value);
+                    finishReason = name == null ? null : GeminiFinishReason.valueOf(name);
+                }
+                case "urlContextMetadata", "groundingMetadata" -> ensureNull(value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new GeminiCandidate(content, finishReason, null, null);
+    }
+
+    private static GeminiContent readContent(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        ensureStartObject(token);
+        List<GeminiPart> parts = null;
+        String role = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "parts" -> parts = readArray(parser, value, GeminiStreamingResponseDecoder::readPart);
+                case "role" -> role = readString(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new GeminiContent(parts, role);
+    }
+
+    private static GeminiPart readPart(JsonParser parser, JsonToken token) throws IOException {
+        ensureStartObject(token);
+        GeminiPart.Builder builder = GeminiPart.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "text" -> builder.text(readString(parser, value));
+                case "thought" -> builder.thought(readBoolean(value));
+                case "thoughtSignature" -> builder.thoughtSignature(readString(parser, value));
+                case "inlineData",
+                        "functionCall",
+                        "functionResponse",
+                        "fileData",
+                        "executableCode",
+                        "codeExecutionResult",
+                        "mediaResolution" -> ensureNull(value);
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    private static GeminiUsageMetadata readUsageMetadata(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        ensureStartObject(token);
+        GeminiUsageMetadata.Builder builder = GeminiUsageMetadata.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "promptTokenCount" -> builder.promptTokenCount(readInteger(parser, value));
+                case "candidatesTokenCount" -> builder.candidatesTokenCount(readInteger(parser, value));
+                case "totalTokenCount" -> builder.totalTokenCount(readInteger(parser, value));
+                case "cachedContentTokenCount" -> builder.cachedContentTokenCount(readInteger(parser, value));
+                case "thoughtsTokenCount" -> builder.thoughtsTokenCount(readInteger(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    private static <T> List<T> readArray(JsonParser parser, JsonToken token, ElementReader<T> elementReader)
+            throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+        List<T> elements = new ArrayList<>(1);
+        JsonToken elementToken;
+        while ((elementToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+            elements.add(elementReader.read(parser, elementToken));
+        }
+        return elements;
+    }
+
+    private static String readString(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NULL -> null;
+            default -> throw UnsupportedChunkException.INSTANCE;
+        };
+    }
+
+    private static Integer readInteger(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_NULL -> null;
+            default -> throw UnsupportedChunkException.INSTANCE;
+        };
+    }
+
+    private static Boolean readBoolean(JsonToken token) {
+        return switch (token) {
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> throw UnsupportedChunkException.INSTANCE;
+        };
+    }
+
+    private static void ensureStartObject(JsonToken token) {
+        if (token != JsonToken.START_OBJECT) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+    }
+
+    private static void ensureNull(JsonToken token) {
+        if (token != JsonToken.VALUE_NULL) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+    }
+
+    private interface ElementReader<T> {
+
+        T read(JsonParser parser, JsonToken token) throws IOException;
+    }
+
+    private static class UnsupportedChunkException extends RuntimeException {
+
+        private static final UnsupportedChunkException INSTANCE = new UnsupportedChunkException();
+
+        private UnsupportedChunkException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.langchain4j.model.googleai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class GeminiStreamingResponseDecoderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"""
+                {"candidates":[{"content":{"parts":[{"text":"Hello, \\"world\\" \\u00e9"}],"role":"model"},"index":0}],"usageMetadata":{"promptTokenCount":8,"candidatesTokenCount":3,"totalTokenCount":11,"promptTokensDetails":[{"modality":"TEXT","tokenCount":8}]},"modelVersion":"gemini-2.5-flash","responseId":"abc"}
+                """, """
+                {"candidates":[{"content":{"parts":[{"text":"Let me think","thought":true}],"role":"model"},"index":0}],"usageMetadata":{"promptTokenCount":8,"totalTokenCount":30,"thoughtsTokenCount":22},"modelVersion":"gemini-2.5-flash","responseId":"abc"}
+                """, """
+                {"candidates":[{"content":{"parts":[{"text":"","thoughtSignature":"CiQB0e2Kb"}],"role":"model"},"finishReason":"STOP","index":0,"safetyRatings":[]}],"usageMetadata":{"promptTokenCount":8,"candidatesTokenCount":5,"totalTokenCount":13,"cachedContentTokenCount":4}}
+                """, """
+                {"candidates":[{"content":{"role":"model"},"finishReason":"MAX_TOKENS"}]}
+                """, """
+                {"candidates":[{"content":{"parts":[{"functionCall":{"name":"getWeather","args":{"city":"Paris"}}}],"role":"model"},"finishReason":"STOP"}]}
+                """, """
+                {"candidates":[{"content":{"parts":[{"text":"Paris"}],"role":"model"},"groundingMetadata":{"webSearchQueries":["capital of France"]}}]}
+                """, """
+                {"candidates":[{"content":{"parts":[{"text":"Hi","thought":"true"}]}}],"usageMetadata":{"promptTokenCount":"8"}}
+                """})
+    void should_decode_chunk_same_as_data_binding(String json) {
+
+        // when
+        GeminiGenerateContentResponse response = GeminiStreamingResponseDecoder.decode(json);
+
+        // then
+        assertThat(response).isEqualTo(Json.fromJson(json, GeminiGenerateContentResponse.class));
+    }
+}
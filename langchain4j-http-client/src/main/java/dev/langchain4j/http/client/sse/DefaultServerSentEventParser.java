@@ -1,54 +1,220 @@
 package dev.langchain4j.http.client.sse;
 
 import static dev.langchain4j.http.client.sse.ServerSentEventListenerUtils.ignoringExceptions;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.Arrays;
 
+/**
+ * Parses server-sent events directly from the bytes of the response body.
+ * <p>
+ * Lines are delimited by {@code \n}, {@code \r\n} or {@code \r} inside a buffer that is reused for the whole stream,
+ * and field names are matched on bytes. Only field values are decoded: the value of {@code data} fields is
+ * accumulated as bytes and decoded once per event, as UTF-8.
+ * <p>
+ * The {@code event} and {@code data} fields make up the {@link ServerSentEvent}.
+ * The {@code id} and {@code retry} fields are exposed by the {@link ServerSentEventContext}.
+ * Field values are trimmed. Comments and unknown fields are ignored.
+ */
 public class DefaultServerSentEventParser implements ServerSentEventParser {
 
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int INITIAL_DATA_BUFFER_SIZE = 1024;
+
+    private static final byte[] EVENT = "event:".getBytes(US_ASCII);
+    private static final byte[] DATA = "data:".getBytes(US_ASCII);
+    private static final byte[] ID = "id:".getBytes(US_ASCII);
+    private static final byte[] RETRY = "retry:".getBytes(US_ASCII);
+
     @Override
     public void parse(InputStream httpResponseBody, ServerSentEventListener listener) {
         ServerSentEventParsingHandle parsingHandle = new DefaultServerSentEventParsingHandle(httpResponseBody);
         ServerSentEventContext context = new ServerSentEventContext(parsingHandle);
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(httpResponseBody, UTF_8))) {
+        try (InputStream body = httpResponseBody) {
+            new Parser(listener, context).parse(body);
+        } catch (IOException e) {
+            ignoringExceptions(() -> listener.onError(e));
+        }
+    }
+
+    /**
+     * Holds the state of parsing a single stream.
+     */
+    private static class Parser {
 
-            String event = null;
-            StringBuilder data = new StringBuilder();
+        private final ServerSentEventListener listener;
+        private final ServerSentEventContext context;
 
-            String line;
-            while (!parsingHandle.isCancelled() && (line = reader.readLine()) != null) {
-                if (line.isEmpty()) {
-                    if (!data.isEmpty()) {
-                        ServerSentEvent sse = new ServerSentEvent(event, data.toString());
-                        ignoringExceptions(() -> listener.onEvent(sse, context));
-                        event = null;
-                        data.setLength(0);
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        private int start; // start of the current line
+        private int scanned; // the current line has no terminator before this position
+        private int end; // end of the bytes read
+        private boolean skipLineFeed; // the previous line ended with '\r', which can be followed by '\n'
+
+        private byte[] data = new byte[INITIAL_DATA_BUFFER_SIZE];
+        private int dataLength;
+        private String event;
+
+        private Parser(ServerSentEventListener listener, ServerSentEventContext context) {
+            this.listener = listener;
+            this.context = context;
+        }
+
+        private void parse(InputStream body) throws IOException {
+            while (!context.parsingHandle().isCancelled()) {
+                if (skipLineFeed && start < end) {
+                    if (buffer[start] == '\n') {
+                        start++;
+                        scanned = Math.max(scanned, start);
                     }
-                    continue;
+                    skipLineFeed = false;
                 }
 
-                if (line.startsWith("event:")) {
-                    event = line.substring("event:".length()).trim();
-                } else if (line.startsWith("data:")) {
-                    String content = line.substring("data:".length());
-                    if (!data.isEmpty()) {
-                        data.append("\n");
+                int terminator = indexOfLineTerminator();
+                if (terminator >= 0) {
+                    processLine(start, terminator);
+                    skipLineFeed = buffer[terminator] == '\r';
+                    start = scanned = terminator + 1;
+                } else if (!fill(body)) {
+                    if (start < end) {
+                        processLine(start, end);
                     }
-                    data.append(content.trim());
+                    break;
                 }
             }
 
-            if (!parsingHandle.isCancelled() && !data.isEmpty()) {
-                ServerSentEvent sse = new ServerSentEvent(event, data.toString());
-                ignoringExceptions(() -> listener.onEvent(sse, context));
+            if (!context.parsingHandle().isCancelled() && dataLength > 0) {
+                dispatch();
             }
-        } catch (IOException e) {
-            ignoringExceptions(() -> listener.onError(e));
+        }
+
+        private int indexOfLineTerminator() {
+            for (int i = scanned; i < end; i++) {
+                byte b = buffer[i];
+                if (b == '\n' || b == '\r') {
+                    return i;
+                }
+            }
+            scanned = end;
+            return -1;
+        }
+
+        /**
+         * Reads more bytes, after moving the current line to the beginning of the buffer,
+         * or growing the buffer when the line fills it.
+         *
+         * @return {@code false} at the end of the stream
+         */
+        private boolean fill(InputStream body) throws IOException {
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                scanned -= start;
+                start = 0;
+            }
+            if (end == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int read = body.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                return false;
+            }
+            end += read;
+            return true;
+        }
+
+        private void processLine(int from, int to) {
+            if (from == to) {
+                if (dataLength > 0) {
+                    dispatch();
+                    event = null;
+                    dataLength = 0;
+                }
+                return;
+            }
+
+            if (startsWith(from, to, DATA)) {
+                int valueFrom = trimStart(from + DATA.length, to);
+                int valueTo = trimEnd(valueFrom, to);
+                appendData(valueFrom, valueTo);
+            } else if (startsWith(from, to, EVENT)) {
+                event = value(from + EVENT.length, to);
+            } else if (startsWith(from, to, ID)) {
+                context.lastEventId(value(from + ID.length, to));
+            } else if (startsWith(from, to, RETRY)) {
+                Long reconnectionTimeMillis = parseRetry(from + RETRY.length, to);
+                if (reconnectionTimeMillis != null) {
+                    context.reconnectionTimeMillis(reconnectionTimeMillis);
+                }
+            }
+        }
+
+        private void dispatch() {
+            ServerSentEvent sse = new ServerSentEvent(event, new String(data, 0, dataLength, UTF_8));
+            ignoringExceptions(() -> listener.onEvent(sse, context));
+        }
+
+        private void appendData(int from, int to) {
+            int separatorLength = dataLength > 0 ? 1 : 0;
+            int length = separatorLength + to - from;
+            if (dataLength + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
+            }
+            if (separatorLength > 0) {
+                data[dataLength] = '\n';
+            }
+            System.arraycopy(buffer, from, data, dataLength + separatorLength, to - from);
+            dataLength += length;
+        }
+
+        private boolean startsWith(int from, int to, byte[] prefix) {
+            return to - from >= prefix.length
+                    && Arrays.equals(buffer, from, from + prefix.length, prefix, 0, prefix.length);
+        }
+
+        private String value(int from, int to) {
+            int valueFrom = trimStart(from, to);
+            return new String(buffer, valueFrom, trimEnd(valueFrom, to) - valueFrom, UTF_8);
+        }
+
+        /**
+         * Parses the value of a {@code retry} field, which is ignored unless it consists of ASCII digits only.
+         */
+        private Long parseRetry(int from, int to) {
+            int valueFrom = trimStart(from, to);
+            int valueTo = trimEnd(valueFrom, to);
+            if (valueFrom == valueTo || valueTo - valueFrom > 18) {
+                return null;
+            }
+            long value = 0;
+            for (int i = valueFrom; i < valueTo; i++) {
+                byte b = buffer[i];
+                if (b < '0' || b > '9') {
+                    return null;
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        // same as String.trim(): bytes up to ' ' are never part of a multi-byte UTF-8 sequence
+
+        private int trimStart(int from, int to) {
+            while (from < to && (buffer[from] & 0xFF) <= ' ') {
+                from++;
+            }
+            return from;
+        }
+
+        private int trimEnd(int from, int to) {
+            while (to > from && (buffer[to - 1] & 0xFF) <= ' ') {
+                to--;
+            }
+            return to;
         }
     }
 }
@@ -11,6 +11,8 @@ import dev.langchain4j.Experimental;
 public class ServerSentEventContext {
 
     private final ServerSentEventParsingHandle parsingHandle;
+    private volatile String lastEventId;
+    private volatile Long reconnectionTimeMillis;
 
     public ServerSentEventContext(ServerSentEventParsingHandle parsingHandle) {
         this.parsingHandle = ensureNotNull(parsingHandle, "parsingHandle");
@@ -19,4 +21,31 @@ public class ServerSentEventContext {
     public ServerSentEventParsingHandle parsingHandle() {
         return parsingHandle;
     }
+
+    /**
+     * Returns the value of the last {@code id} field received in the stream, or {@code null} if none was received.
+     *
+     * @since 1.17.0
+     */
+    public String lastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Returns the reconnection time, in milliseconds, of the last valid {@code retry} field received in the stream,
+     * or {@code null} if none was received.
+     *
+     * @since 1.17.0
+     */
+    public Long reconnectionTimeMillis() {
+        return reconnectionTimeMillis;
+    }
+
+    void lastEventId(String lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    void reconnectionTimeMillis(Long reconnectionTimeMillis) {
+        this.reconnectionTimeMillis = reconnectionTimeMillis;
+    }
 }
@@ -0,0 +1,85 @@
+package dev.langchain4j.http.client.sse;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+
+import java.util.Deque;
+
+/**
+ * Controls how many raw {@link ServerSentEvent}s are retained while a response is streamed,
+ * so that they can be returned in the metadata of the complete response.
+ * <p>
+ * Retaining all events keeps every event of the stream in memory until the response is complete,
+ * which can be significant for long responses.
+ *
+ * @since 1.17.0
+ */
+public class ServerSentEventRetention {
+
+    private static final ServerSentEventRetention ALL = new ServerSentEventRetention(Integer.MAX_VALUE);
+    private static final ServerSentEventRetention NONE = new ServerSentEventRetention(0);
+
+    private final int maxEvents;
+
+    private ServerSentEventRetention(int maxEvents) {
+        this.maxEvents = maxEvents;
+    }
+
+    /**
+     * Retains all events of the stream.
+     */
+    public static ServerSentEventRetention all() {
+        return ALL;
+    }
+
+    /**
+     * Retains no events.
+     */
+    public static ServerSentEventRetention none() {
+        return NONE;
+    }
+
+    /**
+     * Retains only the last {@code count} events of the stream.
+     */
+    public static ServerSentEventRetention last(int count) {
+        return new ServerSentEventRetention(ensureGreaterThanZero(count, "count"));
+    }
+
+    /**
+     * @return the maximum number of retained events
+     */
+    public int maxEvents() {
+        return maxEvents;
+    }
+
+    /**
+     * Adds the event to the retained events, discarding the oldest one when the maximum is reached.
+     */
+    public void retain(Deque<ServerSentEvent> retainedEvents, ServerSentEvent event) {
+        if (maxEvents == 0) {
+            return;
+        }
+        if (retainedEvents.size() >= maxEvents) {
+            retainedEvents.pollFirst();
+        }
+        retainedEvents.addLast(event);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ServerSentEventRetention that = (ServerSentEventRetention) o;
+        return maxEvents == that.maxEvents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(maxEvents);
+    }
+
+    @Override
+    public String toString() {
+        return "ServerSentEventRetention { maxEvents = " + maxEvents + " }";
+    }
+}
@@ -1,6 +1,7 @@
 package dev.langchain4j.http.client.sse;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -14,6 +15,8 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -148,4 +151,91 @@ class DefaultServerSentEventParserTest {
         // then
         verify(listener).onError(simulatedIoException);
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\r\n", "\r", "\n"})
+    void shouldParseEventsWithAnyLineTerminator(String lineTerminator) {
+
+        // given
+        String input = String.join(
+                lineTerminator, "event: first", "data: First line", "data: Second line", "", "data: Second event", "");
+        InputStream stream = new OneByteAtATimeInputStream(input.getBytes(UTF_8));
+
+        // when
+        parser.parse(stream, listener);
+
+        // then
+        verify(listener).onEvent(eq(new ServerSentEvent("first", "First line\nSecond line")), any());
+        verify(listener).onEvent(eq(new ServerSentEvent(null, "Second event")), any());
+    }
+
+    @Test
+    void shouldParseMultiByteCharactersSplitAcrossReads() {
+
+        // given
+        String input = "data: Привет, 世界 👋\n\n";
+        InputStream stream = new OneByteAtATimeInputStream(input.getBytes(UTF_8));
+
+        // when
+        parser.parse(stream, listener);
+
+        // then
+        verify(listener).onEvent(eq(new ServerSentEvent(null, "Привет, 世界 👋")), any());
+    }
+
+    @Test
+    void shouldParseLinesLongerThanBuffer() {
+
+        // given
+        String longData = "x".repeat(100_000);
+        String input = "data: " + longData + "\n\ndata: " + longData + "y\n\n";
+        InputStream stream = new ByteArrayInputStream(input.getBytes(UTF_8));
+
+        // when
+        parser.parse(stream, listener);
+
+        // then
+        verify(listener).onEvent(eq(new ServerSentEvent(null, longData)), any());
+        verify(listener).onEvent(eq(new ServerSentEvent(null, longData + "y")), any());
+    }
+
+    @Test
+    void shouldExposeLastEventIdAndReconnectionTime() {
+
+        // given
+        String input = "id: msg-1\nretry: 5000\ndata: First\n\nid: msg-2\nretry: invalid\ndata: Second\n\n";
+        InputStream stream = new ByteArrayInputStream(input.getBytes(UTF_8));
+        List<String> lastEventIds = new ArrayList<>();
+        List<Long> reconnectionTimes = new ArrayList<>();
+        ServerSentEventListener recordingListener = new ServerSentEventListener() {
+
+            @Override
+            public void onEvent(ServerSentEvent event, ServerSentEventContext context) {
+                lastEventIds.add(context.lastEventId());
+                reconnectionTimes.add(context.reconnectionTimeMillis());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {}
+        };
+
+        // when
+        parser.parse(stream, recordingListener);
+
+        // then
+        assertThat(lastEventIds).containsExactly("msg-1", "msg-2");
+        assertThat(reconnectionTimes).containsExactly(5000L, 5000L);
+    }
+
+    private static class OneByteAtATimeInputStream extends ByteArrayInputStream {
+
+        OneByteAtATimeInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1));
+        }
+    }
 }
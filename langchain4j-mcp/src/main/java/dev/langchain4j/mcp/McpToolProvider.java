@@ -1,8 +1,10 @@
 package dev.langchain4j.mcp;
 
 import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.internal.DefaultExecutorProvider;
 import dev.langchain4j.internal.Utils;
 import dev.langchain4j.mcp.client.McpClient;
+import dev.langchain4j.mcp.client.McpClientListener;
 import dev.langchain4j.mcp.resourcesastools.McpResourcesAsToolsPresenter;
 import dev.langchain4j.service.IllegalConfigurationException;
 import dev.langchain4j.service.tool.ToolExecutor;
@@ -10,13 +12,21 @@ import dev.langchain4j.service.tool.ToolProvider;
 import dev.langchain4j.service.tool.ToolProviderRequest;
 import dev.langchain4j.service.tool.ToolProviderResult;
 import dev.langchain4j.service.tool.search.ToolSearchStrategy;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
@@ -33,6 +43,18 @@ import static java.util.Arrays.asList;
 
 /**
  * A tool provider backed by one or more MCP clients.
+ * <p>
+ * The tool lists of all MCP clients are retrieved concurrently, optionally with a timeout
+ * (see {@link Builder#listToolsTimeout(Duration)}).
+ * A client that fails or does not answer in time is skipped,
+ * unless {@link Builder#failIfOneServerFails(boolean)} is set.
+ * <p>
+ * When {@link Builder#refreshToolsInBackground(boolean)} is enabled,
+ * tools are provided from a snapshot of the tool lists, which is refreshed in the background, so that providing tools does not wait for the MCP servers
+ * (except for the very first time, if the initial retrieval started by {@link Builder#build()} is not complete yet).
+ * The snapshot is refreshed when a server notifies that its tool list has changed (see {@link #toolListChangedListener()}),
+ * when {@link #refreshTools()} is called, and, if {@link Builder#refreshToolsInterval(Duration)} is set,
+ * when tools are provided and the previous refresh is older than that interval.
  */
 public class McpToolProvider implements ToolProvider {
 
@@ -48,6 +70,14 @@ public class McpToolProvider implements ToolProvider {
     private final AtomicReference<BiFunction<McpClient, ToolSpecification, String>> toolNameMapper;
     private final AtomicReference<BiFunction<McpClient, ToolSpecification, ToolSpecification>> toolSpecificationMapper;
     private final Set<String> alwaysVisibleToolNames;
+    private final Duration listToolsTimeout;
+    private final Executor executor;
+    private final boolean refreshToolsInBackground;
+    private final Duration refreshToolsInterval;
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime());
+    private final AtomicReference<Map<McpClient, List<ToolSpecification>>> toolListsSnapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
 
     private McpToolProvider(Builder builder) {
         this.mcpClients = new CopyOnWriteArrayList<>(builder.mcpClients);
@@ -58,6 +88,13 @@ public class McpToolProvider implements ToolProvider {
         this.toolNameMapper = new AtomicReference<>(builder.toolNameMapper);
         this.toolSpecificationMapper = new AtomicReference<>(builder.toolSpecificationMapper);
         this.alwaysVisibleToolNames = copy(builder.alwaysVisibleToolNames);
+        this.listToolsTimeout = builder.listToolsTimeout;
+        this.executor = Utils.getOrDefault(builder.executor, DefaultExecutorProvider::getDefaultExecutorService);
+        this.refreshToolsInBackground = Utils.getOrDefault(builder.refreshToolsInBackground, false);
+        this.refreshToolsInterval = builder.refreshToolsInterval;
+        if (refreshToolsInBackground) {
+            refreshTools();
+        }
     }
 
     protected McpToolProvider(
@@ -76,6 +113,10 @@ public class McpToolProvider implements ToolProvider {
         this.toolNameMapper = new AtomicReference<>(toolNameMapper);
         this.toolSpecificationMapper = new AtomicReference<>(toolSpecificationMapper);
         this.alwaysVisibleToolNames = Set.of();
+        this.listToolsTimeout = null;
+        this.executor = DefaultExecutorProvider.getDefaultExecutorService();
+        this.refreshToolsInBackground = false;
+        this.refreshToolsInterval = null;
     }
 
     /**
@@ -86,6 +127,9 @@ public class McpToolProvider implements ToolProvider {
     public void addMcpClient(McpClient client) {
         Objects.requireNonNull(client);
         mcpClients.add(client);
+        if (refreshToolsInBackground) {
+            refreshTools();
+        }
     }
 
     /**
@@ -140,6 +184,70 @@ public class McpToolProvider implements ToolProvider {
         this.toolSpecificationMapper.set(toolSpecificationMapper);
     }
 
+    /**
+     * Retrieves the tool lists of all MCP clients in the background
+     * and replaces the snapshot used when {@link Builder#refreshToolsInBackground(boolean)} is enabled.
+     * Clients that fail to provide their tools keep their previous tool list in the snapshot.
+     * <p>
+     * If a refresh is already in progress, another one is started once it completes.
+     * Does nothing when background refresh is not enabled.
+     */
+    public void refreshTools() {
+        if (!refreshToolsInBackground) {
+            return;
+        }
+        refreshPending.set(true);
+        if (refreshInProgress.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::refreshWhilePending);
+            } catch (RuntimeException e) {
+                refreshInProgress.set(false);
+                log.warn("Failed to start refreshing tools from MCP servers", e);
+            }
+        }
+    }
+
+    /**
+     * Returns a listener that refreshes the tools (see {@link #refreshTools()})
+     * when an MCP server notifies that its tool list has changed.
+     * It can be registered on the MCP clients of this provider,
+     * e.g., with {@link dev.langchain4j.mcp.client.DefaultMcpClient.Builder#addListener(McpClientListener)}.
+     */
+    public McpClientListener toolListChangedListener() {
+        return new McpClientListener() {
+            @Override
+            public void onNotificationToolsListChanged() {
+                refreshTools();
+            }
+        };
+    }
+
+    private void refreshWhilePending() {
+        try {
+            while (refreshPending.getAndSet(false)) {
+                lastRefreshNanos.set(System.nanoTime());
+                Map<McpClient, List<ToolSpecification>> previous = toolListsSnapshot.get();
+                Map<McpClient, List<ToolSpecification>> toolLists = listTools(List.copyOf(mcpClients), false);
+                if (previous != null) {
+                    for (McpClient mcpClient : mcpClients) {
+                        List<ToolSpecification> previousToolList = previous.get(mcpClient);
+                        if (previousToolList != null) {
+                            toolLists.putIfAbsent(mcpClient, previousToolList);
+                        }
+                    }
+                }
+                toolListsSnapshot.set(toolLists);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh tools from MCP servers", e);
+        } finally {
+            refreshInProgress.set(false);
+            if (refreshPending.get()) {
+                refreshTools();
+            }
+        }
+    }
+
     /**
      * Resets the all the eventually existing tools filters.
      */
@@ -155,9 +263,14 @@ public class McpToolProvider implements ToolProvider {
     protected ToolProviderResult provideTools(
             ToolProviderRequest request, BiPredicate<McpClient, ToolSpecification> mcpToolsFilter) {
         ToolProviderResult.Builder builder = ToolProviderResult.builder();
+        Map<McpClient, List<ToolSpecification>> toolLists = toolLists();
         for (McpClient mcpClient : mcpClients) {
+            List<ToolSpecification> toolList = toolLists.get(mcpClient);
+            if (toolList == null) {
+                continue; // failed or added after the tool lists were retrieved
+            }
             try {
-                for (ToolSpecification originalSpec : mcpClient.listTools()) {
+                for (ToolSpecification originalSpec : toolList) {
                     if (mcpToolsFilter.test(mcpClient, originalSpec)) {
                         BiFunction<McpClient, ToolSpecification, String> nameMapper = toolNameMapper.get();
                         BiFunction<McpClient, ToolSpecification, ToolSpecification> specificationMapper =
@@ -200,7 +313,8 @@ public class McpToolProvider implements ToolProvider {
             }
             builder.add(
                     listResourcesToolSpec,
-                    toolWrapper.apply(resourcesAsToolsPresenter.createListResourcesExecutor(mcpClientsUnmodifiable)));
+                    toolWrapper.apply(resourcesAsToolsPresenter.createListResourcesExecutor(
+                            mcpClientsUnmodifiable, executor, listToolsTimeout)));
             ToolSpecification getResourceToolSpec = resourcesAsToolsPresenter.createGetResourceSpecification();
             if (alwaysVisibleToolNames.contains(getResourceToolSpec.name())) {
                 getResourceToolSpec = addSearchBehaviorMetadata(getResourceToolSpec);
@@ -212,6 +326,84 @@ public class McpToolProvider implements ToolProvider {
         return builder.build();
     }
 
+    private Map<McpClient, List<ToolSpecification>> toolLists() {
+        if (!refreshToolsInBackground) {
+            return listTools(mcpClients, failIfOneServerFails);
+        }
+        Map<McpClient, List<ToolSpecification>> snapshot = toolListsSnapshot.get();
+        if (snapshot == null) {
+            // the initial retrieval is not complete yet (or has failed)
+            snapshot = listTools(List.copyOf(mcpClients), failIfOneServerFails);
+            toolListsSnapshot.compareAndSet(null, snapshot);
+        } else if (isRefreshDue()) {
+            refreshTools();
+        }
+        return snapshot;
+    }
+
+    private boolean isRefreshDue() {
+        return refreshToolsInterval != null
+                && System.nanoTime() - lastRefreshNanos.get() >= refreshToolsInterval.toNanos();
+    }
+
+    /**
+     * Retrieves the tool lists of the given clients concurrently.
+     * Clients that fail or time out are absent from the returned map.
+     */
+    private Map<McpClient, List<ToolSpecification>> listTools(
+            List<McpClient> mcpClients, boolean failIfOneServerFails) {
+        Map<McpClient, List<ToolSpecification>> toolLists = new IdentityHashMap<>();
+        if (mcpClients.size() == 1 && listToolsTimeout == null) {
+            McpClient mcpClient = mcpClients.get(0);
+            try {
+                toolLists.put(mcpClient, mcpClient.listTools());
+            } catch (IllegalConfigurationException e) {
+                throw e;
+            } catch (Exception e) {
+                onListToolsFailure(e, failIfOneServerFails);
+            }
+            return toolLists;
+        }
+
+        Map<McpClient, CompletableFuture<List<ToolSpecification>>> futures = new IdentityHashMap<>();
+        for (McpClient mcpClient : mcpClients) {
+            futures.put(mcpClient, CompletableFuture.supplyAsync(mcpClient::listTools, executor));
+        }
+        long deadline = listToolsTimeout == null ? 0 : System.nanoTime() + listToolsTimeout.toNanos();
+        for (McpClient mcpClient : mcpClients) {
+            CompletableFuture<List<ToolSpecification>> future = futures.get(mcpClient);
+            try {
+                List<ToolSpecification> toolList = listToolsTimeout == null
+                        ? future.get()
+                        : future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                toolLists.put(mcpClient, toolList);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                throw new RuntimeException("Interrupted while retrieving tools from MCP servers", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IllegalConfigurationException ice) {
+                    throw ice;
+                }
+                onListToolsFailure(e.getCause(), failIfOneServerFails);
+            } catch (Exception e) {
+                // skips the retrieval if it has not started yet, but does not interrupt it once started,
+                // see Builder#listToolsTimeout
+                future.cancel(true);
+                onListToolsFailure(e, failIfOneServerFails);
+            }
+        }
+        return toolLists;
+    }
+
+    private static void onListToolsFailure(Throwable e, boolean failIfOneServerFails) {
+        if (failIfOneServerFails) {
+            throw new RuntimeException("Failed to retrieve tools from MCP server", e);
+        } else {
+            log.warn("Failed to retrieve tools from MCP server", e);
+        }
+    }
+
     private static ToolSpecification addSearchBehaviorMetadata(ToolSpecification toolSpecification) {
         return toolSpecification.toBuilder()
                 .metadata(merge(toolSpecification.metadata(), SEARCH_BEHAVIOR_ALWAYS_VISIBLE))
@@ -232,6 +424,10 @@ public class McpToolProvider implements ToolProvider {
         private BiFunction<McpClient, ToolSpecification, String> toolNameMapper;
         private BiFunction<McpClient, ToolSpecification, ToolSpecification> toolSpecificationMapper;
         private Set<String> alwaysVisibleToolNames;
+        private Duration listToolsTimeout;
+        private Executor executor;
+        private Boolean refreshToolsInBackground;
+        private Duration refreshToolsInterval;
 
         /**
          * The list of MCP clients to use for retrieving tools.
@@ -370,6 +566,62 @@ public class McpToolProvider implements ToolProvider {
             return alwaysVisibleToolNames(new HashSet<>(asList(alwaysVisibleToolNames)));
         }
 
+        /**
+         * The maximum time to wait for the tool lists of the MCP servers, which are retrieved concurrently.
+         * Servers that do not answer in time are handled as failed ones (see {@link #failIfOneServerFails(boolean)}).
+         * By default, there is no timeout other than the ones of the MCP clients.
+         * <p>
+         * All servers are queried at once, so the timeout is measured from the start of the retrieval
+         * and is the same for all of them. It also applies to the resources listed by the
+         * {@link #resourcesAsToolsPresenter(McpResourcesAsToolsPresenter) list resources tool}.
+         * <p>
+         * NOTE: the retrieval of a server that does not answer in time is abandoned, but not interrupted:
+         * it keeps a thread of the {@link #executor(Executor)} busy until the MCP client gives up on its own.
+         * Consider also configuring a timeout on the MCP clients, or a dedicated executor,
+         * so that stuck servers cannot exhaust the shared one.
+         */
+        public McpToolProvider.Builder listToolsTimeout(Duration listToolsTimeout) {
+            this.listToolsTimeout = listToolsTimeout;
+            return this;
+        }
+
+        /**
+         * The executor used to retrieve the tool lists (and the resources listed by the list resources tool)
+         * of the MCP servers concurrently, and to refresh the tool lists in the background.
+         * By default, a shared executor of LangChain4j is used.
+         */
+        public McpToolProvider.Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * If this is true, tools are provided from a snapshot of the tool lists of the MCP servers,
+         * which is retrieved when the provider is built and refreshed in the background:
+         * when {@link McpToolProvider#refreshTools()} is called,
+         * when a server notifies that its tool list has changed (see {@link McpToolProvider#toolListChangedListener()}),
+         * or periodically (see {@link #refreshToolsInterval(Duration)}).
+         * Changes of the tool lists are thus visible with a delay.
+         * <p>
+         * Failures during a background refresh are logged, and the failing servers keep their previous tools.
+         * If this is false (default), the tool lists are retrieved each time tools are provided.
+         */
+        public McpToolProvider.Builder refreshToolsInBackground(boolean refreshToolsInBackground) {
+            this.refreshToolsInBackground = refreshToolsInBackground;
+            return this;
+        }
+
+        /**
+         * When {@link #refreshToolsInBackground(boolean)} is enabled, providing tools also starts a background refresh
+         * if the previous one started at least this long ago.
+         * By default, providing tools never starts a refresh, so servers that do not send tool list change notifications
+         * should be refreshed with {@link McpToolProvider#refreshTools()}, or with this interval.
+         */
+        public McpToolProvider.Builder refreshToolsInterval(Duration refreshToolsInterval) {
+            this.refreshToolsInterval = refreshToolsInterval;
+            return this;
+        }
+
         public McpToolProvider build() {
             return new McpToolProvider(this);
         }
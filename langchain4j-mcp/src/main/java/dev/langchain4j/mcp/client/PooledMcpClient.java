@@ -0,0 +1,444 @@
+package dev.langchain4j.mcp.client;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.exception.ToolArgumentsException;
+import dev.langchain4j.invocation.InvocationContext;
+import dev.langchain4j.service.tool.ToolExecutionResult;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An MCP client that distributes operations over a pool of MCP clients connected to the same MCP server,
+ * for example several server processes started with a stdio transport, or several HTTP sessions.
+ * Concurrent tool executions are then not queued behind a single connection.
+ * <p>
+ * Each operation is routed to the client with the fewest operations in progress.
+ * When an operation fails with an error other than one returned by the server, the client is health-checked,
+ * and if it is unhealthy, it is closed and replaced with a new one
+ * created by the {@link Builder#clientFactory(Supplier)}.
+ * The clients can also be health-checked periodically (see {@link Builder#healthCheckInterval(Duration)}).
+ * <p>
+ * Resource subscriptions are kept on the client they were made with, and are lost if that client is replaced.
+ * Roots are set on all clients, including the ones created later.
+ */
+public class PooledMcpClient implements McpClient {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledMcpClient.class);
+
+    private static final int DEFAULT_SIZE = 2;
+
+    private final String key;
+    private final Supplier<McpClient> clientFactory;
+    private final AtomicReferenceArray<PooledClient> clients;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final Map<String, PooledClient> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicReference<List<McpRoot>> roots = new AtomicReference<>();
+    private final ScheduledExecutorService healthCheckScheduler;
+    private volatile boolean closed;
+
+    public PooledMcpClient(Builder builder) {
+        this.key = getOrDefault(builder.key, () -> UUID.randomUUID().toString());
+        this.clientFactory = ensureNotNull(builder.clientFactory, "clientFactory");
+        int size = ensureGreaterThanZero(getOrDefault(builder.size, DEFAULT_SIZE), "size");
+        this.clients = new AtomicReferenceArray<>(size);
+        try {
+            for (int i = 0; i < clients.length(); i++) {
+                clients.set(i, createClient());
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        if (builder.healthCheckInterval != null) {
+            long intervalMillis = builder.healthCheckInterval.toMillis();
+            healthCheckScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "mcp-client-pool-health-checker");
+                t.setDaemon(true);
+                return t;
+            });
+            healthCheckScheduler.scheduleAtFixedRate(
+                    this::checkHealthOfAllClients, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            healthCheckScheduler = null;
+        }
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public List<ToolSpecification> listTools() {
+        return execute(McpClient::listTools);
+    }
+
+    @Override
+    public List<ToolSpecification> listTools(InvocationContext invocationContext) {
+        return execute(client -> client.listTools(invocationContext));
+    }
+
+    @Override
+    public ToolExecutionResult executeTool(ToolExecutionRequest executionRequest) {
+        return execute(client -> client.executeTool(executionRequest));
+    }
+
+    @Override
+    public ToolExecutionResult executeTool(ToolExecutionRequest executionRequest, InvocationContext invocationContext) {
+        return execute(client -> client.executeTool(executionRequest, invocationContext));
+    }
+
+    @Override
+    public List<McpResource> listResources() {
+        return execute(McpClient::listResources);
+    }
+
+    @Override
+    public List<McpResource> listResources(InvocationContext invocationContext) {
+        return execute(client -> client.listResources(invocationContext));
+    }
+
+    @Override
+    public List<McpResourceTemplate> listResourceTemplates() {
+        return execute(McpClient::listResourceTemplates);
+    }
+
+    @Override
+    public List<McpResourceTemplate> listResourceTemplates(InvocationContext invocationContext) {
+        return execute(client -> client.listResourceTemplates(invocationContext));
+    }
+
+    @Override
+    public McpReadResourceResult readResource(String uri) {
+        return execute(client -> client.readResource(uri));
+    }
+
+    @Override
+    public McpReadResourceResult readResource(String uri, InvocationContext invocationContext) {
+        return execute(client -> client.readResource(uri, invocationContext));
+    }
+
+    @Override
+    public void subscribeToResource(String uri) {
+        PooledClient pooledClient = acquire();
+        execute(pooledClient, client -> {
+            client.subscribeToResource(uri);
+            return null;
+        });
+        subscriptions.put(uri, pooledClient);
+    }
+
+    @Override
+    public void unsubscribeFromResource(String uri) {
+        PooledClient pooledClient = subscriptions.remove(uri);
+        if (pooledClient == null) {
+            execute(client -> {
+                client.unsubscribeFromResource(uri);
+                return null;
+            });
+        } else {
+            assertNotClosed();
+            pooledClient.inProgress.incrementAndGet();
+            execute(pooledClient, client -> {
+                client.unsubscribeFromResource(uri);
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public List<McpPrompt> listPrompts() {
+        return execute(McpClient::listPrompts);
+    }
+
+    @Override
+    public McpGetPromptResult getPrompt(String name, Map<String, Object> arguments) {
+        return execute(client -> client.getPrompt(name, arguments));
+    }
+
+    /**
+     * Checks the health of all clients of the pool, replacing the unhealthy ones.
+     * Returns normally if at least one client is healthy.
+     */
+    @Override
+    public void checkHealth() {
+        assertNotClosed();
+        RuntimeException failure = null;
+        boolean healthy = false;
+        for (int i = 0; i < clients.length(); i++) {
+            PooledClient pooledClient = clients.get(i);
+            if (pooledClient == null) {
+                continue;
+            }
+            try {
+                pooledClient.client.checkHealth();
+                healthy = true;
+            } catch (RuntimeException e) {
+                failure = e;
+                log.warn("MCP client of the pool (key: {}) is unhealthy, replacing it", key, e);
+                replace(i, pooledClient);
+            }
+        }
+        if (!healthy) {
+            throw failure != null ? failure : new IllegalStateException("No MCP client of the pool is available");
+        }
+    }
+
+    @Override
+    public void setRoots(List<McpRoot> roots) {
+        this.roots.set(roots);
+        for (int i = 0; i < clients.length(); i++) {
+            PooledClient pooledClient = clients.get(i);
+            if (pooledClient != null) {
+                pooledClient.client.setRoots(roots);
+            }
+        }
+    }
+
+    /**
+     * @return the number of clients of the pool that are currently available
+     */
+    public int availableClients() {
+        int available = 0;
+        for (int i = 0; i < clients.length(); i++) {
+            if (clients.get(i) != null) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (healthCheckScheduler != null) {
+            healthCheckScheduler.shutdownNow();
+        }
+        for (int i = 0; i < clients.length(); i++) {
+            PooledClient pooledClient = clients.getAndSet(i, null);
+            if (pooledClient != null) {
+                closeQuietly(pooledClient);
+            }
+        }
+        subscriptions.clear();
+    }
+
+    private <T> T execute(Function<McpClient, T> operation) {
+        return execute(acquire(), operation);
+    }
+
+    /**
+     * Executes the operation with the given client, which must have been acquired.
+     */
+    private <T> T execute(PooledClient pooledClient, Function<McpClient, T> operation) {
+        try {
+            return operation.apply(pooledClient.client);
+        } catch (McpException | ToolArgumentsException e) {
+            // the server is responding, or the request was not even sent
+            throw e;
+        } catch (RuntimeException e) {
+            replaceIfUnhealthy(pooledClient);
+            throw e;
+        } finally {
+            pooledClient.inProgress.decrementAndGet();
+        }
+    }
+
+    /**
+     * Selects the client with the fewest operations in progress, starting from a rotating position
+     * so that idle clients are used in turn.
+     */
+    private PooledClient acquire() {
+        assertNotClosed();
+        PooledClient selected = null;
+        int size = clients.length();
+        int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            PooledClient candidate = clients.get((start + i) % size);
+            if (candidate != null && (selected == null || candidate.inProgress.get() < selected.inProgress.get())) {
+                selected = candidate;
+            }
+        }
+        if (selected == null) {
+            selected = replenish();
+        }
+        selected.inProgress.incrementAndGet();
+        return selected;
+    }
+
+    /**
+     * Creates clients in the empty slots of the pool (left by clients that could not be replaced).
+     */
+    private synchronized PooledClient replenish() {
+        assertNotClosed();
+        PooledClient available = null;
+        RuntimeException failure = null;
+        for (int i = 0; i < clients.length(); i++) {
+            PooledClient pooledClient = clients.get(i);
+            if (pooledClient == null) {
+                try {
+                    pooledClient = createClient();
+                    clients.set(i, pooledClient);
+                } catch (RuntimeException e) {
+                    failure = e;
+                    continue;
+                }
+            }
+            if (available == null) {
+                available = pooledClient;
+            }
+        }
+        if (available == null) {
+            throw new IllegalStateException("No MCP client of the pool is available", failure);
+        }
+        return available;
+    }
+
+    private void replaceIfUnhealthy(PooledClient pooledClient) {
+        try {
+            pooledClient.client.checkHealth();
+        } catch (RuntimeException e) {
+            log.warn("MCP client of the pool (key: {}) is unhealthy, replacing it", key, e);
+            for (int i = 0; i < clients.length(); i++) {
+                if (clients.get(i) == pooledClient) {
+                    replace(i, pooledClient);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void replace(int index, PooledClient unhealthy) {
+        if (!clients.compareAndSet(index, unhealthy, null)) {
+            return; // already replaced
+        }
+        subscriptions.values().removeIf(pooledClient -> pooledClient == unhealthy);
+        closeQuietly(unhealthy);
+        if (closed) {
+            return;
+        }
+        try {
+            PooledClient replacement = createClient();
+            if (closed || !clients.compareAndSet(index, null, replacement)) {
+                closeQuietly(replacement);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot create MCP client of the pool (key: {}), it will be retried later", key, e);
+        }
+    }
+
+    private void checkHealthOfAllClients() {
+        try {
+            if (availableClients() < clients.length()) {
+                replenish();
+            }
+            checkHealth();
+        } catch (Exception e) {
+            log.warn("Health check of the MCP client pool (key: {}) failed", key, e);
+        }
+    }
+
+    private PooledClient createClient() {
+        McpClient client = ensureNotNull(clientFactory.get(), "client");
+        List<McpRoot> currentRoots = roots.get();
+        if (currentRoots != null) {
+            client.setRoots(currentRoots);
+        }
+        return new PooledClient(client);
+    }
+
+    private void closeQuietly(PooledClient pooledClient) {
+        try {
+            pooledClient.client.close();
+        } catch (Exception e) {
+            log.warn("Cannot close MCP client of the pool (key: {})", key, e);
+        }
+    }
+
+    private void assertNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("The client is closed");
+        }
+    }
+
+    private static class PooledClient {
+
+        private final McpClient client;
+        private final AtomicInteger inProgress = new AtomicInteger();
+
+        private PooledClient(McpClient client) {
+            this.client = client;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private String key;
+        private Supplier<McpClient> clientFactory;
+        private Integer size;
+        private Duration healthCheckInterval;
+
+        /**
+         * Sets a unique identifier for the pool. If none is provided, a
+         * UUID will be automatically generated.
+         */
+        public Builder key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Sets the factory that creates the clients of the pool, all connected to the same MCP server,
+         * for example {@code () -> DefaultMcpClient.builder().transport(...).build()}.
+         * Each client must have its own transport. This is a mandatory parameter.
+         */
+        public Builder clientFactory(Supplier<McpClient> clientFactory) {
+            this.clientFactory = clientFactory;
+            return this;
+        }
+
+        /**
+         * Sets the number of clients of the pool, which are all created when the pool is built.
+         * The default is 2.
+         */
+        public Builder size(int size) {
+            this.size = size;
+            return this;
+        }
+
+        /**
+         * Sets the interval at which the health of all clients is checked, replacing the unhealthy ones.
+         * By default, clients are only checked when an operation fails.
+         */
+        public Builder healthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+            return this;
+        }
+
+        public PooledMcpClient build() {
+            return new PooledMcpClient(this);
+        }
+    }
+}
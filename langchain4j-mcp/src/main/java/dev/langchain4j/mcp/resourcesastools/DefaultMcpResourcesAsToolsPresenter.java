@@ -5,7 +5,9 @@ import dev.langchain4j.internal.Utils;
 import dev.langchain4j.mcp.client.McpClient;
 import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
 import dev.langchain4j.service.tool.ToolExecutor;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Default implementation of {@link McpResourcesAsToolsPresenter}.
@@ -103,6 +105,11 @@ public class DefaultMcpResourcesAsToolsPresenter implements McpResourcesAsToolsP
         return new ListResourcesToolExecutor(mcpClients);
     }
 
+    @Override
+    public ToolExecutor createListResourcesExecutor(List<McpClient> mcpClients, Executor executor, Duration timeout) {
+        return new ListResourcesToolExecutor(mcpClients, executor, timeout);
+    }
+
     @Override
     public ToolSpecification createGetResourceSpecification() {
         return ToolSpecification.builder()
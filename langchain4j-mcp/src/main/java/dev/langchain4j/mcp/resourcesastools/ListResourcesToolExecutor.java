@@ -4,6 +4,7 @@ import static dev.langchain4j.internal.Exceptions.unwrapRuntimeException;
 
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.exception.ToolExecutionException;
+import dev.langchain4j.internal.DefaultExecutorProvider;
 import dev.langchain4j.internal.Json;
 import dev.langchain4j.invocation.InvocationContext;
 import dev.langchain4j.mcp.client.McpClient;
@@ -11,8 +12,15 @@ import dev.langchain4j.mcp.client.McpResource;
 import dev.langchain4j.mcp.client.McpResourceTemplate;
 import dev.langchain4j.service.tool.ToolExecutionResult;
 import dev.langchain4j.service.tool.ToolExecutor;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Default Executor for the 'list_resources' synthetic tool that can retrieve a list of resources from one or more MCP servers
@@ -20,10 +28,25 @@ import java.util.List;
  */
 class ListResourcesToolExecutor implements ToolExecutor {
 
+    private static final Logger log = LoggerFactory.getLogger(ListResourcesToolExecutor.class);
+
     private final List<McpClient> mcpClients;
+    private final Executor executor;
+    private final Duration timeout;
 
     ListResourcesToolExecutor(List<McpClient> mcpClients) {
+        this(mcpClients, DefaultExecutorProvider.getDefaultExecutorService(), null);
+    }
+
+    /**
+     * @param executor the executor used to query the MCP servers concurrently
+     * @param timeout  the maximum time to wait for the MCP servers, or {@code null} to wait as long as the MCP clients do.
+     *                 Servers that fail or do not answer in time are skipped.
+     */
+    ListResourcesToolExecutor(List<McpClient> mcpClients, Executor executor, Duration timeout) {
         this.mcpClients = mcpClients;
+        this.executor = executor;
+        this.timeout = timeout;
     }
 
     @Override
@@ -43,30 +66,61 @@ class ListResourcesToolExecutor implements ToolExecutor {
     }
 
     private String doExecute(InvocationContext invocationContext) {
+        List<McpClient> clients = List.copyOf(mcpClients);
+        if (clients.size() == 1 && timeout == null) {
+            return Json.toJson(describeResources(clients.get(0), invocationContext));
+        }
+        // the servers are queried concurrently, the descriptions are kept in the order of the clients
+        List<CompletableFuture<List<ResourceDescription>>> futures = new ArrayList<>(clients.size());
+        for (McpClient client : clients) {
+            futures.add(CompletableFuture.supplyAsync(() -> describeResources(client, invocationContext), executor));
+        }
+        long deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
         List<ResourceDescription> descriptions = new ArrayList<>();
-        for (McpClient client : mcpClients) {
-            for (McpResource resource : client.listResources(invocationContext)) {
-                descriptions.add(new ResourceDescription(
-                        client.key(),
-                        resource.uri(),
-                        null,
-                        resource.name(),
-                        resource.description(),
-                        resource.mimeType()));
-            }
-            for (McpResourceTemplate template : client.listResourceTemplates()) {
-                descriptions.add(new ResourceDescription(
-                        client.key(),
-                        null,
-                        template.uriTemplate(),
-                        template.name(),
-                        template.description(),
-                        template.mimeType()));
+        for (CompletableFuture<List<ResourceDescription>> future : futures) {
+            try {
+                descriptions.addAll(
+                        timeout == null
+                                ? future.get()
+                                : future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new RuntimeException("Interrupted while retrieving resources from MCP servers", e);
+            } catch (ExecutionException e) {
+                log.warn("Failed to retrieve resources from MCP server", e.getCause());
+            } catch (Exception e) {
+                // skips the retrieval if it has not started yet, but does not interrupt it once started
+                future.cancel(true);
+                log.warn("Failed to retrieve resources from MCP server", e);
             }
         }
         return Json.toJson(descriptions);
     }
 
+    private static List<ResourceDescription> describeResources(McpClient client, InvocationContext invocationContext) {
+        List<ResourceDescription> descriptions = new ArrayList<>();
+        for (McpResource resource : client.listResources(invocationContext)) {
+            descriptions.add(new ResourceDescription(
+                    client.key(),
+                    resource.uri(),
+                    null,
+                    resource.name(),
+                    resource.description(),
+                    resource.mimeType()));
+        }
+        for (McpResourceTemplate template : client.listResourceTemplates()) {
+            descriptions.add(new ResourceDescription(
+                    client.key(),
+                    null,
+                    template.uriTemplate(),
+                    template.name(),
+                    template.description(),
+                    template.mimeType()));
+        }
+        return descriptions;
+    }
+
     private static class ResourceDescription {
 
         ResourceDescription(
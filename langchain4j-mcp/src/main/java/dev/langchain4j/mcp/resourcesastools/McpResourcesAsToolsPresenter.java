@@ -3,7 +3,9 @@ package dev.langchain4j.mcp.resourcesastools;
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.mcp.client.McpClient;
 import dev.langchain4j.service.tool.ToolExecutor;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A presenter that presents MCP resources (from one or more MCP clients) as tools to a chat model, allowing the
@@ -23,6 +25,19 @@ public interface McpResourcesAsToolsPresenter {
      */
     ToolExecutor createListResourcesExecutor(List<McpClient> mcpClients);
 
+    /**
+     * Create an executor for the tool that lists available resources,
+     * querying the MCP servers concurrently on the given executor.
+     * Servers that fail or do not answer in time are skipped.
+     * By default, the executor and the timeout are ignored, see {@link #createListResourcesExecutor(List)}.
+     *
+     * @param executor the executor used to query the MCP servers concurrently
+     * @param timeout  the maximum time to wait for the MCP servers, or {@code null} for no timeout
+     */
+    default ToolExecutor createListResourcesExecutor(List<McpClient> mcpClients, Executor executor, Duration timeout) {
+        return createListResourcesExecutor(mcpClients);
+    }
+
     /**
      * Create a specification for the tool that gets a particular resource.
      */
@@ -4,17 +4,24 @@ import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.invocation.InvocationContext;
 import dev.langchain4j.mcp.client.McpClient;
+import dev.langchain4j.mcp.client.McpResource;
+import dev.langchain4j.mcp.resourcesastools.DefaultMcpResourcesAsToolsPresenter;
 import dev.langchain4j.service.tool.ToolProviderRequest;
 import dev.langchain4j.service.tool.ToolProviderResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 import static dev.langchain4j.agent.tool.SearchBehavior.ALWAYS_VISIBLE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class McpToolProviderTest {
@@ -90,10 +97,160 @@ class McpToolProviderTest {
                 );
     }
 
+    @Test
+    void should_skip_server_that_does_not_list_tools_in_time() throws Exception {
+
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        McpClient slowMcpClient = mock(McpClient.class);
+        when(slowMcpClient.listTools()).then(invocation -> {
+            release.await();
+            return List.of(ToolSpecification.builder().name("slow_tool").build());
+        });
+        McpToolProvider toolProvider = McpToolProvider.builder()
+                .mcpClients(slowMcpClient, mcpClient)
+                .listToolsTimeout(Duration.ofMillis(100))
+                .build();
+
+        try {
+            // when
+            ToolProviderResult toolProviderResult = toolProvider.provideTools(toolProviderRequest());
+
+            // then
+            assertThat(toolNames(toolProviderResult)).containsExactlyInAnyOrder("tool_1", "tool_2");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void should_skip_servers_that_fail_or_do_not_list_resources_in_time() {
+
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        McpClient slowMcpClient = mock(McpClient.class);
+        when(slowMcpClient.listResources(any())).then(invocation -> {
+            release.await();
+            return List.of();
+        });
+        McpClient failingMcpClient = mock(McpClient.class);
+        when(failingMcpClient.listResources(any())).thenThrow(new RuntimeException("Server is down"));
+        when(mcpClient.key()).thenReturn("alice");
+        when(mcpClient.listResources(any())).thenReturn(List.of(
+                new McpResource("file:///info", "basicInfo", "Basic information about Alice", "text/plain")));
+        McpToolProvider toolProvider = McpToolProvider.builder()
+                .mcpClients(slowMcpClient, failingMcpClient, mcpClient)
+                .resourcesAsToolsPresenter(DefaultMcpResourcesAsToolsPresenter.builder().build())
+                .listToolsTimeout(Duration.ofMillis(100))
+                .build();
+
+        try {
+            // when
+            String resources = toolProvider.provideTools(toolProviderRequest())
+                    .toolExecutorByName("list_resources")
+                    .execute(null, null);
+
+            // then
+            assertThat(resources).contains("alice", "basicInfo");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void should_provide_tools_from_snapshot_refreshed_in_background() {
+
+        // given
+        McpToolProvider toolProvider = McpToolProvider.builder()
+                .mcpClients(mcpClient)
+                .refreshToolsInBackground(true)
+                .executor(Runnable::run)
+                .build();
+        verify(mcpClient, times(1)).listTools();
+        when(mcpClient.listTools()).thenReturn(List.of(ToolSpecification.builder().name("tool_3").build()));
+
+        // when
+        ToolProviderResult first = toolProvider.provideTools(toolProviderRequest());
+        ToolProviderResult second = toolProvider.provideTools(toolProviderRequest());
+        toolProvider.refreshTools();
+        ToolProviderResult third = toolProvider.provideTools(toolProviderRequest());
+
+        // then
+        assertThat(toolNames(first)).containsExactlyInAnyOrder("tool_1", "tool_2");
+        assertThat(toolNames(second)).containsExactlyInAnyOrder("tool_1", "tool_2");
+        assertThat(toolNames(third)).containsExactly("tool_3");
+        verify(mcpClient, times(2)).listTools();
+    }
+
+    @Test
+    void should_refresh_tools_when_provided_after_refresh_interval() {
+
+        // given
+        McpToolProvider toolProvider = McpToolProvider.builder()
+                .mcpClients(mcpClient)
+                .refreshToolsInBackground(true)
+                .refreshToolsInterval(Duration.ZERO)
+                .executor(Runnable::run)
+                .build();
+        when(mcpClient.listTools()).thenReturn(List.of(ToolSpecification.builder().name("tool_3").build()));
+
+        // when
+        ToolProviderResult first = toolProvider.provideTools(toolProviderRequest());
+        ToolProviderResult second = toolProvider.provideTools(toolProviderRequest());
+
+        // then
+        assertThat(toolNames(first)).containsExactlyInAnyOrder("tool_1", "tool_2");
+        assertThat(toolNames(second)).containsExactly("tool_3");
+    }
+
+    @Test
+    void should_not_refresh_tools_when_provided_within_refresh_interval() {
+
+        // given
+        McpToolProvider toolProvider = McpToolProvider.builder()
+                .mcpClients(mcpClient)
+                .refreshToolsInBackground(true)
+                .refreshToolsInterval(Duration.ofHours(1))
+                .executor(Runnable::run)
+                .build();
+
+        // when
+        toolProvider.provideTools(toolProviderRequest());
+        toolProvider.provideTools(toolProviderRequest());
+
+        // then
+        verify(mcpClient, times(1)).listTools();
+    }
+
+    @Test
+    void should_keep_previous_tools_when_background_refresh_fails() {
+
+        // given
+        McpToolProvider toolProvider = McpToolProvider.builder()
+                .mcpClients(mcpClient)
+                .refreshToolsInBackground(true)
+                .executor(Runnable::run)
+                .build();
+        when(mcpClient.listTools()).thenThrow(new RuntimeException("server is down"));
+
+        // when
+        toolProvider.refreshTools();
+        ToolProviderResult toolProviderResult = toolProvider.provideTools(toolProviderRequest());
+
+        // then
+        assertThat(toolNames(toolProviderResult)).containsExactlyInAnyOrder("tool_1", "tool_2");
+    }
+
     private static ToolProviderRequest toolProviderRequest() {
         return ToolProviderRequest.builder()
                 .invocationContext(InvocationContext.builder().build())
                 .userMessage(UserMessage.from("does not matter"))
                 .build();
     }
-}
\ No newline at end of file
+
+    private static List<String> toolNames(ToolProviderResult toolProviderResult) {
+        return toolProviderResult.tools().keySet().stream()
+                .map(ToolSpecification::name)
+                .toList();
+    }
+}
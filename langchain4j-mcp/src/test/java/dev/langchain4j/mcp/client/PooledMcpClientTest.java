@@ -0,0 +1,105 @@
+package dev.langchain4j.mcp.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.service.tool.ToolExecutionResult;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class PooledMcpClientTest {
+
+    private static final ToolExecutionRequest REQUEST =
+            ToolExecutionRequest.builder().name("tool").arguments("{}").build();
+
+    @Test
+    void should_route_to_client_with_fewest_operations_in_progress() throws Exception {
+
+        // given
+        McpClient busyClient = mock(McpClient.class);
+        McpClient idleClient = mock(McpClient.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(busyClient.executeTool(REQUEST)).then(invocation -> {
+            started.countDown();
+            release.await();
+            return ToolExecutionResult.builder().resultText("done").build();
+        });
+        when(idleClient.executeTool(REQUEST)).thenThrow(new AssertionError("not expected"));
+        when(idleClient.listTools()).thenReturn(List.of(ToolSpecification.builder().name("tool").build()));
+        Queue<McpClient> clients = new ArrayDeque<>(List.of(busyClient, idleClient));
+        PooledMcpClient pool =
+                PooledMcpClient.builder().clientFactory(clients::poll).size(2).build();
+
+        // when
+        CompletableFuture<ToolExecutionResult> execution = null;
+        try {
+            // the first client is selected for the first operation, both being idle
+            execution = CompletableFuture.supplyAsync(() -> pool.executeTool(REQUEST));
+            started.await();
+            pool.listTools();
+            pool.listTools();
+        } finally {
+            release.countDown();
+        }
+
+        // then
+        assertThat(execution.get().resultText()).isEqualTo("done");
+        verify(busyClient, never()).listTools();
+        verify(idleClient, times(2)).listTools();
+    }
+
+    @Test
+    void should_replace_client_that_is_unhealthy_after_failure() throws Exception {
+
+        // given
+        McpClient failingClient = mock(McpClient.class);
+        McpClient replacement = mock(McpClient.class);
+        RuntimeException failure = new RuntimeException("connection lost");
+        when(failingClient.listTools()).thenThrow(failure);
+        doThrow(new RuntimeException("no pong")).when(failingClient).checkHealth();
+        when(replacement.listTools()).thenReturn(List.of());
+        Queue<McpClient> clients = new ArrayDeque<>(List.of(failingClient, replacement));
+        PooledMcpClient pool =
+                PooledMcpClient.builder().clientFactory(clients::poll).size(1).build();
+
+        // when
+        assertThatThrownBy(pool::listTools).isSameAs(failure);
+        List<ToolSpecification> tools = pool.listTools();
+
+        // then
+        assertThat(tools).isEmpty();
+        verify(failingClient).close();
+        assertThat(pool.availableClients()).isEqualTo(1);
+    }
+
+    @Test
+    void should_keep_client_when_server_returns_error() throws Exception {
+
+        // given
+        McpClient client = mock(McpClient.class);
+        McpException error = new McpException(-32602, "Unknown prompt");
+        when(client.getPrompt("missing", null)).thenThrow(error);
+        PooledMcpClient pool =
+                PooledMcpClient.builder().clientFactory(() -> client).size(1).build();
+
+        // when
+        assertThatThrownBy(() -> pool.getPrompt("missing", null)).isSameAs(error);
+
+        // then
+        verify(client, never()).checkHealth();
+        verify(client, never()).close();
+    }
+}
@@ -0,0 +1,123 @@
+package dev.langchain4j.model.onnx;
+
+import ai.onnxruntime.OrtSession.SessionOptions.OptLevel;
+import java.util.Objects;
+
+/**
+ * Options of the ONNX Runtime session running an in-process model.
+ * <p>
+ * Models created with an {@code OnnxSessionConfig} share their sessions: all in-process models loading
+ * the same model file with equal {@code OnnxSessionConfig}s use a single session,
+ * so the model is loaded into memory only once.
+ * The session is closed when the last of these models is closed.
+ * <p>
+ * Options that are not set keep the ONNX Runtime defaults.
+ */
+public class OnnxSessionConfig {
+
+    private final Integer intraOpNumThreads;
+    private final Integer interOpNumThreads;
+    private final OptLevel optimizationLevel;
+    private final Boolean cpuArenaAllocator;
+
+    public OnnxSessionConfig(Builder builder) {
+        this.intraOpNumThreads = builder.intraOpNumThreads;
+        this.interOpNumThreads = builder.interOpNumThreads;
+        this.optimizationLevel = builder.optimizationLevel;
+        this.cpuArenaAllocator = builder.cpuArenaAllocator;
+    }
+
+    public Integer intraOpNumThreads() {
+        return intraOpNumThreads;
+    }
+
+    public Integer interOpNumThreads() {
+        return interOpNumThreads;
+    }
+
+    public OptLevel optimizationLevel() {
+        return optimizationLevel;
+    }
+
+    public Boolean cpuArenaAllocator() {
+        return cpuArenaAllocator;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OnnxSessionConfig that = (OnnxSessionConfig) o;
+        return Objects.equals(intraOpNumThreads, that.intraOpNumThreads)
+                && Objects.equals(interOpNumThreads, that.interOpNumThreads)
+                && optimizationLevel == that.optimizationLevel
+                && Objects.equals(cpuArenaAllocator, that.cpuArenaAllocator);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(intraOpNumThreads, interOpNumThreads, optimizationLevel, cpuArenaAllocator);
+    }
+
+    @Override
+    public String toString() {
+        return "OnnxSessionConfig{" + "intraOpNumThreads="
+                + intraOpNumThreads + ", interOpNumThreads="
+                + interOpNumThreads + ", optimizationLevel="
+                + optimizationLevel + ", cpuArenaAllocator="
+                + cpuArenaAllocator + '}';
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Integer intraOpNumThreads;
+        private Integer interOpNumThreads;
+        private OptLevel optimizationLevel;
+        private Boolean cpuArenaAllocator;
+
+        /**
+         * @param intraOpNumThreads The number of threads used to parallelize the execution of a single operator.
+         * @return builder
+         */
+        public Builder intraOpNumThreads(Integer intraOpNumThreads) {
+            this.intraOpNumThreads = intraOpNumThreads;
+            return this;
+        }
+
+        /**
+         * @param interOpNumThreads The number of threads used to execute independent operators in parallel.
+         * @return builder
+         */
+        public Builder interOpNumThreads(Integer interOpNumThreads) {
+            this.interOpNumThreads = interOpNumThreads;
+            return this;
+        }
+
+        /**
+         * @param optimizationLevel The graph optimization level.
+         * @return builder
+         */
+        public Builder optimizationLevel(OptLevel optimizationLevel) {
+            this.optimizationLevel = optimizationLevel;
+            return this;
+        }
+
+        /**
+         * @param cpuArenaAllocator Whether to use the arena allocator for CPU memory.
+         *                          Disabling it lowers resident memory, at the cost of more allocations.
+         * @return builder
+         */
+        public Builder cpuArenaAllocator(Boolean cpuArenaAllocator) {
+            this.cpuArenaAllocator = cpuArenaAllocator;
+            return this;
+        }
+
+        public OnnxSessionConfig build() {
+            return new OnnxSessionConfig(this);
+        }
+    }
+}
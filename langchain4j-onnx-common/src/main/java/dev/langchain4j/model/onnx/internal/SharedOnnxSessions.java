@@ -0,0 +1,300 @@
+package dev.langchain4j.model.onnx.internal;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import dev.langchain4j.Internal;
+import dev.langchain4j.model.onnx.OnnxSessionConfig;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Loads ONNX models and shares their sessions between all in-process models using the same model file
+ * with the same {@link OnnxSessionConfig}.
+ * <p>
+ * Model files are memory-mapped and passed to ONNX Runtime without being copied to the heap.
+ * Models packaged in a jar are first extracted into a cache directory, once per jar version,
+ * so that they can be mapped as well.
+ * The cache directory can be set using the {@value #MODEL_CACHE_DIRECTORY_PROPERTY} system property,
+ * and defaults to a {@code langchain4j-onnx-models} directory in the temporary directory.
+ * If it is not writable, the model is read into an off-heap buffer instead.
+ * <p>
+ * Each acquired session has to be released once it is not used anymore;
+ * a session is closed when the last user releases it.
+ * <p>
+ * Sessions are created outside of the lock guarding the shared sessions,
+ * so loading a model does not block acquiring or releasing the sessions of other models.
+ * Concurrent callers acquiring a session that is being created wait for it to be created.
+ */
+@Internal
+public class SharedOnnxSessions {
+
+    public static final String MODEL_CACHE_DIRECTORY_PROPERTY = "langchain4j.onnx.model-cache-dir";
+
+    private static final String MISSING_MODEL_MESSAGE = "Model file '%s' is not available. "
+            + "This usually happens when running LangChain4j tests from sources. "
+            + "If you are developing LangChain4j locally, run 'mvn generate-resources' "
+            + "from the project root to download the required model files.";
+
+    private static final Map<Key, SharedSession> SESSIONS = new HashMap<>();
+    private static final Map<OrtSession, Key> KEYS = new IdentityHashMap<>();
+
+    private SharedOnnxSessions() {}
+
+    /**
+     * Acquires the session of a model packaged as a classpath resource.
+     *
+     * @param resourceName  the name of the model resource
+     * @param sessionConfig the options of the session
+     * @return the shared session
+     */
+    public static OrtSession acquireFromClasspath(String resourceName, OnnxSessionConfig sessionConfig) {
+        URL url = Thread.currentThread().getContextClassLoader().getResource(resourceName);
+        if (url == null) {
+            throw new IllegalStateException(String.format(MISSING_MODEL_MESSAGE, resourceName));
+        }
+        return acquire(new Key(url.toString(), sessionConfig), () -> createSession(url, sessionConfig));
+    }
+
+    /**
+     * Acquires the session of a model file.
+     *
+     * @param pathToModel   the path to the model file
+     * @param sessionConfig the options of the session
+     * @return the shared session
+     */
+    public static OrtSession acquireFromFileSystem(Path pathToModel, OnnxSessionConfig sessionConfig) {
+        Path path = pathToModel.toAbsolutePath().normalize();
+        return acquire(new Key(path.toString(), sessionConfig), () -> createSession(path, sessionConfig));
+    }
+
+    /**
+     * Releases a session acquired by one of the {@code acquire} methods, and closes it if it is not used anymore.
+     *
+     * @param session the session to release
+     */
+    public static void release(OrtSession session) throws OrtException {
+        synchronized (SESSIONS) {
+            Key key = KEYS.get(session);
+            if (key == null) {
+                return;
+            }
+            SharedSession sharedSession = SESSIONS.get(key);
+            if (--sharedSession.references > 0) {
+                return;
+            }
+            SESSIONS.remove(key);
+            KEYS.remove(session);
+        }
+        session.close();
+    }
+
+    private static OrtSession acquire(Key key, SessionFactory sessionFactory) {
+        SharedSession sharedSession;
+        boolean creator = false;
+        synchronized (SESSIONS) {
+            sharedSession = SESSIONS.get(key);
+            if (sharedSession == null) {
+                sharedSession = new SharedSession();
+                SESSIONS.put(key, sharedSession);
+                creator = true;
+            }
+            sharedSession.references++;
+        }
+
+        if (creator) {
+            create(key, sharedSession, sessionFactory);
+        }
+
+        try {
+            return sharedSession.session.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static void create(Key key, SharedSession sharedSession, SessionFactory sessionFactory) {
+        OrtSession session;
+        try {
+            session = sessionFactory.create();
+        } catch (OrtException | IOException | RuntimeException e) {
+            synchronized (SESSIONS) {
+                // the callers waiting for this session fail as well, the next one retries
+                SESSIONS.remove(key, sharedSession);
+            }
+            sharedSession.session.completeExceptionally(e);
+            return;
+        }
+        synchronized (SESSIONS) {
+            KEYS.put(session, key);
+        }
+        sharedSession.session.complete(session);
+    }
+
+    private static OrtSession createSession(URL url, OnnxSessionConfig sessionConfig) throws IOException, OrtException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return createSession(Paths.get(url.toURI()), sessionConfig);
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+
+        Path cachedModel = null;
+        try {
+            cachedModel = extract(url);
+        } catch (IOException | RuntimeException e) {
+            // the cache directory is not usable, the model is loaded from the resource below
+        }
+        if (cachedModel != null) {
+            return createSession(cachedModel, sessionConfig);
+        }
+
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+        try (InputStream inputStream = connection.getInputStream()) {
+            return createSession(readOffHeap(inputStream, connection.getContentLengthLong()), sessionConfig);
+        }
+    }
+
+    private static OrtSession createSession(Path pathToModel, OnnxSessionConfig sessionConfig)
+            throws IOException, OrtException {
+        try (FileChannel channel = FileChannel.open(pathToModel)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                try (OrtSession.SessionOptions options = toSessionOptions(sessionConfig)) {
+                    return OrtEnvironment.getEnvironment().createSession(pathToModel.toString(), options);
+                }
+            }
+            return createSession(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), sessionConfig);
+        }
+    }
+
+    private static OrtSession createSession(ByteBuffer model, OnnxSessionConfig sessionConfig) throws OrtException {
+        try (OrtSession.SessionOptions options = toSessionOptions(sessionConfig)) {
+            return OrtEnvironment.getEnvironment().createSession(model, options);
+        }
+    }
+
+    /**
+     * Extracts the model into the cache directory, unless it has already been extracted.
+     * The name of the extracted file depends on the location, size and modification time of the resource,
+     * so a new version of the jar is extracted into a new file.
+     */
+    private static Path extract(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+        long size = connection.getContentLengthLong();
+        long lastModified = connection.getLastModified();
+
+        String path = url.getPath();
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        String version = Integer.toHexString(Objects.hash(url.toString(), size, lastModified));
+        Path cacheDirectory = cacheDirectory();
+        Path cachedModel = cacheDirectory.resolve(version + "-" + fileName);
+
+        if (Files.isRegularFile(cachedModel) && (size < 0 || Files.size(cachedModel) == size)) {
+            return cachedModel;
+        }
+
+        Files.createDirectories(cacheDirectory);
+        Path temporaryFile = Files.createTempFile(cacheDirectory, fileName, ".tmp");
+        try {
+            try (InputStream inputStream = connection.getInputStream()) {
+                Files.copy(inputStream, temporaryFile, REPLACE_EXISTING);
+            }
+            try {
+                Files.move(temporaryFile, cachedModel, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, cachedModel, REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+        return cachedModel;
+    }
+
+    private static Path cacheDirectory() {
+        String cacheDirectory = System.getProperty(MODEL_CACHE_DIRECTORY_PROPERTY);
+        if (cacheDirectory != null) {
+            return Paths.get(cacheDirectory);
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"), "langchain4j-onnx-models");
+    }
+
+    private static ByteBuffer readOffHeap(InputStream inputStream, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.max(size, 1024 * 1024));
+        ReadableByteChannel channel = Channels.newChannel(inputStream);
+        while (channel.read(buffer) >= 0) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer largerBuffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                buffer.flip();
+                largerBuffer.put(buffer);
+                buffer = largerBuffer;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Converts the given config into ONNX Runtime session options, to be closed by the caller.
+     */
+    public static OrtSession.SessionOptions toSessionOptions(OnnxSessionConfig sessionConfig) throws OrtException {
+        OrtSession.SessionOptions options = new OrtSession.SessionOptions();
+        try {
+            if (sessionConfig.intraOpNumThreads() != null) {
+                options.setIntraOpNumThreads(sessionConfig.intraOpNumThreads());
+            }
+            if (sessionConfig.interOpNumThreads() != null) {
+                options.setInterOpNumThreads(sessionConfig.interOpNumThreads());
+            }
+            if (sessionConfig.optimizationLevel() != null) {
+                options.setOptimizationLevel(sessionConfig.optimizationLevel());
+            }
+            if (sessionConfig.cpuArenaAllocator() != null) {
+                options.setCPUArenaAllocator(sessionConfig.cpuArenaAllocator());
+            }
+            return options;
+        } catch (OrtException | RuntimeException e) {
+            options.close();
+            throw e;
+        }
+    }
+
+    private interface SessionFactory {
+
+        OrtSession create() throws OrtException, IOException;
+    }
+
+    private static class SharedSession {
+
+        final CompletableFuture<OrtSession> session = new CompletableFuture<>();
+        int references;
+    }
+
+    private record Key(String model, OnnxSessionConfig sessionConfig) {}
+}
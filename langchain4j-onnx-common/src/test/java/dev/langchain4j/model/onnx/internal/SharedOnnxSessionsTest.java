@@ -0,0 +1,100 @@
+package dev.langchain4j.model.onnx.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ai.onnxruntime.OrtSession;
+import dev.langchain4j.model.onnx.OnnxSessionConfig;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class SharedOnnxSessionsTest {
+
+    private static final Path MODEL = Paths.get("src/test/resources/token-ids-model.onnx");
+
+    private static final OnnxSessionConfig CONFIG = OnnxSessionConfig.builder().build();
+
+    @Test
+    void should_share_session_until_last_release() throws Exception {
+
+        // given
+        OrtSession session = SharedOnnxSessions.acquireFromFileSystem(MODEL, CONFIG);
+        OrtSession sameSession = SharedOnnxSessions.acquireFromFileSystem(MODEL.toAbsolutePath(), CONFIG);
+
+        // when
+        SharedOnnxSessions.release(session);
+
+        // then
+        assertThat(sameSession).isSameAs(session);
+        assertThat(session.getInputNames()).contains("input_ids", "attention_mask");
+
+        // when
+        SharedOnnxSessions.release(sameSession);
+
+        // then
+        assertThatThrownBy(session::getInputNames).isInstanceOf(IllegalStateException.class);
+        OrtSession newSession = SharedOnnxSessions.acquireFromFileSystem(MODEL, CONFIG);
+        assertThat(newSession).isNotSameAs(session);
+        SharedOnnxSessions.release(newSession);
+    }
+
+    @Test
+    void should_not_share_session_between_different_configs() throws Exception {
+
+        // given
+        OnnxSessionConfig otherConfig =
+                OnnxSessionConfig.builder().intraOpNumThreads(1).build();
+
+        // when
+        OrtSession session = SharedOnnxSessions.acquireFromFileSystem(MODEL, CONFIG);
+        OrtSession otherSession = SharedOnnxSessions.acquireFromFileSystem(MODEL, otherConfig);
+
+        // then
+        assertThat(otherSession).isNotSameAs(session);
+        SharedOnnxSessions.release(session);
+        SharedOnnxSessions.release(otherSession);
+    }
+
+    @Test
+    void should_create_session_once_when_acquired_concurrently() throws Exception {
+
+        // given
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<OrtSession>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return SharedOnnxSessions.acquireFromFileSystem(MODEL, CONFIG);
+            }));
+        }
+
+        // when
+        start.countDown();
+        List<OrtSession> sessions = new ArrayList<>();
+        for (CompletableFuture<OrtSession> future : futures) {
+            sessions.add(future.get());
+        }
+
+        // then
+        assertThat(sessions).allSatisfy(session -> assertThat(session).isSameAs(sessions.get(0)));
+        for (OrtSession session : sessions) {
+            SharedOnnxSessions.release(session);
+        }
+    }
+
+    @Test
+    void should_fail_when_model_file_does_not_exist() {
+
+        assertThatThrownBy(() -> SharedOnnxSessions.acquireFromFileSystem(Paths.get("missing.onnx"), CONFIG))
+                .isInstanceOf(RuntimeException.class);
+    }
+}
@@ -2,15 +2,29 @@ package dev.langchain4j.model.scoring.onnx;
 
 import ai.onnxruntime.OrtSession;
 import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.onnx.OnnxSessionConfig;
 import dev.langchain4j.model.output.Response;
 import dev.langchain4j.model.output.TokenUsage;
 import dev.langchain4j.model.scoring.ScoringModel;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 abstract class AbstractInProcessScoringModel implements ScoringModel, AutoCloseable {
 
-    public AbstractInProcessScoringModel() {}
+    private final Executor executor;
+
+    public AbstractInProcessScoringModel() {
+        this(null);
+    }
+
+    /**
+     * @param executor The executor used to score buckets of documents in parallel.
+     *                 If {@code null}, the buckets are scored one after another in the calling thread.
+     */
+    protected AbstractInProcessScoringModel(Executor executor) {
+        this.executor = executor;
+    }
 
     static OnnxScoringBertCrossEncoder loadFromFileSystem(
             String pathToModel,
@@ -25,11 +39,20 @@ abstract class AbstractInProcessScoringModel implements ScoringModel, AutoClosea
         }
     }
 
+    static OnnxScoringBertCrossEncoder loadFromFileSystem(
+            String pathToModel,
+            OnnxSessionConfig sessionConfig,
+            String pathToTokenizer,
+            int modelMaxLength,
+            boolean normalize) {
+        return new OnnxScoringBertCrossEncoder(pathToModel, sessionConfig, pathToTokenizer, modelMaxLength, normalize);
+    }
+
     protected abstract OnnxScoringBertCrossEncoder model();
 
     public Response<List<Double>> scoreAll(List<TextSegment> segments, String query) {
         OnnxScoringBertCrossEncoder.ScoringAndTokenCount scoresAndTokenCount = this.model()
-                .scoreAll(query, segments.stream().map(TextSegment::text).collect(Collectors.toList()));
+                .scoreAll(query, segments.stream().map(TextSegment::text).collect(Collectors.toList()), executor);
         return Response.from(scoresAndTokenCount.scores, new TokenUsage(scoresAndTokenCount.tokenCount));
     }
 
@@ -1,25 +1,34 @@
 package dev.langchain4j.model.scoring.onnx;
 
 import static ai.onnxruntime.OnnxTensor.createTensor;
+import static java.util.concurrent.CompletableFuture.runAsync;
 
 import ai.djl.huggingface.tokenizers.Encoding;
 import ai.djl.huggingface.tokenizers.HuggingFaceTokenizer;
-import ai.djl.util.PairList;
 import ai.onnxruntime.OnnxTensor;
 import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
 import ai.onnxruntime.OrtSession.Result;
+import dev.langchain4j.model.onnx.OnnxSessionConfig;
+import dev.langchain4j.model.onnx.internal.SharedOnnxSessions;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 class OnnxScoringBertCrossEncoder implements AutoCloseable {
 
+    private static final int MAX_BATCH_SIZE = 32;
+
     private final OrtEnvironment environment;
     private final OrtSession session;
     private final Set<String> expectedInputs;
     private final HuggingFaceTokenizer tokenizer;
     private final boolean normalize;
+    private final boolean sharedSession;
     private boolean closed;
 
     public OnnxScoringBertCrossEncoder(
@@ -31,24 +40,56 @@ class OnnxScoringBertCrossEncoder implements AutoCloseable {
         try (options) { // properly release parent session at the end of this block to prevent leaks
             this.environment = OrtEnvironment.getEnvironment();
             this.session = this.environment.createSession(modelPath, options);
+            this.sharedSession = false;
+            this.expectedInputs = session.getInputNames();
+            this.normalize = normalize;
+            this.tokenizer = createTokenizer(pathToTokenizer, modelMaxLength);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Uses the session shared with all other models loading the same model file with the same session config.
+     * The model file is memory-mapped rather than read into the heap.
+     */
+    public OnnxScoringBertCrossEncoder(
+            String modelPath,
+            OnnxSessionConfig sessionConfig,
+            String pathToTokenizer,
+            int modelMaxLength,
+            boolean normalize) {
+        this.environment = OrtEnvironment.getEnvironment();
+        this.session = SharedOnnxSessions.acquireFromFileSystem(Paths.get(modelPath), sessionConfig);
+        this.sharedSession = true;
+        try {
             this.expectedInputs = session.getInputNames();
-            Map<String, String> tokenizerOptions = new HashMap<String, String>() {
-                {
-                    put("padding", "true");
-                    put(
-                            "truncation",
-                            "LONGEST_FIRST"); // Default maximum length limit, LONGEST-FIRST prioritizes truncating the
-                    // longest part
-                    put("modelMaxLength", String.valueOf(modelMaxLength - 2));
-                }
-            };
             this.normalize = normalize;
-            this.tokenizer = HuggingFaceTokenizer.newInstance(Paths.get(pathToTokenizer), tokenizerOptions);
+            this.tokenizer = createTokenizer(pathToTokenizer, modelMaxLength);
         } catch (Exception e) {
+            try {
+                SharedOnnxSessions.release(session);
+            } catch (Exception releaseException) {
+                e.addSuppressed(releaseException);
+            }
             throw new RuntimeException(e);
         }
     }
 
+    private static HuggingFaceTokenizer createTokenizer(String pathToTokenizer, int modelMaxLength) throws IOException {
+        Map<String, String> tokenizerOptions = new HashMap<String, String>() {
+            {
+                put("padding", "true");
+                put(
+                        "truncation",
+                        "LONGEST_FIRST"); // Default maximum length limit, LONGEST-FIRST prioritizes truncating the
+                // longest part
+                put("modelMaxLength", String.valueOf(modelMaxLength - 2));
+            }
+        };
+        return HuggingFaceTokenizer.newInstance(Paths.get(pathToTokenizer), tokenizerOptions);
+    }
+
     static class ScoringAndTokenCount {
 
         List<Double> scores;
@@ -69,7 +110,11 @@ class OnnxScoringBertCrossEncoder implements AutoCloseable {
         Exception firstException = null;
 
         try {
-            if (session != null) session.close();
+            if (sharedSession) {
+                SharedOnnxSessions.release(session);
+            } else if (session != null) {
+                session.close();
+            }
         } catch (Exception e) {
             firstException = e;
         }
@@ -92,34 +137,106 @@ class OnnxScoringBertCrossEncoder implements AutoCloseable {
     }
 
     ScoringAndTokenCount scoreAll(String query, List<String> documents) {
-        List<Double> scores;
+        return scoreAll(query, documents, null);
+    }
+
+    /**
+     * Scores the given documents against the query.
+     * <p>
+     * Each (query, document) pair is tokenized once, without padding.
+     * Instead of padding all pairs to the longest one, the pairs are sorted by length
+     * and scored in buckets of at most {@link #MAX_BATCH_SIZE} pairs of similar length,
+     * so that each bucket is only padded to its own longest pair.
+     * The scores are returned in the order of the documents.
+     *
+     * @param executor the executor used to score the buckets in parallel,
+     *                 or {@code null} to score them one after another in the calling thread
+     */
+    ScoringAndTokenCount scoreAll(String query, List<String> documents, Executor executor) {
         int tokenCount = 0;
-        int queryTokenCount = tokenizer.tokenize(query).size() - 2;
-        PairList<String, String> pairs = new PairList<>();
-        for (String document : documents) {
-            pairs.add(query, document);
-            tokenCount += queryTokenCount
-                    + tokenizer.tokenize(document).size()
-                    - 2; // do not count special tokens [CLS] and [SEP]
-        }
-        try (Result result = this.encode(pairs)) {
-            scores = this.toScore(result);
+        Encoding[] encodings = new Encoding[documents.size()];
+        int[] lengths = new int[documents.size()];
+        for (int i = 0; i < documents.size(); i++) {
+            encodings[i] = tokenizer.encode(query, documents.get(i));
+            lengths[i] = encodings[i].getIds().length;
+            for (long specialToken : encodings[i].getSpecialTokenMask()) {
+                if (specialToken == 0) { // do not count special tokens, such as [CLS] and [SEP]
+                    tokenCount++;
+                }
+            }
+        }
+
+        Double[] scores = new Double[documents.size()];
+        List<int[]> buckets = buckets(lengths, MAX_BATCH_SIZE);
+        if (executor == null || buckets.size() == 1) {
+            buckets.forEach(bucket -> score(encodings, bucket, scores));
+        } else {
+            CompletableFuture<?>[] futures = buckets.stream()
+                    .map(bucket -> runAsync(() -> score(encodings, bucket, scores), executor))
+                    .toArray(CompletableFuture[]::new);
+            try {
+                CompletableFuture.allOf(futures).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException
+                        : new RuntimeException(e.getCause());
+            }
+        }
+        return new ScoringAndTokenCount(Arrays.asList(scores), tokenCount);
+    }
+
+    /**
+     * Groups the indices of the given lengths into buckets of at most {@code maxBucketSize} indices,
+     * each holding indices of similar lengths.
+     */
+    static List<int[]> buckets(int[] lengths, int maxBucketSize) {
+        Integer[] indices = new Integer[lengths.length];
+        for (int i = 0; i < lengths.length; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, Comparator.comparingInt(i -> lengths[i]));
+
+        List<int[]> buckets = new ArrayList<>();
+        for (int from = 0; from < indices.length; from += maxBucketSize) {
+            int[] bucket = new int[Math.min(maxBucketSize, indices.length - from)];
+            for (int i = 0; i < bucket.length; i++) {
+                bucket[i] = indices[from + i];
+            }
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    private void score(Encoding[] encodings, int[] bucket, Double[] scores) {
+        try (Result result = this.encode(encodings, bucket)) {
+            List<Double> bucketScores = this.toScore(result);
+            for (int i = 0; i < bucket.length; i++) {
+                scores[bucket[i]] = bucketScores.get(i);
+            }
         } catch (OrtException e) {
             throw new RuntimeException(e);
         }
-        return new ScoringAndTokenCount(scores, tokenCount);
     }
 
-    private Result encode(PairList<String, String> pairs) throws OrtException {
-        Encoding[] encodings = this.tokenizer.batchEncode(pairs);
-        long[][] inputIds = new long[encodings.length][];
-        long[][] attentionMask = new long[encodings.length][];
-        long[][] tokenTypeIds = new long[encodings.length][];
+    /**
+     * Pads the encodings of the given bucket to the longest one.
+     * Padded positions are masked out by the attention mask, so their (zero) ids do not affect the scores.
+     */
+    private Result encode(Encoding[] encodings, int[] bucket) throws OrtException {
+        int maxLength = 0;
+        for (int index : bucket) {
+            maxLength = Math.max(maxLength, encodings[index].getIds().length);
+        }
+
+        long[][] inputIds = new long[bucket.length][];
+        long[][] attentionMask = new long[bucket.length][];
+        long[][] tokenTypeIds = new long[bucket.length][];
 
-        for (int i = 0; i < encodings.length; i++) {
-            inputIds[i] = encodings[i].getIds();
-            attentionMask[i] = encodings[i].getAttentionMask();
-            tokenTypeIds[i] = encodings[i].getTypeIds();
+        for (int i = 0; i < bucket.length; i++) {
+            Encoding encoding = encodings[bucket[i]];
+            inputIds[i] = Arrays.copyOf(encoding.getIds(), maxLength);
+            attentionMask[i] = Arrays.copyOf(encoding.getAttentionMask(), maxLength);
+            tokenTypeIds[i] = Arrays.copyOf(encoding.getTypeIds(), maxLength);
         }
 
         try (OnnxTensor inputIdsTensor = createTensor(environment, inputIds);
@@ -1,6 +1,10 @@
 package dev.langchain4j.model.scoring.onnx;
 
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
 import ai.onnxruntime.OrtSession;
+import dev.langchain4j.model.onnx.OnnxSessionConfig;
+import java.util.concurrent.Executor;
 
 public class OnnxScoringModel extends AbstractInProcessScoringModel {
 
@@ -26,6 +30,36 @@ public class OnnxScoringModel extends AbstractInProcessScoringModel {
         this.onnxBertBiEncoder = loadFromFileSystem(pathToModel, options, pathToTokenizer, modelMaxLength, normalize);
     }
 
+    /**
+     * Creates a model using a session shared with all other models loading the same model file
+     * with the same session config. The model file is memory-mapped rather than read into the heap.
+     */
+    public OnnxScoringModel(
+            String pathToModel,
+            OnnxSessionConfig sessionConfig,
+            String pathToTokenizer,
+            int modelMaxLength,
+            boolean normalize) {
+        this(pathToModel, sessionConfig, pathToTokenizer, modelMaxLength, normalize, null);
+    }
+
+    /**
+     * Creates a model using a session shared with all other models loading the same model file
+     * with the same session config. Documents are scored in buckets of similar length,
+     * which are scored in parallel using the given executor.
+     */
+    public OnnxScoringModel(
+            String pathToModel,
+            OnnxSessionConfig sessionConfig,
+            String pathToTokenizer,
+            int modelMaxLength,
+            boolean normalize,
+            Executor executor) {
+        super(executor);
+        this.onnxBertBiEncoder = loadFromFileSystem(
+                pathToModel, ensureNotNull(sessionConfig, "sessionConfig"), pathToTokenizer, modelMaxLength, normalize);
+    }
+
     protected OnnxScoringBertCrossEncoder model() {
         return this.onnxBertBiEncoder;
     }
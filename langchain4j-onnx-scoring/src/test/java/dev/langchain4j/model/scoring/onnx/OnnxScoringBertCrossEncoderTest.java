@@ -0,0 +1,28 @@
+package dev.langchain4j.model.scoring.onnx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class OnnxScoringBertCrossEncoderTest {
+
+    @Test
+    void should_group_pairs_of_similar_length_into_bounded_buckets() {
+
+        // given
+        int[] lengths = {50, 3, 400, 7, 48, 5, 390};
+
+        // when
+        List<int[]> buckets = OnnxScoringBertCrossEncoder.buckets(lengths, 3);
+
+        // then
+        assertThat(buckets).containsExactly(new int[] {1, 5, 3}, new int[] {4, 0, 6}, new int[] {2});
+    }
+
+    @Test
+    void should_return_no_buckets_when_there_are_no_pairs() {
+
+        assertThat(OnnxScoringBertCrossEncoder.buckets(new int[0], 3)).isEmpty();
+    }
+}
@@ -34,6 +34,7 @@ import dev.langchain4j.http.client.sse.DefaultServerSentEventParser;
 import dev.langchain4j.http.client.sse.ServerSentEvent;
 import dev.langchain4j.http.client.sse.ServerSentEventContext;
 import dev.langchain4j.http.client.sse.ServerSentEventListener;
+import dev.langchain4j.http.client.sse.ServerSentEventRetention;
 import dev.langchain4j.internal.ExceptionMapper;
 import dev.langchain4j.internal.InternalStreamingChatResponseHandlerUtils;
 import dev.langchain4j.model.chat.request.ChatRequest;
@@ -49,7 +50,9 @@ import dev.langchain4j.model.chat.response.PartialToolCall;
 import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.chat.response.StreamingHandle;
 import dev.langchain4j.model.output.FinishReason;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -169,6 +172,7 @@ class OpenAiResponsesClient {
     private final String baseUrl;
     private final String apiKey;
     private final String organizationId;
+    private final ServerSentEventRetention serverSentEventRetention;
 
     OpenAiResponsesClient(Builder builder) {
         HttpClientBuilder httpClientBuilder =
@@ -182,6 +186,7 @@ class OpenAiResponsesClient {
         this.baseUrl = getOrDefault(builder.baseUrl, DEFAULT_BASE_URL);
         this.apiKey = builder.apiKey;
         this.organizationId = builder.organizationId;
+        this.serverSentEventRetention = getOrDefault(builder.serverSentEventRetention, ServerSentEventRetention.all());
     }
 
     static Builder builder() {
@@ -207,7 +212,10 @@ class OpenAiResponsesClient {
             Map<String, Object> payload = buildRequestPayload(chatRequest, parameters, true);
             HttpRequest request = buildHttpRequest(payload, true);
 
-            httpClient.execute(request, new DefaultServerSentEventParser(), new ResponsesApiEventListener(handler));
+            httpClient.execute(
+                    request,
+                    new DefaultServerSentEventParser(),
+                    new ResponsesApiEventListener(handler, serverSentEventRetention));
 
         } catch (Exception e) {
             withLoggingExceptions(() -> handler.onError(ExceptionMapper.DEFAULT.mapException(e)));
@@ -777,6 +785,7 @@ class OpenAiResponsesClient {
         private String organizationId;
         private boolean logRequests;
         private boolean logResponses;
+        private ServerSentEventRetention serverSentEventRetention;
 
         Builder httpClientBuilder(HttpClientBuilder httpClientBuilder) {
             this.httpClientBuilder = httpClientBuilder;
@@ -812,6 +821,11 @@ class OpenAiResponsesClient {
             return this;
         }
 
+        Builder serverSentEventRetention(ServerSentEventRetention serverSentEventRetention) {
+            this.serverSentEventRetention = serverSentEventRetention;
+            return this;
+        }
+
         OpenAiResponsesClient build() {
             return new OpenAiResponsesClient(this);
         }
@@ -825,11 +839,14 @@ class OpenAiResponsesClient {
         private final Map<String, Integer> toolCallIndices = new LinkedHashMap<>();
         private final List<ToolExecutionRequest> completedToolCalls = new ArrayList<>();
         private final Set<String> completedToolCallItemIds = new HashSet<>();
-        private final List<ServerSentEvent> rawServerSentEvents = new ArrayList<>();
+        private final ServerSentEventRetention serverSentEventRetention;
+        private final Deque<ServerSentEvent> rawServerSentEvents = new ArrayDeque<>();
         private SuccessfulHttpResponse rawHttpResponse;
 
-        ResponsesApiEventListener(StreamingChatResponseHandler handler) {
+        ResponsesApiEventListener(
+                StreamingChatResponseHandler handler, ServerSentEventRetention serverSentEventRetention) {
             this.handler = handler;
+            this.serverSentEventRetention = serverSentEventRetention;
         }
 
         private boolean isCancelled() {
@@ -859,7 +876,7 @@ class OpenAiResponsesClient {
             if (isCancelled()) {
                 return;
             }
-            rawServerSentEvents.add(event);
+            serverSentEventRetention.retain(rawServerSentEvents, event);
             var data = event.data();
 
             if (data == null || data.isEmpty()) {
@@ -9,6 +9,7 @@ import dev.langchain4j.Experimental;
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.exception.UnsupportedFeatureException;
 import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.http.client.sse.ServerSentEventRetention;
 import dev.langchain4j.model.ModelProvider;
 import dev.langchain4j.model.chat.Capability;
 import dev.langchain4j.model.chat.StreamingChatModel;
@@ -38,6 +39,7 @@ public class OpenAiResponsesStreamingChatModel implements StreamingChatModel {
                 .organizationId(builder.organizationId)
                 .logRequests(builder.logRequests)
                 .logResponses(builder.logResponses)
+                .serverSentEventRetention(builder.serverSentEventRetention)
                 .build();
 
         ChatRequestParameters commonParameters;
@@ -168,6 +170,7 @@ public class OpenAiResponsesStreamingChatModel implements StreamingChatModel {
         private ToolChoice toolChoice;
         private Boolean logRequests;
         private Boolean logResponses;
+        private ServerSentEventRetention serverSentEventRetention;
         private List<ChatModelListener> listeners;
         private ChatRequestParameters defaultRequestParameters;
 
@@ -340,6 +343,20 @@ public class OpenAiResponsesStreamingChatModel implements StreamingChatModel {
             return this;
         }
 
+        /**
+         * Controls how many raw server-sent events are retained while the response is streamed,
+         * to be returned in {@link OpenAiResponsesChatResponseMetadata#rawServerSentEvents()}.
+         * <p>
+         * All events are retained by default.
+         *
+         * @param serverSentEventRetention the retention of raw server-sent events
+         * @return {@code this}
+         */
+        public Builder serverSentEventRetention(ServerSentEventRetention serverSentEventRetention) {
+            this.serverSentEventRetention = serverSentEventRetention;
+            return this;
+        }
+
         public Builder listeners(List<ChatModelListener> listeners) {
             this.listeners = listeners;
             return this;
@@ -22,6 +22,7 @@ import static java.util.Arrays.asList;
 
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.http.client.sse.ServerSentEventRetention;
 import dev.langchain4j.internal.ExceptionMapper;
 import dev.langchain4j.internal.ToolCallBuilder;
 import dev.langchain4j.model.ModelProvider;
@@ -66,6 +67,7 @@ public class OpenAiStreamingChatModel implements StreamingChatModel {
     private final boolean sendThinking;
     private final String thinkingFieldName;
     private final boolean accumulateToolCallId;
+    private final ServerSentEventRetention serverSentEventRetention;
     private final List<ChatModelListener> listeners;
 
     public OpenAiStreamingChatModel(OpenAiStreamingChatModelBuilder builder) {
@@ -130,6 +132,7 @@ public class OpenAiStreamingChatModel implements StreamingChatModel {
         this.sendThinking = getOrDefault(builder.sendThinking, false);
         this.thinkingFieldName = getOrDefault(builder.thinkingFieldName, "reasoning_content");
         this.accumulateToolCallId = getOrDefault(builder.accumulateToolCallId, true);
+        this.serverSentEventRetention = getOrDefault(builder.serverSentEventRetention, ServerSentEventRetention.all());
         this.listeners = copy(builder.listeners);
     }
 
@@ -153,7 +156,7 @@ public class OpenAiStreamingChatModel implements StreamingChatModel {
                         .build();
 
         OpenAiStreamingResponseBuilder openAiResponseBuilder =
-                new OpenAiStreamingResponseBuilder(returnThinking, accumulateToolCallId);
+                new OpenAiStreamingResponseBuilder(returnThinking, accumulateToolCallId, serverSentEventRetention);
         ToolCallBuilder toolCallBuilder = new ToolCallBuilder();
 
         client.chatCompletion(openAiRequest)
@@ -300,6 +303,7 @@ public class OpenAiStreamingChatModel implements StreamingChatModel {
         private Boolean sendThinking;
         private String thinkingFieldName;
         private Boolean accumulateToolCallId;
+        private ServerSentEventRetention serverSentEventRetention;
         private Duration timeout;
         private Boolean logRequests;
         private Boolean logResponses;
@@ -536,6 +540,23 @@ public class OpenAiStreamingChatModel implements StreamingChatModel {
             return this;
         }
 
+        /**
+         * Controls how many raw server-sent events are retained while the response is streamed,
+         * to be returned in {@link OpenAiChatResponseMetadata#rawServerSentEvents()}.
+         * <p>
+         * All events are retained by default.
+         * Use {@link ServerSentEventRetention#none()} or {@link ServerSentEventRetention#last(int)}
+         * to reduce the memory used by long responses.
+         *
+         * @param serverSentEventRetention the retention of raw server-sent events
+         * @return {@code this}
+         */
+        public OpenAiStreamingChatModelBuilder serverSentEventRetention(
+                ServerSentEventRetention serverSentEventRetention) {
+            this.serverSentEventRetention = serverSentEventRetention;
+            return this;
+        }
+
         public OpenAiStreamingChatModelBuilder timeout(Duration timeout) {
             this.timeout = timeout;
             return this;
@@ -2,6 +2,7 @@ package dev.langchain4j.model.openai;
 
 import static dev.langchain4j.internal.Utils.isNullOrBlank;
 import static dev.langchain4j.internal.Utils.isNullOrEmpty;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import static dev.langchain4j.model.openai.internal.OpenAiUtils.finishReasonFrom;
 import static dev.langchain4j.model.openai.internal.OpenAiUtils.tokenUsageFrom;
 import static java.util.stream.Collectors.toList;
@@ -11,6 +12,7 @@ import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.http.client.SuccessfulHttpResponse;
 import dev.langchain4j.http.client.sse.ServerSentEvent;
+import dev.langchain4j.http.client.sse.ServerSentEventRetention;
 import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.openai.internal.ParsedAndRawResponse;
 import dev.langchain4j.model.openai.internal.chat.ChatCompletionChoice;
@@ -23,28 +25,32 @@ import dev.langchain4j.model.openai.internal.completion.CompletionResponse;
 import dev.langchain4j.model.openai.internal.shared.Usage;
 import dev.langchain4j.model.output.FinishReason;
 import dev.langchain4j.model.output.TokenUsage;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * This class needs to be thread safe because it is called when a streaming result comes back
+ * This class is called when a streaming result comes back,
  * and there is no guarantee that this thread will be the same as the one that initiated the request,
  * in fact it almost certainly won't be.
+ * However, the partial responses of a stream are delivered one after another, and never concurrently,
+ * so the text is accumulated without synchronization.
+ * <p>
+ * Raw server-sent events are retained according to the {@link ServerSentEventRetention}, all of them by default.
  */
 @Internal
 public class OpenAiStreamingResponseBuilder {
 
-    private final StringBuffer contentBuilder = new StringBuffer();
-    private final StringBuffer reasoningContentBuilder;
+    private final StringBuilder contentBuilder = new StringBuilder();
+    private final StringBuilder reasoningContentBuilder;
 
-    private final StringBuffer toolNameBuilder = new StringBuffer(); // legacy
-    private final StringBuffer toolArgumentsBuilder = new StringBuffer(); // legacy
+    private final StringBuilder toolNameBuilder = new StringBuilder(); // legacy
+    private final StringBuilder toolArgumentsBuilder = new StringBuilder(); // legacy
 
     private final Map<Integer, ToolExecutionRequestBuilder> indexToToolExecutionRequestBuilder =
             new ConcurrentHashMap<>();
@@ -58,10 +64,11 @@ public class OpenAiStreamingResponseBuilder {
     private final AtomicReference<TokenUsage> tokenUsage = new AtomicReference<>();
     private final AtomicReference<FinishReason> finishReason = new AtomicReference<>();
     private final AtomicReference<SuccessfulHttpResponse> rawHttpResponse = new AtomicReference<>();
-    private final Queue<ServerSentEvent> rawServerSentEvents = new ConcurrentLinkedQueue<>();
+    private final Deque<ServerSentEvent> rawServerSentEvents = new ArrayDeque<>();
 
     private final boolean returnThinking;
     private final boolean accumulateToolCallId;
+    private final ServerSentEventRetention serverSentEventRetention;
 
     public OpenAiStreamingResponseBuilder() {
         this(false, true);
@@ -72,10 +79,16 @@ public class OpenAiStreamingResponseBuilder {
     }
 
     public OpenAiStreamingResponseBuilder(boolean returnThinking, boolean accumulateToolCallId) {
+        this(returnThinking, accumulateToolCallId, ServerSentEventRetention.all());
+    }
+
+    public OpenAiStreamingResponseBuilder(
+            boolean returnThinking, boolean accumulateToolCallId, ServerSentEventRetention serverSentEventRetention) {
         this.returnThinking = returnThinking;
         this.accumulateToolCallId = accumulateToolCallId;
+        this.serverSentEventRetention = ensureNotNull(serverSentEventRetention, "serverSentEventRetention");
         if (returnThinking) {
-            this.reasoningContentBuilder = new StringBuffer();
+            this.reasoningContentBuilder = new StringBuilder();
         } else {
             this.reasoningContentBuilder = null;
         }
@@ -87,7 +100,7 @@ public class OpenAiStreamingResponseBuilder {
                 rawHttpResponse.set(parsedAndRawResponse.rawHttpResponse());
             }
             if (parsedAndRawResponse.rawServerSentEvent() != null) {
-                rawServerSentEvents.add(parsedAndRawResponse.rawServerSentEvent());
+                serverSentEventRetention.retain(rawServerSentEvents, parsedAndRawResponse.rawServerSentEvent());
             }
 
             append(parsedAndRawResponse.parsedResponse());
@@ -310,8 +323,8 @@ public class OpenAiStreamingResponseBuilder {
 
     private static class ToolExecutionRequestBuilder {
 
-        private final StringBuffer idBuilder = new StringBuffer();
-        private final StringBuffer nameBuilder = new StringBuffer();
-        private final StringBuffer argumentsBuilder = new StringBuffer();
+        private final StringBuilder idBuilder = new StringBuilder();
+        private final StringBuilder nameBuilder = new StringBuilder();
+        private final StringBuilder argumentsBuilder = new StringBuilder();
     }
 }
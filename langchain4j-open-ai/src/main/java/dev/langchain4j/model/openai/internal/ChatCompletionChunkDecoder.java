@@ -0,0 +1,200 @@
+package dev.langchain4j.model.openai.internal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.langchain4j.model.openai.internal.chat.ChatCompletionChoice;
+import dev.langchain4j.model.openai.internal.chat.ChatCompletionResponse;
+import dev.langchain4j.model.openai.internal.chat.Delta;
+import dev.langchain4j.model.openai.internal.chat.FunctionCall;
+import dev.langchain4j.model.openai.internal.chat.ToolCall;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the chunks of a streamed chat completion with a streaming {@link JsonParser},
+ * without going through data binding.
+ * <p>
+ * Most chunks carry a single token: a piece of content, reasoning content or tool call arguments.
+ * Only the fields of such chunks are decoded here, unknown fields are skipped.
+ * A chunk containing anything else (usage, log probabilities, a complete message, or values of an unexpected type)
+ * is decoded with data binding instead, so that the result is always the same as {@link Json#fromJson}.
+ */
+class ChatCompletionChunkDecoder {
+
+    private static final JsonFactory JSON_FACTORY = Json.OBJECT_MAPPER.getFactory();
+
+    private ChatCompletionChunkDecoder() {
+    }
+
+    static ChatCompletionResponse decode(String json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            ChatCompletionResponse response = readResponse(parser);
+            if (parser.nextToken() == null) {
+                return response;
+            }
+        } catch (UnsupportedChunkException | IOException | IllegalArgumentException ignored) {
+            // falling back to data binding
+        }
+        return Json.fromJson(json, ChatCompletionResponse.class);
+    }
+
+    private static ChatCompletionResponse readResponse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+        ChatCompletionResponse.Builder builder = ChatCompletionResponse.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> builder.id(readString(parser, value));
+                case "created" -> builder.created(readLong(parser, value));
+                case "model" -> builder.model(readString(parser, value));
+                case "system_fingerprint" -> builder.systemFingerprint(readString(parser, value));
+                case "service_tier" -> builder.serviceTier(readString(parser, value));
+                case "choices" -> builder.choices(readArray(parser, value, ChatCompletionChunkDecoder::readChoice));
+                case "usage" -> ensureNull(value);
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    private static ChatCompletionChoice readChoice(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+        ChatCompletionChoice.Builder builder = ChatCompletionChoice.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "index" -> builder.index(readInteger(parser, value));
+                case "delta" -> builder.delta(value == JsonToken.VALUE_NULL ? null : readDelta(parser, value));
+                case "finish_reason" -> builder.finishReason(readString(parser, value));
+                case "message", "logprobs" -> ensureNull(value);
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    private static Delta readDelta(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+        Delta.Builder builder = Delta.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "role" -> builder.role(readString(parser, value));
+                case "content" -> builder.content(readString(parser, value));
+                case "reasoning_content" -> builder.reasoningContent(readString(parser, value));
+                case "tool_calls" -> builder.toolCalls(readArray(parser, value, ChatCompletionChunkDecoder::readToolCall));
+                case "function_call" -> ensureNull(value);
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    private static ToolCall readToolCall(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+        ToolCall.Builder builder = ToolCall.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> builder.id(readString(parser, value));
+                case "index" -> builder.index(readInteger(parser, value));
+                case "type" -> builder.type(readString(parser, value));
+                case "function" -> builder.function(value == JsonToken.VALUE_NULL ? null : readFunctionCall(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    private static FunctionCall readFunctionCall(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+        FunctionCall.Builder builder = FunctionCall.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "name" -> builder.name(readString(parser, value));
+                case "arguments" -> builder.arguments(readString(parser, value));
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+
+    private static <T> List<T> readArray(JsonParser parser, JsonToken token, ElementReader<T> elementReader)
+            throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+        List<T> elements = new ArrayList<>(1);
+        JsonToken elementToken;
+        while ((elementToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+            elements.add(elementReader.read(parser, elementToken));
+        }
+        return elements;
+    }
+
+    private static String readString(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NULL -> null;
+            default -> throw UnsupportedChunkException.INSTANCE;
+        };
+    }
+
+    private static Integer readInteger(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_NULL -> null;
+            default -> throw UnsupportedChunkException.INSTANCE;
+        };
+    }
+
+    private static Long readLong(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_NULL -> null;
+            default -> throw UnsupportedChunkException.INSTANCE;
+        };
+    }
+
+    private static void ensureNull(JsonToken token) {
+        if (token != JsonToken.VALUE_NULL) {
+            throw UnsupportedChunkException.INSTANCE;
+        }
+    }
+
+    private interface ElementReader<T> {
+
+        T read(JsonParser parser, JsonToken token) throws IOException;
+    }
+
+    private static class UnsupportedChunkException extends RuntimeException {
+
+        private static final UnsupportedChunkException INSTANCE = new UnsupportedChunkException();
+
+        private UnsupportedChunkException() {
+            super(null, null, false, false);
+        }
+    }
+}
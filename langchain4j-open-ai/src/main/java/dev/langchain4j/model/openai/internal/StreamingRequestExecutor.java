@@ -8,8 +8,10 @@ import dev.langchain4j.http.client.sse.ServerSentEventContext;
 import dev.langchain4j.http.client.sse.ServerSentEventListener;
 import dev.langchain4j.http.client.sse.CancellationUnsupportedHandle;
 import dev.langchain4j.model.chat.response.StreamingHandle;
+import dev.langchain4j.model.openai.internal.chat.ChatCompletionResponse;
 
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static dev.langchain4j.http.client.sse.ServerSentEventParsingHandleUtils.toStreamingHandle;
 
@@ -17,12 +19,21 @@ class StreamingRequestExecutor<Response> {
 
     private final HttpClient httpClient;
     private final HttpRequest streamingHttpRequest;
-    private final Class<Response> responseClass;
+    private final Function<String, Response> decoder;
 
     StreamingRequestExecutor(HttpClient httpClient, HttpRequest streamingHttpRequest, Class<Response> responseClass) {
         this.httpClient = httpClient;
         this.streamingHttpRequest = streamingHttpRequest;
-        this.responseClass = responseClass;
+        this.decoder = decoder(responseClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Response> Function<String, Response> decoder(Class<Response> responseClass) {
+        if (responseClass == ChatCompletionResponse.class) {
+            // chunks of chat completions are decoded without data binding, see ChatCompletionChunkDecoder
+            return json -> (Response) ChatCompletionChunkDecoder.decode(json);
+        }
+        return json -> Json.fromJson(json, responseClass);
     }
 
     StreamingResponseHandling onPartialResponse(Consumer<ParsedAndRawResponse<Response>> partialResponseHandler) {
@@ -129,7 +140,7 @@ class StreamingRequestExecutor<Response> {
                         errorHandler.accept(new RuntimeException(event.data()));
                         return;
                     }
-                    Response parsedResponse = Json.fromJson(event.data(), responseClass);
+                    Response parsedResponse = decoder.apply(event.data());
                     if (parsedResponse != null) {
                         ParsedAndRawResponse parsedAndRawResponse = ParsedAndRawResponse.builder()
                                 .parsedResponse(parsedResponse)
@@ -3,7 +3,10 @@ package dev.langchain4j.model.openai;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.http.client.sse.ServerSentEvent;
+import dev.langchain4j.http.client.sse.ServerSentEventRetention;
 import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.openai.internal.ParsedAndRawResponse;
 import dev.langchain4j.model.openai.internal.chat.*;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -227,6 +230,56 @@ class OpenAiStreamingResponseBuilderTest {
         assertThat(toolExecutionRequests).extracting(ToolExecutionRequest::id).containsExactly("call_1", "call_2");
     }
 
+    @Test
+    void should_retain_last_raw_server_sent_events() {
+
+        // given
+        OpenAiStreamingResponseBuilder builder =
+                new OpenAiStreamingResponseBuilder(false, true, ServerSentEventRetention.last(2));
+
+        // when
+        for (String token : List.of("one", "two", "three")) {
+            builder.append(parsedAndRawResponse(token));
+        }
+        ChatResponse response = builder.build();
+
+        // then
+        assertThat(response.aiMessage().text()).isEqualTo("onetwothree");
+        assertThat(((OpenAiChatResponseMetadata) response.metadata()).rawServerSentEvents())
+                .extracting(ServerSentEvent::data)
+                .containsExactly("two", "three");
+    }
+
+    @Test
+    void should_not_retain_raw_server_sent_events() {
+
+        // given
+        OpenAiStreamingResponseBuilder builder =
+                new OpenAiStreamingResponseBuilder(false, true, ServerSentEventRetention.none());
+
+        // when
+        builder.append(parsedAndRawResponse("one"));
+        ChatResponse response = builder.build();
+
+        // then
+        assertThat(response.aiMessage().text()).isEqualTo("one");
+        assertThat(((OpenAiChatResponseMetadata) response.metadata()).rawServerSentEvents())
+                .isEmpty();
+    }
+
+    private static ParsedAndRawResponse<ChatCompletionResponse> parsedAndRawResponse(String content) {
+        ChatCompletionResponse parsedResponse = ChatCompletionResponse.builder()
+                .choices(List.of(ChatCompletionChoice.builder()
+                        .index(0)
+                        .delta(Delta.builder().content(content).build())
+                        .build()))
+                .build();
+        return ParsedAndRawResponse.builder()
+                .parsedResponse(parsedResponse)
+                .rawServerSentEvent(new ServerSentEvent(null, content))
+                .build();
+    }
+
     private static ChatCompletionResponse chatCompletionResponse(ToolCall toolCall) {
         return ChatCompletionResponse.builder()
                 .id("resp_1")
@@ -0,0 +1,49 @@
+package dev.langchain4j.model.openai.internal;
+
+import dev.langchain4j.model.openai.internal.chat.ChatCompletionResponse;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatCompletionChunkDecoderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            """
+            {"id":"chatcmpl-1","object":"chat.completion.chunk","created":1742268380,"model":"gpt-4o-mini","system_fingerprint":"fp_1","choices":[{"index":0,"delta":{"role":"assistant","content":"","refusal":null},"logprobs":null,"finish_reason":null}],"obfuscation":"abc"}
+            """,
+            """
+            {"id":"chatcmpl-1","object":"chat.completion.chunk","created":1742268380,"model":"gpt-4o-mini","service_tier":"default","choices":[{"index":0,"delta":{"content":"Hello, \\"world\\" \\u00e9\\ud83d\\ude00"},"finish_reason":null}]}
+            """,
+            """
+            {"id":"0195a749b17b5668b9753240788da6f8","object":"chat.completion.chunk","created":1742268380,"model":"deepseek-ai/DeepSeek-V3","choices":[{"index":0,"delta":{"content":null,"reasoning_content":null,"tool_calls":[{"index":0,"id":"","type":"","function":{"arguments":"{\\""}}]},"finish_reason":null}],"system_fingerprint":""}
+            """,
+            """
+            {"id":"chatcmpl-1","choices":[{"index":0,"delta":{"tool_calls":[{"index":1,"id":"call_1","type":"function","function":{"name":"getWeather","arguments":""}}]},"finish_reason":null}]}
+            """,
+            """
+            {"id":"chatcmpl-1","choices":[{"index":0,"delta":{"reasoning_content":"Let me think"},"finish_reason":null}]}
+            """,
+            """
+            {"id":"chatcmpl-1","choices":[{"index":0,"delta":{},"finish_reason":"stop"}],"usage":null}
+            """,
+            """
+            {"id":"chatcmpl-1","choices":[],"usage":{"prompt_tokens":83,"completion_tokens":2,"total_tokens":85}}
+            """,
+            """
+            {"id":"chatcmpl-1","choices":[{"index":0,"delta":{"content":"Hi"},"logprobs":{"content":[{"token":"Hi","logprob":-0.1}]},"finish_reason":null}]}
+            """,
+            """
+            {"id":"chatcmpl-1","created":"1742268380","choices":[{"index":"0","delta":{"content":"Hi"}}]}
+            """
+    })
+    void should_decode_chunk_same_as_data_binding(String json) {
+
+        // when
+        ChatCompletionResponse response = ChatCompletionChunkDecoder.decode(json);
+
+        // then
+        assertThat(response).isEqualTo(Json.fromJson(json, ChatCompletionResponse.class));
+    }
+}
@@ -1,9 +1,12 @@
 package dev.langchain4j.store.memory.chat.tablestore;
 
 import com.alicloud.openservices.tablestore.SyncClient;
+import com.alicloud.openservices.tablestore.TableStoreException;
+import com.alicloud.openservices.tablestore.core.ErrorCode;
 import com.alicloud.openservices.tablestore.model.CapacityUnit;
 import com.alicloud.openservices.tablestore.model.Column;
 import com.alicloud.openservices.tablestore.model.ColumnValue;
+import com.alicloud.openservices.tablestore.model.Condition;
 import com.alicloud.openservices.tablestore.model.CreateTableRequest;
 import com.alicloud.openservices.tablestore.model.DeleteRowRequest;
 import com.alicloud.openservices.tablestore.model.Direction;
@@ -19,6 +22,7 @@ import com.alicloud.openservices.tablestore.model.PutRowRequest;
 import com.alicloud.openservices.tablestore.model.RangeRowQueryCriteria;
 import com.alicloud.openservices.tablestore.model.ReservedThroughput;
 import com.alicloud.openservices.tablestore.model.Row;
+import com.alicloud.openservices.tablestore.model.RowExistenceExpectation;
 import com.alicloud.openservices.tablestore.model.RowDeleteChange;
 import com.alicloud.openservices.tablestore.model.RowPutChange;
 import com.alicloud.openservices.tablestore.model.TableMeta;
@@ -28,6 +32,7 @@ import dev.langchain4j.data.message.ChatMessageDeserializer;
 import dev.langchain4j.data.message.ChatMessageSerializer;
 import dev.langchain4j.internal.ValidationUtils;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.IncrementalChatMemoryStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,7 +41,15 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
-public class TablestoreChatMemoryStore implements ChatMemoryStore {
+/**
+ * A {@link ChatMemoryStore} storing each message in a row, keyed by memory ID and sequence number.
+ * <p>
+ * As an {@link IncrementalChatMemoryStore}, it appends and removes rows
+ * instead of rewriting all rows of a chat memory when a message is added.
+ * Appended rows are written only if their sequence number is not taken yet,
+ * so concurrent appends to the same chat memory do not overwrite each other.
+ */
+public class TablestoreChatMemoryStore implements IncrementalChatMemoryStore {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
     private final SyncClient client;
@@ -49,6 +62,7 @@ public class TablestoreChatMemoryStore implements ChatMemoryStore {
     private static final String DEFAULT_TABLE_PK_1_NAME = "memory_id";
     private static final String DEFAULT_TABLE_PK_2_NAME = "seq_no";
     private static final String DEFAULT_CHAT_MESSAGE_FIELD_NAME = "chat_message";
+    private static final int MAX_APPEND_ATTEMPTS = 10;
 
     public TablestoreChatMemoryStore(SyncClient client) {
         this(client, DEFAULT_TABLE_NAME, DEFAULT_TABLE_PK_1_NAME, DEFAULT_TABLE_PK_2_NAME, DEFAULT_CHAT_MESSAGE_FIELD_NAME);
@@ -124,6 +138,47 @@ public class TablestoreChatMemoryStore implements ChatMemoryStore {
         }
     }
 
+    @Override
+    public void appendMessages(Object memoryId, List<ChatMessage> messages) {
+        String memoryIdStr = getMemoryId(memoryId);
+        log.debug("append messages, memoryIdStr:{}", memoryIdStr);
+        ValidationUtils.ensureNotEmpty(messages, "messages");
+        long seqNo = lastSeqNo(memoryIdStr) + 1;
+        for (ChatMessage message : messages) {
+            String chatMessage = ChatMessageSerializer.messageToJson(message);
+            int attempts = 1;
+            while (!innerAddIfAbsent(memoryIdStr, seqNo, chatMessage)) {
+                // another writer took the sequence number in the meantime
+                if (++attempts > MAX_APPEND_ATTEMPTS) {
+                    throw new IllegalStateException(String.format("append messages failed after %s attempts, memoryId:%s", MAX_APPEND_ATTEMPTS, memoryIdStr));
+                }
+                seqNo = lastSeqNo(memoryIdStr) + 1;
+            }
+            seqNo++;
+        }
+    }
+
+    @Override
+    public void removeMessages(Object memoryId, int fromIndex, int toIndex) {
+        String memoryIdStr = getMemoryId(memoryId);
+        log.debug("remove messages, memoryIdStr:{}, fromIndex:{}, toIndex:{}", memoryIdStr, fromIndex, toIndex);
+        List<Long> seqNos = new ArrayList<>();
+        forEachData(PrimaryKeyValue.fromString(memoryIdStr), Direction.FORWARD, toIndex, row -> {
+            seqNos.add(row.getPrimaryKey().getPrimaryKeyColumn(pkName2).getValue().asLong());
+        });
+        for (int i = fromIndex; i < Math.min(toIndex, seqNos.size()); i++) {
+            innerDelete(memoryIdStr, seqNos.get(i));
+        }
+    }
+
+    private long lastSeqNo(String memoryId) {
+        long[] lastSeqNo = {-1};
+        forEachData(PrimaryKeyValue.fromString(memoryId), Direction.BACKWARD, 1, row -> {
+            lastSeqNo[0] = row.getPrimaryKey().getPrimaryKeyColumn(pkName2).getValue().asLong();
+        });
+        return lastSeqNo[0];
+    }
+
     @Override
     public void deleteMessages(Object memoryId) {
         String memoryIdStr = getMemoryId(memoryId);
@@ -151,7 +206,7 @@ public class TablestoreChatMemoryStore implements ChatMemoryStore {
         }
     }
 
-    private void innerAdd(String memoryId, int seqNo, String chatMessage) {
+    private void innerAdd(String memoryId, long seqNo, String chatMessage) {
         ValidationUtils.ensureNotNull(memoryId, "memoryId");
         ValidationUtils.ensureNotNull(seqNo, "seqNo");
         ValidationUtils.ensureNotNull(chatMessage, "chatMessage");
@@ -171,6 +226,36 @@ public class TablestoreChatMemoryStore implements ChatMemoryStore {
         }
     }
 
+    /**
+     * Adds a row only if no row exists for the given sequence number.
+     *
+     * @return {@code false} if the row already exists
+     */
+    private boolean innerAddIfAbsent(String memoryId, long seqNo, String chatMessage) {
+        PrimaryKeyBuilder primaryKeyBuilder = PrimaryKeyBuilder.createPrimaryKeyBuilder();
+        primaryKeyBuilder.addPrimaryKeyColumn(this.pkName1, PrimaryKeyValue.fromString(memoryId));
+        primaryKeyBuilder.addPrimaryKeyColumn(this.pkName2, PrimaryKeyValue.fromLong(seqNo));
+        PrimaryKey primaryKey = primaryKeyBuilder.build();
+        RowPutChange rowPutChange = new RowPutChange(this.tableName, primaryKey);
+        rowPutChange.addColumn(new Column(chatMessageFieldName, ColumnValue.fromString(chatMessage)));
+        rowPutChange.setCondition(new Condition(RowExistenceExpectation.EXPECT_NOT_EXIST));
+        try {
+            client.putRow(new PutRowRequest(rowPutChange));
+            if (log.isDebugEnabled()) {
+                log.debug("add memoryId:{}, seqNo:{}, chatMessage:{}", memoryId, seqNo, chatMessage);
+            }
+            return true;
+        } catch (TableStoreException e) {
+            if (ErrorCode.CONDITION_CHECK_FAIL.equals(e.getErrorCode())) {
+                log.debug("row already exists, memoryId:{}, seqNo:{}", memoryId, seqNo);
+                return false;
+            }
+            throw new RuntimeException(String.format("add embedding data failed, memoryId:%s, seqNo:%s, chatMessage:%s", memoryId, seqNo, chatMessage), e);
+        } catch (Exception e) {
+            throw new RuntimeException(String.format("add embedding data failed, memoryId:%s, seqNo:%s, chatMessage:%s", memoryId, seqNo, chatMessage), e);
+        }
+    }
+
     private String getMemoryId(Object memoryId) {
         boolean isNullOrEmpty = memoryId == null || memoryId.toString().trim().isEmpty();
         if (isNullOrEmpty) {
@@ -204,6 +289,45 @@ public class TablestoreChatMemoryStore implements ChatMemoryStore {
         forEachAllData(memoryId, memoryId, rowConsumer);
     }
 
+    /**
+     * Reads at most {@code limit} rows of a chat memory, in the given direction of sequence numbers.
+     */
+    private void forEachData(PrimaryKeyValue memoryId, Direction direction, int limit, Consumer<Row> rowConsumer) {
+        if (limit <= 0) {
+            return;
+        }
+        RangeRowQueryCriteria rangeRowQueryCriteria = new RangeRowQueryCriteria(this.tableName);
+        PrimaryKeyBuilder start = PrimaryKeyBuilder.createPrimaryKeyBuilder();
+        start.addPrimaryKeyColumn(this.pkName1, memoryId);
+        start.addPrimaryKeyColumn(this.pkName2, direction == Direction.FORWARD ? PrimaryKeyValue.INF_MIN : PrimaryKeyValue.INF_MAX);
+        PrimaryKeyBuilder end = PrimaryKeyBuilder.createPrimaryKeyBuilder();
+        end.addPrimaryKeyColumn(this.pkName1, memoryId);
+        end.addPrimaryKeyColumn(this.pkName2, direction == Direction.FORWARD ? PrimaryKeyValue.INF_MAX : PrimaryKeyValue.INF_MIN);
+        rangeRowQueryCriteria.setInclusiveStartPrimaryKey(start.build());
+        rangeRowQueryCriteria.setExclusiveEndPrimaryKey(end.build());
+        rangeRowQueryCriteria.setMaxVersions(1);
+        rangeRowQueryCriteria.setLimit(Math.min(limit, 5000));
+        rangeRowQueryCriteria.addColumnsToGet(Collections.singletonList(chatMessageFieldName));
+        rangeRowQueryCriteria.setDirection(direction);
+        GetRangeRequest getRangeRequest = new GetRangeRequest(rangeRowQueryCriteria);
+        int remaining = limit;
+        while (true) {
+            GetRangeResponse getRangeResponse = client.getRange(getRangeRequest);
+            for (Row row : getRangeResponse.getRows()) {
+                if (remaining-- == 0) {
+                    return;
+                }
+                rowConsumer.accept(row);
+            }
+            if (remaining > 0 && getRangeResponse.getNextStartPrimaryKey() != null) {
+                rangeRowQueryCriteria.setInclusiveStartPrimaryKey(getRangeResponse.getNextStartPrimaryKey());
+                rangeRowQueryCriteria.setLimit(Math.min(remaining, 5000));
+            } else {
+                break;
+            }
+        }
+    }
+
     private void forEachAllData(PrimaryKeyValue memoryIdStart, PrimaryKeyValue memoryIdEnd, Consumer<Row> rowConsumer) {
         RangeRowQueryCriteria rangeRowQueryCriteria = new RangeRowQueryCriteria(this.tableName);
         PrimaryKeyBuilder start = PrimaryKeyBuilder.createPrimaryKeyBuilder();
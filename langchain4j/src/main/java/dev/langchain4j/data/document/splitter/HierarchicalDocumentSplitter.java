@@ -131,7 +131,7 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
 
             if (segmentBuilder.hasSpaceFor(partSize)) {
                 // The part fits in the current segment, so we append it.
-                segmentBuilder.append(part);
+                segmentBuilder.append(part, partSize);
                 continue;
             }
 
@@ -148,7 +148,7 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
 
                     if (segmentBuilder.hasSpaceFor(partSize)) {
                         // The part fits in the current segment, so we append it.
-                        segmentBuilder.append(part);
+                        segmentBuilder.append(part, partSize);
                         continue;
                     }
                 }
@@ -167,7 +167,7 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
             }
 
             // Delegate the splitting of the part to the sub-splitter.
-            segmentBuilder.append(part);
+            segmentBuilder.append(part, partSize);
             for (TextSegment segment : subSplitter.split(Document.from(segmentBuilder.toString()))) {
                 segments.add(createSegment(segment.text(), document, index.getAndIncrement()));
             }
@@ -203,8 +203,9 @@ public abstract class HierarchicalDocumentSplitter implements DocumentSplitter {
 
         SegmentBuilder overlapBuilder = new SegmentBuilder(maxOverlapSize, this::estimateSize, joinDelimiter());
         for (String sentence : sentences) {
-            if (overlapBuilder.hasSpaceFor(sentence)) {
-                overlapBuilder.prepend(sentence);
+            int sentenceSize = overlapBuilder.sizeOf(sentence);
+            if (overlapBuilder.hasSpaceFor(sentenceSize)) {
+                overlapBuilder.prepend(sentence, sentenceSize);
             } else {
                 break;
             }
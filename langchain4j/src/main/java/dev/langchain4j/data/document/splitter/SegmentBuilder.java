@@ -8,6 +8,17 @@ import java.util.function.Function;
 
 /**
  * Segment builder utility class for HierarchicalDocumentSplitter.
+ *
+ * <p>When texts are added together with their already known sizes
+ * (see {@link #append(String, int)} and {@link #prepend(String, int)}),
+ * the size of the segment is not measured again after each addition.
+ * Instead, the sum of the sizes of the texts and of the separators between them is tracked,
+ * which is assumed to be an upper bound of the size of the segment.
+ * This holds for character counts and, in practice, for token counts,
+ * as joining texts can only let tokenizers merge tokens across their boundaries.
+ * The segment is measured again only when this upper bound does not fit into the maximum segment size,
+ * so building a segment stays linear in its length, even with an expensive {@code sizeFunction},
+ * and gives the same results as measuring the segment after each addition.
  */
 @Internal
 class SegmentBuilder {
@@ -18,6 +29,7 @@ class SegmentBuilder {
     private final int joinSeparatorSize;
     private StringBuilder segment = new StringBuilder();
     private int segmentSize = 0;
+    private boolean segmentSizeExact = true;
 
     /**
      * Creates a new instance of {@link SegmentBuilder}.
@@ -39,6 +51,7 @@ class SegmentBuilder {
      * @return The current size of the segment.
      */
     public int getSize() {
+        measureSegment();
         return segmentSize;
     }
 
@@ -49,11 +62,7 @@ class SegmentBuilder {
      * @return {@code true} if the provided text can be added to the current segment.
      */
     public boolean hasSpaceFor(String text) {
-        int totalSize = sizeOf(text);
-        if (isNotEmpty()) {
-            totalSize += segmentSize + joinSeparatorSize;
-        }
-        return totalSize <= maxSegmentSize;
+        return hasSpaceFor(sizeOf(text));
     }
 
     /**
@@ -63,11 +72,14 @@ class SegmentBuilder {
      * @return {@code true} if the provided size can be added to the current segment.
      */
     public boolean hasSpaceFor(int size) {
-        int totalSize = size;
-        if (isNotEmpty()) {
-            totalSize += segmentSize + joinSeparatorSize;
+        if (!isNotEmpty()) {
+            return size <= maxSegmentSize;
+        }
+        if (segmentSize + joinSeparatorSize + size <= maxSegmentSize) {
+            return true;
         }
-        return totalSize <= maxSegmentSize;
+        measureSegment();
+        return segmentSize + joinSeparatorSize + size <= maxSegmentSize;
     }
 
     /**
@@ -91,6 +103,26 @@ class SegmentBuilder {
         }
         segment.append(text);
         segmentSize = sizeOf(segment.toString());
+        segmentSizeExact = true;
+    }
+
+    /**
+     * Appends the provided text, whose size is already known, to the current segment.
+     *
+     * <p>Unlike {@link #append(String)}, the size of the segment is not measured again,
+     * but updated incrementally as the sum of the sizes of its texts and of the separators between them.
+     *
+     * @param text     The text to append.
+     * @param textSize The size of the text (as returned by the {@code sizeFunction}).
+     */
+    public void append(String text, int textSize) {
+        if (isNotEmpty()) {
+            segment.append(joinSeparator);
+            segmentSize += joinSeparatorSize;
+        }
+        segment.append(text);
+        segmentSize += textSize;
+        segmentSizeExact = false;
     }
 
     /**
@@ -105,6 +137,26 @@ class SegmentBuilder {
             segment.replace(0, segment.length(), text);
         }
         segmentSize = sizeOf(segment.toString());
+        segmentSizeExact = true;
+    }
+
+    /**
+     * Prepends the provided text, whose size is already known, to the current segment.
+     *
+     * <p>The size of the segment is updated incrementally, see {@link #append(String, int)}.
+     *
+     * @param text     The text to prepend.
+     * @param textSize The size of the text (as returned by the {@code sizeFunction}).
+     */
+    public void prepend(String text, int textSize) {
+        if (isNotEmpty()) {
+            segment.insert(0, joinSeparator).insert(0, text);
+            segmentSize += joinSeparatorSize;
+        } else {
+            segment.replace(0, segment.length(), text);
+        }
+        segmentSize += textSize;
+        segmentSizeExact = false;
     }
 
     /**
@@ -127,5 +179,13 @@ class SegmentBuilder {
     public void reset() {
         segment.setLength(0);
         segmentSize = 0;
+        segmentSizeExact = true;
+    }
+
+    private void measureSegment() {
+        if (!segmentSizeExact) {
+            segmentSize = sizeOf(segment.toString());
+            segmentSizeExact = true;
+        }
     }
 }
@@ -0,0 +1,60 @@
+package dev.langchain4j.memory.chat;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.IncrementalChatMemoryStore;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists the new state of a chat memory, incrementally when the store is an {@link IncrementalChatMemoryStore}.
+ * <p>
+ * The new messages are compared with the stored ones: stored messages that are not retained
+ * are removed in ranges, and the new messages following the last retained one are appended.
+ * Messages are compared by identity, since the new messages are derived from the stored ones.
+ */
+class ChatMemoryStoreUpdater {
+
+    private ChatMemoryStoreUpdater() {}
+
+    static void update(
+            ChatMemoryStore store, Object memoryId, List<ChatMessage> storedMessages, List<ChatMessage> messages) {
+        if (!(store instanceof IncrementalChatMemoryStore incrementalStore) || storedMessages.isEmpty()) {
+            store.updateMessages(memoryId, messages);
+            return;
+        }
+
+        List<int[]> removedRanges = new ArrayList<>();
+        int stored = 0;
+        int retained = 0;
+        while (stored < storedMessages.size() && retained < messages.size()) {
+            if (storedMessages.get(stored) == messages.get(retained)) {
+                stored++;
+                retained++;
+            } else {
+                int from = stored;
+                while (stored < storedMessages.size() && storedMessages.get(stored) != messages.get(retained)) {
+                    stored++;
+                }
+                removedRanges.add(new int[] {from, stored});
+            }
+        }
+        if (stored < storedMessages.size()) {
+            removedRanges.add(new int[] {stored, storedMessages.size()});
+        }
+
+        if (retained == 0) {
+            // nothing is retained, replacing all messages is cheaper
+            store.updateMessages(memoryId, messages);
+            return;
+        }
+
+        for (int i = removedRanges.size() - 1; i >= 0; i--) { // from the end, so that indices remain valid
+            int[] range = removedRanges.get(i);
+            incrementalStore.removeMessages(memoryId, range[0], range[1]);
+        }
+        if (retained < messages.size()) {
+            incrementalStore.appendMessages(memoryId, new ArrayList<>(messages.subList(retained, messages.size())));
+        }
+    }
+}
@@ -12,6 +12,7 @@ import dev.langchain4j.data.message.ToolExecutionResultMessage;
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.service.memory.ChatMemoryService;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.IncrementalChatMemoryStore;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -43,6 +44,8 @@ import java.util.function.Function;
  * that prohibit sending orphan {@code ToolExecutionResultMessage}(s) in the request.
  * <p>
  * The state of chat memory is stored in {@link ChatMemoryStore} ({@link SingleSlotChatMemoryStore} is used by default).
+ * If the store is an {@link IncrementalChatMemoryStore}, adding a message only persists the changes
+ * (the appended message and the evicted ones) instead of all messages.
  */
 public class MessageWindowChatMemory implements ChatMemory {
 
@@ -66,7 +69,9 @@ public class MessageWindowChatMemory implements ChatMemory {
 
     @Override
     public void add(ChatMessage message) {
-        List<ChatMessage> messages = messages();
+        // stored messages are only needed to persist the changes incrementally
+        List<ChatMessage> storedMessages = store instanceof IncrementalChatMemoryStore ? store.getMessages(id) : null;
+        List<ChatMessage> messages = storedMessages == null ? messages() : messages(storedMessages);
 
         if (message instanceof SystemMessage) {
             Optional<SystemMessage> systemMessage = SystemMessage.findFirst(messages);
@@ -89,7 +94,7 @@ public class MessageWindowChatMemory implements ChatMemory {
         ensureGreaterThanZero(maxMessages, "maxMessages");
         ensureCapacity(messages, maxMessages);
 
-        store.updateMessages(id, messages);
+        ChatMemoryStoreUpdater.update(store, id, storedMessages, messages);
     }
 
     @Override
@@ -112,9 +117,13 @@ public class MessageWindowChatMemory implements ChatMemory {
 
     @Override
     public List<ChatMessage> messages() {
+        return messages(store.getMessages(id));
+    }
+
+    private List<ChatMessage> messages(List<ChatMessage> storedMessages) {
         Integer maxMessages = this.maxMessagesProvider.apply(this.id);
         ensureGreaterThanZero(maxMessages, "maxMessages");
-        List<ChatMessage> messages = new LinkedList<>(store.getMessages(id));
+        List<ChatMessage> messages = new LinkedList<>(storedMessages);
         ensureCapacity(messages, maxMessages);
         return messages;
     }
@@ -3,6 +3,7 @@ package dev.langchain4j.memory.chat;
 import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.util.Collections.singletonList;
 
 import dev.langchain4j.agent.tool.ToolExecutionRequest;
 import dev.langchain4j.data.message.AiMessage;
@@ -13,10 +14,14 @@ import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.model.TokenCountEstimator;
 import dev.langchain4j.service.memory.ChatMemoryService;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.IncrementalChatMemoryStore;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -45,14 +50,27 @@ import java.util.function.Function;
  * that prohibit sending orphan {@code ToolExecutionResultMessage}(s) in the request.
  * <p>
  * The state of chat memory is stored in {@link ChatMemoryStore} ({@link SingleSlotChatMemoryStore} is used by default).
+ * If the store is an {@link IncrementalChatMemoryStore}, adding a message only persists the changes
+ * (the appended message and the evicted ones) instead of all messages.
+ * <p>
+ * The token count of each message is estimated once and cached, so that reading and updating the chat memory
+ * does not re-estimate the whole history. The token count of the window is the sum of the cached counts,
+ * plus the tokens that the {@link TokenCountEstimator} adds per request.
+ * These extra tokens are estimated only once, from the first message seen, and assumed to be the same for any window.
+ * This is exact for estimators adding a fixed number of tokens per request (e.g., to prime the reply),
+ * and an approximation for estimators whose extra tokens depend on the messages.
  */
 public class TokenWindowChatMemory implements ChatMemory {
 
+    private static final int MIN_CACHED_TOKEN_COUNTS = 16;
+
     private final Object id;
     private final Function<Object, Integer> maxTokensProvider;
     private final TokenCountEstimator tokenCountEstimator;
     private final ChatMemoryStore store;
     private final boolean alwaysKeepSystemMessageFirst;
+    private final Map<ChatMessage, Integer> tokenCounts = new ConcurrentHashMap<>();
+    private volatile Integer extraTokenCount;
 
     private TokenWindowChatMemory(Builder builder) {
         this.id = ensureNotNull(builder.id, "id");
@@ -70,7 +88,9 @@ public class TokenWindowChatMemory implements ChatMemory {
 
     @Override
     public void add(ChatMessage message) {
-        List<ChatMessage> messages = messages();
+        // stored messages are only needed to persist the changes incrementally
+        List<ChatMessage> storedMessages = store instanceof IncrementalChatMemoryStore ? store.getMessages(id) : null;
+        List<ChatMessage> messages = storedMessages == null ? messages() : messages(storedMessages);
 
         if (message instanceof SystemMessage) {
             Optional<SystemMessage> maybeSystemMessage = SystemMessage.findFirst(messages);
@@ -91,9 +111,9 @@ public class TokenWindowChatMemory implements ChatMemory {
 
         Integer maxTokens = maxTokensProvider.apply(id);
         ensureGreaterThanZero(maxTokens, "maxTokens");
-        ensureCapacity(messages, maxTokens, tokenCountEstimator);
+        ensureCapacity(messages, maxTokens);
 
-        store.updateMessages(id, messages);
+        ChatMemoryStoreUpdater.update(store, id, storedMessages, messages);
     }
 
     @Override
@@ -110,38 +130,45 @@ public class TokenWindowChatMemory implements ChatMemory {
     private void set(List<ChatMessage> messages) {
         Integer maxTokens = maxTokensProvider.apply(id);
         ensureGreaterThanZero(maxTokens, "maxTokens");
-        ensureCapacity(messages, maxTokens, tokenCountEstimator);
+        ensureCapacity(messages, maxTokens);
         store.updateMessages(id, messages);
     }
 
     @Override
     public List<ChatMessage> messages() {
+        return messages(store.getMessages(id));
+    }
+
+    private List<ChatMessage> messages(List<ChatMessage> storedMessages) {
         Integer maxTokens = maxTokensProvider.apply(id);
         ensureGreaterThanZero(maxTokens, "maxTokens");
-        List<ChatMessage> messages = new LinkedList<>(store.getMessages(id));
-        ensureCapacity(messages, maxTokens, tokenCountEstimator);
+        List<ChatMessage> messages = new LinkedList<>(storedMessages);
+        ensureCapacity(messages, maxTokens);
         return messages;
     }
 
-    private static void ensureCapacity(List<ChatMessage> messages, int maxTokens, TokenCountEstimator estimator) {
+    private void ensureCapacity(List<ChatMessage> messages, int maxTokens) {
 
         if (messages.isEmpty()) {
             return;
         }
 
-        int currentTokenCount = estimator.estimateTokenCountInMessages(messages);
+        int currentTokenCount = extraTokenCount(messages.get(0));
+        for (ChatMessage message : messages) {
+            currentTokenCount += tokenCount(message);
+        }
         while (currentTokenCount > maxTokens && !messages.isEmpty()) {
 
             int messageToEvictIndex = 0;
             if (messages.get(0) instanceof SystemMessage) {
                 if (messages.size() == 1) {
-                    return;
+                    break;
                 }
                 messageToEvictIndex = 1;
             }
 
             ChatMessage evictedMessage = messages.remove(messageToEvictIndex);
-            int tokenCountOfEvictedMessage = estimator.estimateTokenCountInMessage(evictedMessage);
+            int tokenCountOfEvictedMessage = tokenCount(evictedMessage);
             currentTokenCount -= tokenCountOfEvictedMessage;
 
             if (evictedMessage instanceof AiMessage aiMessage && aiMessage.hasToolExecutionRequests()) {
@@ -150,10 +177,47 @@ public class TokenWindowChatMemory implements ChatMemory {
                     // Some LLMs (e.g. OpenAI) prohibit ToolExecutionResultMessage(s) without corresponding AiMessage,
                     // so we have to automatically evict orphan ToolExecutionResultMessage(s) if AiMessage was evicted
                     ChatMessage orphanToolExecutionResultMessage = messages.remove(messageToEvictIndex);
-                    currentTokenCount -= estimator.estimateTokenCountInMessage(orphanToolExecutionResultMessage);
+                    currentTokenCount -= tokenCount(orphanToolExecutionResultMessage);
                 }
             }
         }
+
+        evictStaleTokenCounts(messages);
+    }
+
+    /**
+     * Returns the token count of the given message, estimating it only the first time the message is seen.
+     * Messages are compared by content, so the counts also apply to messages read back from a persistent store.
+     */
+    private int tokenCount(ChatMessage message) {
+        return tokenCounts.computeIfAbsent(message, tokenCountEstimator::estimateTokenCountInMessage);
+    }
+
+    /**
+     * Returns the number of tokens that {@link TokenCountEstimator#estimateTokenCountInMessages(Iterable)}
+     * adds on top of the token counts of the individual messages (e.g., to prime the reply).
+     * <p>
+     * It is estimated once, from the given message alone, and then reused for all windows,
+     * rather than re-estimating the whole window each time (see the class documentation).
+     */
+    private int extraTokenCount(ChatMessage message) {
+        Integer extraTokenCount = this.extraTokenCount;
+        if (extraTokenCount == null) {
+            extraTokenCount =
+                    tokenCountEstimator.estimateTokenCountInMessages(singletonList(message)) - tokenCount(message);
+            this.extraTokenCount = extraTokenCount;
+        }
+        return extraTokenCount;
+    }
+
+    /**
+     * Drops the token counts of messages that are no longer in the window,
+     * once they outnumber the messages in the window.
+     */
+    private void evictStaleTokenCounts(List<ChatMessage> messages) {
+        if (tokenCounts.size() > 2 * messages.size() + MIN_CACHED_TOKEN_COUNTS) {
+            tokenCounts.keySet().retainAll(new HashSet<>(messages));
+        }
     }
 
     @Override
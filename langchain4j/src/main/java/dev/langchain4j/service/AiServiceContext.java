@@ -13,6 +13,7 @@ import dev.langchain4j.model.moderation.ModerationModel;
 import dev.langchain4j.observability.api.AiServiceListenerRegistrar;
 import dev.langchain4j.rag.RetrievalAugmentor;
 import dev.langchain4j.service.guardrail.GuardrailService;
+import dev.langchain4j.service.memory.ChatMemoryCachePolicy;
 import dev.langchain4j.service.memory.ChatMemoryService;
 import dev.langchain4j.service.tool.ToolService;
 import dev.langchain4j.spi.services.AiServiceContextFactory;
@@ -86,6 +87,10 @@ public class AiServiceContext {
         chatMemoryService = new ChatMemoryService(chatMemoryProvider);
     }
 
+    public void initChatMemories(ChatMemoryProvider chatMemoryProvider, ChatMemoryCachePolicy cachePolicy) {
+        chatMemoryService = new ChatMemoryService(chatMemoryProvider, cachePolicy);
+    }
+
     public boolean hasModerationModel() {
         return moderationModel != null;
     }
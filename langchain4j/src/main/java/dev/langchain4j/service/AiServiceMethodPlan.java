@@ -0,0 +1,246 @@
+package dev.langchain4j.service;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static dev.langchain4j.service.IllegalConfigurationException.illegalConfiguration;
+
+import dev.langchain4j.invocation.InvocationParameters;
+import dev.langchain4j.model.chat.request.ResponseFormat;
+import dev.langchain4j.model.chat.request.json.JsonSchema;
+import dev.langchain4j.model.input.PromptTemplate;
+import dev.langchain4j.service.output.ServiceOutputParser;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Scanner;
+
+/**
+ * Everything needed to invoke a method of an AI Service that does not depend on the arguments,
+ * resolved once per method: the positions of the special parameters, the names of the template variables,
+ * the templates of the {@link SystemMessage} and {@link UserMessage} annotations,
+ * and the JSON schema and format instructions for the return type.
+ * <p>
+ * Templates, the JSON schema and format instructions are resolved on first use,
+ * so that a misconfiguration is still reported when the method is invoked, as before.
+ */
+class AiServiceMethodPlan {
+
+    private final Method method;
+    private final Parameter[] parameters;
+    private final String[] variableNames;
+    private final int memoryIdIndex;
+    private final int userNameIndex;
+    private final int formatIndex;
+    private final int invocationParametersIndex;
+    private final boolean moderated;
+    private final Type returnType;
+    private final boolean streaming;
+    private final boolean returnsImage;
+    private final boolean returnsResult;
+    private final ServiceOutputParser serviceOutputParser;
+
+    private volatile Optional<PromptTemplate> systemMessageTemplate;
+    private volatile Optional<PromptTemplate> userMessageTemplate;
+    private volatile Optional<JsonSchema> jsonSchema;
+    private volatile String outputFormatInstructions;
+
+    AiServiceMethodPlan(
+            Method method,
+            Type returnType,
+            boolean streaming,
+            boolean returnsImage,
+            ServiceOutputParser serviceOutputParser) {
+        this.method = method;
+        this.parameters = method.getParameters();
+        this.variableNames = new String[parameters.length];
+        int memoryIdIndex = -1;
+        int userNameIndex = -1;
+        int formatIndex = -1;
+        int invocationParametersIndex = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            if (InvocationParameters.class.isAssignableFrom(parameter.getType())) {
+                if (invocationParametersIndex < 0) {
+                    invocationParametersIndex = i;
+                }
+            } else {
+                variableNames[i] = ParameterNameResolver.name(parameter);
+            }
+            if (memoryIdIndex < 0 && parameter.isAnnotationPresent(MemoryId.class)) {
+                memoryIdIndex = i;
+            }
+            if (userNameIndex < 0 && parameter.isAnnotationPresent(UserName.class)) {
+                userNameIndex = i;
+            }
+            if (formatIndex < 0 && parameter.isAnnotationPresent(Format.class)) {
+                formatIndex = i;
+            }
+        }
+        this.memoryIdIndex = memoryIdIndex;
+        this.userNameIndex = userNameIndex;
+        this.formatIndex = formatIndex;
+        this.invocationParametersIndex = invocationParametersIndex;
+        this.moderated = method.isAnnotationPresent(Moderate.class);
+        this.returnType = returnType;
+        this.streaming = streaming;
+        this.returnsImage = returnsImage;
+        this.returnsResult = TypeUtils.typeHasRawClass(returnType, Result.class);
+        this.serviceOutputParser = serviceOutputParser;
+    }
+
+    Method method() {
+        return method;
+    }
+
+    Parameter[] parameters() {
+        return parameters;
+    }
+
+    boolean moderated() {
+        return moderated;
+    }
+
+    Type returnType() {
+        return returnType;
+    }
+
+    boolean streaming() {
+        return streaming;
+    }
+
+    boolean returnsImage() {
+        return returnsImage;
+    }
+
+    boolean returnsResult() {
+        return returnsResult;
+    }
+
+    Optional<Object> memoryId(Object[] args) {
+        if (memoryIdIndex < 0) {
+            return Optional.empty();
+        }
+        Object memoryId = args[memoryIdIndex];
+        if (memoryId == null) {
+            throw illegalArgument(
+                    "The value of parameter '%s' annotated with @MemoryId in method '%s' must not be null",
+                    parameters[memoryIdIndex].getName(), method.getName());
+        }
+        return Optional.of(memoryId);
+    }
+
+    Optional<String> userName(Object[] args) {
+        return userNameIndex < 0 ? Optional.empty() : Optional.of(args[userNameIndex].toString());
+    }
+
+    ResponseFormat responseFormat(Object[] args) {
+        return formatIndex < 0 ? null : (ResponseFormat) args[formatIndex];
+    }
+
+    InvocationParameters invocationParameters(Object[] args) {
+        if (args == null || invocationParametersIndex < 0) {
+            return new InvocationParameters();
+        }
+        return ensureNotNull(
+                (InvocationParameters) args[invocationParametersIndex], InvocationParameters.class.getSimpleName());
+    }
+
+    Map<String, Object> templateVariables(String template, Object[] args) {
+        return InternalReflectionVariableResolver.findTemplateVariables(template, parameters, variableNames, args);
+    }
+
+    /**
+     * @return the template of the {@link SystemMessage} annotation of the method, if present
+     */
+    Optional<PromptTemplate> systemMessageTemplate() {
+        Optional<PromptTemplate> template = systemMessageTemplate;
+        if (template == null) {
+            template = Optional.ofNullable(method.getAnnotation(SystemMessage.class))
+                    .map(a -> PromptTemplate.from(
+                            getTemplate(method, "System", a.fromResource(), a.value(), a.delimiter())));
+            systemMessageTemplate = template;
+        }
+        return template;
+    }
+
+    /**
+     * @return the template of the {@link UserMessage} annotation of the method, if present
+     */
+    Optional<PromptTemplate> userMessageTemplate() {
+        Optional<PromptTemplate> template = userMessageTemplate;
+        if (template == null) {
+            template = Optional.ofNullable(method.getAnnotation(UserMessage.class))
+                    .map(a -> PromptTemplate.from(
+                            getTemplate(method, "User", a.fromResource(), a.value(), a.delimiter())));
+            userMessageTemplate = template;
+        }
+        return template;
+    }
+
+    /**
+     * @return the template of the {@link UserMessage} annotation of the method, if the given template is its text,
+     * or a new template otherwise (e.g., when the template is the value of an argument)
+     */
+    PromptTemplate userMessagePromptTemplate(String template) {
+        Optional<PromptTemplate> annotated = userMessageTemplate;
+        if (annotated != null && annotated.isPresent() && annotated.get().template() == template) {
+            return annotated.get();
+        }
+        return PromptTemplate.from(template);
+    }
+
+    Optional<JsonSchema> jsonSchema() {
+        Optional<JsonSchema> schema = jsonSchema;
+        if (schema == null) {
+            schema = serviceOutputParser.jsonSchema(returnType);
+            jsonSchema = schema;
+        }
+        return schema;
+    }
+
+    String outputFormatInstructions() {
+        String instructions = outputFormatInstructions;
+        if (instructions == null) {
+            instructions = serviceOutputParser.outputFormatInstructions(returnType);
+            outputFormatInstructions = instructions;
+        }
+        return instructions;
+    }
+
+    private static String getTemplate(Method method, String type, String resource, String[] value, String delimiter) {
+        String messageTemplate;
+        if (!resource.trim().isEmpty()) {
+            messageTemplate = getResourceText(method.getDeclaringClass(), resource);
+            if (messageTemplate == null) {
+                throw illegalConfiguration("@%sMessage's resource '%s' not found", type, resource);
+            }
+        } else {
+            messageTemplate = String.join(delimiter, value);
+        }
+        if (messageTemplate.trim().isEmpty()) {
+            throw illegalConfiguration("@%sMessage's template cannot be empty", type);
+        }
+        return messageTemplate;
+    }
+
+    private static String getResourceText(Class<?> clazz, String resource) {
+        InputStream inputStream = clazz.getResourceAsStream(resource);
+        if (inputStream == null) {
+            inputStream = clazz.getResourceAsStream("/" + resource);
+        }
+        return getText(inputStream);
+    }
+
+    private static String getText(InputStream inputStream) {
+        if (inputStream == null) {
+            return null;
+        }
+        try (Scanner scanner = new Scanner(inputStream);
+                Scanner s = scanner.useDelimiter("\\A")) {
+            return s.hasNext() ? s.next() : "";
+        }
+    }
+}
@@ -1,30 +1,26 @@
 package dev.langchain4j.service;
 
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
 import dev.langchain4j.agent.tool.ToolSpecification;
 import dev.langchain4j.model.chat.request.ChatRequestParameters;
 import dev.langchain4j.model.chat.request.ResponseFormat;
 import dev.langchain4j.service.tool.ToolServiceContext;
-import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.List;
 import java.util.Optional;
 
-import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
-
 class AiServiceParamsUtil {
 
-    private AiServiceParamsUtil() { }
+    private AiServiceParamsUtil() {}
 
     static ChatRequestParameters chatRequestParameters(
-            Method method,
-            Object[] args,
-            ToolServiceContext toolServiceContext,
-            ResponseFormat responseFormat) {
+            Parameter[] params, Object[] args, ToolServiceContext toolServiceContext, ResponseFormat responseFormat) {
         ChatRequestParameters defaultParams = ChatRequestParameters.builder()
                 .toolSpecifications(toolServiceContext.effectiveTools())
                 .responseFormat(responseFormat)
                 .build();
-        return findArgumentOfType(ChatRequestParameters.class, args, method.getParameters())
+        return findArgumentOfType(ChatRequestParameters.class, args, params)
                 .map(p -> p.defaultedBy(defaultParams))
                 .orElse(defaultParams);
     }
@@ -45,8 +41,7 @@ class AiServiceParamsUtil {
     }
 
     static ChatRequestParameters chatRequestParameters(
-            List<? extends Object> args,
-            List<ToolSpecification> toolSpecifications) {
+            List<? extends Object> args, List<ToolSpecification> toolSpecifications) {
         ChatRequestParameters defaultParams = ChatRequestParameters.builder()
                 .toolSpecifications(toolSpecifications)
                 .build();
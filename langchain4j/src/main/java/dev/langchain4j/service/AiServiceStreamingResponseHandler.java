@@ -17,6 +17,7 @@ import dev.langchain4j.guardrail.GuardrailRequestParams;
 import dev.langchain4j.guardrail.OutputGuardrailRequest;
 import dev.langchain4j.invocation.InvocationContext;
 import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.chat.cache.CachingStreamingChatModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.request.ChatRequestParameters;
 import dev.langchain4j.model.chat.response.ChatResponse;
@@ -388,7 +389,8 @@ class AiServiceStreamingResponseHandler implements StreamingChatResponseHandler
                     methodKey);
 
             fireRequestIssuedEvent(nextChatRequest);
-            context.streamingChatModel.chat(nextChatRequest, handler);
+            CachingStreamingChatModel.chat(
+                    context.streamingChatModel, nextChatRequest, invocationContext.chatMemoryId(), handler);
         } else {
             ChatResponse finalChatResponse = finalResponse(chatResponse, aiMessage);
 
@@ -41,6 +41,7 @@ import dev.langchain4j.rag.RetrievalAugmentor;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.retriever.ContentRetriever;
 import dev.langchain4j.rag.content.retriever.EmbeddingStoreContentRetriever;
+import dev.langchain4j.service.memory.ChatMemoryCachePolicy;
 import dev.langchain4j.service.tool.AiServiceTool;
 import dev.langchain4j.service.tool.BeforeToolExecution;
 import dev.langchain4j.service.tool.DefaultToolExecutor;
@@ -52,6 +53,7 @@ import dev.langchain4j.service.tool.ToolExecutor;
 import dev.langchain4j.service.tool.ToolProvider;
 import dev.langchain4j.service.tool.search.ToolSearchStrategy;
 import dev.langchain4j.spi.services.AiServicesFactory;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -434,6 +436,25 @@ public abstract class AiServices<T> {
         return this;
     }
 
+    /**
+     * Configures the chat memory provider, which provides a dedicated instance of {@link ChatMemory} for each user/conversation,
+     * and the policy controlling how many of the provided instances are kept, and for how long.
+     * Instances evicted by the policy are obtained again from the provider when their memoryId is used again,
+     * so the provided {@link ChatMemory} instances should use a persistent {@link ChatMemoryStore}.
+     * <p>
+     * See {@link #chatMemoryProvider(ChatMemoryProvider)} for more details.
+     *
+     * @param chatMemoryProvider The provider of a {@link ChatMemory} for each new user/conversation.
+     * @param cachePolicy        The policy controlling the eviction of the provided {@link ChatMemory} instances.
+     * @return builder
+     */
+    public AiServices<T> chatMemoryProvider(ChatMemoryProvider chatMemoryProvider, ChatMemoryCachePolicy cachePolicy) {
+        if (chatMemoryProvider != null) {
+            context.initChatMemories(chatMemoryProvider, cachePolicy);
+        }
+        return this;
+    }
+
     /**
      * Configures a transformer that will be applied to the {@link ChatRequest} before it is sent to the LLM.
      * <p>
@@ -2,13 +2,11 @@ package dev.langchain4j.service;
 
 import static dev.langchain4j.agent.tool.ReturnBehavior.IMMEDIATE;
 import static dev.langchain4j.agent.tool.ReturnBehavior.IMMEDIATE_IF_LAST;
-import static dev.langchain4j.internal.Exceptions.illegalArgument;
 import static dev.langchain4j.internal.Utils.isNullOrEmpty;
 import static dev.langchain4j.model.chat.Capability.RESPONSE_FORMAT_JSON_SCHEMA;
 import static dev.langchain4j.model.chat.request.ResponseFormatType.JSON;
 import static dev.langchain4j.model.output.FinishReason.TOOL_EXECUTION;
 import static dev.langchain4j.service.AiServiceParamsUtil.chatRequestParameters;
-import static dev.langchain4j.service.AiServiceParamsUtil.findArgumentOfType;
 import static dev.langchain4j.service.AiServiceValidation.validateParameters;
 import static dev.langchain4j.service.IllegalConfigurationException.illegalConfiguration;
 import static dev.langchain4j.service.TypeUtils.getRawClass;
@@ -59,7 +57,6 @@ import dev.langchain4j.service.tool.ToolExecution;
 import dev.langchain4j.service.tool.ToolServiceContext;
 import dev.langchain4j.service.tool.ToolServiceResult;
 import dev.langchain4j.spi.services.TokenStreamAdapter;
-import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -72,9 +69,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
@@ -115,6 +112,8 @@ class DefaultAiServices<T> extends AiServices<T> {
                 new Class<?>[] {context.aiServiceClass},
                 new InvocationHandler() {
 
+                    private final Map<Method, AiServiceMethodPlan> plans = new ConcurrentHashMap<>();
+
                     @Override
                     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
                         if (method.isDefault()) {
@@ -139,19 +138,16 @@ class DefaultAiServices<T> extends AiServices<T> {
                             return handleChatMemoryAccess(method, args);
                         }
 
-                        // TODO do it once, when creating AI Service?
-                        validateParameters(context.aiServiceClass, method);
+                        AiServiceMethodPlan plan = plans.computeIfAbsent(method, this::plan);
 
-                        InvocationParameters invocationParameters = findArgumentOfType(
-                                        InvocationParameters.class, args, method.getParameters())
-                                .orElseGet(InvocationParameters::new);
+                        InvocationParameters invocationParameters = plan.invocationParameters(args);
 
                         InvocationContext invocationContext = InvocationContext.builder()
                                 .invocationId(UUID.randomUUID())
                                 .interfaceName(context.aiServiceClass.getName())
                                 .methodName(method.getName())
                                 .methodArguments(args != null ? Arrays.asList(args) : List.of())
-                                .chatMemoryId(findMemoryId(method, args).orElse(ChatMemoryService.DEFAULT))
+                                .chatMemoryId(plan.memoryId(args).orElse(ChatMemoryService.DEFAULT))
                                 .defaultRequestParameters(determineChatRequestParameters(context))
                                 .modelProvider(determineModelProvider(context))
                                 .invocationParameters(invocationParameters)
@@ -159,7 +155,7 @@ class DefaultAiServices<T> extends AiServices<T> {
                                 .timestampNow()
                                 .build();
                         try {
-                            return invoke(method, args, invocationContext);
+                            return invoke(plan, args, invocationContext);
                         } catch (Exception ex) {
                             context.eventListenerRegistrar.fireEvent(AiServiceErrorEvent.builder()
                                     .invocationContext(invocationContext)
@@ -169,6 +165,15 @@ class DefaultAiServices<T> extends AiServices<T> {
                         }
                     }
 
+                    private AiServiceMethodPlan plan(Method method) {
+                        validateParameters(context.aiServiceClass, method);
+                        Type returnType =
+                                context.returnType != null ? context.returnType : method.getGenericReturnType();
+                        boolean streaming = returnType == TokenStream.class || canAdaptTokenStreamTo(returnType);
+                        return new AiServiceMethodPlan(
+                                method, returnType, streaming, isImage(returnType), serviceOutputParser);
+                    }
+
                     private static ChatRequestParameters determineChatRequestParameters(AiServiceContext context) {
                         if (context.chatModel != null) {
                             return context.chatModel.defaultRequestParameters();
@@ -185,14 +190,15 @@ class DefaultAiServices<T> extends AiServices<T> {
                         return context.streamingChatModel != null ? context.streamingChatModel.provider() : null;
                     }
 
-                    public Object invoke(Method method, Object[] args, InvocationContext invocationContext) {
+                    public Object invoke(AiServiceMethodPlan plan, Object[] args, InvocationContext invocationContext) {
 
+                        Method method = plan.method();
                         Object memoryId = invocationContext.chatMemoryId();
                         ChatMemory chatMemory = context.hasChatMemory()
                                 ? context.chatMemoryService.getOrCreateChatMemory(memoryId)
                                 : null;
 
-                        Optional<SystemMessage> systemMessage = prepareSystemMessage(invocationContext, method, args);
+                        Optional<SystemMessage> systemMessage = prepareSystemMessage(invocationContext, plan, args);
                         if (context.systemMessageTransformer != null) {
                             String transformedSystemMessage = context.systemMessageTransformer.apply(
                                     systemMessage.map(SystemMessage::text).orElse(null), invocationContext);
@@ -200,11 +206,10 @@ class DefaultAiServices<T> extends AiServices<T> {
                                     ? Optional.of(SystemMessage.from(transformedSystemMessage))
                                     : Optional.empty();
                         }
-                        var userMessageTemplate = getUserMessageTemplate(memoryId, method, args);
-                        var variables = InternalReflectionVariableResolver.findTemplateVariables(
-                                userMessageTemplate, method, args);
+                        var userMessageTemplate = getUserMessageTemplate(memoryId, plan, args);
+                        var variables = plan.templateVariables(userMessageTemplate, args);
                         UserMessage originalUserMessage =
-                                prepareUserMessage(method, args, userMessageTemplate, variables);
+                                prepareUserMessage(plan, args, userMessageTemplate, variables);
 
                         context.eventListenerRegistrar.fireEvent(AiServiceStartedEvent.builder()
                                 .invocationContext(invocationContext)
@@ -229,7 +234,7 @@ class DefaultAiServices<T> extends AiServices<T> {
                             userMessageForAugmentation = (UserMessage) augmentationResult.chatMessage();
                         }
 
-                        UserMessage userMessage = addContentsToUserMessage(method, args, userMessageForAugmentation);
+                        UserMessage userMessage = addContentsToUserMessage(plan, args, userMessageForAugmentation);
 
                         var commonGuardrailParam = GuardrailRequestParams.builder()
                                 .chatMemory(chatMemory)
@@ -243,22 +248,21 @@ class DefaultAiServices<T> extends AiServices<T> {
                         userMessage = invokeInputGuardrails(
                                 context.guardrailService(), method, userMessage, commonGuardrailParam);
 
-                        Type returnType =
-                                context.returnType != null ? context.returnType : method.getGenericReturnType();
-                        boolean streaming = returnType == TokenStream.class || canAdaptTokenStreamTo(returnType);
+                        Type returnType = plan.returnType();
+                        boolean streaming = plan.streaming();
 
                         // TODO should it be called when returnType==String?
                         boolean supportsJsonSchema = supportsJsonSchema();
-                        boolean returnsImage = isImage(returnType);
+                        boolean returnsImage = plan.returnsImage();
 
-                        ResponseFormat responseFormat = findResponseFormatParam(method, args);
+                        ResponseFormat responseFormat = plan.responseFormat(args);
                         if (responseFormat == null) {
                             Optional<JsonSchema> jsonSchema = Optional.empty();
                             if (supportsJsonSchema && !streaming && !returnsImage) {
-                                jsonSchema = serviceOutputParser.jsonSchema(returnType);
+                                jsonSchema = plan.jsonSchema();
                             }
                             if ((!supportsJsonSchema || jsonSchema.isEmpty()) && !streaming && !returnsImage) {
-                                userMessage = appendOutputFormatInstructions(returnType, userMessage);
+                                userMessage = appendOutputFormatInstructions(plan, userMessage);
                             }
                             if (supportsJsonSchema && jsonSchema.isPresent() && !returnsImage) {
                                 responseFormat = ResponseFormat.builder()
@@ -287,7 +291,7 @@ class DefaultAiServices<T> extends AiServices<T> {
                                 .userMessage(userMessage)
                                 .build();
 
-                        Future<Moderation> moderationFuture = triggerModerationIfNeeded(method, messages);
+                        Future<Moderation> moderationFuture = triggerModerationIfNeeded(plan, messages);
 
                         ToolServiceContext toolServiceContext =
                                 context.toolService.createContext(invocationContext, userMessage, messages);
@@ -316,7 +320,7 @@ class DefaultAiServices<T> extends AiServices<T> {
                         }
 
                         ChatRequestParameters parameters =
-                                chatRequestParameters(method, args, toolServiceContext, responseFormat);
+                                chatRequestParameters(plan.parameters(), args, toolServiceContext, responseFormat);
 
                         ChatRequest chatRequest = context.chatRequestTransformer.apply(
                                 ChatRequest.builder()
@@ -341,7 +345,7 @@ class DefaultAiServices<T> extends AiServices<T> {
 
                         verifyModerationIfNeeded(moderationFuture);
 
-                        boolean isReturnTypeResult = typeHasRawClass(returnType, Result.class);
+                        boolean isReturnTypeResult = plan.returnsResult();
 
                         ToolServiceResult toolServiceResult = context.toolService.executeInferenceAndToolsLoop(
                                 context,
@@ -365,7 +369,7 @@ class DefaultAiServices<T> extends AiServices<T> {
                                         .intermediateResponses(toolServiceResult.intermediateResponses())
                                         .finalResponse(toolServiceResult.finalResponse())
                                         .metadata(context.metadata)
-                                    .build();
+                                        .build();
 
                                 return fireEventAndReturn(invocationContext, result);
                             }
@@ -514,8 +518,9 @@ class DefaultAiServices<T> extends AiServices<T> {
                                 && context.chatModel.supportedCapabilities().contains(RESPONSE_FORMAT_JSON_SCHEMA);
                     }
 
-                    private UserMessage appendOutputFormatInstructions(Type returnType, UserMessage userMessage) {
-                        String outputFormatInstructions = serviceOutputParser.outputFormatInstructions(returnType);
+                    private UserMessage appendOutputFormatInstructions(
+                            AiServiceMethodPlan plan, UserMessage userMessage) {
+                        String outputFormatInstructions = plan.outputFormatInstructions();
                         if (isNullOrEmpty(outputFormatInstructions)) {
                             return userMessage;
                         }
@@ -539,8 +544,9 @@ class DefaultAiServices<T> extends AiServices<T> {
                         return userMessage.toBuilder().contents(contents).build();
                     }
 
-                    private Future<Moderation> triggerModerationIfNeeded(Method method, List<ChatMessage> messages) {
-                        if (method.isAnnotationPresent(Moderate.class)) {
+                    private Future<Moderation> triggerModerationIfNeeded(
+                            AiServiceMethodPlan plan, List<ChatMessage> messages) {
+                        if (plan.moderated()) {
                             ExecutorService executor = DefaultExecutorProvider.getDefaultExecutorService();
                             return executor.submit(() -> {
                                 List<ChatMessage> messagesToModerate = removeToolMessages(messages);
@@ -598,43 +604,34 @@ class DefaultAiServices<T> extends AiServices<T> {
     }
 
     private Optional<SystemMessage> prepareSystemMessage(
-            InvocationContext invocationContext, Method method, Object[] args) {
-        return findSystemMessageTemplate(invocationContext, method)
-                .map(systemMessageTemplate -> PromptTemplate.from(systemMessageTemplate)
-                        .apply(InternalReflectionVariableResolver.findTemplateVariables(
-                                systemMessageTemplate, method, args))
+            InvocationContext invocationContext, AiServiceMethodPlan plan, Object[] args) {
+        return findSystemMessageTemplate(invocationContext, plan)
+                .map(systemMessageTemplate -> systemMessageTemplate
+                        .apply(plan.templateVariables(systemMessageTemplate.template(), args))
                         .toSystemMessage());
     }
 
-    private Optional<String> findSystemMessageTemplate(InvocationContext invocationContext, Method method) {
-        dev.langchain4j.service.SystemMessage annotation =
-                method.getAnnotation(dev.langchain4j.service.SystemMessage.class);
-        if (annotation != null) {
-            return Optional.of(getTemplate(
-                    method, "System", annotation.fromResource(), annotation.value(), annotation.delimiter()));
+    private Optional<PromptTemplate> findSystemMessageTemplate(
+            InvocationContext invocationContext, AiServiceMethodPlan plan) {
+        Optional<PromptTemplate> templateFromMethodAnnotation = plan.systemMessageTemplate();
+        if (templateFromMethodAnnotation.isPresent()) {
+            return templateFromMethodAnnotation;
         }
         if (context.systemMessageProviderWithContext != null) {
-            return Optional.of(context.systemMessageProviderWithContext.apply(invocationContext));
+            return Optional.of(context.systemMessageProviderWithContext.apply(invocationContext))
+                    .map(PromptTemplate::from);
         } else {
-            return context.systemMessageProvider.apply(invocationContext.chatMemoryId());
-        }
-    }
-
-    private ResponseFormat findResponseFormatParam(Method method, Object[] args) {
-        for (int i = 0; i < method.getParameters().length; i++) {
-            Parameter parameter = method.getParameters()[i];
-            Format format = parameter.getAnnotation(Format.class);
-            if (format != null) {
-                return (ResponseFormat) args[i];
-            }
+            return context.systemMessageProvider
+                    .apply(invocationContext.chatMemoryId())
+                    .map(PromptTemplate::from);
         }
-        return null;
     }
 
     private static UserMessage prepareUserMessage(
-            Method method, Object[] args, String userMessageTemplate, Map<String, Object> variables) {
+            AiServiceMethodPlan plan, Object[] args, String userMessageTemplate, Map<String, Object> variables) {
 
-        Optional<String> maybeUserName = findUserName(method.getParameters(), args);
+        Method method = plan.method();
+        Optional<String> maybeUserName = plan.userName(args);
 
         if (userMessageTemplate.isEmpty()) {
             List<Content> contents = new ArrayList<>();
@@ -657,18 +654,20 @@ class DefaultAiServices<T> extends AiServices<T> {
                     "Error: The method '%s' does not have a user message defined.", method.getName());
         }
 
-        Prompt prompt = PromptTemplate.from(userMessageTemplate).apply(variables);
+        Prompt prompt = plan.userMessagePromptTemplate(userMessageTemplate).apply(variables);
 
         return maybeUserName
                 .map(userName -> UserMessage.from(userName, prompt.text()))
                 .orElseGet(prompt::toUserMessage);
     }
 
-    private String getUserMessageTemplate(Object memoryId, Method method, Object[] args) {
+    private String getUserMessageTemplate(Object memoryId, AiServiceMethodPlan plan, Object[] args) {
 
-        Optional<String> templateFromMethodAnnotation = findUserMessageTemplateFromMethodAnnotation(method);
+        Method method = plan.method();
+        Optional<String> templateFromMethodAnnotation =
+                plan.userMessageTemplate().map(PromptTemplate::template);
         Optional<String> templateFromParameterAnnotation =
-                findUserMessageTemplateFromAnnotatedParameter(method.getParameters(), args);
+                findUserMessageTemplateFromAnnotatedParameter(plan.parameters(), args);
 
         if (templateFromMethodAnnotation.isPresent() && templateFromParameterAnnotation.isPresent()) {
             throw illegalConfiguration(
@@ -684,12 +683,12 @@ class DefaultAiServices<T> extends AiServices<T> {
         }
 
         Optional<String> templateFromTheOnlyArgument =
-                findUserMessageTemplateFromTheOnlyArgument(method.getParameters(), args);
+                findUserMessageTemplateFromTheOnlyArgument(plan.parameters(), args);
         if (templateFromTheOnlyArgument.isPresent()) {
             return templateFromTheOnlyArgument.get();
         }
 
-        if (hasContentArgument(method, args)) {
+        if (hasContentArgument(plan.parameters(), args)) {
             return "";
         }
 
@@ -699,8 +698,7 @@ class DefaultAiServices<T> extends AiServices<T> {
                         "Error: The method '%s' does not have a user message defined.", method.getName()));
     }
 
-    private static boolean hasContentArgument(Method method, Object[] args) {
-        Parameter[] parameters = method.getParameters();
+    private static boolean hasContentArgument(Parameter[] parameters, Object[] args) {
         for (int i = 0; i < parameters.length; i++) {
             if (parameters[i].isAnnotationPresent(dev.langchain4j.service.UserMessage.class)) {
                 if (args[i] instanceof Content || isListOfContents(args[i])) {
@@ -715,11 +713,6 @@ class DefaultAiServices<T> extends AiServices<T> {
         return false;
     }
 
-    private static Optional<String> findUserMessageTemplateFromMethodAnnotation(Method method) {
-        return Optional.ofNullable(method.getAnnotation(dev.langchain4j.service.UserMessage.class))
-                .map(a -> getTemplate(method, "User", a.fromResource(), a.value(), a.delimiter()));
-    }
-
     private static Optional<String> findUserMessageTemplateFromAnnotatedParameter(
             Parameter[] parameters, Object[] args) {
         for (int i = 0; i < parameters.length; i++) {
@@ -752,16 +745,8 @@ class DefaultAiServices<T> extends AiServices<T> {
         return Optional.empty();
     }
 
-    private static Optional<String> findUserName(Parameter[] parameters, Object[] args) {
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(UserName.class)) {
-                return Optional.of(args[i].toString());
-            }
-        }
-        return Optional.empty();
-    }
-
-    private static UserMessage addContentsToUserMessage(Method method, Object[] args, UserMessage userMessage) {
+    private static UserMessage addContentsToUserMessage(
+            AiServiceMethodPlan plan, Object[] args, UserMessage userMessage) {
         boolean hasTextContent = false;
         List<Content> contents = new ArrayList<>();
 
@@ -782,7 +767,7 @@ class DefaultAiServices<T> extends AiServices<T> {
             }
         }
 
-        Parameter[] parameters = method.getParameters();
+        Parameter[] parameters = plan.parameters();
         for (int i = 0; i < parameters.length; i++) {
             if (parameters[i].isAnnotationPresent(dev.langchain4j.service.UserMessage.class)) {
                 if (args[i] instanceof Content content) {
@@ -794,7 +779,7 @@ class DefaultAiServices<T> extends AiServices<T> {
                     if (hasTextContent) {
                         throw illegalConfiguration(
                                 "Error: The method '%s' has multiple @UserMessage annotations. Please use only one.",
-                                method.getName());
+                                plan.method().getName());
                     }
                     contents.addAll(userMessage.contents());
                     hasTextContent = true;
@@ -837,54 +822,4 @@ class DefaultAiServices<T> extends AiServices<T> {
     private static boolean isListOfContents(Object o) {
         return o instanceof List<?> list && list.stream().allMatch(Content.class::isInstance);
     }
-
-    private static String getTemplate(Method method, String type, String resource, String[] value, String delimiter) {
-        String messageTemplate;
-        if (!resource.trim().isEmpty()) {
-            messageTemplate = getResourceText(method.getDeclaringClass(), resource);
-            if (messageTemplate == null) {
-                throw illegalConfiguration("@%sMessage's resource '%s' not found", type, resource);
-            }
-        } else {
-            messageTemplate = String.join(delimiter, value);
-        }
-        if (messageTemplate.trim().isEmpty()) {
-            throw illegalConfiguration("@%sMessage's template cannot be empty", type);
-        }
-        return messageTemplate;
-    }
-
-    private static String getResourceText(Class<?> clazz, String resource) {
-        InputStream inputStream = clazz.getResourceAsStream(resource);
-        if (inputStream == null) {
-            inputStream = clazz.getResourceAsStream("/" + resource);
-        }
-        return getText(inputStream);
-    }
-
-    private static String getText(InputStream inputStream) {
-        if (inputStream == null) {
-            return null;
-        }
-        try (Scanner scanner = new Scanner(inputStream);
-                Scanner s = scanner.useDelimiter("\\A")) {
-            return s.hasNext() ? s.next() : "";
-        }
-    }
-
-    private static Optional<Object> findMemoryId(Method method, Object[] args) {
-        Parameter[] parameters = method.getParameters();
-        for (int i = 0; i < parameters.length; i++) {
-            if (parameters[i].isAnnotationPresent(MemoryId.class)) {
-                Object memoryId = args[i];
-                if (memoryId == null) {
-                    throw illegalArgument(
-                            "The value of parameter '%s' annotated with @MemoryId in method '%s' must not be null",
-                            parameters[i].getName(), method.getName());
-                }
-                return Optional.of(memoryId);
-            }
-        }
-        return Optional.empty();
-    }
 }
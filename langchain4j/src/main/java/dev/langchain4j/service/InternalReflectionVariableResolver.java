@@ -2,8 +2,8 @@ package dev.langchain4j.service;
 
 import static dev.langchain4j.service.IllegalConfigurationException.illegalConfiguration;
 
-import dev.langchain4j.invocation.InvocationParameters;
 import dev.langchain4j.Internal;
+import dev.langchain4j.invocation.InvocationParameters;
 import dev.langchain4j.model.input.structured.StructuredPrompt;
 import dev.langchain4j.model.input.structured.StructuredPromptProcessor;
 import java.lang.reflect.Array;
@@ -30,15 +30,32 @@ public class InternalReflectionVariableResolver {
             return Collections.emptyMap();
         }
         Parameter[] parameters = method.getParameters();
+        String[] variableNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (!InvocationParameters.class.isAssignableFrom(parameters[i].getType())) {
+                variableNames[i] = ParameterNameResolver.name(parameters[i]);
+            }
+        }
+        return findTemplateVariables(template, parameters, variableNames, args);
+    }
+
+    /**
+     * @param variableNames the names of the variables of the parameters,
+     *                      {@code null} for parameters that are not template variables
+     */
+    static Map<String, Object> findTemplateVariables(
+            String template, Parameter[] parameters, String[] variableNames, Object[] args) {
+        if (args == null) {
+            return Collections.emptyMap();
+        }
 
         Map<String, Object> variables = new HashMap<>();
         for (int i = 0; i < args.length; i++) {
-            Parameter parameter = parameters[i];
-            if (InvocationParameters.class.isAssignableFrom(parameter.getType())) {
+            if (variableNames[i] == null) {
                 continue;
             }
             Object variableValue = args[i];
-            variables.put(ParameterNameResolver.name(parameter), variableValue);
+            variables.put(variableNames[i], variableValue);
             if (variableValue instanceof Map<?, ?> variablesMap) {
                 variablesMap.entrySet().stream()
                         .filter(e -> e.getKey().getClass() == String.class)
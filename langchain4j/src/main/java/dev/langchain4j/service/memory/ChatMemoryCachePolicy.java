@@ -0,0 +1,103 @@
+package dev.langchain4j.service.memory;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZeroIfNotNull;
+import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
+
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Controls how many {@link ChatMemory} instances obtained from a {@link ChatMemoryProvider} are kept
+ * by an AI Service, and for how long.
+ * <p>
+ * When the limit is exceeded, the least recently used {@link ChatMemory} is evicted.
+ * A {@link ChatMemory} that has not been used for longer than the maximum idle time is evicted as well.
+ * When an evicted memory ID is used again, a new {@link ChatMemory} is obtained from the {@link ChatMemoryProvider}.
+ * <p>
+ * Eviction only drops the {@link ChatMemory} instance, not its messages: the new instance reads them back
+ * from its {@link ChatMemoryStore}. Therefore, the provided {@link ChatMemory} instances should use
+ * a persistent {@link ChatMemoryStore}. With the default store, which keeps messages in the {@link ChatMemory}
+ * instance itself, the messages of an evicted memory are lost.
+ * <p>
+ * By default, {@link ChatMemory} instances are kept until they are evicted explicitly.
+ */
+public class ChatMemoryCachePolicy {
+
+    private final Integer maxSize;
+    private final Duration maxIdleTime;
+
+    private ChatMemoryCachePolicy(Builder builder) {
+        this.maxSize = ensureGreaterThanZeroIfNotNull(builder.maxSize, "maxSize");
+        if (builder.maxIdleTime != null) {
+            ensureTrue(builder.maxIdleTime.compareTo(Duration.ZERO) > 0, "maxIdleTime must be greater than zero");
+        }
+        this.maxIdleTime = builder.maxIdleTime;
+    }
+
+    public Integer maxSize() {
+        return maxSize;
+    }
+
+    public Duration maxIdleTime() {
+        return maxIdleTime;
+    }
+
+    boolean isBounded() {
+        return maxSize != null || maxIdleTime != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChatMemoryCachePolicy that = (ChatMemoryCachePolicy) o;
+        return Objects.equals(maxSize, that.maxSize) && Objects.equals(maxIdleTime, that.maxIdleTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxSize, maxIdleTime);
+    }
+
+    @Override
+    public String toString() {
+        return "ChatMemoryCachePolicy{" + "maxSize=" + maxSize + ", maxIdleTime=" + maxIdleTime + '}';
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Integer maxSize;
+        private Duration maxIdleTime;
+
+        /**
+         * @param maxSize The maximum number of {@link ChatMemory} instances to keep.
+         *                If not provided, the number of instances is not limited.
+         * @return builder
+         */
+        public Builder maxSize(Integer maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param maxIdleTime The time after which an unused {@link ChatMemory} instance is evicted.
+         *                    If not provided, unused instances are not evicted.
+         * @return builder
+         */
+        public Builder maxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+            return this;
+        }
+
+        public ChatMemoryCachePolicy build() {
+            return new ChatMemoryCachePolicy(this);
+        }
+    }
+}
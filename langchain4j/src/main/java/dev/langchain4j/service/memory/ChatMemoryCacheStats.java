@@ -0,0 +1,61 @@
+package dev.langchain4j.service.memory;
+
+import dev.langchain4j.memory.ChatMemory;
+import java.util.Objects;
+
+/**
+ * Statistics about the {@link ChatMemory} instances kept by a {@link ChatMemoryService}.
+ */
+public class ChatMemoryCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    public ChatMemoryCacheStats(long hitCount, long missCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * @return the number of times a {@link ChatMemory} was found.
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times a {@link ChatMemory} had to be obtained from the provider.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of {@link ChatMemory} instances evicted by the {@link ChatMemoryCachePolicy}.
+     * Explicit evictions are not counted.
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChatMemoryCacheStats that = (ChatMemoryCacheStats) o;
+        return hitCount == that.hitCount && missCount == that.missCount && evictionCount == that.evictionCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hitCount, missCount, evictionCount);
+    }
+
+    @Override
+    public String toString() {
+        return "ChatMemoryCacheStats{" + "hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+                + evictionCount + '}';
+    }
+}
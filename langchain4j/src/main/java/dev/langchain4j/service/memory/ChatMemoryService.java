@@ -1,26 +1,66 @@
 package dev.langchain4j.service.memory;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
 import dev.langchain4j.Internal;
 import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
+/**
+ * Keeps the {@link ChatMemory} instances of an AI Service.
+ * <p>
+ * When a {@link ChatMemoryCachePolicy} limits the number of instances or their idle time,
+ * the instances are additionally tracked in least-recently-used order, and evicted from the least recently used
+ * whenever a memory is accessed. There is no background thread:
+ * idle instances are evicted when another memory is accessed.
+ */
 @Internal
 public class ChatMemoryService {
 
     public static final String DEFAULT = "default";
 
+    private static final ChatMemoryCachePolicy UNBOUNDED =
+            ChatMemoryCachePolicy.builder().build();
+
     private ChatMemory defaultChatMemory;
-    private Map<Object, ChatMemory> chatMemories;
+    private Map<Object, CachedChatMemory> chatMemories;
     private ChatMemoryProvider chatMemoryProvider;
 
+    private ChatMemoryCachePolicy cachePolicy;
+    private LongSupplier nanoTime;
+    private LinkedHashMap<Object, CachedChatMemory> accessOrder;
+    private final Lock accessOrderLock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
     public ChatMemoryService(ChatMemoryProvider chatMemoryProvider) {
+        this(chatMemoryProvider, UNBOUNDED);
+    }
+
+    public ChatMemoryService(ChatMemoryProvider chatMemoryProvider, ChatMemoryCachePolicy cachePolicy) {
+        this(chatMemoryProvider, cachePolicy, System::nanoTime);
+    }
+
+    ChatMemoryService(ChatMemoryProvider chatMemoryProvider, ChatMemoryCachePolicy cachePolicy, LongSupplier nanoTime) {
         this.chatMemories = new ConcurrentHashMap<>();
         this.chatMemoryProvider = ensureNotNull(chatMemoryProvider, "chatMemoryProvider");
+        this.cachePolicy = getOrDefault(cachePolicy, UNBOUNDED);
+        this.nanoTime = nanoTime;
+        if (this.cachePolicy.isBounded()) {
+            this.accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+        }
     }
 
     public ChatMemoryService(ChatMemory chatMemory) {
@@ -28,23 +68,65 @@ public class ChatMemoryService {
     }
 
     public ChatMemory getOrCreateChatMemory(Object memoryId) {
-        if (chatMemoryProvider != null) {
-            return chatMemories.computeIfAbsent(memoryId, chatMemoryProvider::get);
+        if (chatMemoryProvider == null) {
+            return defaultChatMemory;
         }
-        return defaultChatMemory;
+
+        CachedChatMemory cached = chatMemories.get(memoryId);
+        if (cached != null) {
+            hitCount.increment();
+        } else {
+            CachedChatMemory created = new CachedChatMemory();
+            cached = chatMemories.computeIfAbsent(memoryId, id -> created.init(chatMemoryProvider.get(id)));
+            if (cached == created) {
+                missCount.increment();
+            } else {
+                hitCount.increment();
+            }
+        }
+
+        if (accessOrder != null) {
+            accessed(memoryId, cached);
+        }
+        return cached.chatMemory;
     }
 
     public ChatMemory getChatMemory(Object memoryId) {
-        return chatMemoryProvider != null ? chatMemories.get(memoryId) : memoryId == DEFAULT ? defaultChatMemory : null;
+        if (chatMemoryProvider == null) {
+            return memoryId == DEFAULT ? defaultChatMemory : null;
+        }
+        CachedChatMemory cached = chatMemories.get(memoryId);
+        return cached != null ? cached.chatMemory : null;
     }
 
     public ChatMemory evictChatMemory(Object memoryId) {
-        return chatMemories.remove(memoryId);
+        if (accessOrder == null) {
+            CachedChatMemory evicted = chatMemories.remove(memoryId);
+            return evicted != null ? evicted.chatMemory : null;
+        }
+        accessOrderLock.lock();
+        try {
+            accessOrder.remove(memoryId);
+            CachedChatMemory evicted = chatMemories.remove(memoryId);
+            return evicted != null ? evicted.chatMemory : null;
+        } finally {
+            accessOrderLock.unlock();
+        }
     }
 
     public void clearAll() {
-        chatMemories.values().forEach(ChatMemory::clear);
-        chatMemories.clear();
+        chatMemories.values().forEach(cached -> cached.chatMemory.clear());
+        if (accessOrder != null) {
+            accessOrderLock.lock();
+            try {
+                accessOrder.clear();
+                chatMemories.clear();
+            } finally {
+                accessOrderLock.unlock();
+            }
+        } else {
+            chatMemories.clear();
+        }
     }
 
     public Collection<Object> getChatMemoryIDs() {
@@ -52,6 +134,59 @@ public class ChatMemoryService {
     }
 
     public Collection<ChatMemory> getChatMemories() {
-        return chatMemories.values();
+        return chatMemories.values().stream().map(cached -> cached.chatMemory).toList();
+    }
+
+    public ChatMemoryCacheStats stats() {
+        return new ChatMemoryCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    /**
+     * Marks the given memory as the most recently used one, and evicts the memories exceeding the cache policy.
+     */
+    private void accessed(Object memoryId, CachedChatMemory cached) {
+        long now = nanoTime.getAsLong();
+        accessOrderLock.lock();
+        try {
+            if (chatMemories.get(memoryId) == cached) { // not evicted in the meantime
+                cached.lastAccessNanos = now;
+                accessOrder.put(memoryId, cached);
+            }
+            evict(now);
+        } finally {
+            accessOrderLock.unlock();
+        }
+    }
+
+    private void evict(long now) {
+        Integer maxSize = cachePolicy.maxSize();
+        long maxIdleNanos =
+                cachePolicy.maxIdleTime() != null ? cachePolicy.maxIdleTime().toNanos() : Long.MAX_VALUE;
+
+        Iterator<Map.Entry<Object, CachedChatMemory>> leastRecentlyUsed =
+                accessOrder.entrySet().iterator();
+        while (leastRecentlyUsed.hasNext()) {
+            Map.Entry<Object, CachedChatMemory> entry = leastRecentlyUsed.next();
+            boolean tooMany = maxSize != null && accessOrder.size() > maxSize;
+            boolean idle = now - entry.getValue().lastAccessNanos > maxIdleNanos;
+            if (!tooMany && !idle) {
+                return;
+            }
+            leastRecentlyUsed.remove();
+            if (chatMemories.remove(entry.getKey(), entry.getValue())) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private static class CachedChatMemory {
+
+        ChatMemory chatMemory;
+        long lastAccessNanos;
+
+        CachedChatMemory init(ChatMemory chatMemory) {
+            this.chatMemory = chatMemory;
+            return this;
+        }
     }
 }
@@ -19,8 +19,12 @@ import dev.langchain4j.internal.Json;
 import dev.langchain4j.invocation.InvocationContext;
 import dev.langchain4j.invocation.InvocationParameters;
 import dev.langchain4j.invocation.LangChain4jManaged;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -33,6 +37,12 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Executes a tool by invoking a method of an object.
+ * <p>
+ * How each parameter of the method gets its argument is resolved once, when the executor is created.
+ * The method is invoked through a {@link MethodHandle} when possible, and through reflection otherwise.
+ */
 public class DefaultToolExecutor implements ToolExecutor {
 
     private final Object object;
@@ -40,6 +50,8 @@ public class DefaultToolExecutor implements ToolExecutor {
     private final Method methodToInvoke;
     private final boolean wrapToolArgumentsExceptions;
     private final boolean propagateToolExecutionExceptions;
+    private final ParameterBinding[] parameterBindings;
+    private final MethodInvoker methodInvoker;
 
     public DefaultToolExecutor(Builder builder) {
         this.object = ensureNotNull(builder.object, "object");
@@ -47,6 +59,8 @@ public class DefaultToolExecutor implements ToolExecutor {
         this.methodToInvoke = ensureNotNull(builder.methodToInvoke, "methodToInvoke");
         this.wrapToolArgumentsExceptions = getOrDefault(builder.wrapToolArgumentsExceptions, false);
         this.propagateToolExecutionExceptions = getOrDefault(builder.propagateToolExecutionExceptions, false);
+        this.parameterBindings = parameterBindings(originalMethod);
+        this.methodInvoker = new MethodInvoker(object, methodToInvoke);
     }
 
     public DefaultToolExecutor(Object object, Method method) {
@@ -55,6 +69,8 @@ public class DefaultToolExecutor implements ToolExecutor {
         this.methodToInvoke = this.originalMethod;
         this.wrapToolArgumentsExceptions = false;
         this.propagateToolExecutionExceptions = false;
+        this.parameterBindings = parameterBindings(originalMethod);
+        this.methodInvoker = new MethodInvoker(object, methodToInvoke);
     }
 
     public DefaultToolExecutor(Object object, ToolExecutionRequest toolExecutionRequest) {
@@ -64,6 +80,8 @@ public class DefaultToolExecutor implements ToolExecutor {
         this.methodToInvoke = this.originalMethod;
         this.wrapToolArgumentsExceptions = false;
         this.propagateToolExecutionExceptions = false;
+        this.parameterBindings = parameterBindings(originalMethod);
+        this.methodInvoker = new MethodInvoker(object, methodToInvoke);
     }
 
     private Method findMethod(Object object, ToolExecutionRequest toolExecutionRequest) {
@@ -95,6 +113,8 @@ public class DefaultToolExecutor implements ToolExecutor {
         this.methodToInvoke = ensureNotNull(methodToInvoke, "methodToInvoke");
         this.wrapToolArgumentsExceptions = false;
         this.propagateToolExecutionExceptions = false;
+        this.parameterBindings = parameterBindings(originalMethod);
+        this.methodInvoker = new MethodInvoker(object, methodToInvoke);
     }
 
     @Override
@@ -106,6 +126,7 @@ public class DefaultToolExecutor implements ToolExecutor {
         } catch (IllegalAccessException e) {
             try {
                 methodToInvoke.setAccessible(true);
+                methodInvoker.reset();
                 return execute(arguments);
             } catch (IllegalAccessException e2) {
                 throw new RuntimeException(e2);
@@ -144,7 +165,7 @@ public class DefaultToolExecutor implements ToolExecutor {
     private Object[] prepareArguments(ToolExecutionRequest toolExecutionRequest, InvocationContext context) {
         try {
             Map<String, Object> argumentsMap = argumentsAsMap(toolExecutionRequest.arguments());
-            return prepareArguments(originalMethod, toolExecutionRequest.name(), argumentsMap, context);
+            return bindArguments(parameterBindings, toolExecutionRequest.name(), argumentsMap, context);
         } catch (Exception e) {
             if (wrapToolArgumentsExceptions) {
                 throw new ToolArgumentsException(unwrapRuntimeException(e));
@@ -155,7 +176,7 @@ public class DefaultToolExecutor implements ToolExecutor {
     }
 
     private ToolExecutionResult execute(Object[] arguments) throws IllegalAccessException, InvocationTargetException {
-        Object result = methodToInvoke.invoke(object, arguments);
+        Object result = methodInvoker.invoke(arguments);
 
         List<Content> resultContents = toContents(result);
         if (resultContents != null) {
@@ -205,57 +226,54 @@ public class DefaultToolExecutor implements ToolExecutor {
 
     static Object[] prepareArguments(
             Method method, String toolName, Map<String, Object> argumentsMap, InvocationContext context) {
-        Parameter[] parameters = method.getParameters();
-        Object[] arguments = new Object[parameters.length];
+        return bindArguments(parameterBindings(method), toolName, argumentsMap, context);
+    }
 
+    private static ParameterBinding[] parameterBindings(Method method) {
+        Parameter[] parameters = method.getParameters();
+        ParameterBinding[] bindings = new ParameterBinding[parameters.length];
         for (int i = 0; i < parameters.length; i++) {
+            bindings[i] = ParameterBinding.of(parameters[i]);
+        }
+        return bindings;
+    }
 
-            Parameter parameter = parameters[i];
-
-            if (parameter.isAnnotationPresent(ToolMemoryId.class)) {
-                arguments[i] = context.chatMemoryId();
-                continue;
-            }
-
-            if (InvocationParameters.class.isAssignableFrom(parameter.getType())) {
-                arguments[i] = context.invocationParameters();
-                continue;
-            }
-
-            if (parameter.getType() == InvocationContext.class) {
-                arguments[i] = context;
-                continue;
-            }
-
-            if (LangChain4jManaged.class.isAssignableFrom(parameter.getType())) {
-                arguments[i] = context.managedParameters().get(parameter.getType());
-                continue;
-            }
-
-            String parameterName = getName(parameter);
-            Object argument = argumentsMap.get(parameterName);
-            Class<?> parameterClass = parameter.getType();
-            Type parameterType = parameter.getParameterizedType();
+    private static Object[] bindArguments(
+            ParameterBinding[] bindings, String toolName, Map<String, Object> argumentsMap, InvocationContext context) {
+        Object[] arguments = new Object[bindings.length];
 
-            if (parameterClass == Optional.class) {
-                arguments[i] = createOptional(argument, parameterName, parameterType);
-            } else if (argument != null) {
-                arguments[i] = coerceArgument(argument, parameterName, parameterClass, parameterType);
-            } else {
-                P pAnnotation = parameter.getAnnotation(P.class);
-                if (pAnnotation != null && !P.NO_DEFAULT.equals(pAnnotation.defaultValue())) {
-                    arguments[i] =
-                            parseDefaultValue(pAnnotation.defaultValue(), parameterName, parameterClass, parameterType);
-                } else if (parameterClass.isPrimitive()) {
-                    throw new IllegalArgumentException(String.format(
-                            "Required parameter \"%s\" of tool \"%s\" is missing", parameterName, toolName));
-                }
-            }
+        for (int i = 0; i < bindings.length; i++) {
+            ParameterBinding binding = bindings[i];
+            arguments[i] = switch (binding.source()) {
+                case MEMORY_ID -> context.chatMemoryId();
+                case INVOCATION_PARAMETERS -> context.invocationParameters();
+                case INVOCATION_CONTEXT -> context;
+                case MANAGED -> context.managedParameters().get(binding.parameterClass());
+                case ARGUMENT -> bindArgument(binding, toolName, argumentsMap.get(binding.name()));
+            };
         }
 
         return arguments;
     }
 
+    private static Object bindArgument(ParameterBinding binding, String toolName, Object argument) {
+        String parameterName = binding.name();
+        Class<?> parameterClass = binding.parameterClass();
+        Type parameterType = binding.parameterType();
+
+        if (parameterClass == Optional.class) {
+            return createOptional(argument, parameterName, parameterType);
+        } else if (argument != null) {
+            return coerceArgument(argument, parameterName, parameterClass, parameterType);
+        } else if (binding.defaultValue() != null) {
+            return parseDefaultValue(binding.defaultValue(), parameterName, parameterClass, parameterType);
+        } else if (parameterClass.isPrimitive()) {
+            throw new IllegalArgumentException(
+                    String.format("Required parameter \"%s\" of tool \"%s\" is missing", parameterName, toolName));
+        }
+        return null;
+    }
+
     private static String errorMessage(Throwable cause) {
         String message = cause.getMessage();
         return message != null ? message : cause.getClass().getName();
@@ -387,8 +405,8 @@ public class DefaultToolExecutor implements ToolExecutor {
         }
 
         if (Collection.class.isAssignableFrom(parameterClass) || Map.class.isAssignableFrom(parameterClass)) {
-            // Conversion to JSON and back is required when parameterType is a POJO
-            return Json.fromJson(Json.toJson(argument), parameterType);
+            // Conversion is required when parameterType is a POJO
+            return Json.convertValue(argument, parameterType);
         }
 
         if (parameterClass == UUID.class) {
@@ -398,8 +416,8 @@ public class DefaultToolExecutor implements ToolExecutor {
         if (argument instanceof String) {
             return Json.fromJson(argument.toString(), parameterClass);
         } else {
-            // Conversion to JSON and back is required when parameterClass is a POJO
-            return Json.fromJson(Json.toJson(argument), parameterClass);
+            // Conversion is required when parameterClass is a POJO
+            return Json.convertValue(argument, parameterClass);
         }
     }
 
@@ -453,6 +471,125 @@ public class DefaultToolExecutor implements ToolExecutor {
         return new Builder();
     }
 
+    private enum ArgumentSource {
+        MEMORY_ID,
+        INVOCATION_PARAMETERS,
+        INVOCATION_CONTEXT,
+        MANAGED,
+        ARGUMENT
+    }
+
+    /**
+     * Where the argument of a parameter comes from, and what is needed to coerce it.
+     *
+     * @param defaultValue the value of {@link P#defaultValue()}, or {@code null} if there is none
+     */
+    private record ParameterBinding(
+            ArgumentSource source, String name, Class<?> parameterClass, Type parameterType, String defaultValue) {
+
+        static ParameterBinding of(Parameter parameter) {
+            Class<?> parameterClass = parameter.getType();
+            Type parameterType = parameter.getParameterizedType();
+
+            ArgumentSource source;
+            if (parameter.isAnnotationPresent(ToolMemoryId.class)) {
+                source = ArgumentSource.MEMORY_ID;
+            } else if (InvocationParameters.class.isAssignableFrom(parameterClass)) {
+                source = ArgumentSource.INVOCATION_PARAMETERS;
+            } else if (parameterClass == InvocationContext.class) {
+                source = ArgumentSource.INVOCATION_CONTEXT;
+            } else if (LangChain4jManaged.class.isAssignableFrom(parameterClass)) {
+                source = ArgumentSource.MANAGED;
+            } else {
+                source = ArgumentSource.ARGUMENT;
+            }
+
+            P pAnnotation = parameter.getAnnotation(P.class);
+            String defaultValue = pAnnotation != null && !P.NO_DEFAULT.equals(pAnnotation.defaultValue())
+                    ? pAnnotation.defaultValue()
+                    : null;
+
+            return new ParameterBinding(source, getName(parameter), parameterClass, parameterType, defaultValue);
+        }
+    }
+
+    /**
+     * Invokes the method through a {@link MethodHandle} that takes the arguments as an array,
+     * falling back to {@link Method#invoke} when the method is not accessible,
+     * or when the arguments need conversions that only reflection performs (e.g., widening {@code int} to {@code long}).
+     * <p>
+     * Exceptions thrown by the method are wrapped into an {@link InvocationTargetException}, as by reflection.
+     */
+    private static class MethodInvoker {
+
+        private final Object object;
+        private final Method method;
+        private final Class<?>[] parameterTypes;
+        private final Class<?>[] boxedParameterTypes;
+        private volatile MethodHandle methodHandle;
+
+        private MethodInvoker(Object object, Method method) {
+            this.object = object;
+            this.method = method;
+            this.parameterTypes = method.getParameterTypes();
+            this.boxedParameterTypes = boxed(parameterTypes);
+            this.methodHandle = methodHandle(object, method);
+        }
+
+        private Object invoke(Object[] arguments) throws IllegalAccessException, InvocationTargetException {
+            MethodHandle handle = methodHandle;
+            if (handle == null || !accepts(arguments)) {
+                return method.invoke(object, arguments);
+            }
+            try {
+                return (Object) handle.invokeExact(arguments);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        /**
+         * Creates the method handle again, after the method has been made accessible.
+         */
+        private void reset() {
+            methodHandle = methodHandle(object, method);
+        }
+
+        private boolean accepts(Object[] arguments) {
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Object argument = arguments[i];
+                if (argument == null ? parameterTypes[i].isPrimitive() : !boxedParameterTypes[i].isInstance(argument)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static MethodHandle methodHandle(Object object, Method method) {
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    handle = handle.bindTo(object);
+                }
+                return handle.asSpreader(Object[].class, method.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                // not accessible, or the object is not an instance of the declaring class: using reflection
+                return null;
+            }
+        }
+
+        private static Class<?>[] boxed(Class<?>[] types) {
+            Class<?>[] boxed = new Class<?>[types.length];
+            for (int i = 0; i < types.length; i++) {
+                boxed[i] = types[i].isPrimitive()
+                        ? MethodType.methodType(types[i]).wrap().returnType()
+                        : types[i];
+            }
+            return boxed;
+        }
+    }
+
     public static class Builder {
 
         private Object object;
@@ -0,0 +1,45 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * An alternative representation of the entries of an {@link InMemoryEmbeddingStore},
+ * which keeps vectors packed row by row instead of as one {@link InMemoryEmbeddingStore.Entry} per embedding.
+ * <p>
+ * All embeddings in such a storage must have the same dimension.
+ *
+ * @param <Embedded> the class of the object that has been embedded
+ */
+interface ColumnarStorage<Embedded> {
+
+    void add(String id, Embedding embedding, Embedded embedded);
+
+    void addAll(List<InMemoryEmbeddingStore.Entry<Embedded>> entries);
+
+    /**
+     * Removes all rows matching the given predicate.
+     */
+    void removeIf(BiPredicate<String, Embedded> predicate);
+
+    void clear();
+
+    /**
+     * Finds the {@code maxResults} rows most similar to the given query,
+     * skipping rows whose embedded object is not accepted by the given predicate.
+     *
+     * @return the matches, ordered from the most to the least relevant
+     */
+    List<EmbeddingMatch<Embedded>> search(
+            Embedding queryEmbedding, int maxResults, double minScore, Predicate<Embedded> accepted);
+
+    /**
+     * Materializes all rows as entries, e.g., for serialization.
+     */
+    List<InMemoryEmbeddingStore.Entry<Embedded>> entries();
+
+    int size();
+}
@@ -0,0 +1,437 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static java.util.Comparator.comparingDouble;
+
+import dev.langchain4j.store.embedding.VectorSimilarity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A Hierarchical Navigable Small World graph over cosine similarity,
+ * as described in <a href="https://arxiv.org/abs/1603.09320">Malkov and Yashunin</a>.
+ * <p>
+ * Searches run concurrently, insertions and removals are serialized by a read-write lock.
+ * Removed nodes are only marked as deleted: they are never returned, but still serve as routing hops.
+ * Once more than half of the nodes are deleted, the graph is rebuilt from the remaining ones.
+ *
+ * @param <T> the type of the item attached to each vector
+ */
+class HnswIndex<T> {
+
+    private static final Comparator<Candidate> BEST_FIRST =
+            comparingDouble((Candidate c) -> c.similarity).reversed();
+    private static final Comparator<Candidate> WORST_FIRST = comparingDouble(c -> c.similarity);
+
+    private final int m;
+    private final int maxConnectionsOnBottomLayer;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<VisitedSet> visitedSets = new ConcurrentLinkedQueue<>();
+    private final Random random = new Random();
+
+    @SuppressWarnings("unchecked")
+    private Node<T>[] nodes = new Node[16];
+
+    private int size;
+    private int deleted;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int dimension = -1;
+
+    HnswIndex(HnswIndexConfig config) {
+        this.m = config.m();
+        this.maxConnectionsOnBottomLayer = 2 * config.m();
+        this.efConstruction = config.efConstruction();
+        this.efSearch = config.efSearch();
+        this.levelMultiplier = 1 / Math.log(config.m());
+    }
+
+    void add(T item, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            insert(item, vector);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void addAll(Collection<T> items, Function<T, float[]> vectorExtractor) {
+        lock.writeLock().lock();
+        try {
+            for (T item : items) {
+                insert(item, vectorExtractor.apply(item));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks all nodes whose item matches the given predicate as deleted.
+     */
+    void removeIf(Predicate<T> predicate) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                Node<T> node = nodes[i];
+                if (!node.deleted && predicate.test(node.item)) {
+                    node.deleted = true;
+                    deleted++;
+                }
+            }
+            if (deleted > size / 2) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            reset(16);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds approximately the {@code maxResults} items most similar to the given query vector.
+     *
+     * @return the found items, ordered from the most to the least similar
+     */
+    List<Neighbour<T>> search(float[] query, int maxResults) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || size == deleted) {
+                return List.of();
+            }
+            ensureDimension(query);
+
+            float queryNorm = VectorSimilarity.norm(query);
+            int current = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                current = greedySearch(query, queryNorm, current, level);
+            }
+
+            int ef = Math.max(efSearch, maxResults);
+            List<Candidate> found = sortedBestFirst(searchLayer(query, queryNorm, current, ef, 0, true));
+
+            List<Neighbour<T>> neighbours = new ArrayList<>(Math.min(maxResults, found.size()));
+            for (Candidate candidate : found) {
+                if (neighbours.size() == maxResults) {
+                    break;
+                }
+                neighbours.add(new Neighbour<>(nodes[candidate.node].item, candidate.similarity));
+            }
+            return neighbours;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(T item, float[] vector) {
+        ensureDimension(vector);
+
+        int level = randomLevel();
+        int id = size;
+        if (id == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+        Node<T> node = new Node<>(item, vector, VectorSimilarity.norm(vector), level, m, maxConnectionsOnBottomLayer);
+        nodes[id] = node;
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = id;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedySearch(vector, node.norm, current, l);
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates =
+                    sortedBestFirst(searchLayer(vector, node.norm, current, efConstruction, l, false));
+            List<Candidate> selected = selectNeighbours(candidates, m);
+            for (Candidate neighbour : selected) {
+                node.link(l, neighbour.node);
+                connect(neighbour.node, id, l);
+            }
+            current = candidates.get(0).node;
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = id;
+        }
+    }
+
+    /**
+     * Adds a link from {@code from} to {@code to}, shrinking the neighbourhood of {@code from} if it is full.
+     */
+    private void connect(int from, int to, int level) {
+        Node<T> node = nodes[from];
+        int maxConnections = maxConnections(level);
+        if (node.linkCounts[level] < maxConnections) {
+            node.link(level, to);
+            return;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(maxConnections + 1);
+        candidates.add(new Candidate(to, similarity(node, nodes[to])));
+        for (int i = 0; i < node.linkCounts[level]; i++) {
+            int neighbour = node.links[level][i];
+            candidates.add(new Candidate(neighbour, similarity(node, nodes[neighbour])));
+        }
+        candidates.sort(BEST_FIRST);
+
+        node.linkCounts[level] = 0;
+        for (Candidate selected : selectNeighbours(candidates, maxConnections)) {
+            node.link(level, selected.node);
+        }
+    }
+
+    /**
+     * The neighbour selection heuristic (algorithm 4 of the paper, keeping pruned connections):
+     * a candidate is preferred if it is closer to the base node than to any already selected neighbour,
+     * which keeps the graph navigable across clusters.
+     */
+    private List<Candidate> selectNeighbours(List<Candidate> candidatesBestFirst, int maxConnections) {
+        List<Candidate> selected = new ArrayList<>(maxConnections);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : candidatesBestFirst) {
+            if (selected.size() == maxConnections) {
+                break;
+            }
+            Node<T> candidateNode = nodes[candidate.node];
+            boolean diverse = true;
+            for (Candidate alreadySelected : selected) {
+                if (similarity(candidateNode, nodes[alreadySelected.node]) > candidate.similarity) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                pruned.add(candidate);
+            }
+        }
+        for (int i = 0; i < pruned.size() && selected.size() < maxConnections; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected;
+    }
+
+    private int greedySearch(float[] query, float queryNorm, int entry, int level) {
+        int current = entry;
+        double currentSimilarity = similarity(query, queryNorm, nodes[current]);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Node<T> node = nodes[current];
+            for (int i = 0; i < node.linkCounts[level]; i++) {
+                int neighbour = node.links[level][i];
+                double neighbourSimilarity = similarity(query, queryNorm, nodes[neighbour]);
+                if (neighbourSimilarity > currentSimilarity) {
+                    current = neighbour;
+                    currentSimilarity = neighbourSimilarity;
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on a single layer (algorithm 2 of the paper).
+     *
+     * @param skipDeleted whether deleted nodes should be excluded from the results
+     *                    (they are still traversed to keep the graph connected)
+     * @return up to {@code ef} closest nodes found, worst first
+     */
+    private PriorityQueue<Candidate> searchLayer(
+            float[] query, float queryNorm, int entry, int ef, int level, boolean skipDeleted) {
+        VisitedSet visited = acquireVisitedSet();
+        try {
+            PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+            PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+
+            Candidate start = new Candidate(entry, similarity(query, queryNorm, nodes[entry]));
+            visited.visit(entry);
+            candidates.add(start);
+            if (!skipDeleted || !nodes[entry].deleted) {
+                results.add(start);
+            }
+
+            while (!candidates.isEmpty()) {
+                Candidate closest = candidates.poll();
+                if (results.size() >= ef && closest.similarity < results.peek().similarity) {
+                    break;
+                }
+                Node<T> node = nodes[closest.node];
+                for (int i = 0; i < node.linkCounts[level]; i++) {
+                    int neighbour = node.links[level][i];
+                    if (!visited.visit(neighbour)) {
+                        continue;
+                    }
+                    Node<T> neighbourNode = nodes[neighbour];
+                    double neighbourSimilarity = similarity(query, queryNorm, neighbourNode);
+                    if (results.size() < ef || neighbourSimilarity > results.peek().similarity) {
+                        Candidate candidate = new Candidate(neighbour, neighbourSimilarity);
+                        candidates.add(candidate);
+                        if (!skipDeleted || !neighbourNode.deleted) {
+                            results.add(candidate);
+                            if (results.size() > ef) {
+                                results.poll();
+                            }
+                        }
+                    }
+                }
+            }
+            return results;
+        } finally {
+            visitedSets.offer(visited);
+        }
+    }
+
+    private VisitedSet acquireVisitedSet() {
+        VisitedSet visited = visitedSets.poll();
+        if (visited == null) {
+            visited = new VisitedSet();
+        }
+        visited.reset(size);
+        return visited;
+    }
+
+    private void rebuild() {
+        Node<T>[] oldNodes = nodes;
+        int oldSize = size;
+        reset(Math.max(16, oldSize - deleted));
+        for (int i = 0; i < oldSize; i++) {
+            Node<T> node = oldNodes[i];
+            if (!node.deleted) {
+                insert(node.item, node.vector);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void reset(int capacity) {
+        nodes = new Node[capacity];
+        size = 0;
+        deleted = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+        dimension = -1;
+        visitedSets.clear();
+    }
+
+    private void ensureDimension(float[] vector) {
+        if (dimension < 0) {
+            dimension = vector.length;
+        } else if (vector.length != dimension) {
+            throw illegalArgument(
+                    "Length of vector a (%s) must be equal to the length of vector b (%s)", vector.length, dimension);
+        }
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private int maxConnections(int level) {
+        return level == 0 ? maxConnectionsOnBottomLayer : m;
+    }
+
+    private static double similarity(Node<?> a, Node<?> b) {
+        return similarity(a.vector, a.norm, b);
+    }
+
+    private static double similarity(float[] query, float queryNorm, Node<?> node) {
+        return VectorSimilarity.cosineSimilarity(query, queryNorm, node.vector, node.norm);
+    }
+
+    private static List<Candidate> sortedBestFirst(PriorityQueue<Candidate> queue) {
+        List<Candidate> candidates = new ArrayList<>(queue);
+        candidates.sort(BEST_FIRST);
+        return candidates;
+    }
+
+    record Neighbour<T>(T item, double cosineSimilarity) {}
+
+    private record Candidate(int node, double similarity) {}
+
+    private static final class Node<T> {
+
+        final T item;
+        final float[] vector;
+        final float norm;
+        final int[][] links;
+        final int[] linkCounts;
+        boolean deleted;
+
+        Node(T item, float[] vector, float norm, int level, int m, int maxConnectionsOnBottomLayer) {
+            this.item = item;
+            this.vector = vector;
+            this.norm = norm;
+            this.links = new int[level + 1][];
+            this.linkCounts = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                links[l] = new int[l == 0 ? maxConnectionsOnBottomLayer : m];
+            }
+        }
+
+        void link(int level, int node) {
+            links[level][linkCounts[level]++] = node;
+        }
+    }
+
+    /**
+     * A reusable set of visited nodes. Instead of clearing the marks between searches, the epoch is incremented.
+     */
+    private static final class VisitedSet {
+
+        private int[] marks = new int[0];
+        private int epoch;
+
+        void reset(int capacity) {
+            if (marks.length < capacity) {
+                marks = new int[Math.max(capacity, marks.length * 2)];
+                epoch = 0;
+            }
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        boolean visit(int node) {
+            if (marks[node] == epoch) {
+                return false;
+            }
+            marks[node] = epoch;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+
+/**
+ * Configuration of the HNSW (Hierarchical Navigable Small World) index
+ * that {@link InMemoryEmbeddingStore} can use for approximate nearest neighbour search.
+ * <p>
+ * Higher values of {@code m}, {@code efConstruction} and {@code efSearch} increase recall
+ * at the cost of memory, insertion time and search time respectively.
+ *
+ * @see InMemoryEmbeddingStore.Builder#hnswIndex(HnswIndexConfig)
+ */
+public class HnswIndexConfig {
+
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 200;
+    private static final int DEFAULT_EF_SEARCH = 50;
+
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+
+    private HnswIndexConfig(Builder builder) {
+        this.m = ensureBetween(getOrDefault(builder.m, DEFAULT_M), 2, 512, "m");
+        this.efConstruction =
+                ensureGreaterThanZero(getOrDefault(builder.efConstruction, DEFAULT_EF_CONSTRUCTION), "efConstruction");
+        this.efSearch = ensureGreaterThanZero(getOrDefault(builder.efSearch, DEFAULT_EF_SEARCH), "efSearch");
+    }
+
+    /**
+     * The maximum number of connections a node has on each layer above the bottom one.
+     * The bottom layer allows up to {@code 2 * m} connections.
+     */
+    public int m() {
+        return m;
+    }
+
+    /**
+     * The size of the dynamic candidate list used while inserting nodes.
+     */
+    public int efConstruction() {
+        return efConstruction;
+    }
+
+    /**
+     * The size of the dynamic candidate list used while searching.
+     * The effective value is never lower than {@link dev.langchain4j.store.embedding.EmbeddingSearchRequest#maxResults()}.
+     */
+    public int efSearch() {
+        return efSearch;
+    }
+
+    @Override
+    public String toString() {
+        return "HnswIndexConfig{" + "m=" + m + ", efConstruction=" + efConstruction + ", efSearch=" + efSearch + '}';
+    }
+
+    public static HnswIndexConfig defaultConfig() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Integer m;
+        private Integer efConstruction;
+        private Integer efSearch;
+
+        /**
+         * @param m The maximum number of connections per node on the upper layers. Default: 16.
+         * @return builder
+         */
+        public Builder m(Integer m) {
+            this.m = m;
+            return this;
+        }
+
+        /**
+         * @param efConstruction The size of the candidate list used while inserting. Default: 200.
+         * @return builder
+         */
+        public Builder efConstruction(Integer efConstruction) {
+            this.efConstruction = efConstruction;
+            return this;
+        }
+
+        /**
+         * @param efSearch The size of the candidate list used while searching. Default: 50.
+         * @return builder
+         */
+        public Builder efSearch(Integer efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        public HnswIndexConfig build() {
+            return new HnswIndexConfig(this);
+        }
+    }
+}
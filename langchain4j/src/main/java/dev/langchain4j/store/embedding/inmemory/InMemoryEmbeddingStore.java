@@ -1,6 +1,10 @@
 package dev.langchain4j.store.embedding.inmemory;
 
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.Utils.isNullOrEmpty;
 import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
@@ -16,13 +20,14 @@ import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.spi.store.embedding.inmemory.InMemoryEmbeddingStoreJsonCodecFactory;
-import dev.langchain4j.store.embedding.CosineSimilarity;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.RelevanceScore;
+import dev.langchain4j.store.embedding.VectorSimilarity;
 import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.FilterCompiler;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -36,34 +41,101 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 /**
  * An {@link EmbeddingStore} that stores embeddings in memory.
  * <p>
  * Uses a brute force approach by iterating over all embeddings to find the best matches.
+ * Alternatively, an approximate HNSW index can be enabled via {@link Builder#hnswIndex(HnswIndexConfig)},
+ * which makes searches without a {@link Filter} sublinear in the number of stored embeddings.
+ * Searches with a {@link Filter} can be narrowed down using metadata indexes,
+ * see {@link Builder#indexedMetadataKeys(Collection)}.
+ * <p>
+ * By default, each embedding is kept on the heap as a separate object.
+ * For large stores, {@link Builder#offHeapStorage(Boolean)} packs all vectors into off-heap buffers instead,
+ * and {@link Builder#quantization(VectorQuantization)} stores compact int8 or binary codes of the vectors.
  * <p>
  * This store can be persisted using the {@link #serializeToJson()} and {@link #serializeToFile(Path)} methods.
  * <p>
  * It can also be recreated from JSON or a file using the {@link #fromJson(String)} and {@link #fromFile(Path)} methods.
+ * <p>
+ * For large stores, {@link #serializeToBinaryFile(Path)} and {@link #fromBinaryFile(Path)} use a compact binary format,
+ * whose vectors are memory-mapped when loading.
  *
  * @param <Embedded> The class of the object that has been embedded.
  *                   Typically, it is {@link dev.langchain4j.data.segment.TextSegment}.
  */
 public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded> {
 
+    private static final int DEFAULT_RESCORING_OVERSAMPLE = 4;
+    private static final int MAX_RESCORING_OVERSAMPLE = 100;
+
     final CopyOnWriteArrayList<Entry<Embedded>> entries;
 
+    @JsonIgnore
+    private final HnswIndex<Entry<Embedded>> hnswIndex;
+
+    @JsonIgnore
+    private final ColumnarStorage<Embedded> columnarStorage;
+
+    @JsonIgnore
+    private final MetadataIndex<Entry<Embedded>> metadataIndex;
+
     public InMemoryEmbeddingStore() {
         this.entries = new CopyOnWriteArrayList<>();
+        this.hnswIndex = null;
+        this.columnarStorage = null;
+        this.metadataIndex = null;
     }
 
     private InMemoryEmbeddingStore(Collection<Entry<Embedded>> entries) {
         this.entries = new CopyOnWriteArrayList<>(entries);
+        this.hnswIndex = null;
+        this.columnarStorage = null;
+        this.metadataIndex = null;
+    }
+
+    private InMemoryEmbeddingStore(ColumnarStorage<Embedded> columnarStorage) {
+        this.entries = new CopyOnWriteArrayList<>();
+        this.hnswIndex = null;
+        this.columnarStorage = columnarStorage;
+        this.metadataIndex = null;
+    }
+
+    private InMemoryEmbeddingStore(Builder builder) {
+        boolean offHeap = getOrDefault(builder.offHeapStorage, false);
+        if (offHeap && builder.hnswIndexConfig != null) {
+            throw illegalArgument("The HNSW index cannot be used together with off-heap storage");
+        }
+        if (builder.quantization != null && (offHeap || builder.hnswIndexConfig != null)) {
+            throw illegalArgument("Quantization cannot be used together with the HNSW index or off-heap storage");
+        }
+        if (!isNullOrEmpty(builder.indexedMetadataKeys) && (offHeap || builder.quantization != null)) {
+            throw illegalArgument("Metadata indexes cannot be used together with off-heap storage or quantization");
+        }
+        this.entries = new CopyOnWriteArrayList<>();
+        this.hnswIndex = builder.hnswIndexConfig == null ? null : new HnswIndex<>(builder.hnswIndexConfig);
+        if (builder.quantization != null) {
+            int rescoringOversample = ensureBetween(
+                    getOrDefault(builder.rescoringOversample, DEFAULT_RESCORING_OVERSAMPLE),
+                    0,
+                    MAX_RESCORING_OVERSAMPLE,
+                    "rescoringOversample");
+            this.columnarStorage = new QuantizedStorage<>(builder.quantization, rescoringOversample);
+        } else {
+            this.columnarStorage = offHeap ? new OffHeapStorage<>() : null;
+        }
+        this.metadataIndex = isNullOrEmpty(builder.indexedMetadataKeys)
+                ? null
+                : new MetadataIndex<>(builder.indexedMetadataKeys, InMemoryEmbeddingStore::metadataOf);
     }
 
     @Override
@@ -86,7 +158,18 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
     }
 
     public void add(String id, Embedding embedding, Embedded embedded) {
-        entries.add(new Entry<>(id, embedding, embedded));
+        if (columnarStorage != null) {
+            columnarStorage.add(ensureNotBlank(id, "id"), ensureNotNull(embedding, "embedding"), embedded);
+            return;
+        }
+        Entry<Embedded> entry = new Entry<>(id, embedding, embedded);
+        if (hnswIndex != null) {
+            hnswIndex.add(entry, entry.embedding.vector());
+        }
+        entries.add(entry);
+        if (metadataIndex != null) {
+            metadataIndex.add(entry);
+        }
     }
 
     @Override
@@ -115,7 +198,17 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
 
     private List<String> add(List<Entry<Embedded>> newEntries) {
 
-        entries.addAll(newEntries);
+        if (columnarStorage != null) {
+            columnarStorage.addAll(newEntries);
+        } else {
+            if (hnswIndex != null) {
+                hnswIndex.addAll(newEntries, entry -> entry.embedding.vector());
+            }
+            entries.addAll(newEntries);
+            if (metadataIndex != null) {
+                metadataIndex.addAll(newEntries);
+            }
+        }
 
         return newEntries.stream().map(entry -> entry.id).collect(toList());
     }
@@ -125,17 +218,18 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
         ensureNotEmpty(ids, "ids");
         Set<String> idSet = (ids instanceof Set) ? (Set<String>) ids : new HashSet<>(ids);
 
-        entries.removeIf(entry -> idSet.contains(entry.id));
+        removeIf((id, embedded) -> idSet.contains(id));
     }
 
     @Override
     public void removeAll(Filter filter) {
         ensureNotNull(filter, "filter");
+        Predicate<Metadata> metadataFilter = FilterCompiler.compile(filter);
 
-        entries.removeIf(entry -> {
-            if (entry.embedded instanceof TextSegment) {
-                return filter.test(((TextSegment) entry.embedded).metadata());
-            } else if (entry.embedded == null) {
+        removeIf((id, embedded) -> {
+            if (embedded instanceof TextSegment) {
+                return metadataFilter.test(((TextSegment) embedded).metadata());
+            } else if (embedded == null) {
                 return false;
             } else {
                 throw new UnsupportedOperationException("Not supported yet.");
@@ -146,17 +240,79 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
     @Override
     public void removeAll() {
         entries.clear();
+        if (hnswIndex != null) {
+            hnswIndex.clear();
+        }
+        if (columnarStorage != null) {
+            columnarStorage.clear();
+        }
+        if (metadataIndex != null) {
+            metadataIndex.clear();
+        }
+    }
+
+    private void removeIf(BiPredicate<String, Embedded> predicate) {
+        if (columnarStorage != null) {
+            columnarStorage.removeIf(predicate);
+            return;
+        }
+        if (hnswIndex == null && metadataIndex == null) {
+            entries.removeIf(entry -> predicate.test(entry.id, entry.embedded));
+            return;
+        }
+
+        Set<Entry<Embedded>> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        entries.removeIf(entry -> {
+            if (predicate.test(entry.id, entry.embedded)) {
+                removed.add(entry);
+                return true;
+            }
+            return false;
+        });
+        if (!removed.isEmpty() && hnswIndex != null) {
+            hnswIndex.removeIf(removed::contains);
+        }
+        if (!removed.isEmpty() && metadataIndex != null) {
+            metadataIndex.removeAll(removed);
+        }
     }
 
     @Override
     public EmbeddingSearchResult<Embedded> search(EmbeddingSearchRequest embeddingSearchRequest) {
 
+        if (hnswIndex != null && embeddingSearchRequest.filter() == null) {
+            return approximateSearch(embeddingSearchRequest);
+        }
+
+        Predicate<Metadata> filter = embeddingSearchRequest.filter() == null
+                ? null
+                : FilterCompiler.compile(embeddingSearchRequest.filter());
+
+        if (columnarStorage != null) {
+            return new EmbeddingSearchResult<>(columnarStorage.search(
+                    embeddingSearchRequest.queryEmbedding(),
+                    embeddingSearchRequest.maxResults(),
+                    embeddingSearchRequest.minScore(),
+                    embedded -> filter == null
+                            || !(embedded instanceof TextSegment)
+                            || filter.test(((TextSegment) embedded).metadata())));
+        }
+
+        float[] queryVector = embeddingSearchRequest.queryEmbedding().vector();
+        float queryNorm = VectorSimilarity.norm(queryVector);
+
+        Collection<Entry<Embedded>> candidates = entries;
+        if (metadataIndex != null && filter != null) {
+            Set<Entry<Embedded>> indexedCandidates = metadataIndex.candidates(embeddingSearchRequest.filter());
+            if (indexedCandidates != null) {
+                candidates = indexedCandidates;
+            }
+        }
+
         Comparator<EmbeddingMatch<Embedded>> comparator = comparingDouble(EmbeddingMatch::score);
         PriorityQueue<EmbeddingMatch<Embedded>> matches = new PriorityQueue<>(comparator);
 
-        Filter filter = embeddingSearchRequest.filter();
-
-        for (Entry<Embedded> entry : entries) {
+        for (Entry<Embedded> entry : candidates) {
 
             if (filter != null && entry.embedded instanceof TextSegment) {
                 Metadata metadata = ((TextSegment) entry.embedded).metadata();
@@ -166,7 +322,7 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
             }
 
             double cosineSimilarity =
-                    CosineSimilarity.between(entry.embedding, embeddingSearchRequest.queryEmbedding());
+                    VectorSimilarity.cosineSimilarity(entry.embedding.vector(), entry.norm, queryVector, queryNorm);
             double score = RelevanceScore.fromCosineSimilarity(cosineSimilarity);
             if (score >= embeddingSearchRequest.minScore()) {
                 matches.add(new EmbeddingMatch<>(score, entry.id, entry.embedding, entry.embedded));
@@ -183,8 +339,26 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
         return new EmbeddingSearchResult<>(result);
     }
 
+    private EmbeddingSearchResult<Embedded> approximateSearch(EmbeddingSearchRequest embeddingSearchRequest) {
+
+        List<HnswIndex.Neighbour<Entry<Embedded>>> neighbours =
+                hnswIndex.search(embeddingSearchRequest.queryEmbedding().vector(), embeddingSearchRequest.maxResults());
+
+        List<EmbeddingMatch<Embedded>> matches = new ArrayList<>(neighbours.size());
+        for (HnswIndex.Neighbour<Entry<Embedded>> neighbour : neighbours) {
+            double score = RelevanceScore.fromCosineSimilarity(neighbour.cosineSimilarity());
+            if (score < embeddingSearchRequest.minScore()) {
+                break; // neighbours are sorted by similarity
+            }
+            Entry<Embedded> entry = neighbour.item();
+            matches.add(new EmbeddingMatch<>(score, entry.id, entry.embedding, entry.embedded));
+        }
+
+        return new EmbeddingSearchResult<>(matches);
+    }
+
     public String serializeToJson() {
-        return loadCodec().toJson(this);
+        return loadCodec().toJson(onHeapView());
     }
 
     /**
@@ -196,7 +370,7 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
     public void serializeToFile(Path filePath) {
         try (OutputStream outputStream =
                 new BufferedOutputStream(Files.newOutputStream(filePath, CREATE, TRUNCATE_EXISTING))) {
-            loadCodec().toJson(outputStream, this);
+            loadCodec().toJson(outputStream, onHeapView());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -234,6 +408,54 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
         return fromFile(Paths.get(filePath));
     }
 
+    /**
+     * Serializes this store to a file in a compact, versioned binary format:
+     * a header, the vectors packed as float32 values, followed by the ids, texts and metadata.
+     * <p>
+     * Unlike JSON, this format requires all embeddings to have the same dimension,
+     * and supports only {@link TextSegment} as embedded objects.
+     *
+     * @see #fromBinaryFile(Path)
+     */
+    public void serializeToBinaryFile(Path filePath) {
+        try {
+            InMemoryEmbeddingStoreBinaryFormat.write(onHeapView().entries, filePath);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @see #serializeToBinaryFile(Path)
+     */
+    public void serializeToBinaryFile(String filePath) {
+        serializeToBinaryFile(Paths.get(filePath));
+    }
+
+    /**
+     * Loads an embedding store from a file written by {@link #serializeToBinaryFile(Path)}.
+     * <p>
+     * The vectors are memory-mapped instead of being read into the heap, so loading is fast even for large stores,
+     * and the file pages are shared through the OS page cache between processes loading the same file.
+     * The returned store uses off-heap storage (see {@link Builder#offHeapStorage(Boolean)}).
+     * The mapped vectors are copied into a private buffer on the first modification of the store,
+     * so the file itself is never modified.
+     */
+    public static InMemoryEmbeddingStore<TextSegment> fromBinaryFile(Path filePath) {
+        try {
+            return new InMemoryEmbeddingStore<>(InMemoryEmbeddingStoreBinaryFormat.read(filePath));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @see #fromBinaryFile(Path)
+     */
+    public static InMemoryEmbeddingStore<TextSegment> fromBinaryFile(String filePath) {
+        return fromBinaryFile(Paths.get(filePath));
+    }
+
     /**
      * Merges given {@code InMemoryEmbeddingStore}s into a single {@code InMemoryEmbeddingStore},
      * copying all entries from each store.
@@ -243,7 +465,7 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
         ensureNotNull(stores, "stores");
         List<Entry<Embedded>> entries = new ArrayList<>();
         for (InMemoryEmbeddingStore<Embedded> store : stores) {
-            entries.addAll(store.entries);
+            entries.addAll(store.onHeapView().entries);
         }
         return new InMemoryEmbeddingStore<>(entries);
     }
@@ -262,6 +484,7 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
         String id;
         Embedding embedding;
         Embedded embedded;
+        transient float norm;
 
         Entry(String id, Embedding embedding) {
             this(id, embedding, null);
@@ -271,6 +494,7 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
             this.id = ensureNotBlank(id, "id");
             this.embedding = ensureNotNull(embedding, "embedding");
             this.embedded = embedded;
+            this.norm = VectorSimilarity.norm(embedding.vector());
         }
 
         @Override
@@ -297,13 +521,147 @@ public class InMemoryEmbeddingStore<Embedded> implements EmbeddingStore<Embedded
         return new JacksonInMemoryEmbeddingStoreJsonCodec();
     }
 
+    private static Metadata metadataOf(Entry<?> entry) {
+        return entry.embedded instanceof TextSegment segment ? segment.metadata() : null;
+    }
+
+    /**
+     * Returns this store if its entries are kept on the heap,
+     * otherwise a snapshot of its entries materialized as an on-heap store.
+     */
+    private InMemoryEmbeddingStore<Embedded> onHeapView() {
+        return columnarStorage == null ? this : new InMemoryEmbeddingStore<>(columnarStorage.entries());
+    }
+
     @JsonIgnore
     public int size() {
-        return entries.size();
+        return columnarStorage == null ? entries.size() : columnarStorage.size();
     }
 
     @JsonIgnore
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return size() == 0;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private HnswIndexConfig hnswIndexConfig;
+        private Boolean offHeapStorage;
+        private VectorQuantization quantization;
+        private Integer rescoringOversample;
+        private Collection<String> indexedMetadataKeys;
+
+        /**
+         * Enables the HNSW index for approximate nearest neighbour search.
+         * <p>
+         * Searches without a {@link Filter} are served by the index and are sublinear in the number of entries,
+         * at the cost of possibly missing some of the true nearest neighbours
+         * (see {@link HnswIndexConfig} for the recall-related parameters).
+         * Searches with a {@link Filter} still use the exact brute force approach.
+         * <p>
+         * The index is not persisted: a store recreated from JSON uses the brute force approach.
+         *
+         * @param hnswIndexConfig The index configuration. By default, no index is used.
+         * @return builder
+         */
+        public Builder hnswIndex(HnswIndexConfig hnswIndexConfig) {
+            this.hnswIndexConfig = hnswIndexConfig;
+            return this;
+        }
+
+        /**
+         * Packs all vectors into contiguous off-heap buffers (segments of up to 1 GB),
+         * with ids and embedded objects kept in parallel arrays,
+         * instead of keeping a separate {@link Embedding} object per entry on the heap.
+         * <p>
+         * This considerably reduces the number of heap objects (and GC pressure) for large stores,
+         * makes brute force scans cache-friendly and makes appending a single entry amortized O(1).
+         * All embeddings added to such a store must have the same dimension.
+         * The vectors of the matched entries are copied back to the heap when returned from a search.
+         * <p>
+         * Cannot be combined with {@link #hnswIndex(HnswIndexConfig)}.
+         *
+         * @param offHeapStorage Whether to store vectors off-heap. Default: false.
+         * @return builder
+         */
+        public Builder offHeapStorage(Boolean offHeapStorage) {
+            this.offHeapStorage = offHeapStorage;
+            return this;
+        }
+
+        /**
+         * Stores quantized vectors, packed row by row, and scans them instead of the original float vectors.
+         * <p>
+         * Scores computed from quantized vectors are approximate.
+         * Unless disabled via {@link #rescoringOversample(Integer)}, the best candidates are rescored
+         * using the original float vectors, so the returned scores are exact.
+         * All embeddings added to such a store must have the same dimension.
+         * <p>
+         * Cannot be combined with {@link #hnswIndex(HnswIndexConfig)} or {@link #offHeapStorage(Boolean)}.
+         *
+         * @param quantization The quantization to use. By default, vectors are not quantized.
+         * @return builder
+         */
+        public Builder quantization(VectorQuantization quantization) {
+            this.quantization = quantization;
+            return this;
+        }
+
+        /**
+         * Only used together with {@link #quantization(VectorQuantization)}.
+         * <p>
+         * A search for {@code maxResults} matches first selects {@code maxResults * rescoringOversample} candidates
+         * using the quantized vectors, then rescores them using the original float vectors.
+         * Higher values improve recall, at the cost of more exact similarity computations.
+         * The original float vectors are kept off-heap, so only the quantized vectors take up heap space.
+         * <p>
+         * When set to 0, rescoring is disabled and the original float vectors are not kept at all,
+         * which gives the full memory reduction of the quantization.
+         * In this case, the returned scores are approximate,
+         * and the returned (and serialized) embeddings are reconstructed from the quantized vectors.
+         *
+         * @param rescoringOversample The oversampling factor, between 0 and 100. Default: 4.
+         * @return builder
+         */
+        public Builder rescoringOversample(Integer rescoringOversample) {
+            this.rescoringOversample = rescoringOversample;
+            return this;
+        }
+
+        /**
+         * Maintains inverted indexes over the values of the given metadata keys.
+         * <p>
+         * When a search has a {@link Filter}, the parts of it that compare indexed keys
+         * ({@code isEqualTo}, {@code isIn}, range comparisons, and their {@code and}/{@code or} combinations)
+         * are looked up in the indexes first, and similarity is computed only for the resulting candidates,
+         * instead of for all entries. The filter is still applied to each candidate, so the results are the same.
+         * Selective filters on indexed keys therefore make filtered searches much cheaper,
+         * at the cost of some memory and slightly slower additions and removals.
+         * <p>
+         * The indexes are not persisted: a store recreated from JSON does not use them.
+         * Cannot be combined with {@link #offHeapStorage(Boolean)} or {@link #quantization(VectorQuantization)}.
+         *
+         * @param indexedMetadataKeys The metadata keys to index. By default, no keys are indexed.
+         * @return builder
+         */
+        public Builder indexedMetadataKeys(Collection<String> indexedMetadataKeys) {
+            this.indexedMetadataKeys = indexedMetadataKeys;
+            return this;
+        }
+
+        /**
+         * @see #indexedMetadataKeys(Collection)
+         */
+        public Builder indexedMetadataKeys(String... indexedMetadataKeys) {
+            return indexedMetadataKeys(asList(indexedMetadataKeys));
+        }
+
+        public <Embedded> InMemoryEmbeddingStore<Embedded> build() {
+            return new InMemoryEmbeddingStore<>(this);
+        }
     }
 }
@@ -0,0 +1,246 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A compact binary snapshot format for {@link InMemoryEmbeddingStore}.
+ * <p>
+ * The file consists of:
+ * <ul>
+ *     <li>a header: magic number, format version, dimension and number of entries (4 little-endian ints)</li>
+ *     <li>the vectors: {@code count * dimension} little-endian float32 values, packed row by row</li>
+ *     <li>the norms of the vectors: {@code count} little-endian float32 values</li>
+ *     <li>the records: the id, text and metadata of each entry, as written by {@link DataOutputStream}</li>
+ * </ul>
+ * When reading, the vector block is memory-mapped (in segments, see {@link OffHeapStorage})
+ * rather than copied to the heap,
+ * so loading does not depend on the size of the vectors,
+ * and the pages are shared through the OS page cache between all processes mapping the same file.
+ */
+class InMemoryEmbeddingStoreBinaryFormat {
+
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4C344A45; // "L4JE"
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private static final byte STRING = 1;
+    private static final byte UUID_TYPE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+
+    private InMemoryEmbeddingStoreBinaryFormat() {}
+
+    static void write(List<? extends InMemoryEmbeddingStore.Entry<?>> entries, Path filePath) throws IOException {
+        int count = entries.size();
+        int dimension = count == 0 ? 0 : entries.get(0).embedding.dimension();
+        for (InMemoryEmbeddingStore.Entry<?> entry : entries) {
+            if (entry.embedding.dimension() != dimension) {
+                throw illegalArgument(
+                        "All embeddings must have the same dimension (%s), but got an embedding of dimension %s",
+                        dimension, entry.embedding.dimension());
+            }
+            if (entry.embedded != null && !(entry.embedded instanceof TextSegment)) {
+                throw illegalArgument(
+                        "Only TextSegment can be serialized, but got %s",
+                        entry.embedded.getClass().getName());
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, CREATE, TRUNCATE_EXISTING, WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(dimension).putInt(count);
+
+            for (InMemoryEmbeddingStore.Entry<?> entry : entries) {
+                for (float value : entry.embedding.vector()) {
+                    if (!buffer.hasRemaining()) {
+                        flush(buffer, channel);
+                    }
+                    buffer.putFloat(value);
+                }
+            }
+            for (InMemoryEmbeddingStore.Entry<?> entry : entries) {
+                if (!buffer.hasRemaining()) {
+                    flush(buffer, channel);
+                }
+                buffer.putFloat(entry.norm);
+            }
+            flush(buffer, channel);
+
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            for (InMemoryEmbeddingStore.Entry<?> entry : entries) {
+                writeString(out, entry.id);
+                TextSegment segment = (TextSegment) entry.embedded;
+                out.writeBoolean(segment != null);
+                if (segment != null) {
+                    writeString(out, segment.text());
+                    writeMetadata(out, segment.metadata());
+                }
+            }
+            out.flush();
+        }
+    }
+
+    static OffHeapStorage<TextSegment> read(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, READ)) {
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt() != MAGIC) {
+                throw illegalArgument("%s is not a binary InMemoryEmbeddingStore file", filePath);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw illegalArgument(
+                        "Unsupported binary InMemoryEmbeddingStore format version %s, expected %s", version, VERSION);
+            }
+            int dimension = header.getInt();
+            int count = header.getInt();
+
+            long vectorBytes = (long) count * dimension * Float.BYTES;
+            FloatBuffer[] segments = new FloatBuffer[0];
+            if (count > 0) {
+                int segmentRows = OffHeapVectors.segmentRows(dimension);
+                segments = new FloatBuffer[(count - 1) / segmentRows + 1];
+                for (int s = 0; s < segments.length; s++) {
+                    long position = HEADER_BYTES + (long) s * segmentRows * dimension * Float.BYTES;
+                    int rows = Math.min(segmentRows, count - s * segmentRows);
+                    segments[s] = channel.map(
+                                    FileChannel.MapMode.READ_ONLY, position, (long) rows * dimension * Float.BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN)
+                            .asFloatBuffer();
+                }
+            }
+
+            ByteBuffer normBytes = ByteBuffer.allocate(count * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, normBytes, HEADER_BYTES + vectorBytes);
+            float[] norms = new float[count];
+            normBytes.asFloatBuffer().get(norms);
+
+            channel.position(HEADER_BYTES + vectorBytes + (long) count * Float.BYTES);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            String[] ids = new String[count];
+            Object[] embedded = new Object[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = readString(in);
+                if (in.readBoolean()) {
+                    String text = readString(in);
+                    embedded[i] = TextSegment.from(text, readMetadata(in));
+                }
+            }
+
+            return new OffHeapStorage<>(segments, norms, ids, embedded, dimension);
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of binary InMemoryEmbeddingStore file");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static void writeMetadata(DataOutputStream out, Metadata metadata) throws IOException {
+        Map<String, Object> map = metadata.toMap();
+        out.writeInt(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof String string) {
+                out.writeByte(STRING);
+                writeString(out, string);
+            } else if (value instanceof UUID uuid) {
+                out.writeByte(UUID_TYPE);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            } else if (value instanceof Integer integer) {
+                out.writeByte(INTEGER);
+                out.writeInt(integer);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Float floatValue) {
+                out.writeByte(FLOAT);
+                out.writeFloat(floatValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(DOUBLE);
+                out.writeDouble(doubleValue);
+            } else {
+                throw illegalArgument(
+                        "Unsupported metadata value type: %s", value.getClass().getName());
+            }
+        }
+    }
+
+    private static Metadata readMetadata(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, Object> map = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            byte type = in.readByte();
+            Object value =
+                    switch (type) {
+                        case STRING -> readString(in);
+                        case UUID_TYPE -> new UUID(in.readLong(), in.readLong());
+                        case INTEGER -> in.readInt();
+                        case LONG -> in.readLong();
+                        case FLOAT -> in.readFloat();
+                        case DOUBLE -> in.readDouble();
+                        default -> throw illegalArgument("Unknown metadata value type: %s", type);
+                    };
+            map.put(key, value);
+        }
+        return Metadata.from(map);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
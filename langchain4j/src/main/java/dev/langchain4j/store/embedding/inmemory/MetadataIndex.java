@@ -0,0 +1,310 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsIn;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Inverted indexes over the values of selected metadata keys, used by {@link InMemoryEmbeddingStore}
+ * to narrow a filtered search down to candidate items before any similarity is computed.
+ * <p>
+ * For each indexed key, string (and UUID) values are kept in one sorted map and numeric values in another,
+ * each mapping a value to the items having it. Equality and {@link IsIn} are answered by lookups,
+ * range comparisons by sub-maps.
+ * <p>
+ * The candidates are a superset of the matching items: the filter still has to be tested on each of them.
+ * This allows numbers to be looked up with a small tolerance instead of reproducing
+ * the exact numeric semantics of the filters, and makes any filter that cannot be answered from the index
+ * (e.g., {@code NOT}, {@code IsNotIn}, non-indexed keys) simply not narrow the candidates.
+ * When the values of a key have types that the filter would reject with an exception,
+ * the index is not used either, so the filter is tested on all items and throws as usual.
+ * <p>
+ * Items without metadata are not indexed and are always candidates, since filters do not apply to them.
+ *
+ * @param <T> the type of the indexed items
+ */
+class MetadataIndex<T> {
+
+    private static final double RELATIVE_TOLERANCE = 1e-6;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, KeyIndex<T>> indexes = new HashMap<>();
+    private final Set<T> withoutMetadata = identitySet();
+    private final Function<T, Metadata> metadataFunction;
+
+    /**
+     * @param keys             the metadata keys to index
+     * @param metadataFunction returns the metadata of an item, or {@code null} if the item has none
+     */
+    MetadataIndex(Collection<String> keys, Function<T, Metadata> metadataFunction) {
+        keys.forEach(key -> indexes.put(key, new KeyIndex<>()));
+        this.metadataFunction = metadataFunction;
+    }
+
+    void add(T item) {
+        lock.writeLock().lock();
+        try {
+            index(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void addAll(Collection<T> items) {
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeAll(Collection<T> items) {
+        lock.writeLock().lock();
+        try {
+            items.forEach(this::unindex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            indexes.replaceAll((key, index) -> new KeyIndex<>());
+            withoutMetadata.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the items that may match the given filter.
+     *
+     * @return a superset of the matching items, or {@code null} if the index cannot narrow them down
+     */
+    Set<T> candidates(Filter filter) {
+        lock.readLock().lock();
+        try {
+            Set<T> candidates = lookup(filter);
+            if (candidates != null) {
+                candidates.addAll(withoutMetadata);
+            }
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<T> lookup(Filter filter) {
+        if (filter instanceof And and) {
+            Set<T> left = lookup(and.left());
+            Set<T> right = lookup(and.right());
+            if (left == null || right == null) {
+                return left == null ? right : left;
+            }
+            Set<T> smaller = left.size() <= right.size() ? left : right;
+            Set<T> larger = smaller == left ? right : left;
+            smaller.retainAll(larger);
+            return smaller;
+        } else if (filter instanceof Or or) {
+            Set<T> left = lookup(or.left());
+            Set<T> right = left == null ? null : lookup(or.right());
+            if (right == null) {
+                return null;
+            }
+            left.addAll(right);
+            return left;
+        } else if (filter instanceof IsEqualTo isEqualTo) {
+            return equalTo(isEqualTo.key(), isEqualTo.comparisonValue());
+        } else if (filter instanceof IsIn isIn) {
+            Set<T> candidates = identitySet();
+            for (Object comparisonValue : isIn.comparisonValues()) {
+                Set<T> equal = equalTo(isIn.key(), comparisonValue);
+                if (equal == null) {
+                    return null;
+                }
+                candidates.addAll(equal);
+            }
+            return candidates;
+        } else if (filter instanceof IsGreaterThan isGreaterThan) {
+            return range(isGreaterThan.key(), isGreaterThan.comparisonValue(), true);
+        } else if (filter instanceof IsGreaterThanOrEqualTo isGreaterThanOrEqualTo) {
+            return range(isGreaterThanOrEqualTo.key(), isGreaterThanOrEqualTo.comparisonValue(), true);
+        } else if (filter instanceof IsLessThan isLessThan) {
+            return range(isLessThan.key(), isLessThan.comparisonValue(), false);
+        } else if (filter instanceof IsLessThanOrEqualTo isLessThanOrEqualTo) {
+            return range(isLessThanOrEqualTo.key(), isLessThanOrEqualTo.comparisonValue(), false);
+        }
+        return null;
+    }
+
+    private Set<T> equalTo(String key, Object comparisonValue) {
+        KeyIndex<T> index = indexes.get(key);
+        if (index == null) {
+            return null;
+        }
+        if (comparisonValue instanceof String string && index.onlyStrings()) {
+            return union(index.strings.subMap(string, true, string, true));
+        }
+        if (comparisonValue instanceof UUID uuid && index.stringCount == 0 && index.numberCount == 0) {
+            String string = uuid.toString();
+            return union(index.strings.subMap(string, true, string, true));
+        }
+        if (comparisonValue instanceof Number number && index.onlyFiniteNumbers(number)) {
+            double value = toDouble(number);
+            double tolerance = Math.abs(value) * RELATIVE_TOLERANCE;
+            return union(index.numbers.subMap(value - tolerance, true, value + tolerance, true));
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the items whose value is greater (or less) than or equal to the given one.
+     * Strict comparisons get the same candidates.
+     */
+    private Set<T> range(String key, Object comparisonValue, boolean greater) {
+        KeyIndex<T> index = indexes.get(key);
+        if (index == null) {
+            return null;
+        }
+        if (comparisonValue instanceof String string && index.onlyStrings()) {
+            return union(greater ? index.strings.tailMap(string, true) : index.strings.headMap(string, true));
+        }
+        if (comparisonValue instanceof Number number && index.onlyFiniteNumbers(number)) {
+            double value = toDouble(number);
+            double tolerance = Math.abs(value) * RELATIVE_TOLERANCE;
+            return union(
+                    greater
+                            ? index.numbers.tailMap(value - tolerance, true)
+                            : index.numbers.headMap(value + tolerance, true));
+        }
+        return null;
+    }
+
+    private void index(T item) {
+        Metadata metadata = metadataFunction.apply(item);
+        if (metadata == null) {
+            withoutMetadata.add(item);
+            return;
+        }
+        indexes.forEach((key, index) -> {
+            Object value = metadata.getObject(key);
+            if (value != null) {
+                index.add(value, item);
+            }
+        });
+    }
+
+    private void unindex(T item) {
+        Metadata metadata = metadataFunction.apply(item);
+        if (metadata == null) {
+            withoutMetadata.remove(item);
+            return;
+        }
+        indexes.forEach((key, index) -> {
+            Object value = metadata.getObject(key);
+            if (value != null) {
+                index.remove(value, item);
+            }
+        });
+    }
+
+    /**
+     * Maps {@code -0.0} to {@code 0.0}, which the filters treat as equal, but {@link Double#compareTo} does not.
+     */
+    private static double toDouble(Number number) {
+        return number.doubleValue() + 0.0;
+    }
+
+    private static <T> Set<T> union(NavigableMap<?, Set<T>> map) {
+        Set<T> union = identitySet();
+        map.values().forEach(union::addAll);
+        return union;
+    }
+
+    private static <T> Set<T> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private static final class KeyIndex<T> {
+
+        final TreeMap<String, Set<T>> strings = new TreeMap<>();
+        final TreeMap<Double, Set<T>> numbers = new TreeMap<>();
+        int stringCount;
+        int uuidCount;
+        int numberCount;
+        int nonFiniteCount;
+
+        boolean onlyStrings() {
+            return uuidCount == 0 && numberCount == 0;
+        }
+
+        boolean onlyFiniteNumbers(Number comparisonValue) {
+            return stringCount == 0
+                    && uuidCount == 0
+                    && nonFiniteCount == 0
+                    && Double.isFinite(comparisonValue.doubleValue());
+        }
+
+        void add(Object value, T item) {
+            update(value, 1);
+            if (value instanceof Number number) {
+                numbers.computeIfAbsent(toDouble(number), ignored -> identitySet())
+                        .add(item);
+            } else {
+                strings.computeIfAbsent(value.toString(), ignored -> identitySet())
+                        .add(item);
+            }
+        }
+
+        void remove(Object value, T item) {
+            update(value, -1);
+            if (value instanceof Number number) {
+                remove(numbers, toDouble(number), item);
+            } else {
+                remove(strings, value.toString(), item);
+            }
+        }
+
+        private void update(Object value, int delta) {
+            if (value instanceof String) {
+                stringCount += delta;
+            } else if (value instanceof UUID) {
+                uuidCount += delta;
+            } else if (value instanceof Number number) {
+                numberCount += delta;
+                if (!Double.isFinite(number.doubleValue())) {
+                    nonFiniteCount += delta;
+                }
+            }
+        }
+
+        private static <K, T> void remove(Map<K, Set<T>> map, K key, T item) {
+            Set<T> items = map.get(key);
+            if (items != null && items.remove(item) && items.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static java.util.Comparator.comparingDouble;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.RelevanceScore;
+import dev.langchain4j.store.embedding.VectorSimilarity;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Columnar storage for {@link InMemoryEmbeddingStore}.
+ * <p>
+ * All vectors are packed row by row into direct buffers (see {@link OffHeapVectors}),
+ * while ids, embedded objects and precomputed vector norms are kept in parallel arrays.
+ * Compared to one {@link InMemoryEmbeddingStore.Entry} (with its own {@link Embedding} and {@code float[]}) per row,
+ * this removes most of the per-vector heap objects and makes scans sequential in memory.
+ * <p>
+ * The arrays grow by doubling, so appending a single row is amortized O(1).
+ * Removal compacts the remaining rows in place, preserving their order.
+ * All vectors must have the same dimension.
+ * <p>
+ * Searches run concurrently, mutations are serialized by a read-write lock.
+ *
+ * @param <Embedded> the class of the object that has been embedded
+ */
+class OffHeapStorage<Embedded> implements ColumnarStorage<Embedded> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_ROWS = Integer.MAX_VALUE - 8;
+    private static final int SCAN_BLOCK_ROWS = 256;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxSegmentBytes;
+
+    private OffHeapVectors vectors;
+    private float[] norms;
+    private String[] ids;
+    private Object[] embedded;
+    private int size;
+    private int dimension = -1;
+
+    OffHeapStorage() {
+        this(OffHeapVectors.MAX_SEGMENT_BYTES);
+    }
+
+    OffHeapStorage(int maxSegmentBytes) {
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.norms = new float[0];
+        this.ids = new String[0];
+        this.embedded = new Object[0];
+    }
+
+    /**
+     * Creates a storage over already packed vectors, e.g., a memory-mapped file.
+     * Each segment must hold {@link OffHeapVectors#segmentRows(int)} rows, except the last one.
+     * Read-only segments are copied on the first mutation.
+     */
+    OffHeapStorage(FloatBuffer[] segments, float[] norms, String[] ids, Object[] embedded, int dimension) {
+        this.maxSegmentBytes = OffHeapVectors.MAX_SEGMENT_BYTES;
+        this.size = ids.length;
+        this.norms = norms;
+        this.ids = ids;
+        this.embedded = embedded;
+        if (size > 0) {
+            this.vectors = new OffHeapVectors(dimension, segments);
+            this.dimension = dimension;
+        }
+    }
+
+    @Override
+    public void add(String id, Embedding embedding, Embedded embedded) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + 1L, embedding.dimension());
+            append(id, embedding.vector(), embedded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(List<InMemoryEmbeddingStore.Entry<Embedded>> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(
+                    (long) size + entries.size(), entries.get(0).embedding.dimension());
+            for (InMemoryEmbeddingStore.Entry<Embedded> entry : entries) {
+                ensureDimension(entry.embedding.vector());
+            }
+            for (InMemoryEmbeddingStore.Entry<Embedded> entry : entries) {
+                append(entry.id, entry.embedding.vector(), entry.embedded);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all rows matching the given predicate, compacting the remaining ones in place.
+     */
+    @Override
+    public void removeIf(BiPredicate<String, Embedded> predicate) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size, dimension);
+            int kept = 0;
+            for (int row = 0; row < size; row++) {
+                if (predicate.test(ids[row], embedded(row))) {
+                    continue;
+                }
+                if (kept != row) {
+                    moveRow(row, kept);
+                }
+                kept++;
+            }
+            Arrays.fill(ids, kept, size, null);
+            Arrays.fill(embedded, kept, size, null);
+            size = kept;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            vectors = null;
+            norms = new float[0];
+            ids = new String[0];
+            embedded = new Object[0];
+            size = 0;
+            dimension = -1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EmbeddingMatch<Embedded>> search(
+            Embedding queryEmbedding, int maxResults, double minScore, Predicate<Embedded> accepted) {
+        lock.readLock().lock();
+        try {
+            if (size == 0) {
+                return List.of();
+            }
+            float[] query = queryEmbedding.vector();
+            if (query.length != dimension) {
+                throw illegalArgument(
+                        "Length of vector a (%s) must be equal to the length of vector b (%s)",
+                        dimension, query.length);
+            }
+            float queryNorm = VectorSimilarity.norm(query);
+
+            Comparator<ScoredRow> comparator = comparingDouble(ScoredRow::score);
+            PriorityQueue<ScoredRow> best = new PriorityQueue<>(comparator);
+
+            // rows are copied block by block to the heap, where the batch kernel can scan them
+            int blockRows = Math.min(size, SCAN_BLOCK_ROWS);
+            float[] block = new float[blockRows * dimension];
+            float[] blockNorms = new float[blockRows];
+            float[] similarities = new float[blockRows];
+
+            for (int start = 0, count; start < size; start += count) {
+                // a block does not span two segments
+                count = Math.min(Math.min(blockRows, size - start), vectors.rowsInSegment(start));
+                vectors.get(start, count, block);
+                System.arraycopy(norms, start, blockNorms, 0, count);
+                VectorSimilarity.cosineSimilarities(query, queryNorm, block, blockNorms, count, similarities);
+
+                for (int i = 0; i < count; i++) {
+                    double score = RelevanceScore.fromCosineSimilarity(similarities[i]);
+                    if (score < minScore || !accepted.test(embedded(start + i))) {
+                        continue;
+                    }
+                    best.add(new ScoredRow(start + i, score));
+                    if (best.size() > maxResults) {
+                        best.poll();
+                    }
+                }
+            }
+
+            List<ScoredRow> rows = new ArrayList<>(best);
+            rows.sort(comparator);
+            Collections.reverse(rows);
+
+            List<EmbeddingMatch<Embedded>> matches = new ArrayList<>(rows.size());
+            for (ScoredRow scoredRow : rows) {
+                int row = scoredRow.row();
+                matches.add(new EmbeddingMatch<>(scoredRow.score(), ids[row], embedding(row), embedded(row)));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<InMemoryEmbeddingStore.Entry<Embedded>> entries() {
+        lock.readLock().lock();
+        try {
+            List<InMemoryEmbeddingStore.Entry<Embedded>> entries = new ArrayList<>(size);
+            for (int row = 0; row < size; row++) {
+                entries.add(entry(row));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(String id, float[] vector, Embedded embedded) {
+        ensureDimension(vector);
+        vectors.put(size, vector);
+        norms[size] = VectorSimilarity.norm(vector);
+        ids[size] = id;
+        this.embedded[size] = embedded;
+        size++;
+    }
+
+    private void ensureDimension(float[] vector) {
+        if (vector.length != dimension) {
+            throw illegalArgument(
+                    "All embeddings must have the same dimension (%s), but got an embedding of dimension %s",
+                    dimension, vector.length);
+        }
+    }
+
+    private void ensureCapacity(long requiredRows, int newDimension) {
+        if (dimension < 0) {
+            if (newDimension < 0) {
+                return;
+            }
+            dimension = newDimension;
+            vectors = new OffHeapVectors(dimension, maxSegmentBytes);
+        }
+        if (requiredRows <= ids.length && !vectors.isReadOnly()) {
+            return;
+        }
+        if (requiredRows > MAX_ROWS) {
+            throw illegalArgument(
+                    "The capacity of the off-heap storage is exceeded: %s embeddings are required, "
+                            + "but at most %s embeddings can be stored",
+                    requiredRows, MAX_ROWS);
+        }
+
+        long newCapacity = Math.max(INITIAL_CAPACITY, ids.length);
+        while (newCapacity < requiredRows) {
+            newCapacity *= 2;
+        }
+        int capacity = (int) Math.min(newCapacity, MAX_ROWS);
+
+        vectors.resize(capacity, size);
+        norms = Arrays.copyOf(norms, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        embedded = Arrays.copyOf(embedded, capacity);
+    }
+
+    private void moveRow(int from, int to) {
+        vectors.move(from, to);
+        norms[to] = norms[from];
+        ids[to] = ids[from];
+        embedded[to] = embedded[from];
+    }
+
+    private Embedding embedding(int row) {
+        float[] vector = new float[dimension];
+        vectors.get(row, vector);
+        return Embedding.from(vector);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Embedded embedded(int row) {
+        return (Embedded) embedded[row];
+    }
+
+    private InMemoryEmbeddingStore.Entry<Embedded> entry(int row) {
+        return new InMemoryEmbeddingStore.Entry<>(ids[row], embedding(row), embedded(row));
+    }
+
+    private record ScoredRow(int row, double score) {}
+}
@@ -0,0 +1,119 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Float vectors of the same dimension, packed row by row into direct {@link ByteBuffer}s (native byte order).
+ * <p>
+ * The vectors are split into segments of at most {@value #MAX_SEGMENT_BYTES} bytes,
+ * each holding a power of two number of rows, since a single buffer cannot exceed 2 GB.
+ * On resize, only the last segment grows, the full ones are kept as they are.
+ * <p>
+ * Not thread-safe, the storages using it guard it with their locks.
+ */
+class OffHeapVectors {
+
+    static final int MAX_SEGMENT_BYTES = 1 << 30;
+
+    private final int dimension;
+    private final int segmentRows;
+    private final int segmentShift;
+    private FloatBuffer[] segments;
+
+    OffHeapVectors(int dimension, int maxSegmentBytes) {
+        this(dimension, new FloatBuffer[0], maxSegmentBytes);
+    }
+
+    /**
+     * Wraps already packed vectors, e.g., a memory-mapped file.
+     * Each segment must hold {@link #segmentRows(int)} rows, except the last one.
+     */
+    OffHeapVectors(int dimension, FloatBuffer[] segments) {
+        this(dimension, segments, MAX_SEGMENT_BYTES);
+    }
+
+    private OffHeapVectors(int dimension, FloatBuffer[] segments, int maxSegmentBytes) {
+        this.dimension = dimension;
+        this.segmentRows = segmentRows(dimension, maxSegmentBytes);
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentRows);
+        this.segments = segments;
+    }
+
+    /**
+     * @return the number of rows of each segment of vectors of the given dimension
+     */
+    static int segmentRows(int dimension) {
+        return segmentRows(dimension, MAX_SEGMENT_BYTES);
+    }
+
+    private static int segmentRows(int dimension, int maxSegmentBytes) {
+        long rows = Math.max(1, maxSegmentBytes / ((long) dimension * Float.BYTES));
+        return Integer.highestOneBit((int) Math.min(rows, 1 << 30));
+    }
+
+    /**
+     * @return whether the vectors are read-only (e.g., memory-mapped), in which case they are copied on {@link #resize}
+     */
+    boolean isReadOnly() {
+        return segments.length > 0 && segments[0].isReadOnly();
+    }
+
+    /**
+     * Makes room for {@code capacity} rows, keeping the first {@code usedRows} ones.
+     */
+    void resize(int capacity, int usedRows) {
+        FloatBuffer[] newSegments = new FloatBuffer[(capacity - 1) / segmentRows + 1];
+        for (int s = 0; s < newSegments.length; s++) {
+            int rows = Math.min(segmentRows, capacity - s * segmentRows);
+            FloatBuffer segment = s < segments.length ? segments[s] : null;
+            if (segment != null && !segment.isReadOnly() && segment.capacity() >= rows * dimension) {
+                newSegments[s] = segment;
+                continue;
+            }
+            newSegments[s] = ByteBuffer.allocateDirect(rows * dimension * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer();
+            if (segment != null) {
+                int rowsToCopy = Math.max(0, Math.min(segmentRows, usedRows - s * segmentRows));
+                newSegments[s].put(0, segment, 0, rowsToCopy * dimension);
+            }
+        }
+        segments = newSegments;
+    }
+
+    void put(int row, float[] vector) {
+        segment(row).put(offset(row), vector);
+    }
+
+    void get(int row, float[] vector) {
+        segment(row).get(offset(row), vector);
+    }
+
+    /**
+     * Copies {@code count} consecutive rows, which must be in the same segment (see {@link #rowsInSegment(int)}).
+     */
+    void get(int row, int count, float[] rows) {
+        segment(row).get(offset(row), rows, 0, count * dimension);
+    }
+
+    /**
+     * @return the number of rows from the given row (inclusive) to the end of its segment
+     */
+    int rowsInSegment(int row) {
+        return segmentRows - (row & (segmentRows - 1));
+    }
+
+    void move(int from, int to) {
+        segment(to).put(offset(to), segment(from), offset(from), dimension);
+    }
+
+    private FloatBuffer segment(int row) {
+        return segments[row >>> segmentShift];
+    }
+
+    private int offset(int row) {
+        return (row & (segmentRows - 1)) * dimension;
+    }
+}
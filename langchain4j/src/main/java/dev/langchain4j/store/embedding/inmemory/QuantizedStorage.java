@@ -0,0 +1,389 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.internal.Exceptions.illegalArgument;
+import static java.util.Comparator.comparingDouble;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.store.embedding.CosineSimilarity;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.RelevanceScore;
+import dev.langchain4j.store.embedding.VectorSimilarity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Quantized storage for {@link InMemoryEmbeddingStore}.
+ * <p>
+ * Vectors are quantized (see {@link VectorQuantization}) and packed row by row into a single array,
+ * while ids, embedded objects and the norms of the original vectors are kept in parallel arrays.
+ * A search scans the quantized vectors to compute approximate scores.
+ * <p>
+ * When rescoring is enabled, the original vectors are kept as well, off-heap (see {@link OffHeapVectors}),
+ * and the {@code maxResults * rescoringOversample} best candidates are rescored exactly.
+ * Otherwise, only the quantized vectors are kept and embeddings are reconstructed from them when needed.
+ * <p>
+ * INT8 codes are widened to floats block by block, so that the dot products are computed by the batch kernels
+ * of {@link VectorSimilarity}.
+ * <p>
+ * Searches run concurrently, mutations are serialized by a read-write lock.
+ *
+ * @param <Embedded> the class of the object that has been embedded
+ */
+class QuantizedStorage<Embedded> implements ColumnarStorage<Embedded> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float INT8_MAX = 127f;
+    private static final int SCAN_BLOCK_ROWS = 256;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final VectorQuantization quantization;
+    private final int rescoringOversample;
+
+    private byte[] int8Codes;
+    private float[] int8Scales;
+    private long[] binaryCodes;
+    private int binaryWords;
+    private float[] norms;
+    private OffHeapVectors originals;
+    private String[] ids;
+    private Object[] embedded;
+    private int size;
+    private int dimension = -1;
+
+    QuantizedStorage(VectorQuantization quantization, int rescoringOversample) {
+        this.quantization = quantization;
+        this.rescoringOversample = rescoringOversample;
+        reset();
+    }
+
+    @Override
+    public void add(String id, Embedding embedding, Embedded embedded) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + 1, embedding.dimension());
+            append(id, embedding, embedded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(List<InMemoryEmbeddingStore.Entry<Embedded>> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + entries.size(), entries.get(0).embedding.dimension());
+            for (InMemoryEmbeddingStore.Entry<Embedded> entry : entries) {
+                ensureDimension(entry.embedding.vector());
+            }
+            for (InMemoryEmbeddingStore.Entry<Embedded> entry : entries) {
+                append(entry.id, entry.embedding, entry.embedded);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all rows matching the given predicate, compacting the remaining ones in place.
+     */
+    @Override
+    public void removeIf(BiPredicate<String, Embedded> predicate) {
+        lock.writeLock().lock();
+        try {
+            int kept = 0;
+            for (int row = 0; row < size; row++) {
+                if (predicate.test(ids[row], embedded(row))) {
+                    continue;
+                }
+                if (kept != row) {
+                    moveRow(row, kept);
+                }
+                kept++;
+            }
+            Arrays.fill(ids, kept, size, null);
+            Arrays.fill(embedded, kept, size, null);
+            size = kept;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EmbeddingMatch<Embedded>> search(
+            Embedding queryEmbedding, int maxResults, double minScore, Predicate<Embedded> accepted) {
+        lock.readLock().lock();
+        try {
+            if (size == 0) {
+                return List.of();
+            }
+            float[] query = queryEmbedding.vector();
+            if (query.length != dimension) {
+                throw illegalArgument(
+                        "Length of vector a (%s) must be equal to the length of vector b (%s)",
+                        dimension, query.length);
+            }
+            float queryNorm = VectorSimilarity.norm(query);
+            long[] queryBits = quantization == VectorQuantization.BINARY ? binaryCode(query) : null;
+
+            boolean rescoring = rescoringOversample > 0;
+            int candidates = rescoring ? (int) Math.min((long) maxResults * rescoringOversample, size) : maxResults;
+
+            Comparator<ScoredRow> comparator = comparingDouble(ScoredRow::score);
+            PriorityQueue<ScoredRow> best = new PriorityQueue<>(comparator);
+
+            int blockRows = Math.min(size, SCAN_BLOCK_ROWS);
+            float[] block = quantization == VectorQuantization.INT8 ? new float[blockRows * dimension] : null;
+            float[] similarities = new float[blockRows];
+
+            for (int start = 0, count; start < size; start += count) {
+                count = Math.min(blockRows, size - start);
+                approximateCosineSimilarities(query, queryNorm, queryBits, start, count, block, similarities);
+
+                for (int i = 0; i < count; i++) {
+                    double score = RelevanceScore.fromCosineSimilarity(similarities[i]);
+                    // approximate scores are only compared to minScore when they are not rescored
+                    if ((!rescoring && score < minScore) || !accepted.test(embedded(start + i))) {
+                        continue;
+                    }
+                    offer(best, new ScoredRow(start + i, score), candidates);
+                }
+            }
+
+            if (rescoring) {
+                PriorityQueue<ScoredRow> rescored = new PriorityQueue<>(comparator);
+                float[] original = new float[dimension];
+                for (ScoredRow candidate : best) {
+                    int row = candidate.row();
+                    originals.get(row, original);
+                    double score = RelevanceScore.fromCosineSimilarity(
+                            VectorSimilarity.cosineSimilarity(original, norms[row], query, queryNorm));
+                    if (score >= minScore) {
+                        offer(rescored, new ScoredRow(row, score), maxResults);
+                    }
+                }
+                best = rescored;
+            }
+
+            List<ScoredRow> rows = new ArrayList<>(best);
+            rows.sort(comparator);
+            Collections.reverse(rows);
+
+            List<EmbeddingMatch<Embedded>> matches = new ArrayList<>(rows.size());
+            for (ScoredRow scoredRow : rows) {
+                int row = scoredRow.row();
+                matches.add(new EmbeddingMatch<>(scoredRow.score(), ids[row], embedding(row), embedded(row)));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<InMemoryEmbeddingStore.Entry<Embedded>> entries() {
+        lock.readLock().lock();
+        try {
+            List<InMemoryEmbeddingStore.Entry<Embedded>> entries = new ArrayList<>(size);
+            for (int row = 0; row < size; row++) {
+                entries.add(new InMemoryEmbeddingStore.Entry<>(ids[row], embedding(row), embedded(row)));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reset() {
+        int8Codes = new byte[0];
+        int8Scales = new float[0];
+        binaryCodes = new long[0];
+        norms = new float[0];
+        originals = null;
+        ids = new String[0];
+        embedded = new Object[0];
+        size = 0;
+        dimension = -1;
+    }
+
+    private void append(String id, Embedding embedding, Embedded embedded) {
+        float[] vector = embedding.vector();
+        ensureDimension(vector);
+        if (quantization == VectorQuantization.INT8) {
+            float maxAbs = 0;
+            for (float value : vector) {
+                maxAbs = Math.max(maxAbs, Math.abs(value));
+            }
+            float scale = maxAbs / INT8_MAX;
+            int offset = size * dimension;
+            for (int i = 0; i < dimension; i++) {
+                int8Codes[offset + i] = scale == 0 ? 0 : (byte) Math.round(vector[i] / scale);
+            }
+            int8Scales[size] = scale;
+        } else {
+            System.arraycopy(binaryCode(vector), 0, binaryCodes, size * binaryWords, binaryWords);
+        }
+        norms[size] = VectorSimilarity.norm(vector);
+        if (originals != null) {
+            originals.put(size, vector);
+        }
+        ids[size] = id;
+        this.embedded[size] = embedded;
+        size++;
+    }
+
+    private void ensureDimension(float[] vector) {
+        if (vector.length != dimension) {
+            throw illegalArgument(
+                    "All embeddings must have the same dimension (%s), but got an embedding of dimension %s",
+                    dimension, vector.length);
+        }
+    }
+
+    private void ensureCapacity(int requiredRows, int newDimension) {
+        if (dimension < 0) {
+            dimension = newDimension;
+            binaryWords = (dimension + Long.SIZE - 1) / Long.SIZE;
+            if (rescoringOversample > 0) {
+                originals = new OffHeapVectors(dimension, OffHeapVectors.MAX_SEGMENT_BYTES);
+            }
+        }
+        if (requiredRows <= ids.length) {
+            return;
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, ids.length);
+        while (capacity < requiredRows) {
+            capacity *= 2;
+        }
+
+        if (quantization == VectorQuantization.INT8) {
+            int8Codes = Arrays.copyOf(int8Codes, Math.multiplyExact(capacity, dimension));
+            int8Scales = Arrays.copyOf(int8Scales, capacity);
+        } else {
+            binaryCodes = Arrays.copyOf(binaryCodes, Math.multiplyExact(capacity, binaryWords));
+        }
+        norms = Arrays.copyOf(norms, capacity);
+        if (originals != null) {
+            originals.resize(capacity, size);
+        }
+        ids = Arrays.copyOf(ids, capacity);
+        embedded = Arrays.copyOf(embedded, capacity);
+    }
+
+    private void moveRow(int from, int to) {
+        if (quantization == VectorQuantization.INT8) {
+            System.arraycopy(int8Codes, from * dimension, int8Codes, to * dimension, dimension);
+            int8Scales[to] = int8Scales[from];
+        } else {
+            System.arraycopy(binaryCodes, from * binaryWords, binaryCodes, to * binaryWords, binaryWords);
+        }
+        norms[to] = norms[from];
+        if (originals != null) {
+            originals.move(from, to);
+        }
+        ids[to] = ids[from];
+        embedded[to] = embedded[from];
+    }
+
+    private void approximateCosineSimilarities(
+            float[] query, float queryNorm, long[] queryBits, int start, int count, float[] block, float[] results) {
+        if (quantization == VectorQuantization.INT8) {
+            int offset = start * dimension;
+            for (int i = 0; i < count * dimension; i++) {
+                block[i] = int8Codes[offset + i];
+            }
+            VectorSimilarity.dotProducts(query, block, count, results);
+            for (int i = 0; i < count; i++) {
+                int row = start + i;
+                results[i] = results[i] * int8Scales[row] / Math.max(queryNorm * norms[row], CosineSimilarity.EPSILON);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                // the fraction of differing signs estimates the angle between the vectors
+                int offset = (start + i) * binaryWords;
+                int hammingDistance = 0;
+                for (int w = 0; w < binaryWords; w++) {
+                    hammingDistance += Long.bitCount(queryBits[w] ^ binaryCodes[offset + w]);
+                }
+                results[i] = (float) Math.cos(Math.PI * hammingDistance / dimension);
+            }
+        }
+    }
+
+    private long[] binaryCode(float[] vector) {
+        long[] code = new long[binaryWords];
+        for (int i = 0; i < vector.length; i++) {
+            if (vector[i] > 0) {
+                code[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        }
+        return code;
+    }
+
+    private Embedding embedding(int row) {
+        float[] vector = new float[dimension];
+        if (originals != null) {
+            originals.get(row, vector);
+        } else if (quantization == VectorQuantization.INT8) {
+            int offset = row * dimension;
+            for (int i = 0; i < dimension; i++) {
+                vector[i] = int8Codes[offset + i] * int8Scales[row];
+            }
+        } else {
+            // all components get the same magnitude, preserving the norm of the original vector
+            int offset = row * binaryWords;
+            float magnitude = norms[row] / (float) Math.sqrt(dimension);
+            for (int i = 0; i < dimension; i++) {
+                boolean positive = (binaryCodes[offset + i / Long.SIZE] & (1L << (i % Long.SIZE))) != 0;
+                vector[i] = positive ? magnitude : -magnitude;
+            }
+        }
+        return Embedding.from(vector);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Embedded embedded(int row) {
+        return (Embedded) embedded[row];
+    }
+
+    private static void offer(PriorityQueue<ScoredRow> best, ScoredRow scoredRow, int limit) {
+        best.add(scoredRow);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private record ScoredRow(int row, double score) {}
+}
@@ -0,0 +1,23 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+/**
+ * Quantization of the vectors stored in an {@link InMemoryEmbeddingStore}.
+ *
+ * @see InMemoryEmbeddingStore.Builder#quantization(VectorQuantization)
+ */
+public enum VectorQuantization {
+
+    /**
+     * Each component is stored as a signed byte, scaled by the largest absolute component of its vector.
+     * Takes 4x less memory than float vectors and closely preserves cosine similarity.
+     */
+    INT8,
+
+    /**
+     * Only the sign of each component is stored, as a single bit.
+     * Takes 32x less memory than float vectors.
+     * Cosine similarity is estimated from the Hamming distance between the bit vectors,
+     * which is coarse, so this is meant to be used together with rescoring.
+     */
+    BINARY
+}
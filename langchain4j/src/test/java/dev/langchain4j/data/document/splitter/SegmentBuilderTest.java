@@ -1,5 +1,6 @@
 package dev.langchain4j.data.document.splitter;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
 
@@ -79,4 +80,29 @@ class SegmentBuilderTest implements WithAssertions {
         // count "x" characters + (count - 1) space separators
         assertThat(result).hasSize(count + count - 1);
     }
+
+    @Test
+    void should_measure_segment_only_when_sum_of_sizes_does_not_fit() {
+        AtomicInteger measurements = new AtomicInteger();
+        SegmentBuilder builder = new SegmentBuilder(
+                20,
+                text -> {
+                    measurements.incrementAndGet();
+                    return text.length();
+                },
+                " ");
+        measurements.set(0);
+
+        builder.append("one", 3);
+        builder.append("two", 3);
+        builder.prepend("red", 3);
+        assertThat(builder.hasSpaceFor(5)).isTrue();
+        assertThat(measurements).hasValue(0);
+
+        // 11 (texts and separators) + 1 (separator) + 9 exceeds 20, so the segment is measured
+        assertThat(builder.hasSpaceFor(9)).isFalse();
+        assertThat(measurements).hasValue(1);
+        assertThat(builder.getSize()).isEqualTo(11);
+        assertThat(builder.toString()).isEqualTo("red one two");
+    }
 }
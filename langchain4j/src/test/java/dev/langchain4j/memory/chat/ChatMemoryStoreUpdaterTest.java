@@ -0,0 +1,109 @@
+package dev.langchain4j.memory.chat;
+
+import static dev.langchain4j.data.message.UserMessage.userMessage;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+import dev.langchain4j.store.memory.chat.IncrementalChatMemoryStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ChatMemoryStoreUpdaterTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void should_persist_same_messages_incrementally(boolean alwaysKeepSystemMessageFirst) {
+
+        // given
+        RecordingIncrementalChatMemoryStore incrementalStore = new RecordingIncrementalChatMemoryStore();
+        InMemoryChatMemoryStore store = new InMemoryChatMemoryStore();
+        ChatMemory incrementalMemory = MessageWindowChatMemory.builder()
+                .maxMessages(7)
+                .chatMemoryStore(incrementalStore)
+                .alwaysKeepSystemMessageFirst(alwaysKeepSystemMessageFirst)
+                .build();
+        ChatMemory memory = MessageWindowChatMemory.builder()
+                .maxMessages(7)
+                .chatMemoryStore(store)
+                .alwaysKeepSystemMessageFirst(alwaysKeepSystemMessageFirst)
+                .build();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 300; i++) {
+
+            // when
+            for (ChatMessage message : randomMessages(random, i)) {
+                incrementalMemory.add(message);
+                memory.add(message);
+            }
+
+            // then
+            assertThat(incrementalStore.getMessages("default")).isEqualTo(store.getMessages("default"));
+        }
+        assertThat(incrementalStore.appendCount).isGreaterThan(300);
+        assertThat(incrementalStore.removeCount).isGreaterThan(100);
+        assertThat(incrementalStore.updateCount).isLessThan(30);
+    }
+
+    private static List<ChatMessage> randomMessages(Random random, int i) {
+        int kind = random.nextInt(10);
+        if (kind == 0) {
+            return List.of(SystemMessage.from("system " + random.nextInt(3)));
+        } else if (kind <= 2) {
+            ToolExecutionRequest request =
+                    ToolExecutionRequest.builder().id("id-" + i).name("tool").build();
+            return List.of(AiMessage.from(request), ToolExecutionResultMessage.from(request, "result " + i));
+        } else if (kind <= 6) {
+            return List.of(userMessage("user " + i));
+        } else {
+            return List.of(AiMessage.from("ai " + i));
+        }
+    }
+
+    static class RecordingIncrementalChatMemoryStore implements IncrementalChatMemoryStore {
+
+        private final List<ChatMessage> messages = new ArrayList<>();
+        int updateCount;
+        int appendCount;
+        int removeCount;
+
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            // returns a copy, as a persistent store would
+            return new ArrayList<>(messages);
+        }
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            updateCount++;
+            this.messages.clear();
+            this.messages.addAll(messages);
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            messages.clear();
+        }
+
+        @Override
+        public void appendMessages(Object memoryId, List<ChatMessage> messages) {
+            appendCount++;
+            this.messages.addAll(messages);
+        }
+
+        @Override
+        public void removeMessages(Object memoryId, int fromIndex, int toIndex) {
+            removeCount++;
+            messages.subList(fromIndex, toIndex).clear();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import dev.langchain4j.memory.ChatMemory;
 import dev.langchain4j.model.TokenCountEstimator;
 import dev.langchain4j.model.openai.OpenAiChatModelName;
 import dev.langchain4j.model.openai.OpenAiTokenCountEstimator;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
@@ -840,4 +841,50 @@ class TokenWindowChatMemoryTest implements WithAssertions {
         });
         assertThat(counts).isEqualTo(new HitCountChatMemoryStore.HitCounts(0, 1, 0));
     }
+
+    @Test
+    void should_estimate_token_count_of_each_message_only_once() {
+
+        // given
+        AtomicInteger estimatedMessages = new AtomicInteger();
+        TokenCountEstimator countingEstimator = new TokenCountEstimator() {
+
+            @Override
+            public int estimateTokenCountInText(String text) {
+                return TOKEN_COUNT_ESTIMATOR.estimateTokenCountInText(text);
+            }
+
+            @Override
+            public int estimateTokenCountInMessage(ChatMessage message) {
+                estimatedMessages.incrementAndGet();
+                return TOKEN_COUNT_ESTIMATOR.estimateTokenCountInMessage(message);
+            }
+
+            @Override
+            public int estimateTokenCountInMessages(Iterable<ChatMessage> messages) {
+                int tokenCount = EXTRA_TOKENS_PER_REQUEST;
+                for (ChatMessage message : messages) {
+                    tokenCount += estimateTokenCountInMessage(message);
+                }
+                return tokenCount;
+            }
+        };
+        ChatMemory chatMemory = TokenWindowChatMemory.builder()
+                .maxTokens(50, countingEstimator)
+                .chatMemoryStore(new HitCountChatMemoryStore())
+                .build();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            chatMemory.add(userMessage("message " + i));
+            chatMemory.messages();
+        }
+
+        // then
+        assertThat(estimatedMessages).hasValueLessThanOrEqualTo(100 + 2);
+        int tokenCount = TOKEN_COUNT_ESTIMATOR.estimateTokenCountInMessages(chatMemory.messages());
+        assertThat(tokenCount).isLessThanOrEqualTo(50);
+        assertThat(tokenCount + TOKEN_COUNT_ESTIMATOR.estimateTokenCountInMessage(userMessage("message 0")))
+                .isGreaterThan(50);
+    }
 }
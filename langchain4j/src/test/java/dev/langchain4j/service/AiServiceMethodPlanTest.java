@@ -0,0 +1,93 @@
+package dev.langchain4j.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.invocation.InvocationParameters;
+import dev.langchain4j.model.input.PromptTemplate;
+import dev.langchain4j.service.output.ServiceOutputParser;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.Test;
+
+class AiServiceMethodPlanTest {
+
+    interface Assistant {
+
+        @SystemMessage("You are a {{role}}")
+        @UserMessage("Hello, {{name}}")
+        String chat(@MemoryId int memoryId, @V("role") String role, @V("name") String name, InvocationParameters ip);
+
+        String chat(String userMessage);
+
+        @UserMessage(fromResource = "missing.txt")
+        String missingTemplate();
+    }
+
+    @Test
+    void should_resolve_special_parameters_and_template_variables() throws Exception {
+
+        // given
+        AiServiceMethodPlan plan = plan(
+                Assistant.class.getMethod("chat", int.class, String.class, String.class, InvocationParameters.class));
+        InvocationParameters invocationParameters = new InvocationParameters();
+        Object[] args = {1, "poet", "Klaus", invocationParameters};
+
+        // then
+        assertThat(plan.memoryId(args)).contains(1);
+        assertThat(plan.invocationParameters(args)).isSameAs(invocationParameters);
+        assertThat(plan.templateVariables("Hello, {{name}}", args))
+                .containsOnlyKeys("arg0", "role", "name")
+                .containsEntry("name", "Klaus");
+        assertThat(plan.returnsResult()).isFalse();
+        assertThat(plan.streaming()).isFalse();
+    }
+
+    @Test
+    void should_parse_annotated_templates_once() throws Exception {
+
+        // given
+        AiServiceMethodPlan plan = plan(
+                Assistant.class.getMethod("chat", int.class, String.class, String.class, InvocationParameters.class));
+
+        // when
+        PromptTemplate systemMessageTemplate = plan.systemMessageTemplate().orElseThrow();
+        PromptTemplate userMessageTemplate = plan.userMessageTemplate().orElseThrow();
+
+        // then
+        assertThat(systemMessageTemplate.template()).isEqualTo("You are a {{role}}");
+        assertThat(plan.systemMessageTemplate()).containsSame(systemMessageTemplate);
+        assertThat(plan.userMessagePromptTemplate(userMessageTemplate.template()))
+                .isSameAs(userMessageTemplate);
+    }
+
+    @Test
+    void should_create_template_when_not_annotated() throws Exception {
+
+        // given
+        AiServiceMethodPlan plan = plan(Assistant.class.getMethod("chat", String.class));
+
+        // then
+        assertThat(plan.systemMessageTemplate()).isEmpty();
+        assertThat(plan.userMessageTemplate()).isEmpty();
+        assertThat(plan.memoryId(new Object[] {"Hi"})).isEmpty();
+        assertThat(plan.invocationParameters(new Object[] {"Hi"})).isNotNull();
+        assertThat(plan.userMessagePromptTemplate("Hi {{it}}").template()).isEqualTo("Hi {{it}}");
+    }
+
+    @Test
+    void should_fail_on_every_call_when_template_resource_is_missing() throws Exception {
+
+        // given
+        AiServiceMethodPlan plan = plan(Assistant.class.getMethod("missingTemplate"));
+
+        // then
+        assertThatThrownBy(plan::userMessageTemplate)
+                .isExactlyInstanceOf(IllegalConfigurationException.class)
+                .hasMessage("@UserMessage's resource 'missing.txt' not found");
+        assertThatThrownBy(plan::userMessageTemplate).isExactlyInstanceOf(IllegalConfigurationException.class);
+    }
+
+    private static AiServiceMethodPlan plan(Method method) {
+        return new AiServiceMethodPlan(method, method.getGenericReturnType(), false, false, new ServiceOutputParser());
+    }
+}
@@ -0,0 +1,107 @@
+package dev.langchain4j.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.model.chat.cache.CachingChatModel;
+import dev.langchain4j.model.chat.cache.CachingStreamingChatModel;
+import dev.langchain4j.model.chat.cache.ChatResponseCache;
+import dev.langchain4j.model.chat.cache.ChatResponseCacheStats;
+import dev.langchain4j.model.chat.mock.ChatModelMock;
+import dev.langchain4j.model.chat.mock.StreamingChatModelMock;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AiServicesWithChatResponseCacheTest {
+
+    interface Assistant {
+
+        String chat(@MemoryId String memoryId, @UserMessage String userMessage);
+    }
+
+    interface StreamingAssistant {
+
+        TokenStream chat(@MemoryId String memoryId, @UserMessage String userMessage);
+    }
+
+    @Test
+    void should_scope_cached_responses_by_memory_id() {
+
+        // given
+        ChatModelMock delegate = ChatModelMock.thatAlwaysResponds("Your name is Klaus");
+        CachingChatModel chatModel =
+                new CachingChatModel(delegate, ChatResponseCache.builder().build());
+        Assistant assistant = AiServices.builder(Assistant.class)
+                .chatModel(chatModel)
+                .chatMemoryProvider(memoryId -> MessageWindowChatMemory.withMaxMessages(10))
+                .build();
+        assistant.chat("klaus", "What is my name?");
+
+        // when
+        assistant.chat("francine", "What is my name?");
+
+        // then
+        assertThat(delegate.requests()).hasSize(2);
+        assertThat(chatModel.cache().stats()).isEqualTo(new ChatResponseCacheStats(0, 0, 2, 0));
+    }
+
+    @Test
+    void should_serve_cached_response_within_same_memory_id() {
+
+        // given
+        ChatModelMock delegate = ChatModelMock.thatAlwaysResponds("Hello");
+        CachingChatModel chatModel =
+                new CachingChatModel(delegate, ChatResponseCache.builder().build());
+        assistant(chatModel).chat("klaus", "Hi");
+
+        // when
+        String answer = assistant(chatModel).chat("klaus", "Hi");
+
+        // then
+        assertThat(answer).isEqualTo("Hello");
+        assertThat(delegate.requests()).hasSize(1);
+    }
+
+    @Test
+    void should_scope_streamed_cached_responses_by_memory_id() throws Exception {
+
+        // given
+        StreamingChatModelMock delegate = StreamingChatModelMock.thatAlwaysStreams(
+                AiMessage.from("Your name is Klaus"), AiMessage.from("Your name is Francine"));
+        CachingStreamingChatModel streamingChatModel = new CachingStreamingChatModel(
+                delegate, ChatResponseCache.builder().build());
+        StreamingAssistant assistant = AiServices.builder(StreamingAssistant.class)
+                .streamingChatModel(streamingChatModel)
+                .chatMemoryProvider(memoryId -> MessageWindowChatMemory.withMaxMessages(10))
+                .build();
+        chat(assistant, "klaus", "What is my name?");
+
+        // when
+        chat(assistant, "francine", "What is my name?");
+
+        // then
+        assertThat(delegate.requests()).hasSize(2);
+    }
+
+    private static Assistant assistant(CachingChatModel chatModel) {
+        return AiServices.builder(Assistant.class)
+                .chatModel(chatModel)
+                .chatMemoryProvider(memoryId -> MessageWindowChatMemory.withMaxMessages(10))
+                .build();
+    }
+
+    private static ChatResponse chat(StreamingAssistant assistant, String memoryId, String userMessage)
+            throws Exception {
+        CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+        assistant
+                .chat(memoryId, userMessage)
+                .onPartialResponse(ignored -> {})
+                .onCompleteResponse(future::complete)
+                .onError(future::completeExceptionally)
+                .start();
+        return future.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,100 @@
+package dev.langchain4j.service.memory;
+
+import static dev.langchain4j.data.message.UserMessage.userMessage;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ChatMemoryServiceTest {
+
+    private final InMemoryChatMemoryStore store = new InMemoryChatMemoryStore();
+    private final ChatMemoryProvider provider = memoryId -> MessageWindowChatMemory.builder()
+            .id(memoryId)
+            .maxMessages(10)
+            .chatMemoryStore(store)
+            .build();
+
+    @Test
+    void should_evict_least_recently_used_chat_memory() {
+
+        // given
+        ChatMemoryService service = new ChatMemoryService(
+                provider, ChatMemoryCachePolicy.builder().maxSize(2).build());
+        ChatMemory first = service.getOrCreateChatMemory("first");
+        service.getOrCreateChatMemory("second");
+        service.getOrCreateChatMemory("first");
+
+        // when
+        service.getOrCreateChatMemory("third");
+
+        // then
+        assertThat(service.getChatMemoryIDs()).containsExactlyInAnyOrder("first", "third");
+        assertThat(service.getOrCreateChatMemory("first")).isSameAs(first);
+        assertThat(service.stats()).isEqualTo(new ChatMemoryCacheStats(2, 3, 1));
+    }
+
+    @Test
+    void should_evict_idle_chat_memories() {
+
+        // given
+        AtomicLong nanoTime = new AtomicLong();
+        ChatMemoryService service = new ChatMemoryService(
+                provider,
+                ChatMemoryCachePolicy.builder()
+                        .maxIdleTime(Duration.ofMinutes(1))
+                        .build(),
+                nanoTime::get);
+        service.getOrCreateChatMemory("first");
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+        service.getOrCreateChatMemory("second");
+
+        // when
+        nanoTime.addAndGet(Duration.ofSeconds(45).toNanos());
+        service.getOrCreateChatMemory("second");
+
+        // then
+        assertThat(service.getChatMemoryIDs()).containsExactly("second");
+        assertThat(service.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_rehydrate_evicted_chat_memory_from_store() {
+
+        // given
+        ChatMemoryService service = new ChatMemoryService(
+                provider, ChatMemoryCachePolicy.builder().maxSize(1).build());
+        ChatMemory first = service.getOrCreateChatMemory("first");
+        first.add(userMessage("hello"));
+        service.getOrCreateChatMemory("second");
+
+        // when
+        ChatMemory rehydrated = service.getOrCreateChatMemory("first");
+
+        // then
+        assertThat(rehydrated).isNotSameAs(first);
+        assertThat(rehydrated.messages()).containsExactly(userMessage("hello"));
+    }
+
+    @Test
+    void should_not_evict_chat_memories_by_default() {
+
+        // given
+        ChatMemoryService service = new ChatMemoryService(provider);
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            service.getOrCreateChatMemory(i);
+        }
+        service.getOrCreateChatMemory(0);
+
+        // then
+        assertThat(service.getChatMemoryIDs()).hasSize(100);
+        assertThat(service.stats()).isEqualTo(new ChatMemoryCacheStats(1, 100, 0));
+    }
+}
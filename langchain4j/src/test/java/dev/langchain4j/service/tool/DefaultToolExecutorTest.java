@@ -709,4 +709,53 @@ class DefaultToolExecutorTest implements WithAssertions {
                 .isThrownBy(() -> executor.execute(request, "DEFAULT"))
                 .withCauseInstanceOf(IllegalArgumentException.class);
     }
+
+    public static class PublicTool {
+
+        @Tool
+        public static String greet(String name) {
+            return "Hello, " + name;
+        }
+
+        @Tool
+        public long memoryIdPlusOne(@ToolMemoryId long memoryId) {
+            return memoryId + 1;
+        }
+    }
+
+    @Test
+    void should_execute_static_tool_method() throws NoSuchMethodException {
+
+        // given
+        DefaultToolExecutor executor =
+                new DefaultToolExecutor(new PublicTool(), PublicTool.class.getMethod("greet", String.class));
+        ToolExecutionRequest request = ToolExecutionRequest.builder()
+                .name("greet")
+                .arguments("{ \"arg0\": \"Klaus\" }")
+                .build();
+
+        // when
+        String result = executor.execute(request, "DEFAULT");
+
+        // then
+        assertThat(result).isEqualTo("Hello, Klaus");
+    }
+
+    @Test
+    void should_widen_argument_like_reflection() throws NoSuchMethodException {
+
+        // given
+        DefaultToolExecutor executor =
+                new DefaultToolExecutor(new PublicTool(), PublicTool.class.getMethod("memoryIdPlusOne", long.class));
+        ToolExecutionRequest request = ToolExecutionRequest.builder()
+                .name("memoryIdPlusOne")
+                .arguments("{}")
+                .build();
+
+        // when
+        String result = executor.execute(request, 41);
+
+        // then
+        assertThat(result).isEqualTo("42");
+    }
 }
@@ -0,0 +1,145 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InMemoryEmbeddingStoreBinaryFormatTest {
+
+    private static final int DIMENSION = 32;
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void should_serialize_to_and_load_from_binary_file() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> originalStore = new InMemoryEmbeddingStore<>();
+        for (int i = 0; i < 100; i++) {
+            Metadata metadata = Metadata.from(Map.of(
+                    "string",
+                    "value " + i,
+                    "uuid",
+                    UUID.randomUUID(),
+                    "int",
+                    i,
+                    "long",
+                    (long) i * Integer.MAX_VALUE,
+                    "float",
+                    i / 3f,
+                    "double",
+                    i / 7d));
+            originalStore.add("id-" + i, randomEmbedding(), TextSegment.from("text " + i, metadata));
+        }
+        originalStore.add("without-segment", randomEmbedding());
+        Path filePath = temporaryDirectory.resolve("store.bin");
+
+        // when
+        originalStore.serializeToBinaryFile(filePath);
+        InMemoryEmbeddingStore<TextSegment> loadedStore = InMemoryEmbeddingStore.fromBinaryFile(filePath);
+
+        // then
+        assertThat(loadedStore.size()).isEqualTo(101);
+        assertThat(loadedStore.serializeToJson()).isEqualTo(originalStore.serializeToJson());
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(randomEmbedding())
+                .filter(metadataKey("int").isGreaterThan(50))
+                .maxResults(10)
+                .build();
+        assertThat(loadedStore.search(request).matches())
+                .hasSize(10)
+                .isEqualTo(originalStore.search(request).matches());
+    }
+
+    @Test
+    void should_copy_mapped_vectors_on_modification() throws Exception {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> originalStore = new InMemoryEmbeddingStore<>();
+        for (int i = 0; i < 10; i++) {
+            originalStore.add("id-" + i, randomEmbedding(), TextSegment.from("text " + i));
+        }
+        Path filePath = temporaryDirectory.resolve("store.bin");
+        originalStore.serializeToBinaryFile(filePath);
+        byte[] originalBytes = Files.readAllBytes(filePath);
+
+        // when
+        InMemoryEmbeddingStore<TextSegment> loadedStore = InMemoryEmbeddingStore.fromBinaryFile(filePath);
+        loadedStore.removeAll(List.of("id-0"));
+        loadedStore.add("id-10", randomEmbedding(), TextSegment.from("text 10"));
+
+        // then
+        assertThat(loadedStore.size()).isEqualTo(10);
+        assertThat(Files.readAllBytes(filePath)).isEqualTo(originalBytes);
+        assertThat(InMemoryEmbeddingStore.fromBinaryFile(filePath).size()).isEqualTo(10);
+    }
+
+    @Test
+    void should_serialize_empty_store() {
+
+        // given
+        Path filePath = temporaryDirectory.resolve("empty.bin");
+
+        // when
+        new InMemoryEmbeddingStore<TextSegment>().serializeToBinaryFile(filePath);
+        InMemoryEmbeddingStore<TextSegment> loadedStore = InMemoryEmbeddingStore.fromBinaryFile(filePath);
+        loadedStore.add(randomEmbedding());
+
+        // then
+        assertThat(loadedStore.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_fail_to_load_file_in_other_format() throws Exception {
+
+        // given
+        Path filePath = temporaryDirectory.resolve("store.json");
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+        store.add(randomEmbedding());
+        Files.writeString(filePath, store.serializeToJson());
+
+        // then
+        assertThatThrownBy(() -> InMemoryEmbeddingStore.fromBinaryFile(filePath))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is not a binary InMemoryEmbeddingStore file");
+    }
+
+    @Test
+    void should_fail_to_serialize_embeddings_of_different_dimension() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+        store.add(randomEmbedding());
+        store.add(Embedding.from(new float[] {1, 2, 3}));
+
+        // then
+        assertThatThrownBy(() -> store.serializeToBinaryFile(temporaryDirectory.resolve("store.bin")))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("same dimension");
+    }
+
+    private Embedding randomEmbedding() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return Embedding.from(vector);
+    }
+}
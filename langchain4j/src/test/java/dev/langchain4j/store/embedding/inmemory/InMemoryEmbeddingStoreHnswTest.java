@@ -0,0 +1,188 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class InMemoryEmbeddingStoreHnswTest {
+
+    private static final int DIMENSION = 32;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void should_find_nearest_neighbours_with_high_recall() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> exactStore = new InMemoryEmbeddingStore<>();
+        InMemoryEmbeddingStore<TextSegment> approximateStore = InMemoryEmbeddingStore.builder()
+                .hnswIndex(HnswIndexConfig.builder()
+                        .m(16)
+                        .efConstruction(100)
+                        .efSearch(50)
+                        .build())
+                .build();
+
+        List<String> ids = new ArrayList<>();
+        List<Embedding> embeddings = new ArrayList<>();
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            ids.add("id-" + i);
+            embeddings.add(randomEmbedding());
+            segments.add(TextSegment.from("segment " + i));
+        }
+        exactStore.addAll(ids, embeddings, segments);
+        approximateStore.addAll(ids, embeddings, segments);
+
+        // when
+        int found = 0;
+        int expected = 0;
+        for (int i = 0; i < 50; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding())
+                    .maxResults(10)
+                    .build();
+
+            Set<String> exactIds = ids(exactStore.search(request).matches());
+            Set<String> approximateIds = ids(approximateStore.search(request).matches());
+
+            expected += exactIds.size();
+            approximateIds.retainAll(exactIds);
+            found += approximateIds.size();
+        }
+
+        // then
+        assertThat((double) found / expected).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void should_return_same_scores_as_brute_force() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> exactStore = new InMemoryEmbeddingStore<>();
+        InMemoryEmbeddingStore<TextSegment> approximateStore = InMemoryEmbeddingStore.builder()
+                .hnswIndex(HnswIndexConfig.defaultConfig())
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            Embedding embedding = randomEmbedding();
+            exactStore.add("id-" + i, embedding);
+            approximateStore.add("id-" + i, embedding);
+        }
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(randomEmbedding())
+                .maxResults(5)
+                .minScore(0.5)
+                .build();
+
+        // when
+        List<EmbeddingMatch<TextSegment>> exactMatches =
+                exactStore.search(request).matches();
+        List<EmbeddingMatch<TextSegment>> approximateMatches =
+                approximateStore.search(request).matches();
+
+        // then
+        assertThat(approximateMatches).isEqualTo(exactMatches);
+        assertThat(approximateMatches)
+                .allSatisfy(match -> assertThat(match.score()).isGreaterThanOrEqualTo(0.5));
+    }
+
+    @Test
+    void should_not_return_removed_entries() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store = InMemoryEmbeddingStore.builder()
+                .hnswIndex(HnswIndexConfig.defaultConfig())
+                .build();
+
+        Embedding query = randomEmbedding();
+        store.add("closest", query);
+        List<String> others = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String id = "id-" + i;
+            store.add(id, randomEmbedding());
+            others.add(id);
+        }
+
+        // when
+        store.removeAll(List.of("closest"));
+
+        // then
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(query)
+                .maxResults(200)
+                .build();
+        List<EmbeddingMatch<TextSegment>> matches = store.search(request).matches();
+        assertThat(ids(matches)).doesNotContain("closest").isNotEmpty();
+
+        // when (more than a half is removed, which triggers a rebuild)
+        store.removeAll(others.subList(0, 150));
+
+        // then
+        assertThat(ids(store.search(request).matches())).containsExactlyInAnyOrderElementsOf(others.subList(150, 200));
+
+        // when
+        store.removeAll();
+
+        // then
+        assertThat(store.search(request).matches()).isEmpty();
+    }
+
+    @Test
+    void should_use_exact_search_when_filter_is_present() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store = InMemoryEmbeddingStore.builder()
+                .hnswIndex(HnswIndexConfig.defaultConfig())
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            TextSegment segment = TextSegment.from("segment " + i, Metadata.from(Map.of("parity", i % 2)));
+            store.add("id-" + i, randomEmbedding(), segment);
+        }
+
+        // when
+        store.removeAll(metadataKey("parity").isEqualTo(0));
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(randomEmbedding())
+                .filter(metadataKey("parity").isEqualTo(1))
+                .maxResults(100)
+                .build();
+
+        // then
+        assertThat(store.search(request).matches()).hasSize(50);
+        assertThat(store.search(EmbeddingSearchRequest.builder()
+                                .queryEmbedding(randomEmbedding())
+                                .maxResults(100)
+                                .build())
+                        .matches())
+                .hasSize(50);
+    }
+
+    private Embedding randomEmbedding() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return Embedding.from(vector);
+    }
+
+    private static Set<String> ids(List<EmbeddingMatch<TextSegment>> matches) {
+        Set<String> ids = new HashSet<>();
+        matches.forEach(match -> ids.add(match.embeddingId()));
+        return ids;
+    }
+}
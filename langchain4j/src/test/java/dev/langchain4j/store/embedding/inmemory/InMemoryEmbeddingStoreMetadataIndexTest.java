@@ -0,0 +1,214 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class InMemoryEmbeddingStoreMetadataIndexTest {
+
+    private static final int DIMENSION = 16;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void should_return_same_results_as_store_without_index() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> indexedStore = InMemoryEmbeddingStore.builder()
+                .indexedMetadataKeys("tenant", "year", "score")
+                .build();
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+        for (int i = 0; i < 500; i++) {
+            Metadata metadata = Metadata.from(Map.of(
+                    "tenant", "tenant-" + (i % 10), "year", 2000 + (i % 25), "score", (i % 100) / 10f, "other", i % 3));
+            Embedding embedding = randomEmbedding();
+            TextSegment segment = TextSegment.from("text " + i, metadata);
+            indexedStore.add("id-" + i, embedding, segment);
+            store.add("id-" + i, embedding, segment);
+        }
+        Embedding embedding = randomEmbedding();
+        indexedStore.add("without-segment", embedding);
+        store.add("without-segment", embedding);
+
+        List<Filter> filters = List.of(
+                metadataKey("tenant").isEqualTo("tenant-3"),
+                metadataKey("tenant").isIn("tenant-1", "tenant-2"),
+                metadataKey("tenant").isGreaterThanOrEqualTo("tenant-8"),
+                metadataKey("year").isEqualTo(2010),
+                metadataKey("year").isEqualTo(2010L),
+                metadataKey("year").isEqualTo(2010.0),
+                metadataKey("year").isIn(2001, 2002L),
+                metadataKey("year").isGreaterThan(2020),
+                metadataKey("year").isLessThan(2003),
+                metadataKey("year").isLessThanOrEqualTo(2003),
+                metadataKey("score").isEqualTo(0.3),
+                metadataKey("score").isGreaterThan(9.5),
+                metadataKey("score").isLessThanOrEqualTo(0.1f),
+                metadataKey("tenant")
+                        .isEqualTo("tenant-3")
+                        .and(metadataKey("year").isGreaterThan(2010)),
+                metadataKey("tenant")
+                        .isEqualTo("tenant-3")
+                        .or(metadataKey("year").isEqualTo(2001)),
+                metadataKey("tenant")
+                        .isEqualTo("tenant-3")
+                        .and(metadataKey("other").isEqualTo(1)),
+                metadataKey("tenant")
+                        .isEqualTo("tenant-3")
+                        .or(metadataKey("other").isEqualTo(1)),
+                metadataKey("tenant")
+                        .isEqualTo("tenant-3")
+                        .and(Filter.not(metadataKey("year").isEqualTo(2003))),
+                metadataKey("tenant").isNotEqualTo("tenant-3"),
+                metadataKey("tenant").isEqualTo("unknown"));
+
+        for (Filter filter : filters) {
+
+            // when
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding())
+                    .filter(filter)
+                    .maxResults(20)
+                    .build();
+
+            // then
+            assertThat(indexedStore.search(request).matches())
+                    .as(filter.toString())
+                    .isEqualTo(store.search(request).matches());
+        }
+    }
+
+    @Test
+    void should_treat_zero_and_negative_zero_as_equal() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> indexedStore =
+                InMemoryEmbeddingStore.builder().indexedMetadataKeys("value").build();
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+        double[] values = {-1.0, -0.0, 0.0, 1.0};
+        for (int i = 0; i < values.length; i++) {
+            Embedding embedding = randomEmbedding();
+            TextSegment segment = TextSegment.from("text " + i, new Metadata().put("value", values[i]));
+            indexedStore.add("id-" + i, embedding, segment);
+            store.add("id-" + i, embedding, segment);
+        }
+
+        List<Filter> filters = List.of(
+                metadataKey("value").isEqualTo(0.0),
+                metadataKey("value").isEqualTo(-0.0),
+                metadataKey("value").isIn(-0.0, 1.0),
+                metadataKey("value").isGreaterThanOrEqualTo(0.0),
+                metadataKey("value").isGreaterThanOrEqualTo(-0.0),
+                metadataKey("value").isLessThanOrEqualTo(0.0),
+                metadataKey("value").isLessThanOrEqualTo(-0.0),
+                metadataKey("value").isGreaterThan(-0.0),
+                metadataKey("value").isLessThan(0.0));
+
+        for (Filter filter : filters) {
+
+            // when
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding())
+                    .filter(filter)
+                    .maxResults(10)
+                    .build();
+
+            // then
+            assertThat(indexedStore.search(request).matches())
+                    .as(filter.toString())
+                    .isEqualTo(store.search(request).matches());
+        }
+        assertThat(search(indexedStore, metadataKey("value").isEqualTo(0.0)))
+                .extracting(EmbeddingMatch::embeddingId)
+                .containsExactlyInAnyOrder("id-1", "id-2");
+    }
+
+    @Test
+    void should_keep_index_up_to_date_on_removal() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store =
+                InMemoryEmbeddingStore.builder().indexedMetadataKeys("tenant").build();
+        for (int i = 0; i < 30; i++) {
+            store.add("id-" + i, randomEmbedding(), TextSegment.from("text " + i, metadata(i % 3, i)));
+        }
+        Filter filter = metadataKey("tenant").isEqualTo("1");
+
+        // when
+        store.removeAll(List.of("id-1", "id-4"));
+        store.removeAll(
+                metadataKey("tenant").isEqualTo("1").and(metadataKey("n").isGreaterThan(20)));
+
+        // then
+        assertThat(search(store, filter))
+                .extracting(EmbeddingMatch::embeddingId)
+                .containsExactlyInAnyOrder("id-7", "id-10", "id-13", "id-16", "id-19");
+
+        // when
+        store.removeAll();
+        store.add("id-31", randomEmbedding(), TextSegment.from("text", metadata(1, 31)));
+
+        // then
+        assertThat(search(store, filter))
+                .extracting(EmbeddingMatch::embeddingId)
+                .containsExactly("id-31");
+    }
+
+    @Test
+    void should_throw_as_without_index_when_types_do_not_match() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store =
+                InMemoryEmbeddingStore.builder().indexedMetadataKeys("key").build();
+        store.add(randomEmbedding(), TextSegment.from("text", Metadata.from("key", "value")));
+        store.add(randomEmbedding(), TextSegment.from("text", new Metadata().put("key", 1)));
+
+        // then
+        assertThatThrownBy(() -> search(store, metadataKey("key").isEqualTo(1)))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Type mismatch");
+    }
+
+    @Test
+    void should_not_allow_index_with_off_heap_storage() {
+
+        assertThatThrownBy(() -> InMemoryEmbeddingStore.builder()
+                        .indexedMetadataKeys("key")
+                        .offHeapStorage(true)
+                        .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Metadata indexes cannot be used together with off-heap storage or quantization");
+    }
+
+    private List<EmbeddingMatch<TextSegment>> search(InMemoryEmbeddingStore<TextSegment> store, Filter filter) {
+        return store.search(EmbeddingSearchRequest.builder()
+                        .queryEmbedding(randomEmbedding())
+                        .filter(filter)
+                        .maxResults(100)
+                        .build())
+                .matches();
+    }
+
+    private static Metadata metadata(int tenant, int n) {
+        return Metadata.from(Map.of("tenant", String.valueOf(tenant), "n", n));
+    }
+
+    private Embedding randomEmbedding() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return Embedding.from(vector);
+    }
+}
@@ -0,0 +1,158 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class InMemoryEmbeddingStoreOffHeapTest {
+
+    private static final int DIMENSION = 16;
+
+    private final Random random = new Random(42);
+
+    private final InMemoryEmbeddingStore<TextSegment> onHeapStore = new InMemoryEmbeddingStore<>();
+    private final InMemoryEmbeddingStore<TextSegment> offHeapStore =
+            InMemoryEmbeddingStore.builder().offHeapStorage(true).build();
+
+    @Test
+    void should_return_same_matches_as_on_heap_store() {
+
+        // given
+        addToBothStores(500);
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(randomEmbedding())
+                .maxResults(10)
+                .minScore(0.3)
+                .build();
+
+        // then
+        assertThat(offHeapStore.size()).isEqualTo(500);
+        assertThat(offHeapStore.search(request).matches())
+                .hasSize(10)
+                .isEqualTo(onHeapStore.search(request).matches());
+    }
+
+    @Test
+    void should_store_vectors_in_several_segments() {
+
+        // given
+        addToBothStores(100);
+        // 4 rows per segment
+        OffHeapStorage<TextSegment> segmentedStorage = new OffHeapStorage<>(4 * DIMENSION * Float.BYTES);
+        onHeapStore.entries.forEach(entry -> segmentedStorage.add(entry.id, entry.embedding, entry.embedded));
+        segmentedStorage.removeIf((id, segment) -> id.endsWith("7"));
+        onHeapStore.removeAll(metadataKey("bucket").isEqualTo(7));
+        Embedding queryEmbedding = randomEmbedding();
+
+        // when
+        List<EmbeddingMatch<TextSegment>> matches = segmentedStorage.search(queryEmbedding, 20, 0, segment -> true);
+
+        // then
+        assertThat(segmentedStorage.size()).isEqualTo(90);
+        assertThat(segmentedStorage.entries()).isEqualTo(onHeapStore.entries);
+        assertThat(matches)
+                .isEqualTo(onHeapStore
+                        .search(EmbeddingSearchRequest.builder()
+                                .queryEmbedding(queryEmbedding)
+                                .maxResults(20)
+                                .build())
+                        .matches());
+    }
+
+    @Test
+    void should_remove_entries_by_id_and_filter() {
+
+        // given
+        addToBothStores(100);
+
+        // when
+        offHeapStore.removeAll(List.of("id-1", "id-2"));
+        onHeapStore.removeAll(List.of("id-1", "id-2"));
+        offHeapStore.removeAll(metadataKey("bucket").isEqualTo(3));
+        onHeapStore.removeAll(metadataKey("bucket").isEqualTo(3));
+
+        // then
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(randomEmbedding())
+                .filter(metadataKey("bucket").isLessThan(5))
+                .maxResults(100)
+                .build();
+        assertThat(offHeapStore.size()).isEqualTo(onHeapStore.size());
+        assertThat(offHeapStore.search(request).matches())
+                .isEqualTo(onHeapStore.search(request).matches());
+
+        // when
+        offHeapStore.removeAll();
+
+        // then
+        assertThat(offHeapStore.isEmpty()).isTrue();
+        assertThat(offHeapStore.search(request).matches()).isEmpty();
+    }
+
+    @Test
+    void should_serialize_to_json_and_merge() {
+
+        // given
+        addToBothStores(20);
+
+        // when
+        InMemoryEmbeddingStore<TextSegment> deserialized =
+                InMemoryEmbeddingStore.fromJson(offHeapStore.serializeToJson());
+        InMemoryEmbeddingStore<TextSegment> merged = InMemoryEmbeddingStore.merge(offHeapStore, onHeapStore);
+
+        // then
+        assertThat(deserialized.entries).isEqualTo(onHeapStore.entries);
+        assertThat(merged.size()).isEqualTo(40);
+    }
+
+    @Test
+    void should_reject_embeddings_of_different_dimension() {
+
+        // given
+        offHeapStore.add(randomEmbedding());
+
+        // then
+        assertThatThrownBy(() -> offHeapStore.add(Embedding.from(new float[] {1, 2, 3})))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("same dimension");
+        assertThat(offHeapStore.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_allow_hnsw_index_with_off_heap_storage() {
+        assertThatThrownBy(() -> InMemoryEmbeddingStore.builder()
+                        .offHeapStorage(true)
+                        .hnswIndex(HnswIndexConfig.defaultConfig())
+                        .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void addToBothStores(int count) {
+        for (int i = 0; i < count; i++) {
+            String id = "id-" + i;
+            Embedding embedding = randomEmbedding();
+            TextSegment segment = TextSegment.from("segment " + i, Metadata.from(Map.of("bucket", i % 10)));
+            onHeapStore.add(id, embedding, segment);
+            offHeapStore.add(id, embedding, segment);
+        }
+    }
+
+    private Embedding randomEmbedding() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return Embedding.from(vector);
+    }
+}
@@ -0,0 +1,187 @@
+package dev.langchain4j.store.embedding.inmemory;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class InMemoryEmbeddingStoreQuantizationTest {
+
+    private static final int DIMENSION = 128;
+
+    private final Random random = new Random(42);
+
+    private final InMemoryEmbeddingStore<TextSegment> exactStore = new InMemoryEmbeddingStore<>();
+
+    @ParameterizedTest
+    @EnumSource(VectorQuantization.class)
+    void should_find_nearest_neighbours_with_rescoring(VectorQuantization quantization) {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store = InMemoryEmbeddingStore.builder()
+                .quantization(quantization)
+                .rescoringOversample(10)
+                .build();
+        addToStores(2000, store);
+
+        int found = 0;
+        int expected = 0;
+        for (int i = 0; i < 20; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(randomEmbedding())
+                    .maxResults(10)
+                    .build();
+
+            // when
+            List<EmbeddingMatch<TextSegment>> matches = store.search(request).matches();
+            List<EmbeddingMatch<TextSegment>> exactMatches =
+                    exactStore.search(request).matches();
+
+            // then
+            Set<String> exactIds =
+                    exactMatches.stream().map(EmbeddingMatch::embeddingId).collect(Collectors.toSet());
+            found += (int) matches.stream()
+                    .filter(match -> exactIds.contains(match.embeddingId()))
+                    .count();
+            expected += exactIds.size();
+
+            // rescored matches have exact scores and embeddings
+            for (EmbeddingMatch<TextSegment> match : matches) {
+                EmbeddingMatch<TextSegment> exactMatch = exactMatches.stream()
+                        .filter(it -> it.embeddingId().equals(match.embeddingId()))
+                        .findFirst()
+                        .orElse(null);
+                if (exactMatch != null) {
+                    assertThat(match).isEqualTo(exactMatch);
+                }
+            }
+        }
+
+        // random vectors are the worst case for binary quantization, real embeddings do much better
+        double minRecall = quantization == VectorQuantization.INT8 ? 0.95 : 0.5;
+        assertThat((double) found / expected).isGreaterThanOrEqualTo(minRecall);
+    }
+
+    @Test
+    void should_approximate_scores_and_embeddings_without_rescoring() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store = InMemoryEmbeddingStore.builder()
+                .quantization(VectorQuantization.INT8)
+                .rescoringOversample(0)
+                .build();
+        addToStores(200, store);
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(randomEmbedding())
+                .maxResults(200)
+                .build();
+
+        // when
+        Map<String, Double> exactScores = exactStore.search(request).matches().stream()
+                .collect(Collectors.toMap(EmbeddingMatch::embeddingId, EmbeddingMatch::score));
+        List<EmbeddingMatch<TextSegment>> matches = store.search(request).matches();
+
+        // then
+        assertThat(matches).hasSize(200);
+        for (EmbeddingMatch<TextSegment> match : matches) {
+            assertThat(match.score()).isCloseTo(exactScores.get(match.embeddingId()), within(0.005));
+            assertThat(match.embedding().dimension()).isEqualTo(DIMENSION);
+        }
+    }
+
+    @Test
+    void should_filter_and_remove() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store = InMemoryEmbeddingStore.builder()
+                .quantization(VectorQuantization.BINARY)
+                .build();
+        addToStores(100, store);
+
+        // when
+        store.removeAll(List.of("id-1", "id-2"));
+        exactStore.removeAll(List.of("id-1", "id-2"));
+        store.removeAll(metadataKey("bucket").isEqualTo(3));
+        exactStore.removeAll(metadataKey("bucket").isEqualTo(3));
+
+        // then
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(randomEmbedding())
+                .filter(metadataKey("bucket").isLessThan(5))
+                .maxResults(100)
+                .build();
+        assertThat(store.size()).isEqualTo(exactStore.size());
+        assertThat(store.search(request).matches())
+                .isEqualTo(exactStore.search(request).matches());
+
+        // when
+        store.removeAll();
+
+        // then
+        assertThat(store.isEmpty()).isTrue();
+        assertThat(store.search(request).matches()).isEmpty();
+    }
+
+    @Test
+    void should_serialize_original_embeddings_when_rescoring() {
+
+        // given
+        InMemoryEmbeddingStore<TextSegment> store = InMemoryEmbeddingStore.builder()
+                .quantization(VectorQuantization.INT8)
+                .build();
+        addToStores(20, store);
+
+        // when
+        InMemoryEmbeddingStore<TextSegment> deserialized = InMemoryEmbeddingStore.fromJson(store.serializeToJson());
+
+        // then
+        assertThat(deserialized.entries).isEqualTo(exactStore.entries);
+    }
+
+    @Test
+    void should_not_allow_quantization_with_hnsw_index_or_off_heap_storage() {
+        assertThatThrownBy(() -> InMemoryEmbeddingStore.builder()
+                        .quantization(VectorQuantization.INT8)
+                        .hnswIndex(HnswIndexConfig.defaultConfig())
+                        .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InMemoryEmbeddingStore.builder()
+                        .quantization(VectorQuantization.BINARY)
+                        .offHeapStorage(true)
+                        .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void addToStores(int count, InMemoryEmbeddingStore<TextSegment> store) {
+        for (int i = 0; i < count; i++) {
+            String id = "id-" + i;
+            Embedding embedding = randomEmbedding();
+            TextSegment segment = TextSegment.from("segment " + i, Metadata.from(Map.of("bucket", i % 10)));
+            exactStore.add(id, embedding, segment);
+            store.add(id, embedding, segment);
+        }
+    }
+
+    private Embedding randomEmbedding() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return Embedding.from(vector);
+    }
+}